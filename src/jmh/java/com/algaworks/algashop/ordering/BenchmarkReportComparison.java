@@ -0,0 +1,108 @@
+package com.algaworks.algashop.ordering;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Compares two JMH JSON reports benchmark by benchmark, matching them on name and parameters, and exits with 1 when
+ * any score or {@code gc.alloc.rate.norm} got worse by more than the threshold. Throughput is worse when it drops,
+ * every other mode when it rises. Allocation differences below {@value #ALLOCATION_NOISE_BYTES} bytes per op are
+ * ignored, since benchmarks that allocate nothing report fractions of a byte; a benchmark that starts allocating
+ * more than that from none at all always counts as a regression. Run through {@code gradle jmhCompare}.
+ */
+public class BenchmarkReportComparison {
+
+	private static final double ALLOCATION_NOISE_BYTES = 16;
+
+	public static void main(String[] args) throws IOException {
+		if (args.length < 2 || args[0].isBlank()) {
+			System.err.println("Usage: BenchmarkReportComparison <baseline.json> <results.json> [threshold percent]");
+			System.exit(2);
+		}
+
+		Map<String, Result> baseline = read(Path.of(args[0]));
+		Map<String, Result> current = read(Path.of(args[1]));
+		double threshold = args.length > 2 ? Double.parseDouble(args[2]) : 10;
+
+		List<String> regressions = new ArrayList<>();
+		int width = current.keySet().stream().mapToInt(String::length).max().orElse(10);
+		String row = "%-" + width + "s %14s %14s %8s %12s %12s %8s%n";
+		String comparedRow = "%-" + width + "s %14.3f %14.3f %+7.1f%% %12.1f %12.1f %+7.1f%%%n";
+		System.out.printf(row, "Benchmark", "baseline", "current", "gain", "base B/op", "B/op", "alloc");
+
+		current.forEach((key, result) -> {
+			Result previous = baseline.get(key);
+			if (previous == null) {
+				System.out.printf(row, key, "-", "%.3f".formatted(result.score()), "new", "", "", "");
+				return;
+			}
+
+			double scoreWorsening = result.higherIsBetter()
+					? percent(previous.score() - result.score(), previous.score())
+					: percent(result.score() - previous.score(), previous.score());
+			double allocationIncrease = result.allocatedBytes() - previous.allocatedBytes();
+			double allocationWorsening = allocationIncrease < ALLOCATION_NOISE_BYTES ? 0
+					: previous.allocatedBytes() == 0 ? Double.POSITIVE_INFINITY
+					: percent(allocationIncrease, previous.allocatedBytes());
+
+			System.out.printf(comparedRow, key, previous.score(), result.score(), 0.0 - scoreWorsening,
+					previous.allocatedBytes(), result.allocatedBytes(), allocationWorsening);
+
+			if (scoreWorsening > threshold) {
+				regressions.add("%s: %s %.1f%% worse".formatted(key, result.unit(), scoreWorsening));
+			}
+			if (previous.allocatedBytes() == 0 && allocationWorsening > 0) {
+				regressions.add("%s: allocates %.1f B/op, none before".formatted(key, result.allocatedBytes()));
+			} else if (allocationWorsening > threshold) {
+				regressions.add("%s: allocates %.1f%% more".formatted(key, allocationWorsening));
+			}
+		});
+
+		baseline.keySet().stream()
+				.filter(key -> !current.containsKey(key))
+				.forEach(key -> System.out.printf(row, key, "missing", "", "", "", "", ""));
+
+		if (!regressions.isEmpty()) {
+			System.out.printf("%n%d regression(s) over %.1f%%:%n", regressions.size(), threshold);
+			regressions.forEach(regression -> System.out.println("  " + regression));
+			System.exit(1);
+		}
+	}
+
+	private static Map<String, Result> read(Path report) throws IOException {
+		Map<String, Result> results = new LinkedHashMap<>();
+		for (JsonNode run : new ObjectMapper().readTree(Files.readString(report))) {
+			JsonNode primary = run.path("primaryMetric");
+			JsonNode allocation = run.path("secondaryMetrics").path("gc.alloc.rate.norm");
+			results.put(key(run), new Result(
+					primary.path("score").asDouble(),
+					primary.path("scoreUnit").asText(),
+					"thrpt".equals(run.path("mode").asText()),
+					allocation.path("score").asDouble(0)));
+		}
+		return results;
+	}
+
+	private static String key(JsonNode run) {
+		Map<String, String> params = new TreeMap<>();
+		run.path("params").properties().forEach(param -> params.put(param.getKey(), param.getValue().asText()));
+		return params.isEmpty() ? run.path("benchmark").asText() : run.path("benchmark").asText() + params;
+	}
+
+	private static double percent(double difference, double base) {
+		return base == 0 ? 0 : difference / base * 100;
+	}
+
+	private record Result(double score, String unit, boolean higherIsBetter, double allocatedBytes) {
+	}
+
+}
@@ -0,0 +1,85 @@
+package com.algaworks.algashop.ordering.domain.model;
+
+import com.fasterxml.uuid.Generators;
+import com.fasterxml.uuid.impl.TimeBasedEpochRandomGenerator;
+import io.hypersistence.tsid.TSID;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Ids per second from the shared {@code TSID.Factory.INSTANCE} and single UUIDv7 generator the value objects used
+ * before, against the striped generators behind {@link IdGenerator}, at 1, 4, 16 and 64 threads. JMH runs each
+ * nested class with its own thread count; run with {@code gradle jmh -Pjmh.args="IdGeneratorBenchmark"}. The bulk
+ * benchmarks report ids, not calls.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public abstract class IdGeneratorBenchmark {
+
+	private static final int BULK = 1_000;
+
+	@State(Scope.Benchmark)
+	public static class IdGenerators {
+
+		final TSID.Factory sharedTsidFactory = TSID.Factory.INSTANCE;
+		final TimeBasedEpochRandomGenerator sharedUuidGenerator = Generators.timeBasedEpochRandomGenerator();
+		final TsidGenerator stripedTsidGenerator = new TsidGenerator(1, 10, IdGenerator.MAXIMUM_DEFAULT_STRIPES);
+		final TimeBasedUuidGenerator stripedUuidGenerator = new TimeBasedUuidGenerator(IdGenerator.MAXIMUM_DEFAULT_STRIPES);
+
+	}
+
+	@Benchmark
+	public TSID sharedTsid(IdGenerators generators) {
+		return generators.sharedTsidFactory.generate();
+	}
+
+	@Benchmark
+	public TSID stripedTsid(IdGenerators generators) {
+		return generators.stripedTsidGenerator.next();
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(BULK)
+	public List<TSID> stripedTsidBulk(IdGenerators generators) {
+		return generators.stripedTsidGenerator.nextIds(BULK);
+	}
+
+	@Benchmark
+	public UUID sharedUuid(IdGenerators generators) {
+		return generators.sharedUuidGenerator.generate();
+	}
+
+	@Benchmark
+	public UUID stripedUuid(IdGenerators generators) {
+		return generators.stripedUuidGenerator.next();
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(BULK)
+	public List<UUID> stripedUuidBulk(IdGenerators generators) {
+		return generators.stripedUuidGenerator.nextIds(BULK);
+	}
+
+	@Threads(1)
+	public static class Threads01 extends IdGeneratorBenchmark {
+	}
+
+	@Threads(4)
+	public static class Threads04 extends IdGeneratorBenchmark {
+	}
+
+	@Threads(16)
+	public static class Threads16 extends IdGeneratorBenchmark {
+	}
+
+	@Threads(64)
+	public static class Threads64 extends IdGeneratorBenchmark {
+	}
+
+}
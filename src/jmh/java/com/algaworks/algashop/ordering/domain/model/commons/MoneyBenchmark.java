@@ -0,0 +1,44 @@
+package com.algaworks.algashop.ordering.domain.model.commons;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The {@link Money} arithmetic behind item and order totals. Every result is a new {@code BigDecimal} rescaled to
+ * two places, which is what {@code gc.alloc.rate.norm} shows here. Run with
+ * {@code gradle jmh -Pjmh.args="MoneyBenchmark"}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MoneyBenchmark {
+
+	private final Money price = new Money("2899.90");
+	private final Money shippingCost = new Money("10.00");
+	private final Quantity quantity = new Quantity(3);
+
+	@Benchmark
+	public Money add() {
+		return price.add(shippingCost);
+	}
+
+	@Benchmark
+	public Money multiply() {
+		return price.multiply(quantity);
+	}
+
+	@Benchmark
+	public int compareTo() {
+		return price.compareTo(shippingCost);
+	}
+
+	@Benchmark
+	public Money itemTotalWithShipping() {
+		return price.multiply(quantity).add(shippingCost);
+	}
+
+}
@@ -0,0 +1,62 @@
+package com.algaworks.algashop.ordering.domain.model.order;
+
+import com.algaworks.algashop.ordering.domain.model.commons.Quantity;
+import com.algaworks.algashop.ordering.domain.model.customer.Customer;
+import com.algaworks.algashop.ordering.domain.model.customer.CustomerTestDataBuilder;
+import com.algaworks.algashop.ordering.domain.model.customer.LoyaltyPoints;
+import com.algaworks.algashop.ordering.domain.model.product.Product;
+import com.algaworks.algashop.ordering.domain.model.product.ProductTestDataBuilder;
+import com.algaworks.algashop.ordering.domain.model.shoppingcart.ShoppingCart;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link CheckoutService#checkout} of a two-item cart, for a customer who pays shipping and for one who gets it free.
+ * Checkout empties the cart, so each operation also fills a fresh one the way {@code CheckoutServiceTest} does. Run
+ * with {@code gradle jmh -Pjmh.args="CheckoutBenchmark"}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CheckoutBenchmark {
+
+	private final CheckoutService checkoutService = new CheckoutService(new CustomerHaveFreeShippingSpecification(
+			new FixedSalesOrders(3), new LoyaltyPoints(100), 2L, new LoyaltyPoints(2000)));
+
+	private final Customer payingCustomer = CustomerTestDataBuilder.existingCustomer().build();
+	private final Customer freeShippingCustomer = CustomerTestDataBuilder.existingCustomer()
+			.loyaltyPoints(new LoyaltyPoints(3000))
+			.build();
+
+	private final Product product = ProductTestDataBuilder.aProduct().build();
+	private final Product ramMemory = ProductTestDataBuilder.aProductAltRamMemory().build();
+	private final Quantity two = new Quantity(2);
+	private final Quantity one = new Quantity(1);
+
+	private final Billing billing = OrderTestDataBuilder.aBilling();
+	private final Shipping shipping = OrderTestDataBuilder.aShipping();
+
+	@Benchmark
+	public Order checkout() {
+		return checkoutService.checkout(payingCustomer, filledCart(payingCustomer), billing, shipping,
+				PaymentMethod.CREDIT_CARD);
+	}
+
+	@Benchmark
+	public Order checkoutWithFreeShipping() {
+		return checkoutService.checkout(freeShippingCustomer, filledCart(freeShippingCustomer), billing, shipping,
+				PaymentMethod.CREDIT_CARD);
+	}
+
+	private ShoppingCart filledCart(Customer customer) {
+		ShoppingCart shoppingCart = ShoppingCart.startShopping(customer.id());
+		shoppingCart.addItem(product, two);
+		shoppingCart.addItem(ramMemory, one);
+		return shoppingCart;
+	}
+
+}
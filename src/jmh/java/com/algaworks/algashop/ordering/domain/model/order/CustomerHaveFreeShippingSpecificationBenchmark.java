@@ -0,0 +1,51 @@
+package com.algaworks.algashop.ordering.domain.model.order;
+
+import com.algaworks.algashop.ordering.domain.model.customer.Customer;
+import com.algaworks.algashop.ordering.domain.model.customer.CustomerTestDataBuilder;
+import com.algaworks.algashop.ordering.domain.model.customer.LoyaltyPoints;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The {@code and}/{@code or} combination of {@link CustomerHaveFreeShippingSpecification} for a customer below the
+ * basic points, one with basic points who has ordered enough this year, and a premium one. Run with
+ * {@code gradle jmh -Pjmh.args="CustomerHaveFreeShippingSpecificationBenchmark"}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CustomerHaveFreeShippingSpecificationBenchmark {
+
+	private final CustomerHaveFreeShippingSpecification specification = new CustomerHaveFreeShippingSpecification(
+			new FixedSalesOrders(3), new LoyaltyPoints(100), 2L, new LoyaltyPoints(2000));
+
+	private final Customer regularCustomer = customerWith(10);
+	private final Customer basicCustomer = customerWith(150);
+	private final Customer premiumCustomer = customerWith(3000);
+
+	@Benchmark
+	public boolean regularCustomer() {
+		return specification.isSatisfiedBy(regularCustomer);
+	}
+
+	@Benchmark
+	public boolean basicCustomer() {
+		return specification.isSatisfiedBy(basicCustomer);
+	}
+
+	@Benchmark
+	public boolean premiumCustomer() {
+		return specification.isSatisfiedBy(premiumCustomer);
+	}
+
+	private static Customer customerWith(int loyaltyPoints) {
+		return CustomerTestDataBuilder.existingCustomer()
+				.loyaltyPoints(new LoyaltyPoints(loyaltyPoints))
+				.build();
+	}
+
+}
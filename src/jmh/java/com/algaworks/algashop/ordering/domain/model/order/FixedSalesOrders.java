@@ -0,0 +1,56 @@
+package com.algaworks.algashop.ordering.domain.model.order;
+
+import com.algaworks.algashop.ordering.domain.model.commons.Money;
+import com.algaworks.algashop.ordering.domain.model.customer.CustomerId;
+
+import java.time.Year;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * {@link Orders} answering every customer with the same yearly sales count, so specification benchmarks measure the
+ * specifications rather than a mock or a database.
+ */
+class FixedSalesOrders implements Orders {
+
+	private final long salesQuantity;
+
+	FixedSalesOrders(long salesQuantity) {
+		this.salesQuantity = salesQuantity;
+	}
+
+	@Override
+	public long salesQuantityByCustomerInYear(CustomerId customerId, Year year) {
+		return salesQuantity;
+	}
+
+	@Override
+	public List<Order> placedByCustomerInYear(CustomerId customerId, Year year) {
+		return List.of();
+	}
+
+	@Override
+	public Money totalSoldForCustomer(CustomerId customerId) {
+		return Money.ZERO;
+	}
+
+	@Override
+	public Optional<Order> ofId(OrderId orderId) {
+		return Optional.empty();
+	}
+
+	@Override
+	public boolean exists(OrderId orderId) {
+		return false;
+	}
+
+	@Override
+	public long count() {
+		return 0;
+	}
+
+	@Override
+	public void add(Order aggregateRoot) {
+	}
+
+}
@@ -0,0 +1,60 @@
+package com.algaworks.algashop.ordering.domain.model.order;
+
+import com.algaworks.algashop.ordering.domain.model.commons.Money;
+import com.algaworks.algashop.ordering.domain.model.commons.Quantity;
+import com.algaworks.algashop.ordering.domain.model.customer.CustomerTestDataBuilder;
+import com.algaworks.algashop.ordering.domain.model.product.Product;
+import com.algaworks.algashop.ordering.domain.model.product.ProductTestDataBuilder;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The order operations on the checkout path. {@code addItem} and {@code place} need a fresh draft every time, so they
+ * include drafting it: {@code addItem} drafts an empty order and adds one item, {@code place} builds the two-item
+ * draft of {@link OrderTestDataBuilder} and places it. Run with {@code gradle jmh -Pjmh.args="OrderBenchmark"}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class OrderBenchmark {
+
+	private final Product product = ProductTestDataBuilder.aProduct().build();
+	private final Quantity quantity = new Quantity(2);
+	private final Quantity single = new Quantity(1);
+
+	private Order order;
+	private OrderItemId changedItemId;
+	private boolean toggle;
+
+	@Setup
+	public void setup() {
+		order = OrderTestDataBuilder.anOrder().build();
+		changedItemId = order.items().iterator().next().id();
+	}
+
+	@Benchmark
+	public Order addItem() {
+		Order draft = Order.draft(CustomerTestDataBuilder.DEFAULT_CUSTOMER_ID);
+		draft.addItem(product, quantity);
+		return draft;
+	}
+
+	@Benchmark
+	public Money changeItemQuantity() {
+		toggle = !toggle;
+		order.changeItemQuantity(changedItemId, toggle ? quantity : single);
+		return order.totalAmount();
+	}
+
+	@Benchmark
+	public Order place() {
+		Order draft = OrderTestDataBuilder.anOrder().build();
+		draft.place();
+		return draft;
+	}
+
+}
@@ -0,0 +1,31 @@
+package com.algaworks.algashop.ordering.domain.model.order;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link OrderStatus#canChangeTo} over every pair of statuses, which is what each order status change checks first.
+ * One operation is all 25 checks. Run with {@code gradle jmh -Pjmh.args="OrderStatusBenchmark"}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class OrderStatusBenchmark {
+
+	private final OrderStatus[] statuses = OrderStatus.values();
+
+	@Benchmark
+	public void canChangeTo(Blackhole blackhole) {
+		for (OrderStatus current : statuses) {
+			for (OrderStatus next : statuses) {
+				blackhole.consume(current.canChangeTo(next));
+			}
+		}
+	}
+
+}
@@ -0,0 +1,86 @@
+package com.algaworks.algashop.ordering.domain.model.shoppingcart;
+
+import com.algaworks.algashop.ordering.domain.model.commons.Cents;
+import com.algaworks.algashop.ordering.domain.model.commons.Money;
+import com.algaworks.algashop.ordering.domain.model.commons.Quantity;
+import com.algaworks.algashop.ordering.domain.model.customer.CustomerId;
+import com.algaworks.algashop.ordering.domain.model.product.Product;
+import com.algaworks.algashop.ordering.domain.model.product.ProductId;
+import com.algaworks.algashop.ordering.domain.model.product.ProductTestDataBuilder;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Totals of a large cart summed the way the aggregates used to, allocating a {@code BigDecimal} per item, against the
+ * {@link Cents} sum they use now, plus the aggregate operation itself. Run with
+ * {@code gradle jmh -Pjmh.args="CartTotals"}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CartTotalsBenchmark {
+
+	@Param("200")
+	private int items;
+
+	private List<Money> itemTotals;
+	private List<Cents> itemTotalsInCents;
+
+	private ShoppingCart shoppingCart;
+	private ShoppingCartItemId changedItemId;
+	private boolean toggle;
+
+	@Setup
+	public void setup() {
+		Random random = new Random(42);
+		itemTotals = new ArrayList<>(items);
+		itemTotalsInCents = new ArrayList<>(items);
+		shoppingCart = ShoppingCart.startShopping(new CustomerId());
+
+		for (int i = 0; i < items; i++) {
+			Money price = new Money(BigDecimal.valueOf(100 + random.nextInt(500_000), 2));
+			Quantity quantity = new Quantity(1 + random.nextInt(5));
+			itemTotals.add(price.multiply(quantity));
+			itemTotalsInCents.add(Cents.of(price).multiply(quantity));
+
+			Product product = ProductTestDataBuilder.aProduct()
+					.id(new ProductId())
+					.price(price)
+					.build();
+			shoppingCart.addItem(product, quantity);
+		}
+
+		changedItemId = shoppingCart.items().iterator().next().id();
+	}
+
+	@Benchmark
+	public Money bigDecimalTotals() {
+		BigDecimal total = BigDecimal.ZERO;
+		for (Money itemTotal : itemTotals) {
+			total = total.add(itemTotal.value());
+		}
+		return new Money(total);
+	}
+
+	@Benchmark
+	public Money centsTotals() {
+		return Cents.sum(itemTotalsInCents, Function.identity()).toMoney();
+	}
+
+	@Benchmark
+	public Money changeItemQuantity() {
+		toggle = !toggle;
+		shoppingCart.changeItemQuantity(changedItemId, new Quantity(toggle ? 2 : 1));
+		return shoppingCart.totalAmount();
+	}
+
+}
@@ -0,0 +1,58 @@
+package com.algaworks.algashop.ordering.domain.model.shoppingcart;
+
+import com.algaworks.algashop.ordering.domain.model.commons.Money;
+import com.algaworks.algashop.ordering.domain.model.commons.Quantity;
+import com.algaworks.algashop.ordering.domain.model.customer.CustomerTestDataBuilder;
+import com.algaworks.algashop.ordering.domain.model.product.Product;
+import com.algaworks.algashop.ordering.domain.model.product.ProductTestDataBuilder;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The cart operations a shopper triggers most. {@code addItem} starts an empty cart and adds one product;
+ * {@code addExistingItem} adds more of a product already in the {@link ShoppingCartTestDataBuilder} cart, and
+ * {@code refreshItem} alternates that product between two catalog prices. Run with
+ * {@code gradle jmh -Pjmh.args="ShoppingCartBenchmark"}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ShoppingCartBenchmark {
+
+	private final Product product = ProductTestDataBuilder.aProduct().build();
+	private final Product repricedProduct = ProductTestDataBuilder.aProduct().price(new Money("2899.90")).build();
+	private final Quantity single = new Quantity(1);
+
+	private ShoppingCart shoppingCart;
+	private boolean toggle;
+
+	@Setup(Level.Iteration)
+	public void setup() {
+		shoppingCart = ShoppingCartTestDataBuilder.aShoppingCart().build();
+	}
+
+	@Benchmark
+	public ShoppingCart addItem() {
+		ShoppingCart cart = ShoppingCart.startShopping(CustomerTestDataBuilder.DEFAULT_CUSTOMER_ID);
+		cart.addItem(product, single);
+		return cart;
+	}
+
+	@Benchmark
+	public Money addExistingItem() {
+		shoppingCart.addItem(product, single);
+		return shoppingCart.totalAmount();
+	}
+
+	@Benchmark
+	public Money refreshItem() {
+		toggle = !toggle;
+		shoppingCart.refreshItem(toggle ? repricedProduct : product);
+		return shoppingCart.totalAmount();
+	}
+
+}
@@ -0,0 +1,29 @@
+package com.algaworks.algashop.ordering.infrastructure.persistence;
+
+import com.algaworks.algashop.ordering.infrastructure.persistence.customer.CustomerPersistenceEntity;
+import com.algaworks.algashop.ordering.infrastructure.persistence.customer.CustomerPersistenceEntityRepository;
+
+import java.lang.reflect.Proxy;
+
+/**
+ * Stands in for the JPA repository the assemblers ask for customer references, so assembler benchmarks run without
+ * an entity manager.
+ */
+public class CustomerReferences {
+
+	private CustomerReferences() {
+	}
+
+	public static CustomerPersistenceEntityRepository to(CustomerPersistenceEntity customer) {
+		return (CustomerPersistenceEntityRepository) Proxy.newProxyInstance(
+				CustomerPersistenceEntityRepository.class.getClassLoader(),
+				new Class<?>[]{CustomerPersistenceEntityRepository.class},
+				(proxy, method, args) -> {
+					if (method.getName().equals("getReferenceById")) {
+						return customer;
+					}
+					throw new UnsupportedOperationException(method.getName());
+				});
+	}
+
+}
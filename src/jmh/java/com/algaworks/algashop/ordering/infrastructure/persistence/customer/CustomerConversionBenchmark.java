@@ -0,0 +1,68 @@
+package com.algaworks.algashop.ordering.infrastructure.persistence.customer;
+
+import com.algaworks.algashop.ordering.application.customer.query.CustomerOutput;
+import com.algaworks.algashop.ordering.application.utility.Mapper;
+import com.algaworks.algashop.ordering.domain.model.customer.Customer;
+import com.algaworks.algashop.ordering.domain.model.customer.CustomerTestDataBuilder;
+import com.algaworks.algashop.ordering.infrastructure.utility.mapper.MapperConfig;
+import com.algaworks.algashop.ordering.infrastructure.utility.modelmapper.ModelMapperConfig;
+import org.modelmapper.ModelMapper;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The customer conversions: assembling a new entity, which also indexes its name and email for search, merging an
+ * unchanged customer back into its entity, disassembling the entity and mapping the aggregate to
+ * {@link CustomerOutput}, both through the {@link Mapper} bean and through the {@link ModelMapper} it falls back on.
+ * Customers hold no items, so there is no size parameter. Run with
+ * {@code gradle jmh -Pjmh.args="CustomerConversionBenchmark"}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CustomerConversionBenchmark {
+
+	private final CustomerPersistenceEntityAssembler assembler = new CustomerPersistenceEntityAssembler();
+	private final CustomerPersistenceEntityDisassembler disassembler = new CustomerPersistenceEntityDisassembler();
+	private final ModelMapper modelMapper = new ModelMapperConfig().modelMapper();
+	private final Mapper mapper = MapperConfig.specializedMapper(modelMapper);
+
+	private Customer customer;
+	private CustomerPersistenceEntity entity;
+
+	@Setup
+	public void setup() {
+		customer = CustomerTestDataBuilder.existingCustomer().build();
+		entity = assembler.fromDomain(customer);
+	}
+
+	@Benchmark
+	public CustomerPersistenceEntity assemble() {
+		return assembler.fromDomain(customer);
+	}
+
+	@Benchmark
+	public CustomerPersistenceEntity merge() {
+		return assembler.merge(entity, customer);
+	}
+
+	@Benchmark
+	public Customer disassemble() {
+		return disassembler.toDomainEntity(entity);
+	}
+
+	@Benchmark
+	public CustomerOutput mapToOutput() {
+		return mapper.convert(customer, CustomerOutput.class);
+	}
+
+	@Benchmark
+	public CustomerOutput modelMapperMapToOutput() {
+		return modelMapper.map(customer, CustomerOutput.class);
+	}
+
+}
@@ -0,0 +1,91 @@
+package com.algaworks.algashop.ordering.infrastructure.persistence.order;
+
+import com.algaworks.algashop.ordering.application.order.query.OrderDetailOutput;
+import com.algaworks.algashop.ordering.application.utility.Mapper;
+import com.algaworks.algashop.ordering.domain.model.commons.Money;
+import com.algaworks.algashop.ordering.domain.model.commons.Quantity;
+import com.algaworks.algashop.ordering.domain.model.order.Order;
+import com.algaworks.algashop.ordering.domain.model.order.OrderTestDataBuilder;
+import com.algaworks.algashop.ordering.domain.model.product.Product;
+import com.algaworks.algashop.ordering.domain.model.product.ProductId;
+import com.algaworks.algashop.ordering.domain.model.product.ProductTestDataBuilder;
+import com.algaworks.algashop.ordering.infrastructure.persistence.CustomerReferences;
+import com.algaworks.algashop.ordering.infrastructure.persistence.customer.CustomerPersistenceEntityTestDataBuilder;
+import com.algaworks.algashop.ordering.infrastructure.utility.mapper.MapperConfig;
+import com.algaworks.algashop.ordering.infrastructure.utility.modelmapper.ModelMapperConfig;
+import org.modelmapper.ModelMapper;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The conversions every order request goes through, for orders of 1 to 1000 items: assembling a new entity, merging
+ * the order back into its loaded entity, disassembling the entity into the aggregate and mapping it to
+ * {@link OrderDetailOutput}, both through the {@link Mapper} bean and through the {@link ModelMapper} it falls back
+ * on. Run with
+ * {@code gradle jmh -Pjmh.args="OrderConversionBenchmark"}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class OrderConversionBenchmark {
+
+	@Param({"1", "10", "100", "1000"})
+	private int items;
+
+	private OrderPersistenceEntityAssembler assembler;
+	private final OrderPersistenceEntityDisassembler disassembler = new OrderPersistenceEntityDisassembler();
+	private final ModelMapper modelMapper = new ModelMapperConfig().modelMapper();
+	private final Mapper mapper = MapperConfig.specializedMapper(modelMapper);
+
+	private Order order;
+	private OrderPersistenceEntity entity;
+
+	@Setup
+	public void setup() {
+		assembler = new OrderPersistenceEntityAssembler(
+				CustomerReferences.to(CustomerPersistenceEntityTestDataBuilder.aCustomer().build()));
+
+		order = OrderTestDataBuilder.anOrder().withItems(false).build();
+		for (int i = 0; i < items; i++) {
+			Product product = ProductTestDataBuilder.aProduct()
+					.id(new ProductId())
+					.price(new Money(BigDecimal.valueOf(100 + i)))
+					.build();
+			order.addItem(product, new Quantity(1 + i % 3));
+		}
+		order.clearDomainEvents();
+
+		entity = assembler.fromDomain(order);
+	}
+
+	@Benchmark
+	public OrderPersistenceEntity assemble() {
+		return assembler.fromDomain(order);
+	}
+
+	@Benchmark
+	public OrderPersistenceEntity merge() {
+		return assembler.merge(entity, order);
+	}
+
+	@Benchmark
+	public Order disassemble() {
+		return disassembler.toDomainEntity(entity);
+	}
+
+	@Benchmark
+	public OrderDetailOutput mapToDetailOutput() {
+		return mapper.convert(entity, OrderDetailOutput.class);
+	}
+
+	@Benchmark
+	public OrderDetailOutput modelMapperMapToDetailOutput() {
+		return modelMapper.map(entity, OrderDetailOutput.class);
+	}
+
+}
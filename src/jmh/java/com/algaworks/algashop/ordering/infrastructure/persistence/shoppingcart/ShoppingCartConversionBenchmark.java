@@ -0,0 +1,91 @@
+package com.algaworks.algashop.ordering.infrastructure.persistence.shoppingcart;
+
+import com.algaworks.algashop.ordering.application.shoppingcart.query.ShoppingCartOutput;
+import com.algaworks.algashop.ordering.application.utility.Mapper;
+import com.algaworks.algashop.ordering.domain.model.commons.Money;
+import com.algaworks.algashop.ordering.domain.model.commons.Quantity;
+import com.algaworks.algashop.ordering.domain.model.customer.CustomerTestDataBuilder;
+import com.algaworks.algashop.ordering.domain.model.product.Product;
+import com.algaworks.algashop.ordering.domain.model.product.ProductId;
+import com.algaworks.algashop.ordering.domain.model.product.ProductTestDataBuilder;
+import com.algaworks.algashop.ordering.domain.model.shoppingcart.ShoppingCart;
+import com.algaworks.algashop.ordering.infrastructure.persistence.CustomerReferences;
+import com.algaworks.algashop.ordering.infrastructure.persistence.customer.CustomerPersistenceEntityTestDataBuilder;
+import com.algaworks.algashop.ordering.infrastructure.utility.mapper.MapperConfig;
+import com.algaworks.algashop.ordering.infrastructure.utility.modelmapper.ModelMapperConfig;
+import org.modelmapper.ModelMapper;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The conversions every cart request goes through, for carts of 1 to 1000 items: assembling a new entity, merging
+ * the cart back into its loaded entity, disassembling the entity into the aggregate and mapping it to
+ * {@link ShoppingCartOutput}, both through the {@link Mapper} bean and through the {@link ModelMapper} it falls back
+ * on. Run with
+ * {@code gradle jmh -Pjmh.args="ShoppingCartConversionBenchmark"}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ShoppingCartConversionBenchmark {
+
+	@Param({"1", "10", "100", "1000"})
+	private int items;
+
+	private ShoppingCartPersistenceEntityAssembler assembler;
+	private final ShoppingCartPersistenceEntityDisassembler disassembler = new ShoppingCartPersistenceEntityDisassembler();
+	private final ModelMapper modelMapper = new ModelMapperConfig().modelMapper();
+	private final Mapper mapper = MapperConfig.specializedMapper(modelMapper);
+
+	private ShoppingCart shoppingCart;
+	private ShoppingCartPersistenceEntity entity;
+
+	@Setup
+	public void setup() {
+		assembler = new ShoppingCartPersistenceEntityAssembler(
+				CustomerReferences.to(CustomerPersistenceEntityTestDataBuilder.aCustomer().build()));
+
+		shoppingCart = ShoppingCart.startShopping(CustomerTestDataBuilder.DEFAULT_CUSTOMER_ID);
+		for (int i = 0; i < items; i++) {
+			Product product = ProductTestDataBuilder.aProduct()
+					.id(new ProductId())
+					.price(new Money(BigDecimal.valueOf(100 + i)))
+					.build();
+			shoppingCart.addItem(product, new Quantity(1 + i % 3));
+		}
+		shoppingCart.clearDomainEvents();
+
+		entity = assembler.fromDomain(shoppingCart);
+	}
+
+	@Benchmark
+	public ShoppingCartPersistenceEntity assemble() {
+		return assembler.fromDomain(shoppingCart);
+	}
+
+	@Benchmark
+	public ShoppingCartPersistenceEntity merge() {
+		return assembler.merge(entity, shoppingCart);
+	}
+
+	@Benchmark
+	public ShoppingCart disassemble() {
+		return disassembler.toDomainEntity(entity);
+	}
+
+	@Benchmark
+	public ShoppingCartOutput mapToOutput() {
+		return mapper.convert(entity, ShoppingCartOutput.class);
+	}
+
+	@Benchmark
+	public ShoppingCartOutput modelMapperMapToOutput() {
+		return modelMapper.map(entity, ShoppingCartOutput.class);
+	}
+
+}
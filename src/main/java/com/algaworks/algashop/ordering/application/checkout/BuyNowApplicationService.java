@@ -1,5 +1,7 @@
 package com.algaworks.algashop.ordering.application.checkout;
 
+import com.algaworks.algashop.ordering.application.utility.LookupScope;
+import com.algaworks.algashop.ordering.application.utility.LookupScopeFactory;
 import com.algaworks.algashop.ordering.domain.model.commons.Quantity;
 import com.algaworks.algashop.ordering.domain.model.commons.ZipCode;
 import com.algaworks.algashop.ordering.domain.model.customer.Customer;
@@ -18,6 +20,7 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.Objects;
+import java.util.function.Supplier;
 
 @Service
 @RequiredArgsConstructor
@@ -35,6 +38,8 @@ public class BuyNowApplicationService {
 	private final ShippingInputDisassembler shippingInputDisassembler;
 	private final BillingInputDisassembler billingInputDisassembler;
 
+	private final LookupScopeFactory lookupScopeFactory;
+
 	@Transactional
 	public String buyNow(BuyNowInput input) {
 		Objects.requireNonNull(input);
@@ -43,11 +48,21 @@ public class BuyNowApplicationService {
 		CustomerId customerId = new CustomerId(input.getCustomerId());
 		Quantity quantity = new Quantity(input.getQuantity());
 
-		Customer customer = customers.ofId(customerId).orElseThrow(CustomerNotFoundException::new);
+		Customer customer;
+		Product product;
+		ShippingCostService.CalculationResult shippingCalculationResult;
+
+		try (LookupScope lookups = lookupScopeFactory.open()) {
+			Supplier<Product> productLookup = lookups.fork(() -> findProduct(new ProductId(input.getProductId())));
+			Supplier<ShippingCostService.CalculationResult> shippingCostLookup =
+					lookups.fork(() -> calculateShippingCost(input.getShipping()));
 
-		Product product = findProduct(new ProductId(input.getProductId()));
+			customer = customers.ofId(customerId).orElseThrow(CustomerNotFoundException::new);
 
-		var shippingCalculationResult = calculateShippingCost(input.getShipping());
+			lookups.join();
+			product = productLookup.get();
+			shippingCalculationResult = shippingCostLookup.get();
+		}
 
 		Shipping shipping = shippingInputDisassembler.toDomainModel(input.getShipping(), shippingCalculationResult);
 
@@ -1,5 +1,7 @@
 package com.algaworks.algashop.ordering.application.checkout;
 
+import com.algaworks.algashop.ordering.application.utility.LookupScope;
+import com.algaworks.algashop.ordering.application.utility.LookupScopeFactory;
 import com.algaworks.algashop.ordering.domain.model.commons.ZipCode;
 import com.algaworks.algashop.ordering.domain.model.customer.Customer;
 import com.algaworks.algashop.ordering.domain.model.customer.CustomerNotFoundException;
@@ -23,6 +25,7 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.Objects;
+import java.util.function.Supplier;
 
 @Service
 @RequiredArgsConstructor
@@ -41,19 +44,31 @@ public class CheckoutApplicationService {
 	private final OriginAddressService originAddressService;
 	private final ProductCatalogService productCatalogService;
 
+	private final LookupScopeFactory lookupScopeFactory;
+
 	@Transactional
 	public String checkout(CheckoutInput input) {
 		Objects.requireNonNull(input);
 		PaymentMethod paymentMethod = PaymentMethod.valueOf(input.getPaymentMethod());
 
 		ShoppingCartId shoppingCartId = new ShoppingCartId(input.getShoppingCartId());
-		ShoppingCart shoppingCart = shoppingCarts.ofId(shoppingCartId)
-				.orElseThrow(ShoppingCartNotFoundException::new);
+		ShoppingCart shoppingCart;
+		Customer customer;
+		ShippingCostService.CalculationResult shippingCalculationResult;
+
+		try (LookupScope lookups = lookupScopeFactory.open()) {
+			Supplier<ShippingCostService.CalculationResult> shippingCostLookup =
+					lookups.fork(() -> calculateShippingCost(input.getShipping()));
+
+			shoppingCart = shoppingCarts.ofId(shoppingCartId)
+					.orElseThrow(ShoppingCartNotFoundException::new);
 
-		Customer customer = customers.ofId(shoppingCart.customerId())
-				.orElseThrow(CustomerNotFoundException::new);
+			customer = customers.ofId(shoppingCart.customerId())
+					.orElseThrow(CustomerNotFoundException::new);
 
-		var shippingCalculationResult = calculateShippingCost(input.getShipping());
+			lookups.join();
+			shippingCalculationResult = shippingCostLookup.get();
+		}
 
 		Order order = checkoutService.checkout(
 				customer,
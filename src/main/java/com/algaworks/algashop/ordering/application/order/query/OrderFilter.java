@@ -21,6 +21,7 @@ public class OrderFilter extends SortablePageFilter<OrderFilter.SortType> {
 	private OffsetDateTime placedAtTo;
 	private BigDecimal totalAmountFrom;
 	private BigDecimal totalAmountTo;
+	private String cursor;
 
 	public OrderFilter(int size, int page) {
 		super(size, page);
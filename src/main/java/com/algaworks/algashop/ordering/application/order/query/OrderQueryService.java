@@ -2,8 +2,16 @@ package com.algaworks.algashop.ordering.application.order.query;
 
 import org.springframework.data.domain.Page;
 
+import java.util.function.Consumer;
+
 public interface OrderQueryService {
 	OrderDetailOutput findById(String id);
 
 	Page<OrderSummaryOutput> filter(OrderFilter filter);
+
+	/**
+	 * Passes every order matching the filter to the consumer, in the filter's sort order, while reading them
+	 * through a forward-only cursor. Paging and count settings are ignored; a cursor resumes after its position.
+	 */
+	void export(OrderFilter filter, Consumer<OrderSummaryOutput> consumer);
 }
@@ -0,0 +1,10 @@
+package com.algaworks.algashop.ordering.application.utility;
+
+public enum CountStrategy {
+	/** Runs a count query for every page. */
+	EXACT,
+	/** Runs no count query; the page only knows whether another page follows. */
+	SKIP,
+	/** Reuses a recent count for the same filter criteria until it expires or the data changes. */
+	CACHED
+}
@@ -0,0 +1,56 @@
+package com.algaworks.algashop.ordering.application.utility;
+
+import lombok.Getter;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+
+import java.util.List;
+
+/**
+ * A page of filter results. It may carry the opaque cursor of the next page and may not know the exact total,
+ * in which case the total is a lower bound that still accounts for the next page.
+ */
+@Getter
+public class FilterPage<T> extends PageImpl<T> {
+
+	private final long total;
+	private final boolean totalKnown;
+	private final boolean hasNextPage;
+	private final String nextCursor;
+
+	private FilterPage(List<T> content, Pageable pageable, long total, boolean totalKnown,
+					   boolean hasNextPage, String nextCursor) {
+		super(content, pageable, total);
+		this.total = total;
+		this.totalKnown = totalKnown;
+		this.hasNextPage = hasNextPage;
+		this.nextCursor = nextCursor;
+	}
+
+	public static <T> FilterPage<T> withTotal(List<T> content, Pageable pageable, long total,
+											  boolean hasNextPage, String nextCursor) {
+		return new FilterPage<>(content, pageable, total, true, hasNextPage, nextCursor);
+	}
+
+	public static <T> FilterPage<T> withoutTotal(List<T> content, Pageable pageable,
+												 boolean hasNextPage, String nextCursor) {
+		long lowerBound = pageable.getOffset() + content.size() + (hasNextPage ? 1 : 0);
+		return new FilterPage<>(content, pageable, lowerBound, false, hasNextPage, nextCursor);
+	}
+
+	@Override
+	public long getTotalElements() {
+		return total;
+	}
+
+	@Override
+	public int getTotalPages() {
+		return getSize() == 0 ? 1 : (int) Math.ceil((double) total / (double) getSize());
+	}
+
+	@Override
+	public boolean hasNext() {
+		return hasNextPage;
+	}
+
+}
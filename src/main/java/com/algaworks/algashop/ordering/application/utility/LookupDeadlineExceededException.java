@@ -0,0 +1,12 @@
+package com.algaworks.algashop.ordering.application.utility;
+
+/**
+ * Thrown when the lookups of a {@link LookupScope} do not all finish before its deadline.
+ */
+public class LookupDeadlineExceededException extends RuntimeException {
+
+	public LookupDeadlineExceededException(String message) {
+		super(message);
+	}
+
+}
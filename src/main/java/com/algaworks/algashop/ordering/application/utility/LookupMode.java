@@ -0,0 +1,8 @@
+package com.algaworks.algashop.ordering.application.utility;
+
+public enum LookupMode {
+	/** Runs every lookup on the calling thread, one after another in fork order, when the scope is joined. */
+	SEQUENTIAL,
+	/** Runs forked lookups on virtual threads while the calling thread carries on, under one shared deadline. */
+	CONCURRENT
+}
@@ -0,0 +1,130 @@
+package com.algaworks.algashop.ordering.application.utility;
+
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+/**
+ * Runs independent lookups side by side. Each {@link #fork(Callable)} starts a lookup on the executor and
+ * {@link #join()} waits for all of them until the scope's deadline. The first lookup to fail cancels the others
+ * and its exception is rethrown by {@code join}; missing the deadline cancels them all. Closing the scope cancels
+ * whatever is still running. Without an executor the lookups run on the calling thread when the scope is joined,
+ * in the order they were forked, so they fail in the order the calls would have failed when made inline.
+ * <p>
+ * Forked lookups run outside the caller's transaction, so only calls that do not need it should be forked.
+ */
+public final class LookupScope implements AutoCloseable {
+
+	private final Executor executor;
+	private final long deadline;
+
+	private final List<Lookup<?>> lookups = new CopyOnWriteArrayList<>();
+	private final AtomicReference<Throwable> failure = new AtomicReference<>();
+
+	LookupScope(Executor executor, long deadline) {
+		this.executor = executor;
+		this.deadline = deadline;
+	}
+
+	public <T> Supplier<T> fork(Callable<T> task) {
+		Lookup<T> lookup = new Lookup<>(task);
+		lookups.add(lookup);
+
+		if (executor != null) {
+			executor.execute(lookup);
+		}
+
+		return lookup::result;
+	}
+
+	public void join() {
+		if (executor == null) {
+			for (Lookup<?> lookup : lookups) {
+				lookup.run();
+				throwIfFailed();
+			}
+		}
+
+		for (Lookup<?> lookup : lookups) {
+			try {
+				lookup.get(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+			} catch (ExecutionException e) {
+				throwIfFailed();
+				throw unchecked(e.getCause());
+			} catch (CancellationException e) {
+				throwIfFailed();
+				throw e;
+			} catch (TimeoutException e) {
+				cancelAll();
+				throw new LookupDeadlineExceededException("Lookups did not finish before their deadline");
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				cancelAll();
+				throw new CancellationException("Interrupted while waiting for lookups");
+			}
+		}
+	}
+
+	@Override
+	public void close() {
+		cancelAll();
+	}
+
+	private boolean recordFailure(Throwable cause) {
+		return failure.compareAndSet(null, cause);
+	}
+
+	private void cancelAll() {
+		for (Lookup<?> lookup : lookups) {
+			lookup.cancel(true);
+		}
+	}
+
+	private void throwIfFailed() {
+		Throwable cause = failure.get();
+		if (cause != null) {
+			throw unchecked(cause);
+		}
+	}
+
+	private static RuntimeException unchecked(Throwable cause) {
+		if (cause instanceof Error error) {
+			throw error;
+		}
+		return cause instanceof RuntimeException runtimeException ? runtimeException : new IllegalStateException(cause);
+	}
+
+	private final class Lookup<T> extends FutureTask<T> {
+
+		Lookup(Callable<T> task) {
+			super(task);
+		}
+
+		/*
+		 * The failure is recorded before the waiting join wakes up, so join always rethrows the first failure
+		 * itself; the other lookups are cancelled only afterwards, as cancelling first would cancel this one too.
+		 */
+		@Override
+		protected void setException(Throwable cause) {
+			boolean first = recordFailure(cause);
+			super.setException(cause);
+			if (first) {
+				cancelAll();
+			}
+		}
+
+		T result() {
+			return resultNow();
+		}
+
+	}
+
+}
@@ -0,0 +1,41 @@
+package com.algaworks.algashop.ordering.application.utility;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Opens {@link LookupScope}s in the configured {@link LookupMode}. Concurrent scopes fork onto virtual threads,
+ * one per lookup, and share a deadline that starts when the scope is opened.
+ */
+@Component
+public class LookupScopeFactory implements DisposableBean {
+
+	private final LookupMode mode;
+	private final long deadlineNanos;
+	private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+	public LookupScopeFactory(@Value("${algashop.application.lookups.mode:CONCURRENT}") LookupMode mode,
+							  @Value("${algashop.application.lookups.deadline:5s}") Duration deadline) {
+		this.mode = mode;
+		this.deadlineNanos = deadline.toNanos();
+	}
+
+	public LookupScope open() {
+		return open(mode);
+	}
+
+	public LookupScope open(LookupMode mode) {
+		return new LookupScope(mode == LookupMode.CONCURRENT ? executor : null, System.nanoTime() + deadlineNanos);
+	}
+
+	@Override
+	public void destroy() {
+		executor.shutdownNow();
+	}
+
+}
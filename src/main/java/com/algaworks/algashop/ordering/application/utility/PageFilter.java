@@ -10,4 +10,10 @@ import lombok.NoArgsConstructor;
 public class PageFilter {
 	private int size = 15;
 	private int page = 0;
+	private CountStrategy countStrategy;
+
+	public PageFilter(int size, int page) {
+		this.size = size;
+		this.page = page;
+	}
 }
@@ -1,31 +1,102 @@
 package com.algaworks.algashop.ordering.domain.model;
 
-import com.fasterxml.uuid.Generators;
-import com.fasterxml.uuid.impl.TimeBasedEpochRandomGenerator;
 import io.hypersistence.tsid.TSID;
 
+import java.security.SecureRandom;
+import java.util.List;
 import java.util.UUID;
 
+/**
+ * Entry point the id value objects draw from. Until {@link #configure} is called, TSIDs use the node given by the
+ * {@code tsid.node} system property or {@code TSID_NODE} environment variable, in as many bits as
+ * {@code tsid.node.count} / {@code TSID_NODE_COUNT} needs, and a random node when none is given. At most
+ * {@value #MAXIMUM_NODE_COUNT} nodes fit, since every node keeps at least 8 bits of per-millisecond counter; larger
+ * node counts are rejected. Configure it once
+ * at startup, before any id is generated; swapping generators while ids are being drawn can repeat ids in that
+ * millisecond.
+ */
 public class IdGenerator {
 
-	private static final TimeBasedEpochRandomGenerator timeBasedEpochRandomGenerator
-			= Generators.timeBasedEpochRandomGenerator();
+	public static final int DEFAULT_NODE_BITS = 10;
+	public static final int MAXIMUM_DEFAULT_STRIPES = 16;
+	public static final int MAXIMUM_NODE_COUNT = 1 << (TsidGenerator.RANDOM_BITS - TsidGenerator.MINIMUM_COUNTER_BITS);
 
-	private static final TSID.Factory tsidFactory = TSID.Factory.INSTANCE;
+	private static volatile TsidGenerator tsidGenerator
+			= new TsidGenerator(defaultNode(defaultNodeBits()), defaultNodeBits(), defaultStripes(defaultNodeBits()));
+
+	private static volatile TimeBasedUuidGenerator timeBasedUuidGenerator
+			= new TimeBasedUuidGenerator(defaultStripes());
 
 	private IdGenerator() {
 	}
 
 	public static UUID generateTimeBasedUUID() {
-		return timeBasedEpochRandomGenerator.generate();
+		return timeBasedUuidGenerator.next();
+	}
+
+	public static TSID generateTSID() {
+		return tsidGenerator.next();
+	}
+
+	public static List<UUID> generateTimeBasedUUIDs(int count) {
+		return timeBasedUuidGenerator.nextIds(count);
+	}
+
+	public static List<TSID> generateTSIDs(int count) {
+		return tsidGenerator.nextIds(count);
+	}
+
+	public static void configure(int node, int nodeBits, int stripes) {
+		tsidGenerator = new TsidGenerator(node, nodeBits, stripes);
+		timeBasedUuidGenerator = new TimeBasedUuidGenerator(stripes);
+	}
+
+	public static TsidGenerator tsidGenerator() {
+		return tsidGenerator;
+	}
+
+	public static int defaultNodeBits() {
+		String nodeCount = setting("tsid.node.count", "TSID_NODE_COUNT");
+		if (nodeCount == null) {
+			return DEFAULT_NODE_BITS;
+		}
+		return 32 - Integer.numberOfLeadingZeros(Integer.parseInt(nodeCount) - 1);
 	}
 
 	/**
-	 * TSID_NODE
-	 * TSID_NODE_COUNT
+	 * The node configured through the TSID settings, or a random one when there is none.
 	 */
-	public static TSID generateTSID() {
-		return tsidFactory.generate();
+	public static int defaultNode(int nodeBits) {
+		String node = setting("tsid.node", "TSID_NODE");
+		if (node == null) {
+			return new SecureRandom().nextInt(1 << nodeBits);
+		}
+		return Integer.parseInt(node);
+	}
+
+	/**
+	 * One stripe per available processor, rounded up to a power of two and capped at
+	 * {@value #MAXIMUM_DEFAULT_STRIPES}.
+	 */
+	public static int defaultStripes() {
+		int processors = Runtime.getRuntime().availableProcessors();
+		return Math.min(MAXIMUM_DEFAULT_STRIPES, processors == 1 ? 1 : Integer.highestOneBit(processors - 1) << 1);
+	}
+
+	/**
+	 * {@link #defaultStripes()}, lowered so that TSIDs with {@code nodeBits} of node keep at least 8 counter bits.
+	 */
+	public static int defaultStripes(int nodeBits) {
+		int spareBits = Math.max(0, TsidGenerator.RANDOM_BITS - TsidGenerator.MINIMUM_COUNTER_BITS - nodeBits);
+		return Math.min(defaultStripes(), 1 << spareBits);
+	}
+
+	private static String setting(String systemProperty, String environmentVariable) {
+		String value = System.getProperty(systemProperty);
+		if (value == null || value.isBlank()) {
+			value = System.getenv(environmentVariable);
+		}
+		return value == null || value.isBlank() ? null : value.trim();
 	}
 
 }
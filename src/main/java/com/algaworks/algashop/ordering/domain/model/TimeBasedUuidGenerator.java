@@ -0,0 +1,96 @@
+package com.algaworks.algashop.ordering.domain.model;
+
+import java.security.SecureRandom;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.LongSupplier;
+
+/**
+ * Generates version 7 UUIDs: a 48-bit Unix millisecond timestamp, a 12-bit counter in {@code rand_a} that keeps ids
+ * from the same stripe increasing within a millisecond, and 62 bits in {@code rand_b} mixed from that sequence value
+ * and a secret key the stripe draws from {@link SecureRandom} once. Neighbouring ids therefore do not reveal each
+ * other, as an incremented random field would, and no id waits on a random source. Threads are spread over
+ * independent stripes, so they rarely share an atomic either.
+ */
+public final class TimeBasedUuidGenerator {
+
+	private static final int COUNTER_BITS = 12;
+	private static final long VERSION_7 = 0x7000L;
+	private static final long VARIANT_MASK = 0x3FFF_FFFF_FFFF_FFFFL;
+	private static final long VARIANT_RFC_4122 = 0x8000_0000_0000_0000L;
+
+	private final Stripe[] stripes;
+
+	public TimeBasedUuidGenerator(int stripes) {
+		this(stripes, System::currentTimeMillis);
+	}
+
+	TimeBasedUuidGenerator(int stripes, LongSupplier clock) {
+		if (stripes < 1 || Integer.bitCount(stripes) != 1) {
+			throw new IllegalArgumentException("Stripes must be a power of two, was %d".formatted(stripes));
+		}
+
+		SecureRandom random = new SecureRandom();
+		this.stripes = new Stripe[stripes];
+		for (int i = 0; i < stripes; i++) {
+			this.stripes[i] = new Stripe(new TimeCounterSequence(COUNTER_BITS, clock), random.nextLong());
+		}
+	}
+
+	public UUID next() {
+		Stripe stripe = stripe();
+		return stripe.toUuid(stripe.sequence().reserve(1));
+	}
+
+	/**
+	 * Reserves {@code count} ids at once, in increasing order.
+	 */
+	public List<UUID> nextIds(int count) {
+		if (count < 0) {
+			throw new IllegalArgumentException("Count must not be negative, was %d".formatted(count));
+		}
+		List<UUID> ids = new ArrayList<>(count);
+		if (count == 0) {
+			return ids;
+		}
+
+		Stripe stripe = stripe();
+		long first = stripe.sequence().reserve(count);
+		for (int i = 0; i < count; i++) {
+			ids.add(stripe.toUuid(first + i));
+		}
+		return ids;
+	}
+
+	public int stripes() {
+		return stripes.length;
+	}
+
+	private Stripe stripe() {
+		return stripes[(int) Thread.currentThread().threadId() & (stripes.length - 1)];
+	}
+
+	private record Stripe(TimeCounterSequence sequence, long key) {
+
+		UUID toUuid(long value) {
+			long mostSignificantBits = (sequence.millis(value) << 16) | VERSION_7 | sequence.counter(value);
+			long leastSignificantBits = (mix(value ^ key) & VARIANT_MASK) | VARIANT_RFC_4122;
+			return new UUID(mostSignificantBits, leastSignificantBits);
+		}
+
+		/**
+		 * The SplitMix64 finalizer, run twice.
+		 */
+		private static long mix(long value) {
+			for (int round = 0; round < 2; round++) {
+				value = (value ^ (value >>> 30)) * 0xBF58_476D_1CE4_E5B9L;
+				value = (value ^ (value >>> 27)) * 0x94D0_49BB_1331_11EBL;
+				value = value ^ (value >>> 31);
+			}
+			return value;
+		}
+
+	}
+
+}
@@ -0,0 +1,49 @@
+package com.algaworks.algashop.ordering.domain.model;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Hands out strictly increasing {@code millis << counterBits | counter} values without locking. The first value of
+ * each millisecond starts the counter at a random point in its lower half; when a millisecond's counter runs out the
+ * increment carries into the next millisecond, which is borrowed ahead of the clock until it catches up.
+ */
+final class TimeCounterSequence {
+
+	private final int counterBits;
+	private final long randomStartBound;
+	private final LongSupplier clock;
+	private final AtomicLong last = new AtomicLong();
+
+	TimeCounterSequence(int counterBits, LongSupplier clock) {
+		this.counterBits = counterBits;
+		this.randomStartBound = 1L << (counterBits - 1);
+		this.clock = clock;
+	}
+
+	/**
+	 * Reserves {@code count} consecutive values with a single compare-and-set and returns the first one.
+	 */
+	long reserve(int count) {
+		while (true) {
+			long previous = last.get();
+			long now = clock.getAsLong() << counterBits;
+			long first = now > previous
+					? now | ThreadLocalRandom.current().nextLong(randomStartBound)
+					: previous + 1;
+			if (last.compareAndSet(previous, first + count - 1)) {
+				return first;
+			}
+		}
+	}
+
+	long millis(long value) {
+		return value >>> counterBits;
+	}
+
+	long counter(long value) {
+		return value & ((1L << counterBits) - 1);
+	}
+
+}
@@ -0,0 +1,107 @@
+package com.algaworks.algashop.ordering.domain.model;
+
+import io.hypersistence.tsid.TSID;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.LongSupplier;
+
+/**
+ * Generates TSIDs for one node of a deployment. The 22 bits after the timestamp hold the node id, then a stripe
+ * index, then a per-millisecond counter. Each thread draws from the stripe its id maps to, and every stripe is an
+ * independent {@link TimeCounterSequence}, so concurrent callers rarely touch the same atomic and never collide:
+ * distinct nodes and stripes occupy distinct bit patterns whatever stripe count each instance runs with.
+ */
+public final class TsidGenerator {
+
+	static final int RANDOM_BITS = 22;
+	static final int MINIMUM_COUNTER_BITS = 8;
+
+	private final int node;
+	private final int nodeBits;
+	private final int stripeBits;
+	private final int counterBits;
+	private final TimeCounterSequence[] stripes;
+
+	public TsidGenerator(int node, int nodeBits, int stripes) {
+		this(node, nodeBits, stripes, () -> System.currentTimeMillis() - TSID.TSID_EPOCH);
+	}
+
+	TsidGenerator(int node, int nodeBits, int stripes, LongSupplier clock) {
+		if (nodeBits < 0 || nodeBits > RANDOM_BITS - MINIMUM_COUNTER_BITS) {
+			throw new IllegalArgumentException("Node bits must be between 0 and %d, was %d"
+					.formatted(RANDOM_BITS - MINIMUM_COUNTER_BITS, nodeBits));
+		}
+		if (node < 0 || node >= 1 << nodeBits) {
+			throw new IllegalArgumentException("Node %d does not fit in %d bits".formatted(node, nodeBits));
+		}
+		if (stripes < 1 || Integer.bitCount(stripes) != 1) {
+			throw new IllegalArgumentException("Stripes must be a power of two, was %d".formatted(stripes));
+		}
+
+		this.node = node;
+		this.nodeBits = nodeBits;
+		this.stripeBits = Integer.numberOfTrailingZeros(stripes);
+		this.counterBits = RANDOM_BITS - nodeBits - stripeBits;
+		if (counterBits < MINIMUM_COUNTER_BITS) {
+			throw new IllegalArgumentException("%d node bits and %d stripes leave fewer than %d counter bits"
+					.formatted(nodeBits, stripes, MINIMUM_COUNTER_BITS));
+		}
+
+		this.stripes = new TimeCounterSequence[stripes];
+		for (int i = 0; i < stripes; i++) {
+			this.stripes[i] = new TimeCounterSequence(counterBits, clock);
+		}
+	}
+
+	public TSID next() {
+		int stripe = stripe();
+		return toTsid(stripe, stripes[stripe].reserve(1));
+	}
+
+	/**
+	 * Reserves {@code count} ids at once, in increasing order. A large batch runs the counter ahead of the clock by
+	 * {@code count / 2^counterBits} milliseconds, which later calls on the same stripe then continue from.
+	 */
+	public List<TSID> nextIds(int count) {
+		if (count < 0) {
+			throw new IllegalArgumentException("Count must not be negative, was %d".formatted(count));
+		}
+		List<TSID> ids = new ArrayList<>(count);
+		if (count == 0) {
+			return ids;
+		}
+
+		int stripe = stripe();
+		long first = stripes[stripe].reserve(count);
+		for (int i = 0; i < count; i++) {
+			ids.add(toTsid(stripe, first + i));
+		}
+		return ids;
+	}
+
+	public int node() {
+		return node;
+	}
+
+	public int nodeBits() {
+		return nodeBits;
+	}
+
+	public int stripes() {
+		return stripes.length;
+	}
+
+	private int stripe() {
+		return (int) Thread.currentThread().threadId() & (stripes.length - 1);
+	}
+
+	private TSID toTsid(int stripe, long value) {
+		TimeCounterSequence sequence = stripes[stripe];
+		long stripeNode = ((long) node << stripeBits) | stripe;
+		return TSID.from((sequence.millis(value) << RANDOM_BITS)
+				| (stripeNode << counterBits)
+				| sequence.counter(value));
+	}
+
+}
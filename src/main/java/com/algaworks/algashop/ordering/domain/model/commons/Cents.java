@@ -0,0 +1,65 @@
+package com.algaworks.algashop.ordering.domain.model.commons;
+
+import java.math.BigDecimal;
+import java.util.Objects;
+import java.util.function.Function;
+
+/**
+ * An amount of money as a whole number of cents, which the aggregates use for their internal arithmetic. Adding and
+ * multiplying stay on {@code long} and fail on overflow instead of wrapping; {@link Money} remains the type at
+ * persistence and API boundaries.
+ */
+public record Cents(long value) implements Comparable<Cents> {
+
+	public static final Cents ZERO = new Cents(0);
+
+	public static Cents of(Money money) {
+		Objects.requireNonNull(money);
+		return new Cents(money.value().movePointRight(2).longValueExact());
+	}
+
+	/**
+	 * Adds up the amounts of the given elements on a {@code long}, allocating only the result.
+	 */
+	public static <T> Cents sum(Iterable<T> elements, Function<? super T, Cents> amount) {
+		long total = 0;
+		for (T element : elements) {
+			total = Math.addExact(total, amount.apply(element).value);
+		}
+		return new Cents(total);
+	}
+
+	public Cents add(Cents cents) {
+		Objects.requireNonNull(cents);
+		return new Cents(Math.addExact(this.value, cents.value));
+	}
+
+	public Cents subtract(Cents cents) {
+		Objects.requireNonNull(cents);
+		return new Cents(Math.subtractExact(this.value, cents.value));
+	}
+
+	public Cents multiply(Quantity quantity) {
+		Objects.requireNonNull(quantity);
+		if (quantity.value() < 1) {
+			throw new IllegalArgumentException();
+		}
+		return new Cents(Math.multiplyExact(this.value, (long) quantity.value()));
+	}
+
+	public Money toMoney() {
+		return new Money(BigDecimal.valueOf(value, 2));
+	}
+
+	@SuppressWarnings("NullableProblems")
+	@Override
+	public String toString() {
+		return BigDecimal.valueOf(value, 2).toString();
+	}
+
+	@Override
+	public int compareTo(Cents o) {
+		return Long.compare(this.value, o.value);
+	}
+
+}
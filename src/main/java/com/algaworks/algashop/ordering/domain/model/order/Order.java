@@ -2,17 +2,19 @@ package com.algaworks.algashop.ordering.domain.model.order;
 
 import com.algaworks.algashop.ordering.domain.model.AbstractEventSourceEntity;
 import com.algaworks.algashop.ordering.domain.model.AggregateRoot;
+import com.algaworks.algashop.ordering.domain.model.commons.Cents;
 import com.algaworks.algashop.ordering.domain.model.commons.Money;
 import com.algaworks.algashop.ordering.domain.model.commons.Quantity;
 import com.algaworks.algashop.ordering.domain.model.customer.CustomerId;
 import com.algaworks.algashop.ordering.domain.model.product.Product;
 import lombok.Builder;
 
-import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.OffsetDateTime;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
 
@@ -21,7 +23,7 @@ public class Order extends AbstractEventSourceEntity implements AggregateRoot<Or
 	private OrderId id;
 	private CustomerId customerId;
 
-	private Money totalAmount;
+	private Cents totalAmount;
 	private Quantity totalItems;
 
 	private OffsetDateTime placedAt;
@@ -37,6 +39,10 @@ public class Order extends AbstractEventSourceEntity implements AggregateRoot<Or
 
 	private Set<OrderItem> items;
 
+	private final Map<OrderItemId, OrderItem> itemsById = new HashMap<>();
+	private Cents itemsAmount = Cents.ZERO;
+	private int itemsQuantity;
+
 	private Long version;
 
 	@Builder(builderClassName = "ExistingOrderBuilder", builderMethodName = "existing")
@@ -99,8 +105,10 @@ public class Order extends AbstractEventSourceEntity implements AggregateRoot<Or
 		}
 
 		items.add(orderItem);
+		itemsById.put(orderItem.id(), orderItem);
+		addToTotals(orderItem);
 
-		recalculateTotals();
+		updateTotals();
 	}
 
 	public void place() {
@@ -144,7 +152,7 @@ public class Order extends AbstractEventSourceEntity implements AggregateRoot<Or
 		}
 
 		setShipping(newShipping);
-		recalculateTotals();
+		updateTotals();
 	}
 
 	public void changeItemQuantity(OrderItemId orderItemId, Quantity quantity) {
@@ -154,9 +162,11 @@ public class Order extends AbstractEventSourceEntity implements AggregateRoot<Or
 		verifyIfChangeable();
 
 		OrderItem orderItem = findOrderItem(orderItemId);
+		subtractFromTotals(orderItem);
 		orderItem.changeQuantity(quantity);
+		addToTotals(orderItem);
 
-		recalculateTotals();
+		updateTotals();
 	}
 
 	public void removeItem(OrderItemId orderItemId) {
@@ -165,8 +175,10 @@ public class Order extends AbstractEventSourceEntity implements AggregateRoot<Or
 
 		OrderItem orderItem = findOrderItem(orderItemId);
 		items.remove(orderItem);
+		itemsById.remove(orderItem.id());
+		subtractFromTotals(orderItem);
 
-		recalculateTotals();
+		updateTotals();
 	}
 
 	public void cancel() {
@@ -204,7 +216,7 @@ public class Order extends AbstractEventSourceEntity implements AggregateRoot<Or
 	}
 
 	public Money totalAmount() {
-		return totalAmount;
+		return totalAmount.toMoney();
 	}
 
 	public Quantity totalItems() {
@@ -247,26 +259,30 @@ public class Order extends AbstractEventSourceEntity implements AggregateRoot<Or
 		return Collections.unmodifiableSet(items);
 	}
 
-	private void recalculateTotals() {
-		BigDecimal totalItemsAmount = items().stream()
-				.map(i -> i.totalAmount().value())
-				.reduce(BigDecimal.ZERO, BigDecimal::add);
+	private void addToTotals(OrderItem orderItem) {
+		itemsAmount = itemsAmount.add(orderItem.totalAmountInCents());
+		itemsQuantity += orderItem.quantity().value();
+	}
 
-		Integer totalItemsQuantity = items.stream()
-				.map(i -> i.quantity().value())
-				.reduce(0, Integer::sum);
+	private void subtractFromTotals(OrderItem orderItem) {
+		itemsAmount = itemsAmount.subtract(orderItem.totalAmountInCents());
+		itemsQuantity -= orderItem.quantity().value();
+	}
 
-		BigDecimal shippingCost;
+	/**
+	 * Publishes the running item sums plus the shipping cost as the order's totals. The sums are built from the items
+	 * when the order is loaded and then moved by each item's change, instead of summing every item again.
+	 */
+	private void updateTotals() {
+		Cents shippingCost;
 		if (shipping() == null) {
-			shippingCost = BigDecimal.ZERO;
+			shippingCost = Cents.ZERO;
 		} else {
-			shippingCost = shipping().cost().value();
+			shippingCost = Cents.of(shipping().cost());
 		}
 
-		BigDecimal totalAmountRecalculated = totalItemsAmount.add(shippingCost);
-
-		setTotalAmount(new Money(totalAmountRecalculated));
-		setTotalItems(new Quantity(totalItemsQuantity));
+		this.totalAmount = itemsAmount.add(shippingCost);
+		setTotalItems(new Quantity(itemsQuantity));
 	}
 
 	private void changeStatus(OrderStatus newStatus) {
@@ -295,10 +311,11 @@ public class Order extends AbstractEventSourceEntity implements AggregateRoot<Or
 
 	private OrderItem findOrderItem(OrderItemId orderItemId) {
 		Objects.requireNonNull(orderItemId);
-		return items().stream()
-				.filter(i -> i.id().equals(orderItemId))
-				.findFirst()
-				.orElseThrow(() -> new OrderDoesNotContainOrderItemException(id(), orderItemId));
+		OrderItem orderItem = itemsById.get(orderItemId);
+		if (orderItem == null) {
+			throw new OrderDoesNotContainOrderItemException(id(), orderItemId);
+		}
+		return orderItem;
 	}
 
 	private void verifyIfChangeable() {
@@ -327,7 +344,7 @@ public class Order extends AbstractEventSourceEntity implements AggregateRoot<Or
 
 	private void setTotalAmount(Money totalAmount) {
 		Objects.requireNonNull(totalAmount);
-		this.totalAmount = totalAmount;
+		this.totalAmount = Cents.of(totalAmount);
 	}
 
 	private void setTotalItems(Quantity totalItems) {
@@ -371,6 +388,10 @@ public class Order extends AbstractEventSourceEntity implements AggregateRoot<Or
 	private void setItems(Set<OrderItem> items) {
 		Objects.requireNonNull(items);
 		this.items = items;
+		for (OrderItem item : items) {
+			itemsById.put(item.id(), item);
+			addToTotals(item);
+		}
 	}
 
 	@Override
@@ -1,5 +1,6 @@
 package com.algaworks.algashop.ordering.domain.model.order;
 
+import com.algaworks.algashop.ordering.domain.model.commons.Cents;
 import com.algaworks.algashop.ordering.domain.model.commons.Money;
 import com.algaworks.algashop.ordering.domain.model.product.Product;
 import com.algaworks.algashop.ordering.domain.model.product.ProductName;
@@ -17,10 +18,10 @@ public class OrderItem {
 	private ProductId productId;
 	private ProductName productName;
 
-	private Money price;
+	private Cents price;
 	private Quantity quantity;
 
-	private Money totalAmount;
+	private Cents totalAmount;
 
 	@Builder(builderClassName = "ExistingOrderItemBuilder", builderMethodName = "existing")
 	public OrderItem(OrderItemId id, OrderId orderId, ProductId productId,
@@ -79,7 +80,7 @@ public class OrderItem {
 	}
 
 	public Money price() {
-		return price;
+		return price.toMoney();
 	}
 
 	public Quantity quantity() {
@@ -87,11 +88,15 @@ public class OrderItem {
 	}
 
 	public Money totalAmount() {
+		return totalAmount.toMoney();
+	}
+
+	Cents totalAmountInCents() {
 		return totalAmount;
 	}
 
 	private void recalculateTotals() {
-		setTotalAmount(price().multiply(quantity()));
+		this.totalAmount = price.multiply(quantity);
 	}
 
 	private void setId(OrderItemId id) {
@@ -116,7 +121,7 @@ public class OrderItem {
 
 	private void setPrice(Money price) {
 		Objects.requireNonNull(price);
-		this.price = price;
+		this.price = Cents.of(price);
 	}
 
 	private void setQuantity(Quantity quantity) {
@@ -126,7 +131,7 @@ public class OrderItem {
 
 	private void setTotalAmount(Money totalAmount) {
 		Objects.requireNonNull(totalAmount);
-		this.totalAmount = totalAmount;
+		this.totalAmount = Cents.of(totalAmount);
 	}
 
 	@Override
@@ -2,6 +2,7 @@ package com.algaworks.algashop.ordering.domain.model.shoppingcart;
 
 import com.algaworks.algashop.ordering.domain.model.AbstractEventSourceEntity;
 import com.algaworks.algashop.ordering.domain.model.AggregateRoot;
+import com.algaworks.algashop.ordering.domain.model.commons.Cents;
 import com.algaworks.algashop.ordering.domain.model.commons.Money;
 import com.algaworks.algashop.ordering.domain.model.commons.Quantity;
 import com.algaworks.algashop.ordering.domain.model.customer.CustomerId;
@@ -9,7 +10,6 @@ import com.algaworks.algashop.ordering.domain.model.product.Product;
 import com.algaworks.algashop.ordering.domain.model.product.ProductId;
 import lombok.Builder;
 
-import java.math.BigDecimal;
 import java.time.OffsetDateTime;
 import java.util.*;
 
@@ -17,12 +17,17 @@ public class ShoppingCart extends AbstractEventSourceEntity implements Aggregate
 
 	private ShoppingCartId id;
 	private CustomerId customerId;
-	private Money totalAmount;
+	private Cents totalAmount;
 	private Quantity totalItems;
 	private OffsetDateTime createdAt;
 	private Set<ShoppingCartItem> items;
 	private Long version;
 
+	private final Map<ShoppingCartItemId, ShoppingCartItem> itemsById = new HashMap<>();
+	private final Map<ProductId, ShoppingCartItem> itemsByProduct = new HashMap<>();
+	private Cents itemsAmount = Cents.ZERO;
+	private int itemsQuantity;
+
 	@Builder(builderClassName = "ExistingShoppingCartBuilder", builderMethodName = "existing")
 	public ShoppingCart(ShoppingCartId id, Long version, CustomerId customerId,
 	                    Money totalAmount, Quantity totalItems, OffsetDateTime createdAt,
@@ -51,7 +56,11 @@ public class ShoppingCart extends AbstractEventSourceEntity implements Aggregate
 
 	public void empty() {
 		items.clear();
-		totalAmount = Money.ZERO;
+		itemsById.clear();
+		itemsByProduct.clear();
+		itemsAmount = Cents.ZERO;
+		itemsQuantity = 0;
+		totalAmount = Cents.ZERO;
 		totalItems = Quantity.ZERO;
 
 		publishDomainEvent(new ShoppingCartEmptiedEvent(
@@ -64,7 +73,10 @@ public class ShoppingCart extends AbstractEventSourceEntity implements Aggregate
 	public void removeItem(ShoppingCartItemId shoppingCartItemId) {
 		ShoppingCartItem shoppingCartItem = findItem(shoppingCartItemId);
 		items.remove(shoppingCartItem);
-		recalculateTotals();
+		itemsById.remove(shoppingCartItem.id());
+		itemsByProduct.remove(shoppingCartItem.productId(), shoppingCartItem);
+		subtractFromTotals(shoppingCartItem);
+		updateTotals();
 
 		publishDomainEvent(new ShoppingCartItemRemovedEvent(
 				id(),
@@ -92,7 +104,7 @@ public class ShoppingCart extends AbstractEventSourceEntity implements Aggregate
 		searchItemByProduct(product.id())
 				.ifPresentOrElse(i -> updateItem(i, product, quantity), () -> insertItem(shoppingCartItem));
 
-		recalculateTotals();
+		updateTotals();
 
 		publishDomainEvent(new ShoppingCartItemAddedEvent(
 				id(),
@@ -103,30 +115,32 @@ public class ShoppingCart extends AbstractEventSourceEntity implements Aggregate
 
 	public ShoppingCartItem findItem(ShoppingCartItemId shoppingCartItemId) {
 		Objects.requireNonNull(shoppingCartItemId);
-		return items.stream()
-				.filter(i -> i.id().equals(shoppingCartItemId))
-				.findFirst()
-				.orElseThrow(() -> new ShoppingCartDoesNotContainItemException(id(), shoppingCartItemId));
+		ShoppingCartItem shoppingCartItem = itemsById.get(shoppingCartItemId);
+		if (shoppingCartItem == null) {
+			throw new ShoppingCartDoesNotContainItemException(id(), shoppingCartItemId);
+		}
+		return shoppingCartItem;
 	}
 
 	public ShoppingCartItem findItem(ProductId productId) {
-		Objects.requireNonNull(productId);
-		return items.stream()
-				.filter(i -> i.productId().equals(productId))
-				.findFirst()
+		return searchItemByProduct(productId)
 				.orElseThrow(() -> new ShoppingCartDoesNotContainProductException(id(), productId));
 	}
 
 	public void refreshItem(Product product) {
 		ShoppingCartItem shoppingCartItem = findItem(product.id());
+		subtractFromTotals(shoppingCartItem);
 		shoppingCartItem.refresh(product);
-		recalculateTotals();
+		addToTotals(shoppingCartItem);
+		updateTotals();
 	}
 
 	public void changeItemQuantity(ShoppingCartItemId shoppingCartItemId, Quantity quantity) {
 		ShoppingCartItem shoppingCartItem = findItem(shoppingCartItemId);
+		subtractFromTotals(shoppingCartItem);
 		shoppingCartItem.changeQuantity(quantity);
-		recalculateTotals();
+		addToTotals(shoppingCartItem);
+		updateTotals();
 	}
 
 	public boolean containsUnavailableItems() {
@@ -150,7 +164,7 @@ public class ShoppingCart extends AbstractEventSourceEntity implements Aggregate
 	}
 
 	public Money totalAmount() {
-		return totalAmount;
+		return totalAmount.toMoney();
 	}
 
 	public Quantity totalItems() {
@@ -162,32 +176,45 @@ public class ShoppingCart extends AbstractEventSourceEntity implements Aggregate
 	}
 
 	private void updateItem(ShoppingCartItem shoppingCartItem, Product product, Quantity quantity) {
+		subtractFromTotals(shoppingCartItem);
 		shoppingCartItem.refresh(product);
 		shoppingCartItem.changeQuantity(shoppingCartItem.quantity().add(quantity));
+		addToTotals(shoppingCartItem);
 	}
 
 	private void insertItem(ShoppingCartItem shoppingCartItem) {
 		items.add(shoppingCartItem);
+		indexItem(shoppingCartItem);
+		addToTotals(shoppingCartItem);
 	}
 
 	private Optional<ShoppingCartItem> searchItemByProduct(ProductId productId) {
 		Objects.requireNonNull(productId);
-		return items.stream()
-				.filter(i -> i.productId().equals(productId))
-				.findFirst();
+		return Optional.ofNullable(itemsByProduct.get(productId));
+	}
+
+	private void indexItem(ShoppingCartItem shoppingCartItem) {
+		itemsById.put(shoppingCartItem.id(), shoppingCartItem);
+		itemsByProduct.putIfAbsent(shoppingCartItem.productId(), shoppingCartItem);
 	}
 
-	private void recalculateTotals() {
-		BigDecimal newTotalAmount = items.stream()
-				.map(i -> i.totalAmount().value())
-				.reduce(BigDecimal.ZERO, BigDecimal::add);
+	private void addToTotals(ShoppingCartItem shoppingCartItem) {
+		itemsAmount = itemsAmount.add(shoppingCartItem.totalAmountInCents());
+		itemsQuantity += shoppingCartItem.quantity().value();
+	}
 
-		Integer newTotalItems = items.stream()
-				.map(i -> i.quantity().value())
-				.reduce(0, Integer::sum);
+	private void subtractFromTotals(ShoppingCartItem shoppingCartItem) {
+		itemsAmount = itemsAmount.subtract(shoppingCartItem.totalAmountInCents());
+		itemsQuantity -= shoppingCartItem.quantity().value();
+	}
 
-		this.totalAmount = new Money(newTotalAmount);
-		this.totalItems = new Quantity(newTotalItems);
+	/**
+	 * Publishes the running item sums as the cart's totals. The sums are built from the items when the cart is
+	 * loaded and then moved by each item's change, so every mutation costs the same whatever the cart's size.
+	 */
+	private void updateTotals() {
+		this.totalAmount = itemsAmount;
+		this.totalItems = new Quantity(itemsQuantity);
 	}
 
 	public Long version() {
@@ -210,7 +237,7 @@ public class ShoppingCart extends AbstractEventSourceEntity implements Aggregate
 
 	private void setTotalAmount(Money totalAmount) {
 		Objects.requireNonNull(totalAmount);
-		this.totalAmount = totalAmount;
+		this.totalAmount = Cents.of(totalAmount);
 	}
 
 	private void setTotalItems(Quantity totalItems) {
@@ -226,6 +253,10 @@ public class ShoppingCart extends AbstractEventSourceEntity implements Aggregate
 	private void setItems(Set<ShoppingCartItem> items) {
 		Objects.requireNonNull(items);
 		this.items = items;
+		for (ShoppingCartItem item : items) {
+			indexItem(item);
+			addToTotals(item);
+		}
 	}
 
 	@Override
@@ -1,5 +1,6 @@
 package com.algaworks.algashop.ordering.domain.model.shoppingcart;
 
+import com.algaworks.algashop.ordering.domain.model.commons.Cents;
 import com.algaworks.algashop.ordering.domain.model.commons.Money;
 import com.algaworks.algashop.ordering.domain.model.product.Product;
 import com.algaworks.algashop.ordering.domain.model.product.ProductName;
@@ -15,10 +16,10 @@ public class ShoppingCartItem {
 	private ShoppingCartId shoppingCartId;
 	private ProductId productId;
 	private ProductName productName;
-	private Money price;
+	private Cents price;
 	private Quantity quantity;
 	private Boolean available;
-	private Money totalAmount;
+	private Cents totalAmount;
 
 	@Builder(builderClassName = "ExistingShoppingCartItem", builderMethodName = "existing")
 	public ShoppingCartItem(ShoppingCartItemId id, ShoppingCartId shoppingCartId, ProductId productId, ProductName productName,
@@ -61,7 +62,7 @@ public class ShoppingCartItem {
 	}
 
 	private void recalculateTotals() {
-		setTotalAmount(price.multiply(quantity));
+		this.totalAmount = price.multiply(quantity);
 	}
 
 	public ShoppingCartItemId id() {
@@ -81,7 +82,7 @@ public class ShoppingCartItem {
 	}
 
 	public Money price() {
-		return price;
+		return price.toMoney();
 	}
 
 	public Quantity quantity() {
@@ -93,6 +94,10 @@ public class ShoppingCartItem {
 	}
 
 	public Money totalAmount() {
+		return totalAmount.toMoney();
+	}
+
+	Cents totalAmountInCents() {
 		return totalAmount;
 	}
 
@@ -118,7 +123,7 @@ public class ShoppingCartItem {
 
 	private void setPrice(Money price) {
 		Objects.requireNonNull(price);
-		this.price = price;
+		this.price = Cents.of(price);
 	}
 
 	private void setQuantity(Quantity quantity) {
@@ -136,7 +141,7 @@ public class ShoppingCartItem {
 
 	private void setTotalAmount(Money totalAmount) {
 		Objects.requireNonNull(totalAmount);
-		this.totalAmount = totalAmount;
+		this.totalAmount = Cents.of(totalAmount);
 	}
 
 	@Override
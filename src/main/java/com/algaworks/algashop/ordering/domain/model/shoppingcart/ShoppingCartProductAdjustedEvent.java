@@ -0,0 +1,11 @@
+package com.algaworks.algashop.ordering.domain.model.shoppingcart;
+
+import com.algaworks.algashop.ordering.domain.model.product.ProductId;
+
+import java.time.OffsetDateTime;
+
+public record ShoppingCartProductAdjustedEvent(
+		ProductId productId,
+		OffsetDateTime adjustedAt
+) {
+}
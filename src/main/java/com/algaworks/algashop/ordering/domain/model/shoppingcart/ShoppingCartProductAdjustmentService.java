@@ -3,10 +3,28 @@ package com.algaworks.algashop.ordering.domain.model.shoppingcart;
 import com.algaworks.algashop.ordering.domain.model.commons.Money;
 import com.algaworks.algashop.ordering.domain.model.product.ProductId;
 
+import java.util.Collection;
+import java.util.Objects;
+
 public interface ShoppingCartProductAdjustmentService {
 
 	void adjustPrice(ProductId productId, Money updatedPrice);
 
 	void changeAvailability(ProductId productId, boolean available);
 
+	/**
+	 * Applies a feed of product changes to every cart holding those products. When a product appears more than
+	 * once, its last adjustment wins.
+	 */
+	void adjustProducts(Collection<ProductAdjustment> adjustments);
+
+	record ProductAdjustment(ProductId productId, Money price, boolean available) {
+
+		public ProductAdjustment {
+			Objects.requireNonNull(productId);
+			Objects.requireNonNull(price);
+		}
+
+	}
+
 }
@@ -0,0 +1,16 @@
+package com.algaworks.algashop.ordering.domain.model.shoppingcart;
+
+import com.algaworks.algashop.ordering.domain.model.commons.Money;
+import com.algaworks.algashop.ordering.domain.model.commons.Quantity;
+import com.algaworks.algashop.ordering.domain.model.customer.CustomerId;
+
+import java.time.OffsetDateTime;
+
+public record ShoppingCartTotalsChangedEvent(
+		ShoppingCartId shoppingCartId,
+		CustomerId customerId,
+		Money totalAmount,
+		Quantity totalItems,
+		OffsetDateTime changedAt
+) {
+}
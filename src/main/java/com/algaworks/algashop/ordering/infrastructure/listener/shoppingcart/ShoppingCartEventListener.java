@@ -4,12 +4,19 @@ import com.algaworks.algashop.ordering.domain.model.shoppingcart.ShoppingCartCre
 import com.algaworks.algashop.ordering.domain.model.shoppingcart.ShoppingCartEmptiedEvent;
 import com.algaworks.algashop.ordering.domain.model.shoppingcart.ShoppingCartItemAddedEvent;
 import com.algaworks.algashop.ordering.domain.model.shoppingcart.ShoppingCartItemRemovedEvent;
+import com.algaworks.algashop.ordering.domain.model.shoppingcart.ShoppingCartProductAdjustedEvent;
+import com.algaworks.algashop.ordering.domain.model.shoppingcart.ShoppingCartTotalsChangedEvent;
+import com.algaworks.algashop.ordering.infrastructure.product.cache.ProductCatalogCache;
+import lombok.RequiredArgsConstructor;
 import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Component;
 
 @Component
+@RequiredArgsConstructor
 public class ShoppingCartEventListener {
 
+	private final ProductCatalogCache productCatalogCache;
+
 	@EventListener
 	public void listen(ShoppingCartCreatedEvent event) {
 
@@ -30,4 +37,14 @@ public class ShoppingCartEventListener {
 
 	}
 
-}
\ No newline at end of file
+	@EventListener
+	public void listen(ShoppingCartTotalsChangedEvent event) {
+
+	}
+
+	@EventListener
+	public void listen(ShoppingCartProductAdjustedEvent event) {
+		productCatalogCache.invalidate(event.productId());
+	}
+
+}
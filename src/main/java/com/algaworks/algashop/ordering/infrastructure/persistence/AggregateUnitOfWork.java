@@ -0,0 +1,148 @@
+package com.algaworks.algashop.ordering.infrastructure.persistence;
+
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import org.springframework.dao.DataAccessException;
+import org.springframework.orm.jpa.EntityManagerFactoryUtils;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Supplier;
+
+/**
+ * Collects the aggregates written during a transaction and flushes them once, right before commit,
+ * so Hibernate can batch their rows. Versions assigned by the flush are written back to the aggregates.
+ */
+@Component
+@RequiredArgsConstructor
+public class AggregateUnitOfWork {
+
+	private final EntityManager entityManager;
+
+	public void register(Object aggregateRoot, Object persistenceEntity, Runnable versionWriteBack) {
+		versionWriteBack.run();
+
+		if (!isTransactionActive()) {
+			flushAndWriteBack(List.of(versionWriteBack));
+			return;
+		}
+
+		currentRegistrations().register(aggregateRoot, persistenceEntity, versionWriteBack);
+	}
+
+	/**
+	 * An aggregate registered earlier in this transaction was already checked on its first registration.
+	 * Otherwise, pending changes of another copy of the same aggregate are flushed before comparing versions.
+	 */
+	public boolean isStale(Object aggregateRoot, Long aggregateVersion,
+						   Object persistenceEntity, Supplier<Long> persistedVersion) {
+		Registrations registrations = boundRegistrations();
+
+		if (registrations != null) {
+			if (registrations.containsAggregate(aggregateRoot)) {
+				return false;
+			}
+			if (registrations.containsEntity(persistenceEntity)) {
+				registrations.flush();
+			}
+		}
+
+		return !Objects.equals(persistedVersion.get(), aggregateVersion);
+	}
+
+	public void flush() {
+		Registrations registrations = boundRegistrations();
+		if (registrations != null) {
+			registrations.flush();
+		}
+	}
+
+	private boolean isTransactionActive() {
+		return TransactionSynchronizationManager.isSynchronizationActive()
+				&& TransactionSynchronizationManager.isActualTransactionActive();
+	}
+
+	private Registrations boundRegistrations() {
+		return (Registrations) TransactionSynchronizationManager.getResource(this);
+	}
+
+	private Registrations currentRegistrations() {
+		Registrations registrations = boundRegistrations();
+		if (registrations == null) {
+			registrations = new Registrations();
+			TransactionSynchronizationManager.bindResource(this, registrations);
+			TransactionSynchronizationManager.registerSynchronization(registrations);
+		}
+		return registrations;
+	}
+
+	private void flushAndWriteBack(Iterable<Runnable> versionWriteBacks) {
+		try {
+			entityManager.flush();
+		} catch (RuntimeException e) {
+			DataAccessException translated = EntityManagerFactoryUtils.convertJpaAccessExceptionIfPossible(e);
+			throw translated != null ? translated : e;
+		}
+		versionWriteBacks.forEach(Runnable::run);
+	}
+
+	private class Registrations implements TransactionSynchronization {
+
+		private final Map<Object, Runnable> versionWriteBacks = new IdentityHashMap<>();
+		private final Set<Object> persistenceEntities = Collections.newSetFromMap(new IdentityHashMap<>());
+		private boolean pending;
+
+		void register(Object aggregateRoot, Object persistenceEntity, Runnable versionWriteBack) {
+			versionWriteBacks.put(aggregateRoot, versionWriteBack);
+			persistenceEntities.add(persistenceEntity);
+			pending = true;
+		}
+
+		boolean containsAggregate(Object aggregateRoot) {
+			return versionWriteBacks.containsKey(aggregateRoot);
+		}
+
+		boolean containsEntity(Object persistenceEntity) {
+			return persistenceEntities.contains(persistenceEntity);
+		}
+
+		@Override
+		public void flush() {
+			if (!pending) {
+				return;
+			}
+			pending = false;
+			flushAndWriteBack(new ArrayList<>(versionWriteBacks.values()));
+		}
+
+		@Override
+		public void suspend() {
+			TransactionSynchronizationManager.unbindResource(AggregateUnitOfWork.this);
+		}
+
+		@Override
+		public void resume() {
+			TransactionSynchronizationManager.bindResource(AggregateUnitOfWork.this, this);
+		}
+
+		@Override
+		public void beforeCommit(boolean readOnly) {
+			flush();
+		}
+
+		@Override
+		public void afterCompletion(int status) {
+			TransactionSynchronizationManager.unbindResourceIfPossible(AggregateUnitOfWork.this);
+		}
+
+	}
+
+}
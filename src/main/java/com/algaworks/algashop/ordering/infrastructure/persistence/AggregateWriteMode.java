@@ -0,0 +1,16 @@
+package com.algaworks.algashop.ordering.infrastructure.persistence;
+
+public enum AggregateWriteMode {
+
+	/**
+	 * Loads the persisted aggregate before every write and merges a detached copy of it.
+	 */
+	LOAD_AND_MERGE,
+
+	/**
+	 * Uses the aggregate version to choose between insert (null version) and a versioned
+	 * update of the managed entity, so only the changed rows are written.
+	 */
+	VERSIONED
+
+}
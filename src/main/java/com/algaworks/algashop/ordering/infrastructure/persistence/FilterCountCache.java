@@ -0,0 +1,97 @@
+package com.algaworks.algashop.ordering.infrastructure.persistence;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Keeps filter totals for a short time, keyed by the persistence entity being filtered and the normalized
+ * filter criteria. Writers invalidate the entity's totals right away and again when their transaction completes,
+ * so counts taken while the write was pending are not kept.
+ */
+@Component
+public class FilterCountCache {
+
+	private final long timeToLiveNanos;
+	private final int maximumSize;
+
+	private final Map<Key, Entry> entries = new ConcurrentHashMap<>();
+	private final Map<Class<?>, AtomicLong> generations = new ConcurrentHashMap<>();
+
+	public FilterCountCache(@Value("${algashop.query.count-cache.time-to-live:30s}") Duration timeToLive,
+							@Value("${algashop.query.count-cache.maximum-size:1000}") int maximumSize) {
+		this.timeToLiveNanos = timeToLive.toNanos();
+		this.maximumSize = maximumSize;
+	}
+
+	public long count(Class<?> entityType, List<?> normalizedCriteria, LongSupplier counter) {
+		Key key = new Key(entityType, normalizedCriteria);
+		long now = System.nanoTime();
+
+		Entry entry = entries.get(key);
+		if (entry != null && entry.expiresAt() - now > 0) {
+			return entry.count();
+		}
+
+		long generation = generation(entityType).get();
+		long count = counter.getAsLong();
+
+		if (generation(entityType).get() == generation) {
+			evictIfFull(now);
+			entries.put(key, new Entry(count, System.nanoTime() + timeToLiveNanos));
+		}
+
+		return count;
+	}
+
+	public void invalidate(Class<?> entityType) {
+		evict(entityType);
+
+		if (TransactionSynchronizationManager.isSynchronizationActive()) {
+			TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+				@Override
+				public void afterCompletion(int status) {
+					evict(entityType);
+				}
+			});
+		}
+	}
+
+	int size() {
+		return entries.size();
+	}
+
+	private void evict(Class<?> entityType) {
+		generation(entityType).incrementAndGet();
+		entries.keySet().removeIf(key -> key.entityType().equals(entityType));
+	}
+
+	private void evictIfFull(long now) {
+		if (entries.size() < maximumSize) {
+			return;
+		}
+		entries.values().removeIf(entry -> entry.expiresAt() - now <= 0);
+		if (entries.size() >= maximumSize) {
+			entries.clear();
+		}
+	}
+
+	private AtomicLong generation(Class<?> entityType) {
+		return generations.computeIfAbsent(entityType, type -> new AtomicLong());
+	}
+
+	private record Key(Class<?> entityType, List<?> criteria) {
+	}
+
+	private record Entry(long count, long expiresAt) {
+	}
+
+}
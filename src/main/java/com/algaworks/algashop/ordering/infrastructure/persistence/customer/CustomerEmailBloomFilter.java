@@ -0,0 +1,177 @@
+package com.algaworks.algashop.ordering.infrastructure.persistence.customer;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Component;
+
+import java.sql.PreparedStatement;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Bloom filter of the customer emails in use, lower-cased so that it never answers "absent" for an email the
+ * database check would match. It only ever gains emails, so a changed email remains a false positive until restart.
+ * Until the startup scan has finished every email is reported as possibly present. The filter stays unloaded when
+ * the schema lacks {@value CustomerPersistenceEntity#EMAIL_UNIQUE_CONSTRAINT}, since without it nothing stops a
+ * duplicate the filter let through.
+ */
+@Slf4j
+@Component
+public class CustomerEmailBloomFilter {
+
+	private static final String ALL_EMAILS_SQL = "SELECT email FROM customer";
+
+	private static final String EMAIL_CONSTRAINT_COUNT_SQL = """
+			SELECT COUNT(*)
+			FROM information_schema.table_constraints
+			WHERE table_schema = CURRENT_SCHEMA
+			AND LOWER(table_name) = 'customer'
+			AND LOWER(constraint_name) = ?
+			""";
+
+	private final JdbcTemplate jdbcTemplate;
+	private final long expectedEmails;
+	private final int fetchSize;
+
+	private final AtomicLongArray bits;
+	private final long bitCount;
+	private final int hashCount;
+
+	private volatile boolean loaded;
+
+	public CustomerEmailBloomFilter(JdbcTemplate jdbcTemplate,
+									@Value("${algashop.persistence.customer-email-filter.expected-emails:1000000}") long expectedEmails,
+									@Value("${algashop.persistence.customer-email-filter.false-positive-rate:0.01}") double falsePositiveRate,
+									@Value("${algashop.persistence.customer-email-filter.fetch-size:1000}") int fetchSize) {
+		if (expectedEmails < 1 || falsePositiveRate <= 0 || falsePositiveRate >= 1) {
+			throw new IllegalArgumentException("Invalid customer email filter sizing");
+		}
+
+		this.jdbcTemplate = jdbcTemplate;
+		this.expectedEmails = expectedEmails;
+		this.fetchSize = fetchSize;
+
+		long optimalBits = (long) Math.ceil(-expectedEmails * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+		this.bits = new AtomicLongArray(Math.toIntExact(Math.ceilDiv(optimalBits, Long.SIZE)));
+		this.bitCount = (long) bits.length() * Long.SIZE;
+		this.hashCount = Math.max(1, (int) Math.round((double) bitCount / expectedEmails * Math.log(2)));
+	}
+
+	@EventListener(ApplicationReadyEvent.class)
+	public void load() {
+		long start = System.nanoTime();
+		LongAdder emails = new LongAdder();
+
+		if (!hasEmailConstraint()) {
+			return;
+		}
+
+		try {
+			jdbcTemplate.query(connection -> {
+				PreparedStatement statement = connection.prepareStatement(ALL_EMAILS_SQL);
+				statement.setFetchSize(fetchSize);
+				return statement;
+			}, (RowCallbackHandler) rs -> {
+				put(rs.getString(1));
+				emails.increment();
+			});
+		} catch (DataAccessException e) {
+			log.warn("Could not load the customer email filter, email checks keep querying the database", e);
+			return;
+		}
+
+		loaded = true;
+
+		log.info("Loaded {} customer emails into the email filter in {} ms", emails.sum(),
+				(System.nanoTime() - start) / 1_000_000);
+		if (emails.sum() > expectedEmails) {
+			log.warn("Customer email filter sized for {} emails holds {}, its false positive rate is above target",
+					expectedEmails, emails.sum());
+		}
+	}
+
+	public void put(String email) {
+		long hash = hash(email);
+		int firstHash = (int) hash;
+		int secondHash = (int) (hash >>> 32);
+
+		for (int i = 1; i <= hashCount; i++) {
+			long bit = index(firstHash + i * secondHash);
+			long mask = 1L << bit;
+			int word = (int) (bit >>> 6);
+			if ((bits.get(word) & mask) == 0) {
+				bits.getAndAccumulate(word, mask, (current, added) -> current | added);
+			}
+		}
+	}
+
+	/**
+	 * False means no customer has the email. True means one may have it, and the database has to tell.
+	 */
+	public boolean mightContain(String email) {
+		if (!loaded) {
+			return true;
+		}
+
+		long hash = hash(email);
+		int firstHash = (int) hash;
+		int secondHash = (int) (hash >>> 32);
+
+		for (int i = 1; i <= hashCount; i++) {
+			long bit = index(firstHash + i * secondHash);
+			if ((bits.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	boolean isLoaded() {
+		return loaded;
+	}
+
+	private boolean hasEmailConstraint() {
+		try {
+			Long constraints = jdbcTemplate.queryForObject(EMAIL_CONSTRAINT_COUNT_SQL, Long.class,
+					CustomerPersistenceEntity.EMAIL_UNIQUE_CONSTRAINT);
+			if (constraints != null && constraints == 0) {
+				log.error("The customer table lacks {}, email checks keep querying the database",
+						CustomerPersistenceEntity.EMAIL_UNIQUE_CONSTRAINT);
+				return false;
+			}
+			return true;
+		} catch (DataAccessException e) {
+			log.warn("Could not check for {}, email checks keep querying the database",
+					CustomerPersistenceEntity.EMAIL_UNIQUE_CONSTRAINT, e);
+			return false;
+		}
+	}
+
+	private long index(int combinedHash) {
+		return Math.floorMod(combinedHash, bitCount);
+	}
+
+	private static long hash(String email) {
+		String normalized = email.toLowerCase(Locale.ROOT);
+
+		long hash = 0xcbf29ce484222325L;
+		for (int i = 0; i < normalized.length(); i++) {
+			hash ^= normalized.charAt(i);
+			hash *= 0x100000001b3L;
+		}
+
+		hash ^= hash >>> 33;
+		hash *= 0xff51afd7ed558ccdL;
+		hash ^= hash >>> 33;
+		hash *= 0xc4ceb9fe1a85ec53L;
+		hash ^= hash >>> 33;
+		return hash;
+	}
+
+}
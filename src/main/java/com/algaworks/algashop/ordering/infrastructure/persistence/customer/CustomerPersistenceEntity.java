@@ -1,6 +1,7 @@
 package com.algaworks.algashop.ordering.infrastructure.persistence.customer;
 
 import com.algaworks.algashop.ordering.infrastructure.persistence.commons.AddressEmbeddable;
+import com.algaworks.algashop.ordering.infrastructure.persistence.outbox.PendingDomainEvent;
 import jakarta.persistence.*;
 import lombok.*;
 import org.springframework.data.annotation.CreatedBy;
@@ -12,13 +13,15 @@ import org.springframework.data.jpa.domain.support.AuditingEntityListener;
 import java.time.LocalDate;
 import java.time.OffsetDateTime;
 import java.util.Collection;
+import java.util.HashSet;
+import java.util.Set;
 import java.util.UUID;
 
 @Entity
 @Getter
 @Setter
 @ToString(of = "id")
-@Table(name = "customer")
+@Table(name = "customer", uniqueConstraints = @UniqueConstraint(name = CustomerPersistenceEntity.EMAIL_UNIQUE_CONSTRAINT, columnNames = "email"))
 @EqualsAndHashCode(onlyExplicitlyIncluded = true, callSuper = false)
 @NoArgsConstructor
 @AllArgsConstructor
@@ -26,6 +29,8 @@ import java.util.UUID;
 @EntityListeners(AuditingEntityListener.class)
 public class CustomerPersistenceEntity extends AbstractAggregateRoot<CustomerPersistenceEntity> {
 
+	public static final String EMAIL_UNIQUE_CONSTRAINT = "uk_customer_email";
+
 	@Id
 	@EqualsAndHashCode.Include
 	private UUID id;
@@ -54,6 +59,15 @@ public class CustomerPersistenceEntity extends AbstractAggregateRoot<CustomerPer
 	})
 	private AddressEmbeddable address;
 
+	@ElementCollection
+	@CollectionTable(
+			name = "customer_search_trigram",
+			joinColumns = @JoinColumn(name = "customer_id"),
+			indexes = @Index(name = "idx_customer_search_trigram", columnList = "search_field, trigram, customer_id")
+	)
+	@Builder.Default
+	private Set<CustomerSearchTrigram> searchTrigrams = new HashSet<>();
+
 	@CreatedBy
 	private UUID createdByUserId;
 
@@ -66,6 +80,19 @@ public class CustomerPersistenceEntity extends AbstractAggregateRoot<CustomerPer
 	@Version
 	private Long version;
 
+	/**
+	 * Replaces the trigrams of one field, touching only the rows that differ.
+	 */
+	public void indexForSearch(CustomerSearchTrigram.Field field, String value) {
+		Set<CustomerSearchTrigram> trigrams = new HashSet<>();
+		for (String trigram : CustomerSearchTrigram.trigramsOf(value)) {
+			trigrams.add(new CustomerSearchTrigram(field, trigram));
+		}
+
+		searchTrigrams.removeIf(trigram -> trigram.getField() == field && !trigrams.contains(trigram));
+		searchTrigrams.addAll(trigrams);
+	}
+
 	public Collection<Object> getEvents() {
 		return super.domainEvents();
 	}
@@ -73,7 +100,7 @@ public class CustomerPersistenceEntity extends AbstractAggregateRoot<CustomerPer
 	public void addEvents(Collection<Object> events) {
 		if (events != null) {
 			for (Object event : events) {
-				registerEvent(event);
+				registerEvent(new PendingDomainEvent("Customer", String.valueOf(id), event));
 			}
 		}
 	}
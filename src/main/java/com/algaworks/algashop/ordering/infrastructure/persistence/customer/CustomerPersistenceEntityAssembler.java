@@ -4,6 +4,8 @@ import com.algaworks.algashop.ordering.domain.model.customer.Customer;
 import com.algaworks.algashop.ordering.infrastructure.persistence.commons.AddressEmbeddableAssembler;
 import org.springframework.stereotype.Component;
 
+import java.util.Objects;
+
 @Component
 public class CustomerPersistenceEntityAssembler {
 
@@ -12,6 +14,9 @@ public class CustomerPersistenceEntityAssembler {
 	}
 
 	public CustomerPersistenceEntity merge(CustomerPersistenceEntity customerPersistenceEntity, Customer customer) {
+		String previousFirstName = customerPersistenceEntity.getFirstName();
+		String previousEmail = customerPersistenceEntity.getEmail();
+
 		customerPersistenceEntity.setId(customer.id().value());
 		customerPersistenceEntity.setFirstName(customer.fullName().firstName());
 		customerPersistenceEntity.setLastName(customer.fullName().lastName());
@@ -27,6 +32,14 @@ public class CustomerPersistenceEntityAssembler {
 		customerPersistenceEntity.setAddress(AddressEmbeddableAssembler.toAddressEmbeddable(customer.address()));
 		customerPersistenceEntity.setVersion(customer.version());
 		customerPersistenceEntity.addEvents(customer.domainEvents());
+
+		if (!Objects.equals(previousFirstName, customerPersistenceEntity.getFirstName())) {
+			customerPersistenceEntity.indexForSearch(CustomerSearchTrigram.Field.FIRST_NAME, customerPersistenceEntity.getFirstName());
+		}
+		if (!Objects.equals(previousEmail, customerPersistenceEntity.getEmail())) {
+			customerPersistenceEntity.indexForSearch(CustomerSearchTrigram.Field.EMAIL, customerPersistenceEntity.getEmail());
+		}
+
 		return customerPersistenceEntity;
 	}
 
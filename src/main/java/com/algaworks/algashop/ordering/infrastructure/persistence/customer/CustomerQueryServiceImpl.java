@@ -4,30 +4,50 @@ import com.algaworks.algashop.ordering.application.customer.query.CustomerFilter
 import com.algaworks.algashop.ordering.application.customer.query.CustomerOutput;
 import com.algaworks.algashop.ordering.application.customer.query.CustomerQueryService;
 import com.algaworks.algashop.ordering.application.customer.query.CustomerSummaryOutput;
+import com.algaworks.algashop.ordering.application.utility.CountStrategy;
+import com.algaworks.algashop.ordering.application.utility.FilterPage;
 import com.algaworks.algashop.ordering.domain.model.customer.CustomerNotFoundException;
+import com.algaworks.algashop.ordering.infrastructure.persistence.FilterCountCache;
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.NoResultException;
 import jakarta.persistence.TypedQuery;
 import jakarta.persistence.criteria.*;
-import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Component;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Objects;
+import java.util.Set;
 import java.util.UUID;
+import java.util.regex.Pattern;
 
 @Component
-@RequiredArgsConstructor
 @Transactional(readOnly = true)
 public class CustomerQueryServiceImpl implements CustomerQueryService {
 
 	private final EntityManager entityManager;
+	private final FilterCountCache countCache;
+	private final CustomerSearchIndexBackfill searchIndexBackfill;
+
+	private final CountStrategy defaultCountStrategy;
+	private final int maxSearchCandidates;
+
+	private static final Pattern LIKE_METACHARACTERS = Pattern.compile("[%_\\\\]");
+
+	private static final String FIND_SEARCH_CANDIDATES_SQL = """
+			SELECT t.customer_id
+			FROM customer_search_trigram t
+			WHERE t.search_field = :field
+			AND t.trigram IN (:trigrams)
+			GROUP BY t.customer_id
+			HAVING COUNT(*) = :trigramCount""";
 
 	private static final String FIND_BY_ID_AS_OUTPUT_JPQL = """
 			SELECT new com.algaworks.algashop.ordering.application.customer.query.CustomerOutput(
@@ -56,6 +76,20 @@ public class CustomerQueryServiceImpl implements CustomerQueryService {
 			FROM CustomerPersistenceEntity c
 			WHERE c.id = :id""";
 
+	public CustomerQueryServiceImpl(
+			EntityManager entityManager,
+			FilterCountCache countCache,
+			CustomerSearchIndexBackfill searchIndexBackfill,
+			@Value("${algashop.query.count-strategy}") CountStrategy defaultCountStrategy,
+			@Value("${algashop.query.customer-search.max-candidates}") int maxSearchCandidates
+	) {
+		this.entityManager = entityManager;
+		this.countCache = countCache;
+		this.searchIndexBackfill = searchIndexBackfill;
+		this.defaultCountStrategy = defaultCountStrategy;
+		this.maxSearchCandidates = maxSearchCandidates;
+	}
+
 	@Override
 	public CustomerOutput findById(UUID customerId) {
 		try {
@@ -69,22 +103,80 @@ public class CustomerQueryServiceImpl implements CustomerQueryService {
 
 	@Override
 	public Page<CustomerSummaryOutput> filter(CustomerFilter filter) {
-		Long totalQueryResults = countTotalQueryResults(filter);
+		CountStrategy countStrategy = Objects.requireNonNullElse(filter.getCountStrategy(), defaultCountStrategy);
+		Set<UUID> candidateIds = findSearchCandidates(filter);
+		if (candidateIds != null && candidateIds.isEmpty()) {
+			return emptyPage(filter);
+		}
+
+		Long totalQueryResults = switch (countStrategy) {
+			case EXACT -> countTotalQueryResults(filter, candidateIds);
+			case CACHED -> countCache.count(CustomerPersistenceEntity.class, toCountKey(filter),
+					() -> countTotalQueryResults(filter, candidateIds));
+			case SKIP -> null;
+		};
+
 		if (Objects.equals(totalQueryResults, 0L)) {
-			PageRequest pageRequest = PageRequest.of(filter.getPage(), filter.getSize());
-			return new PageImpl<>(new ArrayList<>(), pageRequest, totalQueryResults);
+			return emptyPage(filter);
 		}
-		return filterQuery(filter, totalQueryResults);
+		return filterQuery(filter, candidateIds, totalQueryResults);
 	}
 
-	private Long countTotalQueryResults(CustomerFilter filter) {
+	private Page<CustomerSummaryOutput> emptyPage(CustomerFilter filter) {
+		PageRequest pageRequest = PageRequest.of(filter.getPage(), filter.getSize());
+		return FilterPage.withTotal(new ArrayList<>(), pageRequest, 0L, false, null);
+	}
+
+	/*
+	 * Ids of the customers having every trigram of the searched terms, or null when no term has a trigram.
+	 * A term matching more than maxSearchCandidates customers is left to the LIKE scan, which is cheaper then,
+	 * and so is every search until the backfill has indexed the customers written before the trigrams existed.
+	 */
+	private Set<UUID> findSearchCandidates(CustomerFilter filter) {
+		if (!searchIndexBackfill.isComplete()) {
+			return null;
+		}
+		Set<UUID> candidateIds = narrowSearchCandidates(null, CustomerSearchTrigram.Field.FIRST_NAME, filter.getFirstName());
+		return narrowSearchCandidates(candidateIds, CustomerSearchTrigram.Field.EMAIL, filter.getEmail());
+	}
+
+	private Set<UUID> narrowSearchCandidates(Set<UUID> candidateIds, CustomerSearchTrigram.Field field, String term) {
+		// The LIKE scan reads wildcards and escapes in the term, which literal trigrams can't match
+		if (term == null || LIKE_METACHARACTERS.matcher(term).find()) {
+			return candidateIds;
+		}
+		Set<String> trigrams = CustomerSearchTrigram.trigramsOf(term);
+		if (trigrams.isEmpty()) {
+			return candidateIds;
+		}
+
+		List<?> rows = entityManager.createNativeQuery(FIND_SEARCH_CANDIDATES_SQL, UUID.class)
+				.setParameter("field", field.name())
+				.setParameter("trigrams", trigrams)
+				.setParameter("trigramCount", trigrams.size())
+				.setMaxResults(maxSearchCandidates + 1)
+				.getResultList();
+		List<UUID> matches = rows.stream().map(UUID.class::cast).toList();
+
+		if (matches.size() > maxSearchCandidates) {
+			return candidateIds;
+		}
+
+		Set<UUID> narrowed = new HashSet<>(matches);
+		if (candidateIds != null) {
+			narrowed.retainAll(candidateIds);
+		}
+		return narrowed;
+	}
+
+	private Long countTotalQueryResults(CustomerFilter filter, Set<UUID> candidateIds) {
 		CriteriaBuilder builder = entityManager.getCriteriaBuilder();
 		CriteriaQuery<Long> criteriaQuery = builder.createQuery(Long.class);
 		Root<CustomerPersistenceEntity> root = criteriaQuery.from(CustomerPersistenceEntity.class);
 
 		Expression<Long> selection = builder.count(root);
 
-		Predicate[] predicates = toPredicates(builder, root, filter);
+		Predicate[] predicates = toPredicates(builder, root, filter, candidateIds);
 
 		criteriaQuery.select(selection);
 		criteriaQuery.where(predicates);
@@ -94,7 +186,7 @@ public class CustomerQueryServiceImpl implements CustomerQueryService {
 		return query.getSingleResult();
 	}
 
-	private Page<CustomerSummaryOutput> filterQuery(CustomerFilter filter, Long totalQueryResults) {
+	private Page<CustomerSummaryOutput> filterQuery(CustomerFilter filter, Set<UUID> candidateIds, Long totalQueryResults) {
 		CriteriaBuilder builder = entityManager.getCriteriaBuilder();
 		CriteriaQuery<CustomerSummaryOutput> criteriaQuery = builder.createQuery(CustomerSummaryOutput.class);
 		Root<CustomerPersistenceEntity> root = criteriaQuery.from(CustomerPersistenceEntity.class);
@@ -116,7 +208,7 @@ public class CustomerQueryServiceImpl implements CustomerQueryService {
 				)
 		);
 
-		Predicate[] predicates = toPredicates(builder, root, filter);
+		Predicate[] predicates = toPredicates(builder, root, filter, candidateIds);
 		Order sortOrder = toSortOrder(builder, root, filter);
 
 		criteriaQuery.where(predicates);
@@ -128,11 +220,34 @@ public class CustomerQueryServiceImpl implements CustomerQueryService {
 		TypedQuery<CustomerSummaryOutput> typedQuery = entityManager.createQuery(criteriaQuery);
 
 		typedQuery.setFirstResult(filter.getPage() * filter.getSize());
-		typedQuery.setMaxResults(filter.getSize());
+		typedQuery.setMaxResults(filter.getSize() + 1);
+
+		List<CustomerSummaryOutput> content = typedQuery.getResultList();
+		boolean hasNextPage = content.size() > filter.getSize();
+		if (hasNextPage) {
+			content = content.subList(0, filter.getSize());
+		}
 
 		PageRequest pageRequest = PageRequest.of(filter.getPage(), filter.getSize());
 
-		return new PageImpl<>(typedQuery.getResultList(), pageRequest, totalQueryResults);
+		if (totalQueryResults == null) {
+			return FilterPage.withoutTotal(content, pageRequest, hasNextPage, null);
+		}
+		return FilterPage.withTotal(content, pageRequest, totalQueryResults, hasNextPage, null);
+	}
+
+	/*
+	 * The values toPredicates filters on, after the same normalization, so equivalent filters share a count.
+	 */
+	private List<Object> toCountKey(CustomerFilter filter) {
+		return Arrays.asList(
+				normalizedLikeValue(filter.getFirstName()),
+				normalizedLikeValue(filter.getEmail())
+		);
+	}
+
+	private String normalizedLikeValue(String value) {
+		return value == null || value.isBlank() ? null : CustomerSearchTrigram.normalize(value);
 	}
 
 	private Order toSortOrder(CriteriaBuilder builder, Root<CustomerPersistenceEntity> root, CustomerFilter filter) {
@@ -147,15 +262,22 @@ public class CustomerQueryServiceImpl implements CustomerQueryService {
 		return null;
 	}
 
-	private Predicate[] toPredicates(CriteriaBuilder builder, Root<CustomerPersistenceEntity> root, CustomerFilter filter) {
+	private Predicate[] toPredicates(CriteriaBuilder builder, Root<CustomerPersistenceEntity> root,
+									 CustomerFilter filter, Set<UUID> candidateIds) {
 		List<Predicate> predicates = new ArrayList<>();
 
+		if (candidateIds != null) {
+			predicates.add(root.get("id").in(candidateIds));
+		}
+
 		if (filter.getFirstName() != null && !filter.getFirstName().isBlank()) {
-			predicates.add(builder.like(builder.lower(root.get("firstName")), "%" + filter.getFirstName().toLowerCase() + "%"));
+			predicates.add(builder.like(builder.lower(root.get("firstName")),
+					"%" + CustomerSearchTrigram.normalize(filter.getFirstName()) + "%"));
 		}
 
 		if (filter.getEmail() != null && !filter.getEmail().isBlank()) {
-			predicates.add(builder.like(builder.lower(root.get("email")), "%" + filter.getEmail().toLowerCase() + "%"));
+			predicates.add(builder.like(builder.lower(root.get("email")),
+					"%" + CustomerSearchTrigram.normalize(filter.getEmail()) + "%"));
 		}
 
 		return predicates.toArray(new Predicate[]{});
@@ -0,0 +1,105 @@
+package com.algaworks.algashop.ordering.infrastructure.persistence.customer;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.UUID;
+
+/**
+ * Indexes customers written before the search trigrams existed. Customers are read in id order, one chunk
+ * per transaction, and only those without any trigram row are indexed, so the backfill is idempotent.
+ * Until it has finished once, searches can't rely on the trigrams and fall back to the LIKE scan.
+ */
+@Slf4j
+@Component
+public class CustomerSearchIndexBackfill {
+
+	private static final String UNINDEXED_CUSTOMERS_SQL = """
+			SELECT c.id, c.first_name, c.email
+			FROM customer c
+			WHERE c.id > ?
+			AND NOT EXISTS (SELECT 1 FROM customer_search_trigram t WHERE t.customer_id = c.id)
+			ORDER BY c.id
+			FETCH FIRST ? ROWS ONLY
+			""";
+
+	private static final String INSERT_TRIGRAM_SQL =
+			"INSERT INTO customer_search_trigram (customer_id, search_field, trigram) VALUES (?, ?, ?)";
+
+	private final JdbcTemplate jdbcTemplate;
+	private final PlatformTransactionManager transactionManager;
+
+	private final int chunkSize;
+
+	private volatile boolean complete;
+
+	public CustomerSearchIndexBackfill(
+			JdbcTemplate jdbcTemplate,
+			PlatformTransactionManager transactionManager,
+			@Value("${algashop.query.customer-search.backfill-chunk-size}") int chunkSize
+	) {
+		this.jdbcTemplate = jdbcTemplate;
+		this.transactionManager = transactionManager;
+		this.chunkSize = chunkSize;
+	}
+
+	@EventListener(ApplicationReadyEvent.class)
+	public void backfill() {
+		TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+		UUID lastId = new UUID(0L, 0L);
+		long indexed = 0;
+
+		while (true) {
+			UUID after = lastId;
+			List<UnindexedCustomer> chunk = Objects.requireNonNull(transactionTemplate.execute(status -> indexChunk(after)));
+			if (chunk.isEmpty()) {
+				break;
+			}
+			indexed += chunk.size();
+			lastId = chunk.getLast().id();
+		}
+
+		complete = true;
+		if (indexed > 0) {
+			log.info("Indexed {} customers for search", indexed);
+		}
+	}
+
+	public boolean isComplete() {
+		return complete;
+	}
+
+	private List<UnindexedCustomer> indexChunk(UUID after) {
+		List<UnindexedCustomer> customers = jdbcTemplate.query(UNINDEXED_CUSTOMERS_SQL,
+				(rs, rowNum) -> new UnindexedCustomer(rs.getObject(1, UUID.class), rs.getString(2), rs.getString(3)),
+				after, chunkSize);
+
+		List<Object[]> rows = new ArrayList<>();
+		for (UnindexedCustomer customer : customers) {
+			addRows(rows, customer.id(), CustomerSearchTrigram.Field.FIRST_NAME, customer.firstName());
+			addRows(rows, customer.id(), CustomerSearchTrigram.Field.EMAIL, customer.email());
+		}
+
+		jdbcTemplate.batchUpdate(INSERT_TRIGRAM_SQL, rows);
+		return customers;
+	}
+
+	private void addRows(List<Object[]> rows, UUID customerId, CustomerSearchTrigram.Field field, String value) {
+		for (String trigram : CustomerSearchTrigram.trigramsOf(value)) {
+			rows.add(new Object[]{customerId, field.name(), trigram});
+		}
+	}
+
+	private record UnindexedCustomer(UUID id, String firstName, String email) {
+	}
+
+}
@@ -0,0 +1,56 @@
+package com.algaworks.algashop.ordering.infrastructure.persistence.customer;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.LinkedHashSet;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * One three-character slice of a searchable customer field, lower-cased. A customer whose field contains a term
+ * has every trigram of the term indexed for that field, so the trigrams narrow a substring search to a few rows.
+ */
+@Embeddable
+@NoArgsConstructor
+@AllArgsConstructor
+@Data
+public class CustomerSearchTrigram {
+
+	public static final int LENGTH = 3;
+
+	@Enumerated(EnumType.STRING)
+	@Column(name = "search_field", length = 16, nullable = false)
+	private Field field;
+
+	@Column(length = LENGTH, nullable = false)
+	private String trigram;
+
+	public enum Field {
+		FIRST_NAME,
+		EMAIL
+	}
+
+	public static String normalize(String value) {
+		return value == null ? null : value.toLowerCase(Locale.ROOT);
+	}
+
+	public static Set<String> trigramsOf(String value) {
+		Set<String> trigrams = new LinkedHashSet<>();
+		String normalized = normalize(value);
+
+		if (normalized != null) {
+			for (int i = 0; i + LENGTH <= normalized.length(); i++) {
+				trigrams.add(normalized.substring(i, i + LENGTH));
+			}
+		}
+
+		return trigrams;
+	}
+
+}
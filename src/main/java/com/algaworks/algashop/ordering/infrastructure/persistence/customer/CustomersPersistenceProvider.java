@@ -1,22 +1,29 @@
 package com.algaworks.algashop.ordering.infrastructure.persistence.customer;
 
 import com.algaworks.algashop.ordering.domain.model.customer.Customer;
+import com.algaworks.algashop.ordering.domain.model.customer.CustomerEmailIsInUseException;
 import com.algaworks.algashop.ordering.domain.model.customer.Customers;
 import com.algaworks.algashop.ordering.domain.model.commons.Email;
 import com.algaworks.algashop.ordering.domain.model.customer.CustomerId;
+import com.algaworks.algashop.ordering.infrastructure.persistence.AggregateUnitOfWork;
+import com.algaworks.algashop.ordering.infrastructure.persistence.AggregateWriteMode;
+import com.algaworks.algashop.ordering.infrastructure.persistence.FilterCountCache;
 import jakarta.persistence.EntityManager;
-import lombok.RequiredArgsConstructor;
 import lombok.SneakyThrows;
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Component;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.util.ReflectionUtils;
 
 import java.lang.reflect.Field;
+import java.util.Locale;
 import java.util.Optional;
 import java.util.UUID;
 
 @Component
-@RequiredArgsConstructor
 @Transactional(readOnly = true)
 public class CustomersPersistenceProvider implements Customers {
 
@@ -25,9 +32,36 @@ public class CustomersPersistenceProvider implements Customers {
 	private final CustomerPersistenceEntityDisassembler disassembler;
 
 	private final EntityManager entityManager;
+	private final AggregateUnitOfWork unitOfWork;
+	private final FilterCountCache countCache;
+	private final CustomerEmailBloomFilter emailFilter;
+
+	private final AggregateWriteMode writeMode;
+
+	public CustomersPersistenceProvider(
+			CustomerPersistenceEntityRepository persistenceRepository,
+			CustomerPersistenceEntityAssembler assembler,
+			CustomerPersistenceEntityDisassembler disassembler,
+			EntityManager entityManager,
+			AggregateUnitOfWork unitOfWork,
+			FilterCountCache countCache,
+			CustomerEmailBloomFilter emailFilter,
+			@Value("${algashop.persistence.write-mode}") AggregateWriteMode writeMode
+	) {
+		this.persistenceRepository = persistenceRepository;
+		this.assembler = assembler;
+		this.disassembler = disassembler;
+		this.entityManager = entityManager;
+		this.unitOfWork = unitOfWork;
+		this.countCache = countCache;
+		this.emailFilter = emailFilter;
+		this.writeMode = writeMode;
+	}
 
 	@Override
 	public Optional<Customer> ofId(CustomerId customerId) {
+		unitOfWork.flush();
+
 		Optional<CustomerPersistenceEntity> possibleEntity = persistenceRepository
 				.findById(customerId.value());
 
@@ -47,28 +81,77 @@ public class CustomersPersistenceProvider implements Customers {
 	@Override
 	@Transactional
 	public void add(Customer aggregateRoot) {
-		UUID customerId = aggregateRoot.id().value();
-
-		persistenceRepository.findById(customerId)
-				.ifPresentOrElse(
-						persistenceEntity -> update(aggregateRoot, persistenceEntity),
-						() -> insert(aggregateRoot)
-				);
-
+		/*
+		 * The email filter only knows the emails registered on this instance, so a duplicate registered
+		 * elsewhere can get past the uniqueness check. Flushing here lets it surface as the domain error.
+		 */
+		try {
+			if (writeMode == AggregateWriteMode.VERSIONED) {
+				addVersioned(aggregateRoot);
+			} else {
+				addLoadingAndMerging(aggregateRoot);
+			}
+			unitOfWork.flush();
+		} catch (DataIntegrityViolationException e) {
+			if (violatesConstraint(e, CustomerPersistenceEntity.EMAIL_UNIQUE_CONSTRAINT)) {
+				throw new CustomerEmailIsInUseException();
+			}
+			throw e;
+		}
+
+		emailFilter.put(aggregateRoot.email().value());
+		countCache.invalidate(CustomerPersistenceEntity.class);
 		aggregateRoot.clearDomainEvents();
 	}
 
 	@Override
 	public Optional<Customer> ofEmail(Email email) {
+		unitOfWork.flush();
+
 		return persistenceRepository.findByEmail(email.value())
 				.map(disassembler::toDomainEntity);
 	}
 
 	@Override
 	public boolean isEmailUnique(Email email, CustomerId exceptCustomerId) {
+		if (!emailFilter.mightContain(email.value())) {
+			return true;
+		}
+
 		return !persistenceRepository.existsByEmailAndIdNot(email.value(), exceptCustomerId.value());
 	}
 
+	private void addVersioned(Customer aggregateRoot) {
+		if (aggregateRoot.version() == null) {
+			CustomerPersistenceEntity persistenceEntity = assembler.fromDomain(aggregateRoot);
+			persistenceRepository.save(persistenceEntity);
+			unitOfWork.register(aggregateRoot, persistenceEntity, () -> updateVersion(aggregateRoot, persistenceEntity));
+			return;
+		}
+
+		UUID customerId = aggregateRoot.id().value();
+
+		CustomerPersistenceEntity persistenceEntity = persistenceRepository.findById(customerId)
+				.orElseThrow(() -> new ObjectOptimisticLockingFailureException(CustomerPersistenceEntity.class, customerId));
+
+		if (unitOfWork.isStale(aggregateRoot, aggregateRoot.version(), persistenceEntity, persistenceEntity::getVersion)) {
+			throw new ObjectOptimisticLockingFailureException(CustomerPersistenceEntity.class, customerId);
+		}
+
+		CustomerPersistenceEntity mergedEntity = persistenceRepository.save(assembler.merge(persistenceEntity, aggregateRoot));
+		unitOfWork.register(aggregateRoot, mergedEntity, () -> updateVersion(aggregateRoot, mergedEntity));
+	}
+
+	private void addLoadingAndMerging(Customer aggregateRoot) {
+		UUID customerId = aggregateRoot.id().value();
+
+		persistenceRepository.findById(customerId)
+				.ifPresentOrElse(
+						persistenceEntity -> update(aggregateRoot, persistenceEntity),
+						() -> insert(aggregateRoot)
+				);
+	}
+
 	private void update(Customer aggregateRoot, CustomerPersistenceEntity persistenceEntity) {
 		persistenceEntity = assembler.merge(persistenceEntity, aggregateRoot);
 		entityManager.detach(persistenceEntity);
@@ -82,6 +165,17 @@ public class CustomersPersistenceProvider implements Customers {
 		updateVersion(aggregateRoot, persistenceEntity);
 	}
 
+	private static boolean violatesConstraint(Throwable e, String constraintName) {
+		for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+			if (cause instanceof ConstraintViolationException violation
+					&& violation.getConstraintName() != null
+					&& violation.getConstraintName().toLowerCase(Locale.ROOT).contains(constraintName)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
 	@SneakyThrows
 	private void updateVersion(Customer aggregateRoot, CustomerPersistenceEntity persistenceEntity) {
 		Field version = aggregateRoot.getClass().getDeclaredField("version");
@@ -0,0 +1,48 @@
+package com.algaworks.algashop.ordering.infrastructure.persistence.order;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.util.UUID;
+
+/**
+ * Read model holding, per customer and calendar year of placement, how many orders were paid and not canceled
+ * and how much they added up to. Kept up to date by {@link CustomerSalesStatsProjection}.
+ */
+@Entity
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@ToString(of = "id")
+@Table(name = "customer_sales_stats")
+@EqualsAndHashCode(onlyExplicitlyIncluded = true)
+public class CustomerSalesStatsPersistenceEntity {
+
+	@EmbeddedId
+	@EqualsAndHashCode.Include
+	private Id id;
+
+	@Column(nullable = false)
+	private long salesQuantity;
+
+	@Column(nullable = false)
+	private BigDecimal totalSoldAmount;
+
+	@Embeddable
+	@Data
+	@NoArgsConstructor
+	@AllArgsConstructor
+	public static class Id implements Serializable {
+
+		@Column(name = "customer_id", nullable = false)
+		private UUID customerId;
+
+		@Column(name = "sales_year", nullable = false)
+		private int salesYear;
+
+	}
+
+}
@@ -0,0 +1,47 @@
+package com.algaworks.algashop.ordering.infrastructure.persistence.order;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.math.BigDecimal;
+import java.util.Optional;
+import java.util.UUID;
+
+public interface CustomerSalesStatsPersistenceEntityRepository
+		extends JpaRepository<CustomerSalesStatsPersistenceEntity, CustomerSalesStatsPersistenceEntity.Id> {
+
+	/**
+	 * Adds to the customer's row for the year, creating it on the first sale. Two first sales of a year running at
+	 * once would both insert, so callers hold a lock on the customer while calling this.
+	 */
+	@Modifying
+	@Query(nativeQuery = true, value = """
+			MERGE INTO customer_sales_stats s
+			USING (SELECT CAST(:customerId AS UUID) AS customer_id, CAST(:salesYear AS INT) AS sales_year) k
+			ON s.customer_id = k.customer_id AND s.sales_year = k.sales_year
+			WHEN MATCHED THEN UPDATE SET
+			  sales_quantity = s.sales_quantity + :quantity,
+			  total_sold_amount = s.total_sold_amount + :amount
+			WHEN NOT MATCHED THEN INSERT (customer_id, sales_year, sales_quantity, total_sold_amount)
+			  VALUES (k.customer_id, k.sales_year, :quantity, :amount)
+			""")
+	int increment(
+			@Param("customerId") UUID customerId,
+			@Param("salesYear") int salesYear,
+			@Param("quantity") long quantity,
+			@Param("amount") BigDecimal amount
+	);
+
+	@Query("SELECT s.salesQuantity FROM CustomerSalesStatsPersistenceEntity s WHERE s.id = :id")
+	Optional<Long> salesQuantity(@Param("id") CustomerSalesStatsPersistenceEntity.Id id);
+
+	@Query("""
+			SELECT COALESCE(SUM(s.totalSoldAmount), 0)
+			FROM CustomerSalesStatsPersistenceEntity s
+			WHERE s.id.customerId = :customerId
+			""")
+	BigDecimal totalSoldForCustomer(@Param("customerId") UUID customerId);
+
+}
@@ -0,0 +1,169 @@
+package com.algaworks.algashop.ordering.infrastructure.persistence.order;
+
+import com.algaworks.algashop.ordering.domain.model.order.OrderCanceledEvent;
+import com.algaworks.algashop.ordering.domain.model.order.OrderId;
+import com.algaworks.algashop.ordering.domain.model.order.OrderPaidEvent;
+import com.algaworks.algashop.ordering.infrastructure.persistence.outbox.DomainEventSerializer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.sql.PreparedStatement;
+import java.time.OffsetDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Maintains {@link CustomerSalesStatsPersistenceEntity}. Paying an order adds it to its customer's row for the
+ * year it was placed in, and canceling a paid order takes it out again; both happen in the transaction that
+ * delivers the event. {@link #rebuild()} recomputes every row from the order table, and runs on startup while
+ * the table is still empty. It leaves out the effect of order events still waiting in the outbox, since their
+ * delivery applies it afterwards.
+ */
+@Slf4j
+@Component
+public class CustomerSalesStatsProjection {
+
+	/*
+	 * Counts paid orders as the stats stand before any pending delivery: a payment still in the outbox isn't in
+	 * yet, and a cancellation still in the outbox hasn't taken its order out yet.
+	 */
+	private static final String SALES_SQL = """
+			SELECT o.customer_id, o.placed_at, o.total_amount
+			FROM "order" o
+			WHERE o.paid_at IS NOT NULL
+			AND (o.canceled_at IS NULL OR EXISTS (%1$s))
+			AND NOT EXISTS (%1$s)
+			""".formatted("""
+			SELECT 1 FROM outbox_event e
+			WHERE e.aggregate_type = 'Order'
+			AND e.aggregate_id = CAST(o.id AS VARCHAR(64))
+			AND e.event_type = ?
+			AND e.dead_at IS NULL""");
+
+	private static final String INSERT_STATS_SQL = """
+			INSERT INTO customer_sales_stats (customer_id, sales_year, sales_quantity, total_sold_amount)
+			VALUES (?, ?, ?, ?)
+			""";
+
+	private static final String LOCK_CUSTOMER_SQL = """
+			SELECT c.id FROM customer c WHERE c.id = ? FOR UPDATE
+			""";
+
+	private final CustomerSalesStatsPersistenceEntityRepository statsRepository;
+	private final OrderPersistenceEntityRepository orderRepository;
+	private final JdbcTemplate jdbcTemplate;
+	private final TransactionTemplate transactionTemplate;
+	private final String paidEventType;
+	private final String canceledEventType;
+	private final int fetchSize;
+
+	public CustomerSalesStatsProjection(CustomerSalesStatsPersistenceEntityRepository statsRepository,
+										OrderPersistenceEntityRepository orderRepository,
+										JdbcTemplate jdbcTemplate,
+										DomainEventSerializer eventSerializer,
+										PlatformTransactionManager transactionManager,
+										@Value("${algashop.persistence.customer-sales-stats.fetch-size:1000}") int fetchSize) {
+		this.statsRepository = statsRepository;
+		this.orderRepository = orderRepository;
+		this.jdbcTemplate = jdbcTemplate;
+		this.transactionTemplate = new TransactionTemplate(transactionManager);
+		this.paidEventType = eventSerializer.typeOf(OrderPaidEvent.class);
+		this.canceledEventType = eventSerializer.typeOf(OrderCanceledEvent.class);
+		this.fetchSize = fetchSize;
+	}
+
+	public static int salesYearOf(OffsetDateTime placedAt) {
+		return placedAt.atZoneSameInstant(ZoneId.systemDefault()).getYear();
+	}
+
+	@EventListener
+	public void listen(OrderPaidEvent event) {
+		OrderPersistenceEntity order = findOrder(event.orderId());
+		add(order, 1, order.getTotalAmount());
+	}
+
+	@EventListener
+	public void listen(OrderCanceledEvent event) {
+		OrderPersistenceEntity order = findOrder(event.orderId());
+		if (order.getPaidAt() != null) {
+			add(order, -1, order.getTotalAmount().negate());
+		}
+	}
+
+	@EventListener(ApplicationReadyEvent.class)
+	public void rebuildIfEmpty() {
+		if (statsRepository.count() == 0) {
+			rebuild();
+		}
+	}
+
+	public void rebuild() {
+		long start = System.nanoTime();
+		Map<CustomerSalesStatsPersistenceEntity.Id, Totals> totals = new HashMap<>();
+
+		transactionTemplate.executeWithoutResult(status -> {
+			jdbcTemplate.query(connection -> {
+				PreparedStatement statement = connection.prepareStatement(SALES_SQL);
+				statement.setString(1, canceledEventType);
+				statement.setString(2, paidEventType);
+				statement.setFetchSize(fetchSize);
+				return statement;
+			}, (RowCallbackHandler) rs -> {
+				var id = new CustomerSalesStatsPersistenceEntity.Id(rs.getObject(1, UUID.class),
+						salesYearOf(rs.getObject(2, OffsetDateTime.class)));
+				totals.computeIfAbsent(id, key -> new Totals()).add(rs.getBigDecimal(3));
+			});
+
+			List<Object[]> rows = new ArrayList<>(totals.size());
+			totals.forEach((id, total) -> rows.add(
+					new Object[]{id.getCustomerId(), id.getSalesYear(), total.quantity, total.amount}));
+
+			jdbcTemplate.update("DELETE FROM customer_sales_stats");
+			jdbcTemplate.batchUpdate(INSERT_STATS_SQL, rows);
+		});
+
+		log.info("Rebuilt {} customer sales stats rows in {} ms", totals.size(),
+				(System.nanoTime() - start) / 1_000_000);
+	}
+
+	private OrderPersistenceEntity findOrder(OrderId orderId) {
+		return orderRepository.findById(orderId.value().toLong())
+				.orElseThrow(() -> new IllegalStateException("Order %s of a sales event was not found".formatted(orderId)));
+	}
+
+	private void add(OrderPersistenceEntity order, long quantity, BigDecimal amount) {
+		UUID customerId = order.getCustomer().getId();
+
+		/*
+		 * Under MVCC two first sales of a year both miss the other's uncommitted row, and the MERGE of one would
+		 * then fail on the primary key. Locking the customer's row, which always exists, orders them instead.
+		 */
+		jdbcTemplate.queryForList(LOCK_CUSTOMER_SQL, UUID.class, customerId);
+		statsRepository.increment(customerId, salesYearOf(order.getPlacedAt()), quantity, amount);
+	}
+
+	private static class Totals {
+
+		private long quantity;
+		private BigDecimal amount = BigDecimal.ZERO;
+
+		void add(BigDecimal orderAmount) {
+			quantity++;
+			amount = amount.add(orderAmount);
+		}
+
+	}
+
+}
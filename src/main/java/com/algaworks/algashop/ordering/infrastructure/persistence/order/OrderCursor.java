@@ -0,0 +1,69 @@
+package com.algaworks.algashop.ordering.infrastructure.persistence.order;
+
+import com.algaworks.algashop.ordering.application.order.query.OrderFilter;
+import com.algaworks.algashop.ordering.application.order.query.OrderSummaryOutput;
+import com.algaworks.algashop.ordering.domain.model.order.OrderId;
+import org.springframework.data.domain.Sort;
+
+import java.nio.charset.StandardCharsets;
+import java.time.OffsetDateTime;
+import java.util.Base64;
+
+/**
+ * Position after the last order of a page: the value of the active sort column plus the TSID id as a tie-breaker.
+ * Encoded as an opaque URL-safe token.
+ */
+record OrderCursor(OrderFilter.SortType sortType, Sort.Direction direction, Comparable<?> sortValue, long id) {
+
+	private static final String SEPARATOR = "|";
+
+	static OrderCursor after(OrderSummaryOutput order, OrderFilter.SortType sortType, Sort.Direction direction) {
+		Comparable<?> sortValue = switch (sortType) {
+			case PLACED_AT -> order.getPlacedAt();
+			case PAID_AT -> order.getPaidAt();
+			case CANCELED_AT -> order.getCanceledAt();
+			case READY_AT -> order.getReadyAt();
+			case STATUS -> order.getStatus();
+		};
+
+		return new OrderCursor(sortType, direction, sortValue, new OrderId(order.getId()).value().toLong());
+	}
+
+	static OrderCursor decode(String cursor, OrderFilter.SortType sortType, Sort.Direction direction) {
+		String[] parts;
+		try {
+			parts = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8)
+					.split("\\" + SEPARATOR, 4);
+		} catch (IllegalArgumentException e) {
+			throw new IllegalArgumentException("Invalid cursor", e);
+		}
+
+		if (parts.length < 3
+				|| !sortType.name().equals(parts[0])
+				|| !direction.name().equals(parts[1])) {
+			throw new IllegalArgumentException("Cursor does not match the requested sort");
+		}
+
+		try {
+			long id = Long.parseLong(parts[2]);
+			if (parts.length == 3) {
+				return new OrderCursor(sortType, direction, null, id);
+			}
+			Comparable<?> sortValue = sortType == OrderFilter.SortType.STATUS
+					? parts[3]
+					: OffsetDateTime.parse(parts[3]);
+			return new OrderCursor(sortType, direction, sortValue, id);
+		} catch (RuntimeException e) {
+			throw new IllegalArgumentException("Invalid cursor", e);
+		}
+	}
+
+	String encode() {
+		String value = String.join(SEPARATOR, sortType.name(), direction.name(), Long.toString(id));
+		if (sortValue != null) {
+			value = value + SEPARATOR + sortValue;
+		}
+		return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+	}
+
+}
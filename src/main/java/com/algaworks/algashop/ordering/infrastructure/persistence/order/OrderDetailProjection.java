@@ -0,0 +1,208 @@
+package com.algaworks.algashop.ordering.infrastructure.persistence.order;
+
+import com.algaworks.algashop.ordering.application.commons.AddressData;
+import com.algaworks.algashop.ordering.application.order.query.*;
+import io.hypersistence.tsid.TSID;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Tuple;
+import org.hibernate.jpa.HibernateHints;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Reads an {@link OrderDetailOutput} with a single query that selects the order, its customer and its items as plain
+ * columns, one row per item, so no entity is loaded into the persistence context. As Hibernate does for embeddables,
+ * a billing, shipping, recipient or address whose columns are all null comes out as null.
+ */
+class OrderDetailProjection {
+
+	private static final String QUERY = """
+			SELECT o.id AS id,
+				o.totalItems AS totalItems,
+				o.totalAmount AS totalAmount,
+				o.placedAt AS placedAt,
+				o.paidAt AS paidAt,
+				o.canceledAt AS canceledAt,
+				o.readyAt AS readyAt,
+				o.status AS status,
+				o.paymentMethod AS paymentMethod,
+				c.id AS customerId,
+				c.firstName AS customerFirstName,
+				c.lastName AS customerLastName,
+				c.email AS customerEmail,
+				c.document AS customerDocument,
+				c.phone AS customerPhone,
+				o.billing.firstName AS billingFirstName,
+				o.billing.lastName AS billingLastName,
+				o.billing.document AS billingDocument,
+				o.billing.email AS billingEmail,
+				o.billing.phone AS billingPhone,
+				o.billing.address.street AS billingStreet,
+				o.billing.address.number AS billingNumber,
+				o.billing.address.complement AS billingComplement,
+				o.billing.address.neighborhood AS billingNeighborhood,
+				o.billing.address.city AS billingCity,
+				o.billing.address.state AS billingState,
+				o.billing.address.zipCode AS billingZipCode,
+				o.shipping.cost AS shippingCost,
+				o.shipping.expectedDate AS shippingExpectedDate,
+				o.shipping.recipient.firstName AS recipientFirstName,
+				o.shipping.recipient.lastName AS recipientLastName,
+				o.shipping.recipient.document AS recipientDocument,
+				o.shipping.recipient.phone AS recipientPhone,
+				o.shipping.address.street AS shippingStreet,
+				o.shipping.address.number AS shippingNumber,
+				o.shipping.address.complement AS shippingComplement,
+				o.shipping.address.neighborhood AS shippingNeighborhood,
+				o.shipping.address.city AS shippingCity,
+				o.shipping.address.state AS shippingState,
+				o.shipping.address.zipCode AS shippingZipCode,
+				i.id AS itemId,
+				i.productId AS itemProductId,
+				i.productName AS itemProductName,
+				i.price AS itemPrice,
+				i.quantity AS itemQuantity,
+				i.totalAmount AS itemTotalAmount
+			FROM OrderPersistenceEntity o
+			JOIN o.customer c
+			LEFT JOIN o.items i
+			WHERE o.id = :id
+			ORDER BY i.id
+			""";
+
+	private OrderDetailProjection() {
+	}
+
+	static Optional<OrderDetailOutput> findById(EntityManager entityManager, long id) {
+		List<Tuple> rows = entityManager.createQuery(QUERY, Tuple.class)
+				.setParameter("id", id)
+				.setHint(HibernateHints.HINT_READ_ONLY, true)
+				.getResultList();
+
+		if (rows.isEmpty()) {
+			return Optional.empty();
+		}
+		return Optional.of(toOrderDetailOutput(rows));
+	}
+
+	private static OrderDetailOutput toOrderDetailOutput(List<Tuple> rows) {
+		Tuple row = rows.getFirst();
+		String orderId = toTsidString(row.get("id", Long.class));
+
+		List<OrderItemDetailOutput> items = new ArrayList<>(rows.size());
+		for (Tuple itemRow : rows) {
+			Long itemId = itemRow.get("itemId", Long.class);
+			if (itemId != null) {
+				items.add(toOrderItemDetailOutput(itemRow, itemId, orderId));
+			}
+		}
+
+		return OrderDetailOutput.builder()
+				.id(orderId)
+				.customer(CustomerMinimalOutput.builder()
+						.id(row.get("customerId", UUID.class))
+						.firstName(row.get("customerFirstName", String.class))
+						.lastName(row.get("customerLastName", String.class))
+						.email(row.get("customerEmail", String.class))
+						.document(row.get("customerDocument", String.class))
+						.phone(row.get("customerPhone", String.class))
+						.build())
+				.totalItems(row.get("totalItems", Integer.class))
+				.totalAmount(row.get("totalAmount", BigDecimal.class))
+				.placedAt(row.get("placedAt", OffsetDateTime.class))
+				.paidAt(row.get("paidAt", OffsetDateTime.class))
+				.canceledAt(row.get("canceledAt", OffsetDateTime.class))
+				.readyAt(row.get("readyAt", OffsetDateTime.class))
+				.status(row.get("status", String.class))
+				.paymentMethod(row.get("paymentMethod", String.class))
+				.billing(toBillingData(row))
+				.shipping(toShippingData(row))
+				.items(items)
+				.build();
+	}
+
+	private static OrderItemDetailOutput toOrderItemDetailOutput(Tuple row, Long itemId, String orderId) {
+		return OrderItemDetailOutput.builder()
+				.id(toTsidString(itemId))
+				.orderId(orderId)
+				.productId(row.get("itemProductId", UUID.class))
+				.productName(row.get("itemProductName", String.class))
+				.price(row.get("itemPrice", BigDecimal.class))
+				.quantity(row.get("itemQuantity", Integer.class))
+				.totalAmount(row.get("itemTotalAmount", BigDecimal.class))
+				.build();
+	}
+
+	private static BillingData toBillingData(Tuple row) {
+		AddressData address = toAddressData(row, "billing");
+		BillingData billing = BillingData.builder()
+				.firstName(row.get("billingFirstName", String.class))
+				.lastName(row.get("billingLastName", String.class))
+				.document(row.get("billingDocument", String.class))
+				.email(row.get("billingEmail", String.class))
+				.phone(row.get("billingPhone", String.class))
+				.address(address)
+				.build();
+
+		return address == null && allNull(billing.getFirstName(), billing.getLastName(), billing.getDocument(),
+				billing.getEmail(), billing.getPhone()) ? null : billing;
+	}
+
+	private static ShippingData toShippingData(Tuple row) {
+		RecipientData recipient = RecipientData.builder()
+				.firstName(row.get("recipientFirstName", String.class))
+				.lastName(row.get("recipientLastName", String.class))
+				.document(row.get("recipientDocument", String.class))
+				.phone(row.get("recipientPhone", String.class))
+				.build();
+		if (allNull(recipient.getFirstName(), recipient.getLastName(), recipient.getDocument(), recipient.getPhone())) {
+			recipient = null;
+		}
+
+		ShippingData shipping = ShippingData.builder()
+				.cost(row.get("shippingCost", BigDecimal.class))
+				.expectedDate(row.get("shippingExpectedDate", LocalDate.class))
+				.recipient(recipient)
+				.address(toAddressData(row, "shipping"))
+				.build();
+
+		return allNull(shipping.getCost(), shipping.getExpectedDate(), shipping.getRecipient(), shipping.getAddress())
+				? null
+				: shipping;
+	}
+
+	private static AddressData toAddressData(Tuple row, String prefix) {
+		AddressData address = AddressData.builder()
+				.street(row.get(prefix + "Street", String.class))
+				.number(row.get(prefix + "Number", String.class))
+				.complement(row.get(prefix + "Complement", String.class))
+				.neighborhood(row.get(prefix + "Neighborhood", String.class))
+				.city(row.get(prefix + "City", String.class))
+				.state(row.get(prefix + "State", String.class))
+				.zipCode(row.get(prefix + "ZipCode", String.class))
+				.build();
+
+		return allNull(address.getStreet(), address.getNumber(), address.getComplement(), address.getNeighborhood(),
+				address.getCity(), address.getState(), address.getZipCode()) ? null : address;
+	}
+
+	private static boolean allNull(Object... values) {
+		for (Object value : values) {
+			if (value != null) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private static String toTsidString(Long tsid) {
+		return tsid == null ? null : new TSID(tsid).toString();
+	}
+
+}
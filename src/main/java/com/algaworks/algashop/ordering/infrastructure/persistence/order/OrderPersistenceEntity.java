@@ -1,6 +1,7 @@
 package com.algaworks.algashop.ordering.infrastructure.persistence.order;
 
 import com.algaworks.algashop.ordering.infrastructure.persistence.customer.CustomerPersistenceEntity;
+import com.algaworks.algashop.ordering.infrastructure.persistence.outbox.PendingDomainEvent;
 import jakarta.persistence.*;
 import lombok.*;
 import org.springframework.data.annotation.CreatedBy;
@@ -21,7 +22,10 @@ import java.util.UUID;
 @Setter
 @NoArgsConstructor
 @ToString(of = "id")
-@Table(name = "\"order\"")
+@Table(name = "\"order\"", indexes = {
+		@Index(name = "idx_order_customer_id_placed_at", columnList = "customer_id, placed_at"),
+		@Index(name = "idx_order_customer_id_sales", columnList = "customer_id, canceled_at, placed_at, paid_at")
+})
 @EqualsAndHashCode(onlyExplicitlyIncluded = true, callSuper = false)
 @EntityListeners(AuditingEntityListener.class)
 public class OrderPersistenceEntity extends AbstractAggregateRoot<OrderPersistenceEntity> {
@@ -137,6 +141,7 @@ public class OrderPersistenceEntity extends AbstractAggregateRoot<OrderPersisten
 			updatedItems = new HashSet<>();
 		}
 
+		updatedItems = new HashSet<>(updatedItems);
 		updatedItems.forEach(i -> i.setOrder(this));
 		setItems(updatedItems);
 	}
@@ -154,6 +159,14 @@ public class OrderPersistenceEntity extends AbstractAggregateRoot<OrderPersisten
 		getItems().add(item);
 	}
 
+	public void removeItemsNotIn(Set<Long> itemIds) {
+		if (getItems() == null) {
+			return;
+		}
+
+		getItems().removeIf(item -> !itemIds.contains(item.getId()));
+	}
+
 	public UUID getCustomerId() {
 		if (customer == null) {
 			return null;
@@ -169,7 +182,7 @@ public class OrderPersistenceEntity extends AbstractAggregateRoot<OrderPersisten
 	public void addEvents(Collection<Object> events) {
 		if (events != null) {
 			for (Object event : events) {
-				this.registerEvent(event);
+				this.registerEvent(new PendingDomainEvent("Order", String.valueOf(id), event));
 			}
 		}
 	}
@@ -10,9 +10,8 @@ import com.algaworks.algashop.ordering.infrastructure.persistence.customer.Custo
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Component;
 
-import java.util.HashSet;
+import java.util.HashMap;
 import java.util.Map;
-import java.util.Set;
 import java.util.stream.Collectors;
 
 @RequiredArgsConstructor
@@ -38,8 +37,7 @@ public class OrderPersistenceEntityAssembler {
 		orderPersistenceEntity.setVersion(order.version());
 		orderPersistenceEntity.setBilling(toBillingEmbeddable(order.billing()));
 		orderPersistenceEntity.setShipping(toShippingEmbeddable(order.shipping()));
-		Set<OrderItemPersistenceEntity> mergedItems = mergeItems(order, orderPersistenceEntity);
-		orderPersistenceEntity.replaceItems(mergedItems);
+		mergeItems(order, orderPersistenceEntity);
 
 		var customerPersistenceEntity = customerPersistenceEntityRepository
 				.getReferenceById(order.customerId().value());
@@ -50,31 +48,25 @@ public class OrderPersistenceEntityAssembler {
 		return orderPersistenceEntity;
 	}
 
-	private Set<OrderItemPersistenceEntity> mergeItems(Order order, OrderPersistenceEntity orderPersistenceEntity) {
-		Set<OrderItem> newOrUpdatedItems = order.items();
+	private void mergeItems(Order order, OrderPersistenceEntity orderPersistenceEntity) {
+		Map<Long, OrderItem> newOrUpdatedItems = order.items().stream()
+				.collect(Collectors.toMap(orderItem -> orderItem.id().value().toLong(), orderItem -> orderItem));
 
-		if (newOrUpdatedItems == null || newOrUpdatedItems.isEmpty()) {
-			return new HashSet<>();
-		}
-
-		Set<OrderItemPersistenceEntity> existingItems = orderPersistenceEntity.getItems();
-		if (existingItems == null || existingItems.isEmpty()) {
-			return newOrUpdatedItems.stream()
-					.map(this::fromDomain)
-					.collect(Collectors.toSet());
-		}
+		orderPersistenceEntity.removeItemsNotIn(newOrUpdatedItems.keySet());
 
-		Map<Long, OrderItemPersistenceEntity> existingItemMap = existingItems.stream()
+		Map<Long, OrderItemPersistenceEntity> existingItemMap = orderPersistenceEntity.getItems() == null
+				? new HashMap<>()
+				: orderPersistenceEntity.getItems().stream()
 				.collect(Collectors.toMap(OrderItemPersistenceEntity::getId, item -> item));
 
-		return newOrUpdatedItems.stream()
-				.map(orderItem -> {
-					OrderItemPersistenceEntity itemPersistence = existingItemMap.getOrDefault(
-							orderItem.id().value().toLong(), new OrderItemPersistenceEntity()
-					);
-					return merge(itemPersistence, orderItem);
-				})
-				.collect(Collectors.toSet());
+		newOrUpdatedItems.forEach((orderItemId, orderItem) -> {
+			OrderItemPersistenceEntity itemPersistence = existingItemMap.get(orderItemId);
+			if (itemPersistence == null) {
+				orderPersistenceEntity.addItem(fromDomain(orderItem));
+			} else {
+				merge(itemPersistence, orderItem);
+			}
+		});
 	}
 
 	public OrderItemPersistenceEntity fromDomain(OrderItem orderItem) {
@@ -5,7 +5,7 @@ import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
-import java.math.BigDecimal;
+import java.time.OffsetDateTime;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -16,35 +16,15 @@ public interface OrderPersistenceEntityRepository extends JpaRepository<OrderPer
 			SELECT o
 			FROM OrderPersistenceEntity o
 			WHERE o.customer.id = :customerId
-			AND YEAR(o.placedAt) = :year
+			AND o.placedAt >= :from
+			AND o.placedAt < :to
 			""")
-	List<OrderPersistenceEntity> placedByCustomerInYear(
+	List<OrderPersistenceEntity> placedByCustomerInPeriod(
 			@Param("customerId") UUID customerId,
-			@Param("year") Integer year
+			@Param("from") OffsetDateTime from,
+			@Param("to") OffsetDateTime to
 	);
 
-	@Query("""
-			SELECT COUNT(o)
-			FROM OrderPersistenceEntity o
-			WHERE o.customer.id = :customerId
-			AND YEAR(o.placedAt) = :year
-			AND o.paidAt IS NOT NULL
-			AND o.canceledAt IS NULL
-			""")
-	long salesQuantityByCustomerInYear(
-			@Param("customerId") UUID customerId,
-			@Param("year") Integer year
-	);
-
-	@Query("""
-			SELECT COALESCE(SUM(o.totalAmount), 0)
-			FROM OrderPersistenceEntity o
-			WHERE o.customer.id = :customerId
-			AND o.canceledAt IS NULL
-			AND o.paidAt IS NOT NULL
-			""")
-	BigDecimal totalSoldForCustomer(@Param("customerId") UUID customerId);
-
 	@Override
 	@EntityGraph(attributePaths = {"customer", "items"})
 	Optional<OrderPersistenceEntity> findById(Long id);
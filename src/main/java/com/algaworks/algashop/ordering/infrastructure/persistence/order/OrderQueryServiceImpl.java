@@ -1,48 +1,78 @@
 package com.algaworks.algashop.ordering.infrastructure.persistence.order;
 
 import com.algaworks.algashop.ordering.application.order.query.*;
-import com.algaworks.algashop.ordering.application.utility.Mapper;
+import com.algaworks.algashop.ordering.application.utility.CountStrategy;
+import com.algaworks.algashop.ordering.application.utility.FilterPage;
 import com.algaworks.algashop.ordering.domain.model.order.OrderId;
 import com.algaworks.algashop.ordering.domain.model.order.OrderNotFoundException;
+import com.algaworks.algashop.ordering.infrastructure.persistence.FilterCountCache;
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.TypedQuery;
 import jakarta.persistence.criteria.*;
-import lombok.RequiredArgsConstructor;
+import org.hibernate.ScrollMode;
+import org.hibernate.ScrollableResults;
+import org.hibernate.Session;
+import org.hibernate.query.NullPrecedence;
+import org.hibernate.query.Query;
+import org.hibernate.query.SortDirection;
+import org.hibernate.query.criteria.HibernateCriteriaBuilder;
+import org.hibernate.query.criteria.JpaExpression;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Component;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.math.BigDecimal;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Objects;
+import java.util.function.Consumer;
 
 @Component
-@RequiredArgsConstructor
 @Transactional(readOnly = true)
 public class OrderQueryServiceImpl implements OrderQueryService {
 
-	private final OrderPersistenceEntityRepository repository;
-	private final Mapper mapper;
-
 	private final EntityManager entityManager;
+	private final FilterCountCache countCache;
+
+	private final CountStrategy defaultCountStrategy;
+	private final int exportFetchSize;
+
+	public OrderQueryServiceImpl(
+			EntityManager entityManager,
+			FilterCountCache countCache,
+			@Value("${algashop.query.count-strategy}") CountStrategy defaultCountStrategy,
+			@Value("${algashop.query.export-fetch-size}") int exportFetchSize
+	) {
+		this.entityManager = entityManager;
+		this.countCache = countCache;
+		this.defaultCountStrategy = defaultCountStrategy;
+		this.exportFetchSize = exportFetchSize;
+	}
 
 	@Override
 	public OrderDetailOutput findById(String id) {
-		OrderPersistenceEntity entity = repository.findById(new OrderId(id).value().toLong())
+		return OrderDetailProjection.findById(entityManager, new OrderId(id).value().toLong())
 				.orElseThrow(OrderNotFoundException::new);
-
-		return mapper.convert(entity, OrderDetailOutput.class);
 	}
 
 	@Override
 	public Page<OrderSummaryOutput> filter(OrderFilter filter) {
-		Long totalQueryResults = countTotalQueryResults(filter);
+		CountStrategy countStrategy = Objects.requireNonNullElse(filter.getCountStrategy(), defaultCountStrategy);
+
+		Long totalQueryResults = switch (countStrategy) {
+			case EXACT -> countTotalQueryResults(filter);
+			case CACHED -> countCache.count(OrderPersistenceEntity.class, toCountKey(filter),
+					() -> countTotalQueryResults(filter));
+			case SKIP -> null;
+		};
+
 		if (Objects.equals(totalQueryResults, 0L)) {
 			PageRequest pageRequest = PageRequest.of(filter.getPage(), filter.getSize());
-			return new PageImpl<>(new ArrayList<>(), pageRequest, totalQueryResults);
+			return FilterPage.withTotal(new ArrayList<>(), pageRequest, 0L, false, null);
 		}
 		return filterQuery(filter, totalQueryResults);
 	}
@@ -64,8 +94,48 @@ public class OrderQueryServiceImpl implements OrderQueryService {
 		return query.getSingleResult();
 	}
 
+	@Override
+	public void export(OrderFilter filter, Consumer<OrderSummaryOutput> consumer) {
+		Query<OrderSummaryOutput> query = entityManager.unwrap(Session.class)
+				.createQuery(toSummaryQuery(entityManager.getCriteriaBuilder(), filter));
+
+		query.setFetchSize(exportFetchSize);
+		query.setReadOnly(true);
+
+		try (ScrollableResults<OrderSummaryOutput> results = query.scroll(ScrollMode.FORWARD_ONLY)) {
+			while (results.next()) {
+				consumer.accept(results.get());
+			}
+		}
+	}
+
 	private Page<OrderSummaryOutput> filterQuery(OrderFilter filter, Long totalQueryResults) {
-		CriteriaBuilder builder = entityManager.getCriteriaBuilder();
+		TypedQuery<OrderSummaryOutput> typedQuery = entityManager.createQuery(
+				toSummaryQuery(entityManager.getCriteriaBuilder(), filter));
+
+		if (!hasCursor(filter)) {
+			typedQuery.setFirstResult(filter.getPage() * filter.getSize());
+		}
+		typedQuery.setMaxResults(filter.getSize() + 1);
+
+		List<OrderSummaryOutput> content = typedQuery.getResultList();
+		String nextCursor = null;
+
+		if (content.size() > filter.getSize()) {
+			content = content.subList(0, filter.getSize());
+			nextCursor = OrderCursor.after(content.getLast(),
+					filter.getSortByPropertyOrDefault(), filter.getSortDirectionOrDefault()).encode();
+		}
+
+		PageRequest pageRequest = PageRequest.of(filter.getPage(), filter.getSize());
+
+		if (totalQueryResults == null) {
+			return FilterPage.withoutTotal(content, pageRequest, nextCursor != null, nextCursor);
+		}
+		return FilterPage.withTotal(content, pageRequest, totalQueryResults, nextCursor != null, nextCursor);
+	}
+
+	private CriteriaQuery<OrderSummaryOutput> toSummaryQuery(CriteriaBuilder builder, OrderFilter filter) {
 		CriteriaQuery<OrderSummaryOutput> criteriaQuery = builder.createQuery(OrderSummaryOutput.class);
 		Root<OrderPersistenceEntity> root = criteriaQuery.from(OrderPersistenceEntity.class);
 
@@ -93,36 +163,94 @@ public class OrderQueryServiceImpl implements OrderQueryService {
 				)
 		);
 
-		Predicate[] predicates = toPredicates(builder, root, filter);
-		Order sortOrder = toSortOrder(builder, root, filter);
-
-		criteriaQuery.where(predicates);
+		List<Predicate> predicates = new ArrayList<>(List.of(toPredicates(builder, root, filter)));
 
-		if (sortOrder != null) {
-			criteriaQuery.orderBy(sortOrder);
+		if (hasCursor(filter)) {
+			OrderCursor cursor = OrderCursor.decode(filter.getCursor(),
+					filter.getSortByPropertyOrDefault(), filter.getSortDirectionOrDefault());
+			predicates.add(toSeekPredicate(builder, root, cursor));
 		}
 
-		TypedQuery<OrderSummaryOutput> typedQuery = entityManager.createQuery(criteriaQuery);
+		criteriaQuery.where(predicates.toArray(new Predicate[]{}));
+		criteriaQuery.orderBy(toSortOrders((HibernateCriteriaBuilder) builder, root, filter));
 
-		typedQuery.setFirstResult(filter.getPage() * filter.getSize());
-		typedQuery.setMaxResults(filter.getSize());
+		return criteriaQuery;
+	}
 
-		PageRequest pageRequest = PageRequest.of(filter.getPage(), filter.getSize());
+	private boolean hasCursor(OrderFilter filter) {
+		return filter.getCursor() != null && !filter.getCursor().isBlank();
+	}
 
-		return new PageImpl<>(typedQuery.getResultList(), pageRequest, totalQueryResults);
+	/*
+	 * The values toPredicates filters on, after the same normalization, so equivalent filters share a count.
+	 */
+	private List<Object> toCountKey(OrderFilter filter) {
+		String status = filter.getStatus() == null || filter.getStatus().isBlank()
+				? null
+				: filter.getStatus().toUpperCase();
+
+		return Arrays.asList(
+				filter.getCustomerId(),
+				status,
+				filter.getOrderId(),
+				filter.getPlacedAtFrom() == null ? null : filter.getPlacedAtFrom().toInstant(),
+				filter.getPlacedAtTo() == null ? null : filter.getPlacedAtTo().toInstant(),
+				stripTrailingZeros(filter.getTotalAmountFrom()),
+				stripTrailingZeros(filter.getTotalAmountTo())
+		);
 	}
 
-	private Order toSortOrder(CriteriaBuilder builder, Root<OrderPersistenceEntity> root, OrderFilter filter) {
+	private BigDecimal stripTrailingZeros(BigDecimal value) {
+		return value == null ? null : value.stripTrailingZeros();
+	}
 
-		if (filter.getSortDirectionOrDefault() == Sort.Direction.ASC) {
-			return builder.asc(root.get(filter.getSortByPropertyOrDefault().getPropertyName()));
-		}
+	/*
+	 * Nulls sort as the lowest value and the id breaks ties, so the order is total and a cursor can seek past it.
+	 */
+	private List<Order> toSortOrders(HibernateCriteriaBuilder builder, Root<OrderPersistenceEntity> root, OrderFilter filter) {
+		JpaExpression<?> sortPath = (JpaExpression<?>) root.get(filter.getSortByPropertyOrDefault().getPropertyName());
+		JpaExpression<?> idPath = (JpaExpression<?>) root.get("id");
 
 		if (filter.getSortDirectionOrDefault() == Sort.Direction.DESC) {
-			return builder.desc(root.get(filter.getSortByPropertyOrDefault().getPropertyName()));
+			return List.of(
+					builder.sort(sortPath, SortDirection.DESCENDING, NullPrecedence.LAST),
+					builder.sort(idPath, SortDirection.DESCENDING)
+			);
 		}
 
-		return null;
+		return List.of(
+				builder.sort(sortPath, SortDirection.ASCENDING, NullPrecedence.FIRST),
+				builder.sort(idPath, SortDirection.ASCENDING)
+		);
+	}
+
+	/*
+	 * Expands (sortColumn, id) > (lastValue, lastId), or < for descending, with nulls placed as in toSortOrders.
+	 */
+	@SuppressWarnings("unchecked")
+	private <C extends Comparable<? super C>> Predicate toSeekPredicate(CriteriaBuilder builder,
+																		 Root<OrderPersistenceEntity> root,
+																		 OrderCursor cursor) {
+		boolean ascending = cursor.direction() == Sort.Direction.ASC;
+		Path<C> sortPath = root.get(cursor.sortType().getPropertyName());
+		Path<Long> idPath = root.get("id");
+		C lastValue = (C) cursor.sortValue();
+
+		Predicate idAfter = ascending
+				? builder.greaterThan(idPath, cursor.id())
+				: builder.lessThan(idPath, cursor.id());
+
+		if (lastValue == null) {
+			Predicate sameNullAfter = builder.and(builder.isNull(sortPath), idAfter);
+			return ascending ? builder.or(sameNullAfter, builder.isNotNull(sortPath)) : sameNullAfter;
+		}
+
+		Predicate valueAfter = ascending
+				? builder.greaterThan(sortPath, lastValue)
+				: builder.lessThan(sortPath, lastValue);
+		Predicate seek = builder.or(valueAfter, builder.and(builder.equal(sortPath, lastValue), idAfter));
+
+		return ascending ? seek : builder.or(seek, builder.isNull(sortPath));
 	}
 
 	private Predicate[] toPredicates(CriteriaBuilder builder, Root<OrderPersistenceEntity> root, OrderFilter filter) {
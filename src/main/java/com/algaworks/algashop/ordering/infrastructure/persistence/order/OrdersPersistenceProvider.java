@@ -5,31 +5,63 @@ import com.algaworks.algashop.ordering.domain.model.order.Orders;
 import com.algaworks.algashop.ordering.domain.model.commons.Money;
 import com.algaworks.algashop.ordering.domain.model.customer.CustomerId;
 import com.algaworks.algashop.ordering.domain.model.order.OrderId;
+import com.algaworks.algashop.ordering.infrastructure.persistence.AggregateUnitOfWork;
+import com.algaworks.algashop.ordering.infrastructure.persistence.AggregateWriteMode;
+import com.algaworks.algashop.ordering.infrastructure.persistence.FilterCountCache;
 import jakarta.persistence.EntityManager;
-import lombok.RequiredArgsConstructor;
 import lombok.SneakyThrows;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Component;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.util.ReflectionUtils;
 
 import java.lang.reflect.Field;
+import java.time.OffsetDateTime;
 import java.time.Year;
+import java.time.ZoneId;
 import java.util.List;
 import java.util.Optional;
 
 @Component
-@RequiredArgsConstructor
 @Transactional(readOnly = true)
 public class OrdersPersistenceProvider implements Orders {
 
 	private final OrderPersistenceEntityRepository persistenceRepository;
 	private final OrderPersistenceEntityAssembler assembler;
 	private final OrderPersistenceEntityDisassembler disassembler;
+	private final CustomerSalesStatsPersistenceEntityRepository salesStatsRepository;
 
 	private final EntityManager entityManager;
+	private final AggregateUnitOfWork unitOfWork;
+	private final FilterCountCache countCache;
+
+	private final AggregateWriteMode writeMode;
+
+	public OrdersPersistenceProvider(
+			OrderPersistenceEntityRepository persistenceRepository,
+			OrderPersistenceEntityAssembler assembler,
+			OrderPersistenceEntityDisassembler disassembler,
+			CustomerSalesStatsPersistenceEntityRepository salesStatsRepository,
+			EntityManager entityManager,
+			AggregateUnitOfWork unitOfWork,
+			FilterCountCache countCache,
+			@Value("${algashop.persistence.write-mode}") AggregateWriteMode writeMode
+	) {
+		this.persistenceRepository = persistenceRepository;
+		this.assembler = assembler;
+		this.disassembler = disassembler;
+		this.salesStatsRepository = salesStatsRepository;
+		this.entityManager = entityManager;
+		this.unitOfWork = unitOfWork;
+		this.countCache = countCache;
+		this.writeMode = writeMode;
+	}
 
 	@Override
 	public Optional<Order> ofId(OrderId orderId) {
+		unitOfWork.flush();
+
 		Optional<OrderPersistenceEntity> possibleEntity = persistenceRepository
 				.findById(orderId.value().toLong());
 
@@ -49,23 +81,23 @@ public class OrdersPersistenceProvider implements Orders {
 	@Override
 	@Transactional
 	public void add(Order aggregateRoot) {
-		long orderId = aggregateRoot.id().value().toLong();
-
-		persistenceRepository.findById(orderId)
-				.ifPresentOrElse(
-						persistenceEntity -> update(aggregateRoot, persistenceEntity),
-						() -> insert(aggregateRoot)
-				);
+		if (writeMode == AggregateWriteMode.VERSIONED) {
+			addVersioned(aggregateRoot);
+		} else {
+			addLoadingAndMerging(aggregateRoot);
+		}
 
+		countCache.invalidate(OrderPersistenceEntity.class);
 		aggregateRoot.clearDomainEvents();
 	}
 
 	@Override
 	public List<Order> placedByCustomerInYear(CustomerId customerId, Year year) {
 
-		List<OrderPersistenceEntity> entities = persistenceRepository.placedByCustomerInYear(
+		List<OrderPersistenceEntity> entities = persistenceRepository.placedByCustomerInPeriod(
 				customerId.value(),
-				year.getValue()
+				startOf(year),
+				startOf(year.plusYears(1))
 		);
 
 		return entities.stream()
@@ -75,12 +107,45 @@ public class OrdersPersistenceProvider implements Orders {
 
 	@Override
 	public long salesQuantityByCustomerInYear(CustomerId customerId, Year year) {
-		return persistenceRepository.salesQuantityByCustomerInYear(customerId.value(), year.getValue());
+		return salesStatsRepository.salesQuantity(
+				new CustomerSalesStatsPersistenceEntity.Id(customerId.value(), year.getValue())
+		).orElse(0L);
 	}
 
 	@Override
 	public Money totalSoldForCustomer(CustomerId customerId) {
-		return new Money(persistenceRepository.totalSoldForCustomer(customerId.value()));
+		return new Money(salesStatsRepository.totalSoldForCustomer(customerId.value()));
+	}
+
+	private void addVersioned(Order aggregateRoot) {
+		if (aggregateRoot.version() == null) {
+			OrderPersistenceEntity persistenceEntity = assembler.fromDomain(aggregateRoot);
+			persistenceRepository.save(persistenceEntity);
+			unitOfWork.register(aggregateRoot, persistenceEntity, () -> updateVersion(aggregateRoot, persistenceEntity));
+			return;
+		}
+
+		long orderId = aggregateRoot.id().value().toLong();
+
+		OrderPersistenceEntity persistenceEntity = persistenceRepository.findById(orderId)
+				.orElseThrow(() -> new ObjectOptimisticLockingFailureException(OrderPersistenceEntity.class, orderId));
+
+		if (unitOfWork.isStale(aggregateRoot, aggregateRoot.version(), persistenceEntity, persistenceEntity::getVersion)) {
+			throw new ObjectOptimisticLockingFailureException(OrderPersistenceEntity.class, orderId);
+		}
+
+		OrderPersistenceEntity mergedEntity = persistenceRepository.save(assembler.merge(persistenceEntity, aggregateRoot));
+		unitOfWork.register(aggregateRoot, mergedEntity, () -> updateVersion(aggregateRoot, mergedEntity));
+	}
+
+	private void addLoadingAndMerging(Order aggregateRoot) {
+		long orderId = aggregateRoot.id().value().toLong();
+
+		persistenceRepository.findById(orderId)
+				.ifPresentOrElse(
+						persistenceEntity -> update(aggregateRoot, persistenceEntity),
+						() -> insert(aggregateRoot)
+				);
 	}
 
 	private void update(Order aggregateRoot, OrderPersistenceEntity persistenceEntity) {
@@ -96,6 +161,10 @@ public class OrdersPersistenceProvider implements Orders {
 		updateVersion(aggregateRoot, persistenceEntity);
 	}
 
+	private OffsetDateTime startOf(Year year) {
+		return year.atDay(1).atStartOfDay(ZoneId.systemDefault()).toOffsetDateTime();
+	}
+
 	@SneakyThrows
 	private void updateVersion(Order aggregateRoot, OrderPersistenceEntity persistenceEntity) {
 		Field version = aggregateRoot.getClass().getDeclaredField("version");
@@ -0,0 +1,187 @@
+package com.algaworks.algashop.ordering.infrastructure.persistence.outbox;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.BeanDescription;
+import com.fasterxml.jackson.databind.DeserializationConfig;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationConfig;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.deser.Deserializers;
+import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.databind.ser.Serializers;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import io.hypersistence.tsid.TSID;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.RecordComponent;
+
+/**
+ * Turns domain events into outbox rows and back. The type is the event's class name relative to the domain model
+ * package, and the payload is JSON in which single-value records such as {@code OrderId} or {@code Email} are
+ * written as their bare value and TSIDs as numbers, so {@code OrderPaidEvent} takes about 120 bytes.
+ */
+@Component
+public class DomainEventSerializer {
+
+	private static final String DOMAIN_MODEL_PACKAGE = "com.algaworks.algashop.ordering.domain.model.";
+
+	private final ObjectMapper objectMapper = JsonMapper.builder()
+			.addModule(new JavaTimeModule())
+			.addModule(new ValueObjectModule())
+			.disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+			.disable(DeserializationFeature.ADJUST_DATES_TO_CONTEXT_TIME_ZONE)
+			.disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
+			.serializationInclusion(JsonInclude.Include.NON_NULL)
+			.build();
+
+	public String typeOf(Object event) {
+		return typeOf(event.getClass());
+	}
+
+	public String typeOf(Class<?> eventType) {
+		String className = eventType.getName();
+		return className.startsWith(DOMAIN_MODEL_PACKAGE)
+				? className.substring(DOMAIN_MODEL_PACKAGE.length())
+				: className;
+	}
+
+	public String serialize(Object event) {
+		try {
+			return objectMapper.writeValueAsString(event);
+		} catch (JsonProcessingException e) {
+			throw new IllegalStateException("Could not serialize " + event.getClass().getName(), e);
+		}
+	}
+
+	public Object deserialize(String type, String payload) {
+		try {
+			return objectMapper.readValue(payload, classOf(type));
+		} catch (JsonProcessingException e) {
+			throw new IllegalStateException("Could not deserialize a " + type, e);
+		}
+	}
+
+	private static Class<?> classOf(String type) {
+		try {
+			return Class.forName(DOMAIN_MODEL_PACKAGE + type);
+		} catch (ClassNotFoundException e) {
+			try {
+				return Class.forName(type);
+			} catch (ClassNotFoundException notFound) {
+				throw new IllegalStateException("Unknown event type " + type, notFound);
+			}
+		}
+	}
+
+	private static boolean isValueObject(Class<?> type) {
+		return type.isRecord()
+				&& type.getName().startsWith(DOMAIN_MODEL_PACKAGE)
+				&& type.getRecordComponents().length == 1;
+	}
+
+	private static class ValueObjectModule extends SimpleModule {
+
+		ValueObjectModule() {
+			addSerializer(TSID.class, new StdSerializer<>(TSID.class) {
+				@Override
+				public void serialize(TSID value, JsonGenerator generator, SerializerProvider provider) throws IOException {
+					generator.writeNumber(value.toLong());
+				}
+			});
+			addDeserializer(TSID.class, new StdDeserializer<>(TSID.class) {
+				@Override
+				public TSID deserialize(JsonParser parser, DeserializationContext context) throws IOException {
+					return TSID.from(parser.getLongValue());
+				}
+			});
+		}
+
+		@Override
+		public void setupModule(SetupContext context) {
+			super.setupModule(context);
+
+			context.addSerializers(new Serializers.Base() {
+				@Override
+				public JsonSerializer<?> findSerializer(SerializationConfig config, JavaType type,
+														BeanDescription beanDescription) {
+					return isValueObject(type.getRawClass()) ? new ValueObjectSerializer(type.getRawClass()) : null;
+				}
+			});
+			context.addDeserializers(new Deserializers.Base() {
+				@Override
+				public JsonDeserializer<?> findBeanDeserializer(JavaType type, DeserializationConfig config,
+																BeanDescription beanDescription) {
+					return isValueObject(type.getRawClass()) ? new ValueObjectDeserializer(type.getRawClass()) : null;
+				}
+			});
+		}
+
+	}
+
+	private static class ValueObjectSerializer extends StdSerializer<Object> {
+
+		private final transient Method accessor;
+
+		ValueObjectSerializer(Class<?> type) {
+			super(Object.class);
+			this.accessor = type.getRecordComponents()[0].getAccessor();
+		}
+
+		@Override
+		public void serialize(Object value, JsonGenerator generator, SerializerProvider provider) throws IOException {
+			try {
+				provider.defaultSerializeValue(accessor.invoke(value), generator);
+			} catch (IllegalAccessException | InvocationTargetException e) {
+				throw new IllegalStateException(e);
+			}
+		}
+
+	}
+
+	private static class ValueObjectDeserializer extends StdDeserializer<Object> {
+
+		private final transient Constructor<?> constructor;
+		private final Class<?> componentType;
+
+		ValueObjectDeserializer(Class<?> type) {
+			super(type);
+			RecordComponent component = type.getRecordComponents()[0];
+			this.componentType = component.getType();
+			try {
+				this.constructor = type.getDeclaredConstructor(componentType);
+			} catch (NoSuchMethodException e) {
+				throw new IllegalStateException(e);
+			}
+		}
+
+		@Override
+		public Object deserialize(JsonParser parser, DeserializationContext context) throws IOException {
+			Object value = context.readValue(parser, componentType);
+			try {
+				return constructor.newInstance(value);
+			} catch (InvocationTargetException e) {
+				throw context.instantiationException(handledType(), e.getCause());
+			} catch (ReflectiveOperationException e) {
+				throw context.instantiationException(handledType(), e);
+			}
+		}
+
+	}
+
+}
@@ -0,0 +1,8 @@
+package com.algaworks.algashop.ordering.infrastructure.persistence.outbox;
+
+public enum EventDeliveryMode {
+	/** Hands domain events to the listeners inside the transaction that raised them. */
+	SYNCHRONOUS,
+	/** Stores domain events in the outbox and lets {@link OutboxDispatcher} deliver them after the commit. */
+	OUTBOX
+}
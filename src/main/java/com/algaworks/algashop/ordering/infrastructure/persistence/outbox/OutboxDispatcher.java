@@ -0,0 +1,277 @@
+package com.algaworks.algashop.ordering.infrastructure.persistence.outbox;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Delivers outbox events to the application's {@code @EventListener}s after the transaction that raised them has
+ * committed. Every {@code poll-interval} it claims up to {@code batch-size} aggregates whose oldest pending event is
+ * due, and delivers each aggregate's events in order on its own virtual thread. Each event is delivered in a
+ * transaction that also deletes its row and claims the aggregate's next events, so listeners that write to the
+ * database take effect exactly once. A failed delivery is retried with exponential backoff, holding back that
+ * aggregate's later events, until {@code max-attempts} is reached and the event is set aside as dead.
+ * <p>
+ * Every application instance runs a dispatcher. Claims are taken with {@code SELECT ... FOR UPDATE SKIP LOCKED}, so
+ * an aggregate's events go to one dispatcher at a time; a claim not renewed within {@code claim-timeout}, e.g. of an
+ * instance that went away, can be taken over by another dispatcher.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "algashop.events.delivery", havingValue = "OUTBOX", matchIfMissing = true)
+public class OutboxDispatcher implements SmartLifecycle, DisposableBean, MeterBinder {
+
+	private static final Duration MAXIMUM_BACKOFF = Duration.ofMinutes(5);
+
+	private final OutboxEventPersistenceEntityRepository repository;
+	private final DomainEventSerializer serializer;
+	private final ApplicationEventPublisher eventPublisher;
+	private final TransactionTemplate transactionTemplate;
+
+	private final int batchSize;
+	private final Duration pollInterval;
+	private final int maximumAttempts;
+	private final Duration retryBackoff;
+	private final Duration claimTimeout;
+	private final String dispatcherId = UUID.randomUUID().toString();
+
+	private final ExecutorService deliveryExecutor = Executors.newVirtualThreadPerTaskExecutor();
+	private ScheduledExecutorService poller;
+
+	private final LongAdder delivered = new LongAdder();
+	private final LongAdder failed = new LongAdder();
+	private final LongAdder dead = new LongAdder();
+	private volatile OffsetDateTime oldestPending;
+	private volatile Timer deliveryDelay;
+
+	public OutboxDispatcher(OutboxEventPersistenceEntityRepository repository,
+							DomainEventSerializer serializer,
+							ApplicationEventPublisher eventPublisher,
+							PlatformTransactionManager transactionManager,
+							@Value("${algashop.events.outbox.batch-size:100}") int batchSize,
+							@Value("${algashop.events.outbox.poll-interval:200ms}") Duration pollInterval,
+							@Value("${algashop.events.outbox.max-attempts:10}") int maximumAttempts,
+							@Value("${algashop.events.outbox.retry-backoff:1s}") Duration retryBackoff,
+							@Value("${algashop.events.outbox.claim-timeout:1m}") Duration claimTimeout) {
+		this.repository = repository;
+		this.serializer = serializer;
+		this.eventPublisher = eventPublisher;
+		this.transactionTemplate = new TransactionTemplate(transactionManager);
+		this.batchSize = batchSize;
+		this.pollInterval = pollInterval;
+		this.maximumAttempts = maximumAttempts;
+		this.retryBackoff = retryBackoff;
+		this.claimTimeout = claimTimeout;
+	}
+
+	@Override
+	public synchronized void start() {
+		poller = Executors.newSingleThreadScheduledExecutor(Thread.ofPlatform().name("outbox-dispatcher").daemon().factory());
+		poller.scheduleWithFixedDelay(this::dispatch, 0, pollInterval.toMillis(), TimeUnit.MILLISECONDS);
+	}
+
+	@Override
+	public synchronized void stop() {
+		poller.shutdown();
+		try {
+			poller.awaitTermination(5, TimeUnit.SECONDS);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+		poller = null;
+	}
+
+	@Override
+	public synchronized boolean isRunning() {
+		return poller != null;
+	}
+
+	@Override
+	public void destroy() {
+		deliveryExecutor.close();
+	}
+
+	/**
+	 * Delivers batches until no full batch is left.
+	 */
+	public void dispatch() {
+		try {
+			int read;
+			do {
+				read = dispatchBatch();
+			} while (read == batchSize);
+		} catch (RuntimeException e) {
+			log.warn("Outbox dispatch failed, retrying in {}", pollInterval, e);
+		}
+	}
+
+	/**
+	 * Delivers the events of one batch of claimed aggregates and returns how many aggregates were claimed.
+	 */
+	int dispatchBatch() {
+		oldestPending = repository.oldestPendingOccurredAt().orElse(null);
+
+		List<OutboxEventPersistenceEntity> heads = transactionTemplate.execute(status -> claimHeads());
+		if (heads == null || heads.isEmpty()) {
+			return 0;
+		}
+
+		List<Future<?>> deliveries = new ArrayList<>(heads.size());
+		for (OutboxEventPersistenceEntity head : heads) {
+			deliveries.add(deliveryExecutor.submit(() -> deliverInOrder(head)));
+		}
+		for (Future<?> delivery : deliveries) {
+			await(delivery);
+		}
+
+		return heads.size();
+	}
+
+	@Override
+	public void bindTo(MeterRegistry registry) {
+		FunctionCounter.builder("outbox.events.delivered", delivered, LongAdder::sum)
+				.description("Outbox events handed to the listeners")
+				.register(registry);
+		FunctionCounter.builder("outbox.events.failed", failed, LongAdder::sum)
+				.description("Outbox deliveries whose listeners threw")
+				.register(registry);
+		FunctionCounter.builder("outbox.events.dead", dead, LongAdder::sum)
+				.description("Outbox events set aside after their last attempt")
+				.register(registry);
+		Gauge.builder("outbox.lag", this, OutboxDispatcher::lagSeconds)
+				.description("Age of the oldest undelivered outbox event")
+				.baseUnit("seconds")
+				.register(registry);
+		deliveryDelay = Timer.builder("outbox.delivery.delay")
+				.description("Time from an event being raised to its delivery")
+				.register(registry);
+	}
+
+	double lagSeconds() {
+		OffsetDateTime oldest = oldestPending;
+		return oldest == null ? 0 : Duration.between(oldest, OffsetDateTime.now()).toMillis() / 1000.0;
+	}
+
+	private List<OutboxEventPersistenceEntity> claimHeads() {
+		OffsetDateTime now = OffsetDateTime.now();
+		List<Long> ids = repository.lockClaimableHeads(now, batchSize);
+		if (ids.isEmpty()) {
+			return List.of();
+		}
+		repository.claim(ids, dispatcherId, now.plus(claimTimeout));
+		return repository.findClaimed(ids, dispatcherId);
+	}
+
+	private void deliverInOrder(OutboxEventPersistenceEntity head) {
+		OutboxEventPersistenceEntity event = head;
+		while (event != null && deliver(event)) {
+			event = repository.findClaimedOfAggregate(event.getAggregateType(), event.getAggregateId(),
+					dispatcherId, Limit.of(1)).stream().findFirst().orElse(null);
+		}
+	}
+
+	/**
+	 * Returns whether the aggregate's next events may follow.
+	 */
+	private boolean deliver(OutboxEventPersistenceEntity event) {
+		try {
+			Object domainEvent = serializer.deserialize(event.getEventType(), event.getPayload());
+			transactionTemplate.executeWithoutResult(status -> {
+				eventPublisher.publishEvent(domainEvent);
+				if (repository.deleteDelivered(event.getId(), dispatcherId) == 0) {
+					throw new ClaimLostException();
+				}
+				repository.claimAggregate(event.getAggregateType(), event.getAggregateId(), dispatcherId,
+						OffsetDateTime.now().plus(claimTimeout));
+			});
+		} catch (ClaimLostException e) {
+			log.warn("Outbox event {} of {} {} was claimed by another dispatcher, leaving it to that one",
+					event.getEventType(), event.getAggregateType(), event.getAggregateId());
+			return false;
+		} catch (RuntimeException e) {
+			return recordFailure(event, e);
+		}
+
+		delivered.increment();
+		Timer timer = deliveryDelay;
+		if (timer != null) {
+			timer.record(Duration.between(event.getOccurredAt(), OffsetDateTime.now()));
+		}
+		return true;
+	}
+
+	private boolean recordFailure(OutboxEventPersistenceEntity event, RuntimeException failure) {
+		failed.increment();
+
+		int attempts = event.getAttempts() + 1;
+		OffsetDateTime now = OffsetDateTime.now();
+		boolean giveUp = attempts >= maximumAttempts;
+		String lastError = abbreviate(failure.toString());
+
+		transactionTemplate.executeWithoutResult(status -> repository.recordFailure(
+				event.getId(), attempts, now.plus(backoff(attempts)), lastError, giveUp ? now : null));
+
+		if (giveUp) {
+			dead.increment();
+			log.error("Giving up on outbox event {} of {} {} after {} attempts", event.getEventType(),
+					event.getAggregateType(), event.getAggregateId(), attempts, failure);
+		} else {
+			log.warn("Delivering outbox event {} of {} {} failed, attempt {} of {}", event.getEventType(),
+					event.getAggregateType(), event.getAggregateId(), attempts, maximumAttempts, failure);
+		}
+
+		return giveUp;
+	}
+
+	private Duration backoff(int attempts) {
+		Duration backoff = retryBackoff.multipliedBy(1L << Math.min(attempts - 1, 20));
+		return backoff.compareTo(MAXIMUM_BACKOFF) > 0 ? MAXIMUM_BACKOFF : backoff;
+	}
+
+	private static String abbreviate(String message) {
+		return message.length() <= 1000 ? message : message.substring(0, 1000);
+	}
+
+	/**
+	 * Rolls back a delivery whose claim expired and was taken over by another dispatcher meanwhile.
+	 */
+	private static class ClaimLostException extends RuntimeException {
+	}
+
+	private static void await(Future<?> delivery) {
+		try {
+			delivery.get();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException("Interrupted while delivering outbox events", e);
+		} catch (ExecutionException e) {
+			throw new IllegalStateException(e.getCause());
+		}
+	}
+
+}
@@ -0,0 +1,57 @@
+package com.algaworks.algashop.ordering.infrastructure.persistence.outbox;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.OffsetDateTime;
+
+/**
+ * A domain event waiting to be delivered. Rows are deleted once delivered; a row that keeps failing is kept with
+ * {@code deadAt} set so it can be inspected. A dispatcher delivering the event holds it through {@code claimedBy}
+ * until {@code claimedUntil}, after which another dispatcher may take it over.
+ */
+@Entity
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@ToString(of = {"id", "eventType"})
+@Table(name = "outbox_event", indexes = {
+		@Index(name = "idx_outbox_event_aggregate", columnList = "aggregate_type, aggregate_id, id")
+})
+@EqualsAndHashCode(onlyExplicitlyIncluded = true)
+public class OutboxEventPersistenceEntity {
+
+	@Id
+	@EqualsAndHashCode.Include
+	private Long id;
+
+	@Column(length = 32, nullable = false)
+	private String aggregateType;
+
+	@Column(length = 64, nullable = false)
+	private String aggregateId;
+
+	@Column(length = 128, nullable = false)
+	private String eventType;
+
+	@Column(length = 4000, nullable = false)
+	private String payload;
+
+	@Column(nullable = false)
+	private OffsetDateTime occurredAt;
+
+	private int attempts;
+	private OffsetDateTime nextAttemptAt;
+
+	@Column(length = 1000)
+	private String lastError;
+
+	private OffsetDateTime deadAt;
+
+	@Column(length = 36)
+	private String claimedBy;
+
+	private OffsetDateTime claimedUntil;
+
+}
@@ -0,0 +1,125 @@
+package com.algaworks.algashop.ordering.infrastructure.persistence.outbox;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.Optional;
+
+public interface OutboxEventPersistenceEntityRepository extends JpaRepository<OutboxEventPersistenceEntity, Long> {
+
+	/**
+	 * Locks up to {@code limit} due events that head their aggregate's pending events and that no dispatcher holds,
+	 * oldest first. Rows locked by another dispatcher's claim are skipped. Only an aggregate's oldest pending event
+	 * can be claimed this way, so each aggregate's events are delivered by one dispatcher, in the order they were
+	 * raised; the following ones are taken along with {@link #claimAggregate}.
+	 */
+	@Query(nativeQuery = true, value = """
+			SELECT e.id
+			FROM outbox_event e
+			WHERE e.dead_at IS NULL
+			AND (e.next_attempt_at IS NULL OR e.next_attempt_at <= :now)
+			AND (e.claimed_until IS NULL OR e.claimed_until <= :now)
+			AND NOT EXISTS (
+				SELECT 1
+				FROM outbox_event w
+				WHERE w.aggregate_type = e.aggregate_type
+				AND w.aggregate_id = e.aggregate_id
+				AND w.id < e.id
+				AND w.dead_at IS NULL
+			)
+			ORDER BY e.id
+			LIMIT :limit
+			FOR UPDATE SKIP LOCKED
+			""")
+	List<Long> lockClaimableHeads(@Param("now") OffsetDateTime now, @Param("limit") int limit);
+
+	@Modifying
+	@Query("""
+			UPDATE OutboxEventPersistenceEntity e
+			SET e.claimedBy = :claimedBy,
+			    e.claimedUntil = :claimedUntil
+			WHERE e.id IN :ids
+			""")
+	int claim(
+			@Param("ids") List<Long> ids,
+			@Param("claimedBy") String claimedBy,
+			@Param("claimedUntil") OffsetDateTime claimedUntil
+	);
+
+	/**
+	 * Claims the aggregate's remaining pending events, so that no other dispatcher can take the next one once the
+	 * current head is gone.
+	 */
+	@Modifying
+	@Query("""
+			UPDATE OutboxEventPersistenceEntity e
+			SET e.claimedBy = :claimedBy,
+			    e.claimedUntil = :claimedUntil
+			WHERE e.aggregateType = :aggregateType
+			AND e.aggregateId = :aggregateId
+			AND e.deadAt IS NULL
+			""")
+	int claimAggregate(
+			@Param("aggregateType") String aggregateType,
+			@Param("aggregateId") String aggregateId,
+			@Param("claimedBy") String claimedBy,
+			@Param("claimedUntil") OffsetDateTime claimedUntil
+	);
+
+	@Query("""
+			SELECT e
+			FROM OutboxEventPersistenceEntity e
+			WHERE e.claimedBy = :claimedBy
+			AND e.id IN :ids
+			ORDER BY e.id
+			""")
+	List<OutboxEventPersistenceEntity> findClaimed(@Param("ids") List<Long> ids, @Param("claimedBy") String claimedBy);
+
+	@Query("""
+			SELECT e
+			FROM OutboxEventPersistenceEntity e
+			WHERE e.aggregateType = :aggregateType
+			AND e.aggregateId = :aggregateId
+			AND e.claimedBy = :claimedBy
+			AND e.deadAt IS NULL
+			ORDER BY e.id
+			""")
+	List<OutboxEventPersistenceEntity> findClaimedOfAggregate(
+			@Param("aggregateType") String aggregateType,
+			@Param("aggregateId") String aggregateId,
+			@Param("claimedBy") String claimedBy,
+			Limit limit
+	);
+
+	@Query("SELECT MIN(e.occurredAt) FROM OutboxEventPersistenceEntity e WHERE e.deadAt IS NULL")
+	Optional<OffsetDateTime> oldestPendingOccurredAt();
+
+	@Modifying
+	@Query("DELETE FROM OutboxEventPersistenceEntity e WHERE e.id = :id AND e.claimedBy = :claimedBy")
+	int deleteDelivered(@Param("id") Long id, @Param("claimedBy") String claimedBy);
+
+	@Modifying
+	@Query("""
+			UPDATE OutboxEventPersistenceEntity e
+			SET e.attempts = :attempts,
+			    e.nextAttemptAt = :nextAttemptAt,
+			    e.lastError = :lastError,
+			    e.deadAt = :deadAt,
+			    e.claimedBy = NULL,
+			    e.claimedUntil = NULL
+			WHERE e.id = :id
+			""")
+	int recordFailure(
+			@Param("id") Long id,
+			@Param("attempts") int attempts,
+			@Param("nextAttemptAt") OffsetDateTime nextAttemptAt,
+			@Param("lastError") String lastError,
+			@Param("deadAt") OffsetDateTime deadAt
+	);
+
+}
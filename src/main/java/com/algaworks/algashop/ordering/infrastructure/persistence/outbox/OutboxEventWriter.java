@@ -0,0 +1,72 @@
+package com.algaworks.algashop.ordering.infrastructure.persistence.outbox;
+
+import com.algaworks.algashop.ordering.domain.model.IdGenerator;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.persistence.EntityManager;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.OffsetDateTime;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Receives the {@link PendingDomainEvent}s that Spring Data publishes when an aggregate is saved. In
+ * {@link EventDeliveryMode#OUTBOX} mode each event becomes an outbox row in the saving transaction; in
+ * {@link EventDeliveryMode#SYNCHRONOUS} mode the bare event is handed to the listeners right away.
+ */
+@Component
+public class OutboxEventWriter implements MeterBinder {
+
+	private final ApplicationEventPublisher eventPublisher;
+	private final EntityManager entityManager;
+	private final DomainEventSerializer serializer;
+	private final EventDeliveryMode deliveryMode;
+
+	private final LongAdder written = new LongAdder();
+
+	public OutboxEventWriter(ApplicationEventPublisher eventPublisher,
+							 EntityManager entityManager,
+							 DomainEventSerializer serializer,
+							 @Value("${algashop.events.delivery:OUTBOX}") EventDeliveryMode deliveryMode) {
+		this.eventPublisher = eventPublisher;
+		this.entityManager = entityManager;
+		this.serializer = serializer;
+		this.deliveryMode = deliveryMode;
+	}
+
+	@EventListener
+	public void listen(PendingDomainEvent pending) {
+		if (deliveryMode == EventDeliveryMode.SYNCHRONOUS) {
+			eventPublisher.publishEvent(pending.event());
+			return;
+		}
+
+		entityManager.persist(new OutboxEventPersistenceEntity(
+				IdGenerator.generateTSID().toLong(),
+				pending.aggregateType(),
+				pending.aggregateId(),
+				serializer.typeOf(pending.event()),
+				serializer.serialize(pending.event()),
+				OffsetDateTime.now(),
+				0,
+				null,
+				null,
+				null,
+				null,
+				null
+		));
+		written.increment();
+	}
+
+	@Override
+	public void bindTo(MeterRegistry registry) {
+		FunctionCounter.builder("outbox.events.written", written, LongAdder::sum)
+				.description("Domain events stored in the outbox")
+				.register(registry);
+	}
+
+}
@@ -0,0 +1,8 @@
+package com.algaworks.algashop.ordering.infrastructure.persistence.outbox;
+
+/**
+ * A domain event on its way out of the transaction that raised it, together with the aggregate that raised it.
+ * Persistence entities register these instead of the bare events, see {@link OutboxEventWriter}.
+ */
+public record PendingDomainEvent(String aggregateType, String aggregateId, Object event) {
+}
@@ -7,7 +7,9 @@ import java.math.BigDecimal;
 import java.util.UUID;
 
 @Entity
-@Table(name = "shopping_cart_item")
+@Table(name = "shopping_cart_item", indexes = {
+		@Index(name = "idx_shopping_cart_item_product_id", columnList = "product_id")
+})
 @Getter
 @Setter
 @ToString(of = "id")
@@ -1,6 +1,7 @@
 package com.algaworks.algashop.ordering.infrastructure.persistence.shoppingcart;
 
 import com.algaworks.algashop.ordering.infrastructure.persistence.customer.CustomerPersistenceEntity;
+import com.algaworks.algashop.ordering.infrastructure.persistence.outbox.PendingDomainEvent;
 import jakarta.persistence.*;
 import lombok.*;
 import org.springframework.data.annotation.CreatedBy;
@@ -87,6 +88,7 @@ public class ShoppingCartPersistenceEntity extends AbstractAggregateRoot<Shoppin
 			return;
 		}
 
+		updatedItems = new HashSet<>(updatedItems);
 		updatedItems.forEach(i -> i.setShoppingCart(this));
 		setItems(updatedItems);
 	}
@@ -110,6 +112,14 @@ public class ShoppingCartPersistenceEntity extends AbstractAggregateRoot<Shoppin
 		getItems().add(item);
 	}
 
+	public void removeItemsNotIn(Set<UUID> itemIds) {
+		if (getItems() == null) {
+			return;
+		}
+
+		getItems().removeIf(item -> !itemIds.contains(item.getId()));
+	}
+
 	public UUID getCustomerId() {
 		if (customer == null) {
 			return null;
@@ -120,7 +130,7 @@ public class ShoppingCartPersistenceEntity extends AbstractAggregateRoot<Shoppin
 
 	public void addEvents(Collection<Object> events) {
 		if (events != null) {
-			events.forEach(this::registerEvent);
+			events.forEach(event -> registerEvent(new PendingDomainEvent("ShoppingCart", String.valueOf(id), event)));
 		}
 	}
 
@@ -6,7 +6,9 @@ import com.algaworks.algashop.ordering.infrastructure.persistence.customer.Custo
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Component;
 
-import java.util.Set;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
 import java.util.stream.Collectors;
 
 @RequiredArgsConstructor
@@ -28,15 +30,30 @@ public class ShoppingCartPersistenceEntityAssembler {
 		persistenceEntity.setTotalAmount(shoppingCart.totalAmount().value());
 		persistenceEntity.setTotalItems(shoppingCart.totalItems().value());
 		persistenceEntity.setCreatedAt(shoppingCart.createdAt());
-		persistenceEntity.replaceItems(toOrderItemsEntities(shoppingCart.items()));
+		mergeItems(shoppingCart, persistenceEntity);
 		persistenceEntity.addEvents(shoppingCart.domainEvents());
 		return persistenceEntity;
 	}
 
-	private Set<ShoppingCartItemPersistenceEntity> toOrderItemsEntities(Set<ShoppingCartItem> source) {
-		return source.stream()
-				.map(i -> this.mergeItem(new ShoppingCartItemPersistenceEntity(), i))
-				.collect(Collectors.toSet());
+	private void mergeItems(ShoppingCart shoppingCart, ShoppingCartPersistenceEntity persistenceEntity) {
+		Map<UUID, ShoppingCartItem> newOrUpdatedItems = shoppingCart.items().stream()
+				.collect(Collectors.toMap(item -> item.id().value(), item -> item));
+
+		persistenceEntity.removeItemsNotIn(newOrUpdatedItems.keySet());
+
+		Map<UUID, ShoppingCartItemPersistenceEntity> existingItemMap = persistenceEntity.getItems() == null
+				? new HashMap<>()
+				: persistenceEntity.getItems().stream()
+				.collect(Collectors.toMap(ShoppingCartItemPersistenceEntity::getId, item -> item));
+
+		newOrUpdatedItems.forEach((itemId, item) -> {
+			ShoppingCartItemPersistenceEntity itemPersistence = existingItemMap.get(itemId);
+			if (itemPersistence == null) {
+				persistenceEntity.addItem(mergeItem(new ShoppingCartItemPersistenceEntity(), item));
+			} else {
+				mergeItem(itemPersistence, item);
+			}
+		});
 	}
 
 	private ShoppingCartItemPersistenceEntity mergeItem(
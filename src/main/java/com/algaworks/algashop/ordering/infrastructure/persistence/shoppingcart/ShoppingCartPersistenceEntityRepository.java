@@ -1,5 +1,6 @@
 package com.algaworks.algashop.ordering.infrastructure.persistence.shoppingcart;
 
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
@@ -12,6 +13,11 @@ import java.util.UUID;
 
 public interface ShoppingCartPersistenceEntityRepository extends JpaRepository<ShoppingCartPersistenceEntity, UUID> {
 
+	@Override
+	@EntityGraph(attributePaths = {"customer", "items"})
+	Optional<ShoppingCartPersistenceEntity> findById(UUID id);
+
+	@EntityGraph(attributePaths = {"customer", "items"})
 	Optional<ShoppingCartPersistenceEntity> findByCustomer_Id(UUID value);
 
 	@Modifying
@@ -41,23 +47,43 @@ public interface ShoppingCartPersistenceEntityRepository extends JpaRepository<S
 	void updateItemAvailability(@Param("productId") UUID productId,
 								@Param("available") boolean available);
 
+	/**
+	 * Moves the total of every cart holding the product by {@code (price - old price) * quantity} and bumps its
+	 * version. Must run before {@link #updateItemPrice}, which overwrites the old price.
+	 */
+	@Modifying
+	@Transactional
+	@Query(nativeQuery = true, value = """
+			MERGE INTO shopping_cart sc
+			USING (
+			  SELECT i.shopping_cart_id, SUM((:price - i.price) * i.quantity) AS delta
+			  FROM shopping_cart_item i
+			  WHERE i.product_id = :productId
+			  AND i.price <> :price
+			  GROUP BY i.shopping_cart_id
+			) d
+			ON sc.id = d.shopping_cart_id
+			WHEN MATCHED THEN UPDATE SET
+			  total_amount = sc.total_amount + d.delta,
+			  version = sc.version + 1
+			""")
+	int applyPriceDeltaToCartsWithProduct(@Param("productId") UUID productId,
+										  @Param("price") BigDecimal price);
+
 	@Modifying
 	@Transactional
 	@Query("""
 			UPDATE
 			  ShoppingCartPersistenceEntity sc
 			SET
-			  sc.totalAmount = (
-			    SELECT SUM(i.totalAmount)
-			      FROM ShoppingCartItemPersistenceEntity i
-			      WHERE i.shoppingCart.id = sc.id
-			    )
+			  sc.version = sc.version + 1
 			WHERE
-			  EXISTS (SELECT 1
-			      FROM ShoppingCartItemPersistenceEntity i2
-			      WHERE i2.shoppingCart.id = sc.id
-			      AND i2.productId = :productId)
+			  sc.id IN (SELECT i.shoppingCart.id
+			      FROM ShoppingCartItemPersistenceEntity i
+			      WHERE i.productId = :productId
+			      AND i.available <> :available)
 			""")
-	void recalculateTotalsForCartsWithProduct(@Param("productId") UUID productId);
+	int incrementVersionOfCartsChangingAvailability(@Param("productId") UUID productId,
+													@Param("available") boolean available);
 
 }
@@ -0,0 +1,48 @@
+package com.algaworks.algashop.ordering.infrastructure.persistence.shoppingcart;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.util.UUID;
+
+/**
+ * Staging rows for {@link ShoppingCartUpdateProvider#adjustProducts}. A feed is written here under its own batch id,
+ * applied to the cart items with a single join and removed again in the same transaction.
+ */
+@Entity
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@ToString(of = "id")
+@Table(name = "shopping_cart_product_adjustment")
+@EqualsAndHashCode(onlyExplicitlyIncluded = true)
+public class ShoppingCartProductAdjustmentPersistenceEntity {
+
+	@EmbeddedId
+	@EqualsAndHashCode.Include
+	private Id id;
+
+	@Column(nullable = false)
+	private BigDecimal price;
+
+	@Column(nullable = false)
+	private boolean available;
+
+	@Embeddable
+	@Data
+	@NoArgsConstructor
+	@AllArgsConstructor
+	public static class Id implements Serializable {
+
+		@Column(name = "batch_id", nullable = false)
+		private UUID batchId;
+
+		@Column(name = "product_id", nullable = false)
+		private UUID productId;
+
+	}
+
+}
@@ -1,31 +1,187 @@
 package com.algaworks.algashop.ordering.infrastructure.persistence.shoppingcart;
 
-import com.algaworks.algashop.ordering.domain.model.shoppingcart.ShoppingCartProductAdjustmentService;
+import com.algaworks.algashop.ordering.domain.model.IdGenerator;
 import com.algaworks.algashop.ordering.domain.model.commons.Money;
+import com.algaworks.algashop.ordering.domain.model.commons.Quantity;
+import com.algaworks.algashop.ordering.domain.model.customer.CustomerId;
 import com.algaworks.algashop.ordering.domain.model.product.ProductId;
+import com.algaworks.algashop.ordering.domain.model.shoppingcart.ShoppingCartId;
+import com.algaworks.algashop.ordering.domain.model.shoppingcart.ShoppingCartProductAdjustedEvent;
+import com.algaworks.algashop.ordering.domain.model.shoppingcart.ShoppingCartProductAdjustmentService;
+import com.algaworks.algashop.ordering.domain.model.shoppingcart.ShoppingCartTotalsChangedEvent;
+import com.algaworks.algashop.ordering.infrastructure.persistence.outbox.PendingDomainEvent;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
 import org.springframework.stereotype.Component;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.OffsetDateTime;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+@Slf4j
 @RequiredArgsConstructor
 @Component
 public class ShoppingCartUpdateProvider implements ShoppingCartProductAdjustmentService {
 
+	private static final int STAGING_BATCH_SIZE = 1000;
+
+	private static final String INSERT_ADJUSTMENT_SQL = """
+			INSERT INTO shopping_cart_product_adjustment (batch_id, product_id, price, available)
+			VALUES (?, ?, ?, ?)
+			""";
+
+	private static final String APPLY_CART_DELTAS_SQL = """
+			MERGE INTO shopping_cart sc
+			USING (
+			  SELECT i.shopping_cart_id, SUM((a.price - i.price) * i.quantity) AS delta
+			  FROM shopping_cart_item i
+			  JOIN shopping_cart_product_adjustment a ON a.product_id = i.product_id
+			  WHERE a.batch_id = ?
+			  AND (i.price <> a.price OR i.available <> a.available)
+			  GROUP BY i.shopping_cart_id
+			) d
+			ON sc.id = d.shopping_cart_id
+			WHEN MATCHED THEN UPDATE SET
+			  total_amount = sc.total_amount + d.delta,
+			  version = sc.version + 1
+			""";
+
+	private static final String REPRICED_CART_TOTALS_SQL = """
+			SELECT sc.id, sc.customer_id, sc.total_amount, sc.total_items
+			FROM shopping_cart sc
+			WHERE sc.id IN (
+			  SELECT i.shopping_cart_id
+			  FROM shopping_cart_item i
+			  JOIN shopping_cart_product_adjustment a ON a.product_id = i.product_id
+			  WHERE a.batch_id = ?
+			  AND i.price <> a.price
+			)
+			""";
+
+	private static final String APPLY_ITEM_ADJUSTMENTS_SQL = """
+			MERGE INTO shopping_cart_item i
+			USING (SELECT product_id, price, available
+			       FROM shopping_cart_product_adjustment
+			       WHERE batch_id = ?) a
+			ON i.product_id = a.product_id
+			WHEN MATCHED THEN UPDATE SET
+			  price = a.price,
+			  total_amount = a.price * i.quantity,
+			  available = a.available
+			""";
+
+	private static final String REPRICED_CART_TOTALS_FOR_PRODUCT_SQL = """
+			SELECT sc.id, sc.customer_id, sc.total_amount, sc.total_items
+			FROM shopping_cart sc
+			WHERE sc.id IN (
+			  SELECT i.shopping_cart_id
+			  FROM shopping_cart_item i
+			  WHERE i.product_id = ?
+			  AND i.price <> ?
+			)
+			""";
+
+	private static final String DELETE_ADJUSTMENTS_SQL = """
+			DELETE FROM shopping_cart_product_adjustment WHERE batch_id = ?
+			""";
+
 	private final ShoppingCartPersistenceEntityRepository shoppingCartPersistenceEntityRepository;
+	private final ApplicationEventPublisher eventPublisher;
+	private final JdbcTemplate jdbcTemplate;
 
+	/**
+	 * Moves each affected cart's total by the price difference instead of summing its items again, and bumps its
+	 * version so a concurrent writer holding the old totals fails its optimistic lock.
+	 */
 	@Override
 	@Transactional
 	public void adjustPrice(ProductId productId, Money updatedPrice) {
+		OffsetDateTime adjustedAt = OffsetDateTime.now();
+		List<ShoppingCartTotalsChangedEvent> changedTotals = List.of();
+
+		if (shoppingCartPersistenceEntityRepository
+				.applyPriceDeltaToCartsWithProduct(productId.value(), updatedPrice.value()) > 0) {
+			changedTotals = jdbcTemplate.query(REPRICED_CART_TOTALS_FOR_PRODUCT_SQL, totalsChangedAt(adjustedAt),
+					productId.value(), updatedPrice.value());
+		}
 		shoppingCartPersistenceEntityRepository
 				.updateItemPrice(productId.value(), updatedPrice.value());
-		shoppingCartPersistenceEntityRepository
-				.recalculateTotalsForCartsWithProduct(productId.value());
+
+		changedTotals.forEach(this::publishTotalsChanged);
+		eventPublisher.publishEvent(new ShoppingCartProductAdjustedEvent(productId, adjustedAt));
 	}
 
 	@Override
+	@Transactional
 	public void changeAvailability(ProductId productId, boolean available) {
+		shoppingCartPersistenceEntityRepository
+				.incrementVersionOfCartsChangingAvailability(productId.value(), available);
 		shoppingCartPersistenceEntityRepository
 				.updateItemAvailability(productId.value(), available);
+		eventPublisher.publishEvent(new ShoppingCartProductAdjustedEvent(productId, OffsetDateTime.now()));
+	}
+
+	/**
+	 * Stages the latest adjustment of each product under a fresh batch id, moves each affected cart's total by the
+	 * summed price differences of its items and applies them all to the items, in a fixed number of statements
+	 * whatever the size of the feed.
+	 */
+	@Override
+	@Transactional
+	public void adjustProducts(Collection<ProductAdjustment> adjustments) {
+		Map<ProductId, ProductAdjustment> latest = new LinkedHashMap<>();
+		for (ProductAdjustment adjustment : adjustments) {
+			latest.put(adjustment.productId(), adjustment);
+		}
+		if (latest.isEmpty()) {
+			return;
+		}
+
+		long start = System.nanoTime();
+		OffsetDateTime adjustedAt = OffsetDateTime.now();
+		UUID batchId = IdGenerator.generateTimeBasedUUID();
+
+		jdbcTemplate.batchUpdate(INSERT_ADJUSTMENT_SQL, latest.values(), STAGING_BATCH_SIZE, (statement, adjustment) -> {
+			statement.setObject(1, batchId);
+			statement.setObject(2, adjustment.productId().value());
+			statement.setBigDecimal(3, adjustment.price().value());
+			statement.setBoolean(4, adjustment.available());
+		});
+		int carts = jdbcTemplate.update(APPLY_CART_DELTAS_SQL, batchId);
+		List<ShoppingCartTotalsChangedEvent> changedTotals = carts == 0
+				? List.of()
+				: jdbcTemplate.query(REPRICED_CART_TOTALS_SQL, totalsChangedAt(adjustedAt), batchId);
+		int items = jdbcTemplate.update(APPLY_ITEM_ADJUSTMENTS_SQL, batchId);
+		jdbcTemplate.update(DELETE_ADJUSTMENTS_SQL, batchId);
+
+		changedTotals.forEach(this::publishTotalsChanged);
+		latest.keySet().forEach(productId ->
+				eventPublisher.publishEvent(new ShoppingCartProductAdjustedEvent(productId, adjustedAt)));
+
+		log.debug("Applied {} product adjustments to {} items in {} carts in {} ms", latest.size(), items, carts,
+				(System.nanoTime() - start) / 1_000_000);
+	}
+
+	private void publishTotalsChanged(ShoppingCartTotalsChangedEvent event) {
+		eventPublisher.publishEvent(new PendingDomainEvent(
+				"ShoppingCart", String.valueOf(event.shoppingCartId().value()), event));
+	}
+
+	private static RowMapper<ShoppingCartTotalsChangedEvent> totalsChangedAt(OffsetDateTime changedAt) {
+		return (rs, row) -> new ShoppingCartTotalsChangedEvent(
+				new ShoppingCartId(rs.getObject(1, UUID.class)),
+				new CustomerId(rs.getObject(2, UUID.class)),
+				new Money(rs.getBigDecimal(3)),
+				new Quantity(rs.getInt(4)),
+				changedAt
+		);
 	}
 
 }
@@ -4,9 +4,12 @@ import com.algaworks.algashop.ordering.domain.model.shoppingcart.ShoppingCart;
 import com.algaworks.algashop.ordering.domain.model.shoppingcart.ShoppingCarts;
 import com.algaworks.algashop.ordering.domain.model.customer.CustomerId;
 import com.algaworks.algashop.ordering.domain.model.shoppingcart.ShoppingCartId;
+import com.algaworks.algashop.ordering.infrastructure.persistence.AggregateUnitOfWork;
+import com.algaworks.algashop.ordering.infrastructure.persistence.AggregateWriteMode;
 import jakarta.persistence.EntityManager;
-import lombok.RequiredArgsConstructor;
 import lombok.SneakyThrows;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Component;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.util.ReflectionUtils;
@@ -16,7 +19,6 @@ import java.util.Optional;
 import java.util.UUID;
 
 @Component
-@RequiredArgsConstructor
 @Transactional(readOnly = true)
 public class ShoppingCartsPersistenceProvider implements ShoppingCarts {
 
@@ -25,9 +27,30 @@ public class ShoppingCartsPersistenceProvider implements ShoppingCarts {
 	private final ShoppingCartPersistenceEntityDisassembler disassembler;
 
 	private final EntityManager entityManager;
+	private final AggregateUnitOfWork unitOfWork;
+
+	private final AggregateWriteMode writeMode;
+
+	public ShoppingCartsPersistenceProvider(
+			ShoppingCartPersistenceEntityRepository persistenceRepository,
+			ShoppingCartPersistenceEntityAssembler assembler,
+			ShoppingCartPersistenceEntityDisassembler disassembler,
+			EntityManager entityManager,
+			AggregateUnitOfWork unitOfWork,
+			@Value("${algashop.persistence.write-mode}") AggregateWriteMode writeMode
+	) {
+		this.persistenceRepository = persistenceRepository;
+		this.assembler = assembler;
+		this.disassembler = disassembler;
+		this.entityManager = entityManager;
+		this.unitOfWork = unitOfWork;
+		this.writeMode = writeMode;
+	}
 
 	@Override
 	public Optional<ShoppingCart> ofId(ShoppingCartId shoppingCartId) {
+		unitOfWork.flush();
+
 		return persistenceRepository
 				.findById(shoppingCartId.value())
 				.map(disassembler::toDomainEntity);
@@ -57,12 +80,46 @@ public class ShoppingCartsPersistenceProvider implements ShoppingCarts {
 
 	@Override
 	public Optional<ShoppingCart> ofCustomer(CustomerId customerId) {
+		unitOfWork.flush();
+
 		return persistenceRepository.findByCustomer_Id(customerId.value())
 				.map(disassembler::toDomainEntity);
 	}
 
 	@Override
+	@Transactional
 	public void add(ShoppingCart aggregateRoot) {
+		if (writeMode == AggregateWriteMode.VERSIONED) {
+			addVersioned(aggregateRoot);
+		} else {
+			addLoadingAndMerging(aggregateRoot);
+		}
+
+		aggregateRoot.clearDomainEvents();
+	}
+
+	private void addVersioned(ShoppingCart aggregateRoot) {
+		if (aggregateRoot.version() == null) {
+			ShoppingCartPersistenceEntity persistenceEntity = assembler.fromDomain(aggregateRoot);
+			persistenceRepository.save(persistenceEntity);
+			unitOfWork.register(aggregateRoot, persistenceEntity, () -> updateVersion(aggregateRoot, persistenceEntity));
+			return;
+		}
+
+		UUID shoppingCartId = aggregateRoot.id().value();
+
+		ShoppingCartPersistenceEntity persistenceEntity = persistenceRepository.findById(shoppingCartId)
+				.orElseThrow(() -> new ObjectOptimisticLockingFailureException(ShoppingCartPersistenceEntity.class, shoppingCartId));
+
+		if (unitOfWork.isStale(aggregateRoot, aggregateRoot.version(), persistenceEntity, persistenceEntity::getVersion)) {
+			throw new ObjectOptimisticLockingFailureException(ShoppingCartPersistenceEntity.class, shoppingCartId);
+		}
+
+		ShoppingCartPersistenceEntity mergedEntity = persistenceRepository.save(assembler.merge(persistenceEntity, aggregateRoot));
+		unitOfWork.register(aggregateRoot, mergedEntity, () -> updateVersion(aggregateRoot, mergedEntity));
+	}
+
+	private void addLoadingAndMerging(ShoppingCart aggregateRoot) {
 		UUID shoppingCartId = aggregateRoot.id().value();
 
 		persistenceRepository.findById(shoppingCartId)
@@ -70,8 +127,6 @@ public class ShoppingCartsPersistenceProvider implements ShoppingCarts {
 						persistenceEntity -> update(aggregateRoot, persistenceEntity),
 						() -> insert(aggregateRoot)
 				);
-
-		aggregateRoot.clearDomainEvents();
 	}
 
 	private void update(ShoppingCart aggregateRoot, ShoppingCartPersistenceEntity persistenceEntity) {
@@ -0,0 +1,21 @@
+package com.algaworks.algashop.ordering.infrastructure.product.cache;
+
+import com.algaworks.algashop.ordering.domain.model.product.Product;
+import com.algaworks.algashop.ordering.domain.model.product.ProductCatalogService;
+import com.algaworks.algashop.ordering.domain.model.product.ProductId;
+import lombok.RequiredArgsConstructor;
+
+import java.util.Optional;
+
+@RequiredArgsConstructor
+public class CachingProductCatalogService implements ProductCatalogService {
+
+	private final ProductCatalogService delegate;
+	private final ProductCatalogCache cache;
+
+	@Override
+	public Optional<Product> ofId(ProductId productId) {
+		return cache.get(productId, delegate::ofId);
+	}
+
+}
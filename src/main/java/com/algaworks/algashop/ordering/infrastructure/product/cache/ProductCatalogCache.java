@@ -0,0 +1,48 @@
+package com.algaworks.algashop.ordering.infrastructure.product.cache;
+
+import com.algaworks.algashop.ordering.domain.model.product.Product;
+import com.algaworks.algashop.ordering.domain.model.product.ProductId;
+import com.algaworks.algashop.ordering.infrastructure.utility.cache.SingleFlightCache;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.function.Function;
+
+/**
+ * Keeps catalog products for a short time, see {@link SingleFlightCache}. Products the catalog does not know
+ * are never kept.
+ */
+@Component
+public class ProductCatalogCache implements MeterBinder {
+
+	static final String CACHE_NAME = "productCatalog";
+
+	private final SingleFlightCache<ProductId, Product> cache;
+
+	public ProductCatalogCache(@Value("${algashop.integrations.product.catalog.cache.time-to-live:5m}") Duration timeToLive,
+							   @Value("${algashop.integrations.product.catalog.cache.maximum-size:10000}") int maximumSize) {
+		this.cache = new SingleFlightCache<>(CACHE_NAME, timeToLive, maximumSize);
+	}
+
+	public Optional<Product> get(ProductId productId, Function<ProductId, Optional<Product>> loader) {
+		return Optional.ofNullable(cache.get(productId, id -> loader.apply(id).orElse(null)));
+	}
+
+	public void invalidate(ProductId productId) {
+		cache.invalidate(productId);
+	}
+
+	int size() {
+		return cache.size();
+	}
+
+	@Override
+	public void bindTo(MeterRegistry registry) {
+		cache.bindTo(registry);
+	}
+
+}
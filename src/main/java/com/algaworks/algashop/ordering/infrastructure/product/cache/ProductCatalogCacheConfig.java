@@ -0,0 +1,25 @@
+package com.algaworks.algashop.ordering.infrastructure.product.cache;
+
+import com.algaworks.algashop.ordering.domain.model.product.ProductCatalogService;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+
+/**
+ * Puts {@link ProductCatalogCache} in front of whichever {@link ProductCatalogService} the catalog provider
+ * property selects. The delegate parameter never resolves to the caching bean itself, so it gets the provider.
+ */
+@Configuration
+@ConditionalOnProperty(name = "algashop.integrations.product.catalog.cache.enabled", havingValue = "true",
+		matchIfMissing = true)
+public class ProductCatalogCacheConfig {
+
+	@Bean
+	@Primary
+	public CachingProductCatalogService cachingProductCatalogService(ProductCatalogService delegate,
+																	 ProductCatalogCache cache) {
+		return new CachingProductCatalogService(delegate, cache);
+	}
+
+}
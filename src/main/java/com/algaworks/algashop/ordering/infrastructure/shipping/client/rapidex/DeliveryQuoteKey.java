@@ -0,0 +1,12 @@
+package com.algaworks.algashop.ordering.infrastructure.shipping.client.rapidex;
+
+import com.algaworks.algashop.ordering.domain.model.commons.ZipCode;
+
+import java.time.LocalDate;
+
+/**
+ * Identifies a RapiDex quote. Quotes are only reused on the day they were made, since their cost may follow
+ * the calendar.
+ */
+record DeliveryQuoteKey(ZipCode origin, ZipCode destination, LocalDate quotedOn) {
+}
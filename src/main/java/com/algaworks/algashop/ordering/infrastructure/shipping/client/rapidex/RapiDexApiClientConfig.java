@@ -1,24 +1,99 @@
 package com.algaworks.algashop.ordering.infrastructure.shipping.client.rapidex;
 
+import com.algaworks.algashop.ordering.infrastructure.utility.cache.SingleFlightCache;
+import com.algaworks.algashop.ordering.infrastructure.utility.resilience.Bulkhead;
+import com.algaworks.algashop.ordering.infrastructure.utility.resilience.CircuitBreaker;
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.web.client.HttpClientErrorException;
 import org.springframework.web.client.RestClient;
 import org.springframework.web.client.support.RestClientAdapter;
 import org.springframework.web.service.invoker.HttpServiceProxyFactory;
 
+import java.time.Duration;
+
 @Configuration
 public class RapiDexApiClientConfig {
 
 	@Bean
 	public RapiDexApiClient rapiDexApiClient(
 			RestClient.Builder builder,
+			CloseableHttpClient rapiDexHttpClient,
 			@Value("${algashop.integrations.rapidex.url}") String rapiDexUrl
 	) {
-		RestClient restClient = builder.baseUrl(rapiDexUrl).build();
+		RestClient restClient = builder
+				.baseUrl(rapiDexUrl)
+				.requestFactory(new HttpComponentsClientHttpRequestFactory(rapiDexHttpClient))
+				.build();
 		RestClientAdapter adapter = RestClientAdapter.create(restClient);
 		HttpServiceProxyFactory proxyFactory = HttpServiceProxyFactory.builderFor(adapter).build();
 		return proxyFactory.createClient(RapiDexApiClient.class);
 	}
 
+	@Bean
+	public CloseableHttpClient rapiDexHttpClient(
+			@Value("${algashop.integrations.rapidex.connect-timeout:1s}") Duration connectTimeout,
+			@Value("${algashop.integrations.rapidex.read-timeout:2s}") Duration readTimeout,
+			@Value("${algashop.integrations.rapidex.max-connections:20}") int maxConnections
+	) {
+		ConnectionConfig connectionConfig = ConnectionConfig.custom()
+				.setConnectTimeout(Timeout.of(connectTimeout))
+				.setSocketTimeout(Timeout.of(readTimeout))
+				.setTimeToLive(TimeValue.ofMinutes(5))
+				.build();
+
+		RequestConfig requestConfig = RequestConfig.custom()
+				.setConnectionRequestTimeout(Timeout.of(connectTimeout))
+				.setResponseTimeout(Timeout.of(readTimeout))
+				.build();
+
+		return HttpClients.custom()
+				.setConnectionManager(PoolingHttpClientConnectionManagerBuilder.create()
+						.setMaxConnTotal(maxConnections)
+						.setMaxConnPerRoute(maxConnections)
+						.setDefaultConnectionConfig(connectionConfig)
+						.build())
+				.setDefaultRequestConfig(requestConfig)
+				.evictIdleConnections(TimeValue.ofSeconds(30))
+				.disableAutomaticRetries()
+				.build();
+	}
+
+	@Bean
+	public Bulkhead rapiDexBulkhead(
+			@Value("${algashop.integrations.rapidex.bulkhead.max-concurrent-calls:20}") int maxConcurrentCalls,
+			@Value("${algashop.integrations.rapidex.bulkhead.max-wait:100ms}") Duration maxWait
+	) {
+		return new Bulkhead("rapiDex", maxConcurrentCalls, maxWait);
+	}
+
+	@Bean
+	public CircuitBreaker rapiDexCircuitBreaker(
+			@Value("${algashop.integrations.rapidex.circuit-breaker.failure-rate-threshold:50}") int failureRateThreshold,
+			@Value("${algashop.integrations.rapidex.circuit-breaker.sliding-window-size:20}") int slidingWindowSize,
+			@Value("${algashop.integrations.rapidex.circuit-breaker.minimum-calls:10}") int minimumCalls,
+			@Value("${algashop.integrations.rapidex.circuit-breaker.open-duration:30s}") Duration openDuration,
+			@Value("${algashop.integrations.rapidex.circuit-breaker.half-open-calls:3}") int halfOpenCalls
+	) {
+		return new CircuitBreaker("rapiDex", failureRateThreshold, slidingWindowSize, minimumCalls,
+				openDuration, halfOpenCalls, e -> !(e instanceof HttpClientErrorException));
+	}
+
+	@Bean
+	public SingleFlightCache<DeliveryQuoteKey, DeliveryCostResponse> rapiDexQuoteCache(
+			@Value("${algashop.integrations.rapidex.quote-cache.time-to-live:10m}") Duration timeToLive,
+			@Value("${algashop.integrations.rapidex.quote-cache.maximum-size:10000}") int maximumSize
+	) {
+		return new SingleFlightCache<>("rapiDexQuote", timeToLive, maximumSize);
+	}
+
 }
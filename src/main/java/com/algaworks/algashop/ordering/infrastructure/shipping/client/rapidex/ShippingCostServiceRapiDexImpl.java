@@ -2,29 +2,72 @@ package com.algaworks.algashop.ordering.infrastructure.shipping.client.rapidex;
 
 import com.algaworks.algashop.ordering.domain.model.order.shipping.ShippingCostService;
 import com.algaworks.algashop.ordering.domain.model.commons.Money;
-import lombok.RequiredArgsConstructor;
+import com.algaworks.algashop.ordering.infrastructure.utility.cache.SingleFlightCache;
+import com.algaworks.algashop.ordering.infrastructure.utility.resilience.Bulkhead;
+import com.algaworks.algashop.ordering.infrastructure.utility.resilience.CallNotPermittedException;
+import com.algaworks.algashop.ordering.infrastructure.utility.resilience.CircuitBreaker;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.stereotype.Component;
+import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.ResourceAccessException;
 
 import java.time.LocalDate;
 
+@Slf4j
 @Component
-@RequiredArgsConstructor
 @ConditionalOnProperty(name = "algashop.integrations.shipping.provider", havingValue = "RAPIDEX")
 public class ShippingCostServiceRapiDexImpl implements ShippingCostService {
 
 	private final RapiDexApiClient rapiDexApiClient;
+	private final SingleFlightCache<DeliveryQuoteKey, DeliveryCostResponse> quoteCache;
+	private final Bulkhead bulkhead;
+	private final CircuitBreaker circuitBreaker;
+
+	private final String fallbackCost;
+	private final long fallbackDaysToDeliver;
+
+	public ShippingCostServiceRapiDexImpl(
+			RapiDexApiClient rapiDexApiClient,
+			SingleFlightCache<DeliveryQuoteKey, DeliveryCostResponse> quoteCache,
+			Bulkhead bulkhead,
+			CircuitBreaker circuitBreaker,
+			@Value("${algashop.integrations.rapidex.fallback.cost}") String fallbackCost,
+			@Value("${algashop.integrations.rapidex.fallback.days-to-deliver}") long fallbackDaysToDeliver
+	) {
+		this.rapiDexApiClient = rapiDexApiClient;
+		this.quoteCache = quoteCache;
+		this.bulkhead = bulkhead;
+		this.circuitBreaker = circuitBreaker;
+		this.fallbackCost = fallbackCost;
+		this.fallbackDaysToDeliver = fallbackDaysToDeliver;
+	}
 
 	@Override
 	public CalculationResult calculate(CalculationRequest request) {
-		DeliveryCostResponse response = rapiDexApiClient.calculate(
-				new DeliveryCostRequest(
-						request.origin().value(),
-						request.destination().value()
-				)
-		);
+		LocalDate today = LocalDate.now();
+		DeliveryCostResponse response;
+
+		try {
+			response = quoteCache.get(
+					new DeliveryQuoteKey(request.origin(), request.destination(), today),
+					key -> bulkhead.call(() -> circuitBreaker.call(() -> rapiDexApiClient.calculate(
+							new DeliveryCostRequest(
+									key.origin().value(),
+									key.destination().value()
+							)
+					)))
+			);
+		} catch (CallNotPermittedException e) {
+			log.debug("RapiDex quote not attempted, using the flat rate: {}", e.getMessage());
+			return flatRate(today);
+		} catch (ResourceAccessException | HttpServerErrorException e) {
+			log.warn("RapiDex quote failed, using the flat rate: {}", e.getMessage());
+			return flatRate(today);
+		}
 
-		LocalDate expectedDeliveryDate = LocalDate.now().plusDays(response.getEstimatedDaysToDeliver());
+		LocalDate expectedDeliveryDate = today.plusDays(response.getEstimatedDaysToDeliver());
 
 		return CalculationResult.builder()
 				.cost(new Money(response.getDeliveryCost()))
@@ -32,4 +75,11 @@ public class ShippingCostServiceRapiDexImpl implements ShippingCostService {
 				.build();
 	}
 
+	private CalculationResult flatRate(LocalDate today) {
+		return CalculationResult.builder()
+				.cost(new Money(fallbackCost))
+				.expectedDate(today.plusDays(fallbackDaysToDeliver))
+				.build();
+	}
+
 }
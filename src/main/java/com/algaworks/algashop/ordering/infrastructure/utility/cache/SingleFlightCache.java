@@ -0,0 +1,158 @@
+package com.algaworks.algashop.ordering.infrastructure.utility.cache;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * Size-bounded cache whose entries expire a fixed time after being loaded. Concurrent misses for the same key
+ * wait for a single load, and a value invalidated while it is being loaded is handed to the waiting callers but
+ * not kept. Null values and failed loads are never kept; a failed load is rethrown to every caller waiting on
+ * it. A full cache evicts the entries loaded longest ago. Exposes Micrometer's {@code cache.*} meters tagged
+ * with the cache name.
+ */
+public class SingleFlightCache<K, V> implements MeterBinder {
+
+	private final String name;
+	private final long timeToLiveNanos;
+	private final int maximumSize;
+
+	private final Map<K, Entry<V>> entries = new ConcurrentHashMap<>();
+	private final LinkedHashMap<K, Entry<V>> loadOrder = new LinkedHashMap<>();
+
+	private final LongAdder hits = new LongAdder();
+	private final LongAdder misses = new LongAdder();
+	private final LongAdder evictions = new LongAdder();
+
+	public SingleFlightCache(String name, Duration timeToLive, int maximumSize) {
+		this.name = name;
+		this.timeToLiveNanos = timeToLive.toNanos();
+		this.maximumSize = maximumSize;
+	}
+
+	public V get(K key, Function<? super K, ? extends V> loader) {
+		long now = System.nanoTime();
+		Entry<V> loading = new Entry<>(new CompletableFuture<>(), 0L);
+
+		Entry<V> entry = entries.compute(key,
+				(k, current) -> current != null && current.isFresh(now) ? current : loading);
+
+		if (entry != loading) {
+			hits.increment();
+			return await(entry.value());
+		}
+
+		misses.increment();
+		try {
+			V value = loader.apply(key);
+			Entry<V> loaded = new Entry<>(loading.value(), System.nanoTime() + timeToLiveNanos);
+			if (value != null && entries.replace(key, loading, loaded)) {
+				remember(key, loaded);
+			} else {
+				entries.remove(key, loading);
+				forget(key);
+			}
+			loading.value().complete(value);
+			return value;
+		} catch (Throwable e) {
+			entries.remove(key, loading);
+			forget(key);
+			loading.value().completeExceptionally(e);
+			throw e;
+		}
+	}
+
+	public void invalidate(K key) {
+		if (entries.remove(key) != null) {
+			evictions.increment();
+		}
+		forget(key);
+	}
+
+	public int size() {
+		return entries.size();
+	}
+
+	@Override
+	public void bindTo(MeterRegistry registry) {
+		FunctionCounter.builder("cache.gets", hits, LongAdder::sum)
+				.tags("cache", name, "result", "hit")
+				.description("Lookups answered from the cache or by joining a load in progress")
+				.register(registry);
+		FunctionCounter.builder("cache.gets", misses, LongAdder::sum)
+				.tags("cache", name, "result", "miss")
+				.description("Lookups that ran the loader")
+				.register(registry);
+		FunctionCounter.builder("cache.evictions", evictions, LongAdder::sum)
+				.tags("cache", name)
+				.description("Entries dropped by invalidation or to stay within the maximum size")
+				.register(registry);
+		Gauge.builder("cache.size", entries, Map::size)
+				.tags("cache", name)
+				.description("Entries currently cached")
+				.register(registry);
+	}
+
+	/**
+	 * Appends a loaded entry to the load order and evicts from its head while the cache is full. Every entry
+	 * lives for the same time, so the head is also the first to expire.
+	 */
+	private void remember(K key, Entry<V> loaded) {
+		synchronized (loadOrder) {
+			loadOrder.remove(key);
+			loadOrder.put(key, loaded);
+
+			Iterator<Map.Entry<K, Entry<V>>> oldest = loadOrder.entrySet().iterator();
+			while (loadOrder.size() > maximumSize && oldest.hasNext()) {
+				Map.Entry<K, Entry<V>> evicted = oldest.next();
+				oldest.remove();
+				if (entries.remove(evicted.getKey(), evicted.getValue())) {
+					evictions.increment();
+				}
+			}
+		}
+	}
+
+	private void forget(K key) {
+		synchronized (loadOrder) {
+			Entry<V> ordered = loadOrder.get(key);
+			if (ordered != null && entries.get(key) != ordered) {
+				loadOrder.remove(key);
+			}
+		}
+	}
+
+	private static <V> V await(CompletableFuture<V> value) {
+		try {
+			return value.join();
+		} catch (CompletionException e) {
+			if (e.getCause() instanceof RuntimeException cause) {
+				throw cause;
+			}
+			if (e.getCause() instanceof Error cause) {
+				throw cause;
+			}
+			throw e;
+		}
+	}
+
+	private record Entry<V>(CompletableFuture<V> value, long expiresAt) {
+
+		boolean isFresh(long now) {
+			return !value.isDone() || expiresAt - now > 0;
+		}
+
+	}
+
+}
@@ -0,0 +1,37 @@
+package com.algaworks.algashop.ordering.infrastructure.utility.id;
+
+import com.algaworks.algashop.ordering.domain.model.IdGenerator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Applies the {@code algashop.ids.*} settings to {@link IdGenerator}. Every instance of a multi-instance deployment
+ * needs its own {@code node-id} below {@code 2^node-bits} (e.g. {@code ALGASHOP_IDS_NODE_ID} set from a pod ordinal);
+ * without one the TSID environment settings or a random node are used, which two instances can happen to share.
+ * {@code node-bits} defaults to the TSID node count settings as well, and can be at most 14 (16384 nodes).
+ * A {@code stripes} of 0 picks one stripe per processor, as many as the node bits leave room for.
+ */
+@Slf4j
+@Configuration
+public class IdGeneratorConfig {
+
+	public IdGeneratorConfig(
+			@Value("${algashop.ids.node-id:#{null}}") Integer nodeId,
+			@Value("${algashop.ids.node-bits:#{null}}") Integer configuredNodeBits,
+			@Value("${algashop.ids.stripes:0}") int stripes
+	) {
+		int nodeBits = configuredNodeBits != null ? configuredNodeBits : IdGenerator.defaultNodeBits();
+		int node = nodeId != null ? nodeId : IdGenerator.defaultNode(nodeBits);
+		int effectiveStripes = stripes > 0 ? stripes : IdGenerator.defaultStripes(nodeBits);
+
+		IdGenerator.configure(node, nodeBits, effectiveStripes);
+
+		if (nodeId == null) {
+			log.warn("No algashop.ids.node-id set, generating TSIDs as node {} of {}", node, 1 << nodeBits);
+		} else {
+			log.info("Generating TSIDs as node {} of {} with {} stripes", node, 1 << nodeBits, effectiveStripes);
+		}
+	}
+
+}
@@ -0,0 +1,61 @@
+package com.algaworks.algashop.ordering.infrastructure.utility.mapper;
+
+import com.algaworks.algashop.ordering.application.customer.query.CustomerOutput;
+import com.algaworks.algashop.ordering.application.order.query.OrderDetailOutput;
+import com.algaworks.algashop.ordering.application.order.query.OrderItemDetailOutput;
+import com.algaworks.algashop.ordering.application.shoppingcart.query.ShoppingCartOutput;
+import com.algaworks.algashop.ordering.application.utility.Mapper;
+import com.algaworks.algashop.ordering.domain.model.customer.Customer;
+import com.algaworks.algashop.ordering.infrastructure.persistence.order.OrderItemPersistenceEntity;
+import com.algaworks.algashop.ordering.infrastructure.persistence.order.OrderPersistenceEntity;
+import com.algaworks.algashop.ordering.infrastructure.persistence.shoppingcart.ShoppingCartPersistenceEntity;
+import org.modelmapper.ModelMapper;
+import org.modelmapper.TypeMap;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.List;
+
+/**
+ * Serves every type pair {@code ModelMapperConfig} maps with the hand-written {@link QueryOutputMappings} and leaves
+ * any other pair to the {@link ModelMapper}. Startup fails when a type map has no hand-written counterpart, so a new
+ * type map cannot silently take the reflective path on a query endpoint.
+ */
+@Configuration
+public class MapperConfig {
+
+	@Bean
+	public Mapper mapper(ModelMapper modelMapper) {
+		SpecializedMapper mapper = specializedMapper(modelMapper);
+		verifyCoverage(mapper, modelMapper);
+		return mapper;
+	}
+
+	public static SpecializedMapper specializedMapper(ModelMapper modelMapper) {
+		return new SpecializedMapper(modelMapper::map)
+				.register(OrderPersistenceEntity.class, OrderDetailOutput.class,
+						QueryOutputMappings::toOrderDetailOutput)
+				.register(OrderItemPersistenceEntity.class, OrderItemDetailOutput.class,
+						QueryOutputMappings::toOrderItemDetailOutput)
+				.register(ShoppingCartPersistenceEntity.class, ShoppingCartOutput.class,
+						QueryOutputMappings::toShoppingCartOutput)
+				.register(Customer.class, CustomerOutput.class,
+						QueryOutputMappings::toCustomerOutput);
+	}
+
+	static void verifyCoverage(SpecializedMapper mapper, ModelMapper modelMapper) {
+		List<String> uncovered = modelMapper.getTypeMaps().stream()
+				.filter(typeMap -> !mapper.covers(typeMap.getSourceType(), typeMap.getDestinationType()))
+				.map(MapperConfig::describe)
+				.toList();
+
+		if (!uncovered.isEmpty()) {
+			throw new IllegalStateException("No specialized mapping for the ModelMapper type maps " + uncovered);
+		}
+	}
+
+	private static String describe(TypeMap<?, ?> typeMap) {
+		return typeMap.getSourceType().getSimpleName() + " -> " + typeMap.getDestinationType().getSimpleName();
+	}
+
+}
@@ -0,0 +1,210 @@
+package com.algaworks.algashop.ordering.infrastructure.utility.mapper;
+
+import com.algaworks.algashop.ordering.application.commons.AddressData;
+import com.algaworks.algashop.ordering.application.customer.query.CustomerOutput;
+import com.algaworks.algashop.ordering.application.order.query.BillingData;
+import com.algaworks.algashop.ordering.application.order.query.CustomerMinimalOutput;
+import com.algaworks.algashop.ordering.application.order.query.OrderDetailOutput;
+import com.algaworks.algashop.ordering.application.order.query.OrderItemDetailOutput;
+import com.algaworks.algashop.ordering.application.order.query.RecipientData;
+import com.algaworks.algashop.ordering.application.order.query.ShippingData;
+import com.algaworks.algashop.ordering.application.shoppingcart.query.ShoppingCartItemOutput;
+import com.algaworks.algashop.ordering.application.shoppingcart.query.ShoppingCartOutput;
+import com.algaworks.algashop.ordering.domain.model.commons.Address;
+import com.algaworks.algashop.ordering.domain.model.customer.Customer;
+import com.algaworks.algashop.ordering.infrastructure.persistence.commons.AddressEmbeddable;
+import com.algaworks.algashop.ordering.infrastructure.persistence.customer.CustomerPersistenceEntity;
+import com.algaworks.algashop.ordering.infrastructure.persistence.order.BillingEmbeddable;
+import com.algaworks.algashop.ordering.infrastructure.persistence.order.OrderItemPersistenceEntity;
+import com.algaworks.algashop.ordering.infrastructure.persistence.order.OrderPersistenceEntity;
+import com.algaworks.algashop.ordering.infrastructure.persistence.order.RecipientEmbeddable;
+import com.algaworks.algashop.ordering.infrastructure.persistence.order.ShippingEmbeddable;
+import com.algaworks.algashop.ordering.infrastructure.persistence.shoppingcart.ShoppingCartItemPersistenceEntity;
+import com.algaworks.algashop.ordering.infrastructure.persistence.shoppingcart.ShoppingCartPersistenceEntity;
+import io.hypersistence.tsid.TSID;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Hand-written versions of the conversions {@code ModelMapperConfig} configures, producing the same outputs field for
+ * field without reflection.
+ */
+public class QueryOutputMappings {
+
+	private QueryOutputMappings() {
+	}
+
+	public static OrderDetailOutput toOrderDetailOutput(OrderPersistenceEntity order) {
+		List<OrderItemDetailOutput> items = new ArrayList<>(order.getItems().size());
+		for (OrderItemPersistenceEntity item : order.getItems()) {
+			items.add(toOrderItemDetailOutput(item));
+		}
+
+		return OrderDetailOutput.builder()
+				.id(toTsidString(order.getId()))
+				.customer(toCustomerMinimalOutput(order.getCustomer()))
+				.totalItems(order.getTotalItems())
+				.totalAmount(order.getTotalAmount())
+				.placedAt(order.getPlacedAt())
+				.paidAt(order.getPaidAt())
+				.canceledAt(order.getCanceledAt())
+				.readyAt(order.getReadyAt())
+				.status(order.getStatus())
+				.paymentMethod(order.getPaymentMethod())
+				.shipping(toShippingData(order.getShipping()))
+				.billing(toBillingData(order.getBilling()))
+				.items(items)
+				.build();
+	}
+
+	public static OrderItemDetailOutput toOrderItemDetailOutput(OrderItemPersistenceEntity item) {
+		return OrderItemDetailOutput.builder()
+				.id(toTsidString(item.getId()))
+				.orderId(toTsidString(item.getOrderId()))
+				.productId(item.getProductId())
+				.productName(item.getProductName())
+				.price(item.getPrice())
+				.quantity(item.getQuantity())
+				.totalAmount(item.getTotalAmount())
+				.build();
+	}
+
+	public static ShoppingCartOutput toShoppingCartOutput(ShoppingCartPersistenceEntity shoppingCart) {
+		List<ShoppingCartItemOutput> items = new ArrayList<>(shoppingCart.getItems().size());
+		for (ShoppingCartItemPersistenceEntity item : shoppingCart.getItems()) {
+			items.add(toShoppingCartItemOutput(item));
+		}
+
+		ShoppingCartOutput output = new ShoppingCartOutput();
+		output.setId(shoppingCart.getId());
+		output.setCustomerId(shoppingCart.getCustomerId());
+		output.setTotalItems(shoppingCart.getTotalItems());
+		output.setTotalAmount(shoppingCart.getTotalAmount());
+		output.setItems(items);
+		return output;
+	}
+
+	public static ShoppingCartItemOutput toShoppingCartItemOutput(ShoppingCartItemPersistenceEntity item) {
+		ShoppingCartItemOutput output = new ShoppingCartItemOutput();
+		output.setId(item.getId());
+		output.setProductId(item.getProductId());
+		output.setName(item.getName());
+		output.setPrice(item.getPrice());
+		output.setQuantity(item.getQuantity());
+		output.setTotalAmount(item.getTotalAmount());
+		output.setAvailable(item.getAvailable());
+		return output;
+	}
+
+	public static CustomerOutput toCustomerOutput(Customer customer) {
+		return CustomerOutput.builder()
+				.id(customer.id().value())
+				.firstName(customer.fullName().firstName())
+				.lastName(customer.fullName().lastName())
+				.email(customer.email().value())
+				.document(customer.document().value())
+				.phone(customer.phone().value())
+				.birthDate(customer.birthDate() == null ? null : customer.birthDate().value())
+				.loyaltyPoints(customer.loyaltyPoints().value())
+				.registeredAt(customer.registeredAt())
+				.archivedAt(customer.archivedAt())
+				.promotionNotificationsAllowed(customer.isPromotionNotificationsAllowed())
+				.archived(customer.isArchived())
+				.address(toAddressData(customer.address()))
+				.build();
+	}
+
+	private static CustomerMinimalOutput toCustomerMinimalOutput(CustomerPersistenceEntity customer) {
+		if (customer == null) {
+			return null;
+		}
+
+		return CustomerMinimalOutput.builder()
+				.id(customer.getId())
+				.firstName(customer.getFirstName())
+				.lastName(customer.getLastName())
+				.email(customer.getEmail())
+				.document(customer.getDocument())
+				.phone(customer.getPhone())
+				.build();
+	}
+
+	private static ShippingData toShippingData(ShippingEmbeddable shipping) {
+		if (shipping == null) {
+			return null;
+		}
+
+		return ShippingData.builder()
+				.cost(shipping.getCost())
+				.expectedDate(shipping.getExpectedDate())
+				.recipient(toRecipientData(shipping.getRecipient()))
+				.address(toAddressData(shipping.getAddress()))
+				.build();
+	}
+
+	private static RecipientData toRecipientData(RecipientEmbeddable recipient) {
+		if (recipient == null) {
+			return null;
+		}
+
+		return RecipientData.builder()
+				.firstName(recipient.getFirstName())
+				.lastName(recipient.getLastName())
+				.document(recipient.getDocument())
+				.phone(recipient.getPhone())
+				.build();
+	}
+
+	private static BillingData toBillingData(BillingEmbeddable billing) {
+		if (billing == null) {
+			return null;
+		}
+
+		return BillingData.builder()
+				.firstName(billing.getFirstName())
+				.lastName(billing.getLastName())
+				.document(billing.getDocument())
+				.email(billing.getEmail())
+				.phone(billing.getPhone())
+				.address(toAddressData(billing.getAddress()))
+				.build();
+	}
+
+	private static AddressData toAddressData(AddressEmbeddable address) {
+		if (address == null) {
+			return null;
+		}
+
+		return AddressData.builder()
+				.street(address.getStreet())
+				.number(address.getNumber())
+				.complement(address.getComplement())
+				.neighborhood(address.getNeighborhood())
+				.city(address.getCity())
+				.state(address.getState())
+				.zipCode(address.getZipCode())
+				.build();
+	}
+
+	private static AddressData toAddressData(Address address) {
+		if (address == null) {
+			return null;
+		}
+
+		return AddressData.builder()
+				.street(address.street())
+				.number(address.number())
+				.complement(address.complement())
+				.neighborhood(address.neighborhood())
+				.city(address.city())
+				.state(address.state())
+				.zipCode(address.zipCode().value())
+				.build();
+	}
+
+	private static String toTsidString(Long tsid) {
+		return tsid == null ? null : new TSID(tsid).toString();
+	}
+
+}
@@ -0,0 +1,56 @@
+package com.algaworks.algashop.ordering.infrastructure.utility.mapper;
+
+import com.algaworks.algashop.ordering.application.utility.Mapper;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+
+/**
+ * A {@link Mapper} that converts each registered source and destination pair with a hand-written function, and hands
+ * every other pair to a fallback mapper. Conversions are looked up by the source's class and then its superclasses,
+ * so Hibernate proxies of a registered entity class are converted too.
+ */
+public class SpecializedMapper implements Mapper {
+
+	private final Map<Class<?>, Map<Class<?>, Function<Object, ?>>> conversions = new HashMap<>();
+	private final Mapper fallback;
+
+	public SpecializedMapper(Mapper fallback) {
+		this.fallback = Objects.requireNonNull(fallback);
+	}
+
+	@SuppressWarnings("unchecked")
+	public <S, D> SpecializedMapper register(Class<S> sourceType, Class<D> destinationType,
+											 Function<? super S, ? extends D> conversion) {
+		conversions.computeIfAbsent(sourceType, type -> new HashMap<>())
+				.put(destinationType, (Function<Object, ?>) conversion);
+		return this;
+	}
+
+	public boolean covers(Class<?> sourceType, Class<?> destinationType) {
+		return conversion(sourceType, destinationType) != null;
+	}
+
+	@Override
+	public <T> T convert(Object source, Class<T> destinationType) {
+		Objects.requireNonNull(source);
+		Function<Object, ?> conversion = conversion(source.getClass(), destinationType);
+		if (conversion == null) {
+			return fallback.convert(source, destinationType);
+		}
+		return destinationType.cast(conversion.apply(source));
+	}
+
+	private Function<Object, ?> conversion(Class<?> sourceType, Class<?> destinationType) {
+		for (Class<?> type = sourceType; type != null; type = type.getSuperclass()) {
+			Map<Class<?>, Function<Object, ?>> byDestination = conversions.get(type);
+			if (byDestination != null && byDestination.containsKey(destinationType)) {
+				return byDestination.get(destinationType);
+			}
+		}
+		return null;
+	}
+
+}
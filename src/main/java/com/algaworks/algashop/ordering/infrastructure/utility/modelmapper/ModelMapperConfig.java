@@ -3,12 +3,13 @@ package com.algaworks.algashop.ordering.infrastructure.utility.modelmapper;
 import com.algaworks.algashop.ordering.application.customer.query.CustomerOutput;
 import com.algaworks.algashop.ordering.application.order.query.OrderDetailOutput;
 import com.algaworks.algashop.ordering.application.order.query.OrderItemDetailOutput;
-import com.algaworks.algashop.ordering.application.utility.Mapper;
+import com.algaworks.algashop.ordering.application.shoppingcart.query.ShoppingCartOutput;
 import com.algaworks.algashop.ordering.domain.model.commons.FullName;
 import com.algaworks.algashop.ordering.domain.model.customer.BirthDate;
 import com.algaworks.algashop.ordering.domain.model.customer.Customer;
 import com.algaworks.algashop.ordering.infrastructure.persistence.order.OrderItemPersistenceEntity;
 import com.algaworks.algashop.ordering.infrastructure.persistence.order.OrderPersistenceEntity;
+import com.algaworks.algashop.ordering.infrastructure.persistence.shoppingcart.ShoppingCartPersistenceEntity;
 import io.hypersistence.tsid.TSID;
 import org.modelmapper.Converter;
 import org.modelmapper.ModelMapper;
@@ -59,10 +60,10 @@ public class ModelMapperConfig {
 			};
 
 	@Bean
-	public Mapper mapper() {
+	public ModelMapper modelMapper() {
 		ModelMapper modelMapper = new ModelMapper();
 		configuration(modelMapper);
-		return modelMapper::map;
+		return modelMapper;
 	}
 
 	private void configuration(ModelMapper modelMapper) {
@@ -99,6 +100,8 @@ public class ModelMapperConfig {
 					mapping.using(longToStringTSIDConverter)
 							.map(OrderItemPersistenceEntity::getOrderId, OrderItemDetailOutput::setOrderId);
 				});
+
+		modelMapper.createTypeMap(ShoppingCartPersistenceEntity.class, ShoppingCartOutput.class);
 	}
 
 }
@@ -0,0 +1,68 @@
+package com.algaworks.algashop.ordering.infrastructure.utility.resilience;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Caps how many calls run at once. A caller waits at most {@code maximumWait} for a slot and is then rejected
+ * with {@link CallNotPermittedException}, so a slow dependency cannot hold every request thread.
+ */
+public class Bulkhead implements MeterBinder {
+
+	private final String name;
+	private final int maximumConcurrentCalls;
+	private final long maximumWaitNanos;
+
+	private final Semaphore permits;
+	private final LongAdder rejected = new LongAdder();
+
+	public Bulkhead(String name, int maximumConcurrentCalls, Duration maximumWait) {
+		this.name = name;
+		this.maximumConcurrentCalls = maximumConcurrentCalls;
+		this.maximumWaitNanos = maximumWait.toNanos();
+		this.permits = new Semaphore(maximumConcurrentCalls, true);
+	}
+
+	public <T> T call(Supplier<T> call) {
+		acquire();
+		try {
+			return call.get();
+		} finally {
+			permits.release();
+		}
+	}
+
+	@Override
+	public void bindTo(MeterRegistry registry) {
+		Gauge.builder("bulkhead.active.calls", permits, p -> maximumConcurrentCalls - p.availablePermits())
+				.tags("name", name)
+				.description("Calls currently holding a bulkhead slot")
+				.register(registry);
+		FunctionCounter.builder("bulkhead.rejected.calls", rejected, LongAdder::sum)
+				.tags("name", name)
+				.description("Calls rejected because every slot stayed taken")
+				.register(registry);
+	}
+
+	private void acquire() {
+		try {
+			if (permits.tryAcquire(maximumWaitNanos, TimeUnit.NANOSECONDS)) {
+				return;
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+
+		rejected.increment();
+		throw new CallNotPermittedException("Bulkhead '%s' is full".formatted(name));
+	}
+
+}
@@ -0,0 +1,12 @@
+package com.algaworks.algashop.ordering.infrastructure.utility.resilience;
+
+/**
+ * Thrown instead of making a call, because the circuit is open or the bulkhead is full.
+ */
+public class CallNotPermittedException extends RuntimeException {
+
+	public CallNotPermittedException(String message) {
+		super(message);
+	}
+
+}
@@ -0,0 +1,176 @@
+package com.algaworks.algashop.ordering.infrastructure.utility.resilience;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * Count-based circuit breaker. It opens once at least {@code minimumCalls} of the last {@code slidingWindowSize}
+ * calls were made and {@code failureRateThreshold} percent of them threw. While open every call is rejected with
+ * {@link CallNotPermittedException}. After {@code openDuration} it lets {@code halfOpenCalls} trial calls through,
+ * closing again if they all succeed and reopening on the first failure. Only exceptions matching
+ * {@code recordFailure} are failures; any other exception is rethrown but counts as a successful call, as it means
+ * the remote answered, e.g. by rejecting a bad request.
+ */
+public class CircuitBreaker implements MeterBinder {
+
+	public enum State {
+		CLOSED, OPEN, HALF_OPEN
+	}
+
+	private final String name;
+	private final int failureRateThreshold;
+	private final int minimumCalls;
+	private final long openDurationNanos;
+	private final int halfOpenCalls;
+	private final Predicate<RuntimeException> recordFailure;
+
+	private final boolean[] outcomes;
+	private int recordedCalls;
+	private int failedCalls;
+	private int nextOutcome;
+
+	private State state = State.CLOSED;
+	private long openedAt;
+	private int halfOpenPermits;
+	private int halfOpenSuccesses;
+
+	private final LongAdder successful = new LongAdder();
+	private final LongAdder failed = new LongAdder();
+	private final LongAdder notPermitted = new LongAdder();
+
+	public CircuitBreaker(String name, int failureRateThreshold, int slidingWindowSize, int minimumCalls,
+						  Duration openDuration, int halfOpenCalls) {
+		this(name, failureRateThreshold, slidingWindowSize, minimumCalls, openDuration, halfOpenCalls, e -> true);
+	}
+
+	public CircuitBreaker(String name, int failureRateThreshold, int slidingWindowSize, int minimumCalls,
+						  Duration openDuration, int halfOpenCalls, Predicate<RuntimeException> recordFailure) {
+		this.name = name;
+		this.failureRateThreshold = failureRateThreshold;
+		this.minimumCalls = Math.min(minimumCalls, slidingWindowSize);
+		this.openDurationNanos = openDuration.toNanos();
+		this.halfOpenCalls = halfOpenCalls;
+		this.outcomes = new boolean[slidingWindowSize];
+		this.recordFailure = recordFailure;
+	}
+
+	public <T> T call(Supplier<T> call) {
+		acquirePermission();
+		try {
+			T result = call.get();
+			onSuccess();
+			return result;
+		} catch (RuntimeException e) {
+			if (recordFailure.test(e)) {
+				onFailure();
+			} else {
+				onSuccess();
+			}
+			throw e;
+		}
+	}
+
+	public synchronized State state() {
+		return state;
+	}
+
+	@Override
+	public void bindTo(MeterRegistry registry) {
+		Gauge.builder("circuitbreaker.state", this, breaker -> breaker.state().ordinal())
+				.tags("name", name)
+				.description("0 closed, 1 open, 2 half open")
+				.register(registry);
+		FunctionCounter.builder("circuitbreaker.calls", successful, LongAdder::sum)
+				.tags("name", name, "kind", "successful")
+				.register(registry);
+		FunctionCounter.builder("circuitbreaker.calls", failed, LongAdder::sum)
+				.tags("name", name, "kind", "failed")
+				.register(registry);
+		FunctionCounter.builder("circuitbreaker.calls", notPermitted, LongAdder::sum)
+				.tags("name", name, "kind", "not_permitted")
+				.register(registry);
+	}
+
+	private synchronized void acquirePermission() {
+		if (state == State.OPEN && System.nanoTime() - openedAt >= openDurationNanos) {
+			transitionTo(State.HALF_OPEN);
+		}
+
+		if (state == State.CLOSED) {
+			return;
+		}
+		if (state == State.HALF_OPEN && halfOpenPermits > 0) {
+			halfOpenPermits--;
+			return;
+		}
+
+		notPermitted.increment();
+		throw new CallNotPermittedException("Circuit breaker '%s' is %s".formatted(name, state));
+	}
+
+	private synchronized void onSuccess() {
+		successful.increment();
+
+		if (state == State.HALF_OPEN) {
+			if (++halfOpenSuccesses >= halfOpenCalls) {
+				transitionTo(State.CLOSED);
+			}
+		} else if (state == State.CLOSED) {
+			record(false);
+		}
+	}
+
+	private synchronized void onFailure() {
+		failed.increment();
+
+		if (state == State.HALF_OPEN) {
+			transitionTo(State.OPEN);
+		} else if (state == State.CLOSED) {
+			record(true);
+			if (recordedCalls >= minimumCalls && failedCalls * 100 >= failureRateThreshold * recordedCalls) {
+				transitionTo(State.OPEN);
+			}
+		}
+	}
+
+	private void record(boolean failure) {
+		if (recordedCalls == outcomes.length) {
+			if (outcomes[nextOutcome]) {
+				failedCalls--;
+			}
+		} else {
+			recordedCalls++;
+		}
+
+		outcomes[nextOutcome] = failure;
+		if (failure) {
+			failedCalls++;
+		}
+		nextOutcome = (nextOutcome + 1) % outcomes.length;
+	}
+
+	private void transitionTo(State newState) {
+		state = newState;
+
+		switch (newState) {
+			case OPEN -> openedAt = System.nanoTime();
+			case HALF_OPEN -> {
+				halfOpenPermits = halfOpenCalls;
+				halfOpenSuccesses = 0;
+			}
+			case CLOSED -> {
+				recordedCalls = 0;
+				failedCalls = 0;
+				nextOutcome = 0;
+			}
+		}
+	}
+
+}
@@ -0,0 +1,87 @@
+package com.algaworks.algashop.ordering.presentation;
+
+import com.algaworks.algashop.ordering.application.order.query.CustomerMinimalOutput;
+import com.algaworks.algashop.ordering.application.order.query.OrderSummaryOutput;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.OffsetDateTime;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * RFC 4180 CSV: CRLF line endings, and fields quoted only when they contain a separator, quote or line break.
+ */
+class CsvOrderSummaryWriter implements OrderSummaryWriter {
+
+	private static final String[] HEADER = {
+			"id", "status", "placedAt", "paidAt", "canceledAt", "readyAt", "totalItems", "totalAmount",
+			"paymentMethod", "customerId", "customerFirstName", "customerLastName", "customerEmail"
+	};
+
+	private final Writer writer;
+
+	CsvOrderSummaryWriter(OutputStream outputStream) throws IOException {
+		this.writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8), 64 * 1024);
+		writeRecord((Object[]) HEADER);
+	}
+
+	@Override
+	public void write(OrderSummaryOutput order) throws IOException {
+		CustomerMinimalOutput customer = order.getCustomer();
+		writeRecord(
+				order.getId(),
+				order.getStatus(),
+				format(order.getPlacedAt()),
+				format(order.getPaidAt()),
+				format(order.getCanceledAt()),
+				format(order.getReadyAt()),
+				order.getTotalItems(),
+				order.getTotalAmount() == null ? null : order.getTotalAmount().toPlainString(),
+				order.getPaymentMethod(),
+				customer == null ? null : customer.getId(),
+				customer == null ? null : customer.getFirstName(),
+				customer == null ? null : customer.getLastName(),
+				customer == null ? null : customer.getEmail()
+		);
+	}
+
+	@Override
+	public void finish() throws IOException {
+		writer.flush();
+	}
+
+	private String format(OffsetDateTime dateTime) {
+		return dateTime == null ? null : DateTimeFormatter.ISO_OFFSET_DATE_TIME.format(dateTime);
+	}
+
+	private void writeRecord(Object... fields) throws IOException {
+		for (int i = 0; i < fields.length; i++) {
+			if (i > 0) {
+				writer.write(',');
+			}
+			if (fields[i] != null) {
+				writeField(fields[i].toString());
+			}
+		}
+		writer.write("\r\n");
+	}
+
+	private void writeField(String value) throws IOException {
+		boolean quote = value.indexOf(',') >= 0 || value.indexOf('"') >= 0
+				|| value.indexOf('\n') >= 0 || value.indexOf('\r') >= 0;
+
+		if (!quote) {
+			writer.write(value);
+			return;
+		}
+
+		writer.write('"');
+		writer.write(value.replace("\"", "\"\""));
+		writer.write('"');
+	}
+
+}
@@ -0,0 +1,36 @@
+package com.algaworks.algashop.ordering.presentation;
+
+import com.algaworks.algashop.ordering.application.order.query.OrderSummaryOutput;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+class NdjsonOrderSummaryWriter implements OrderSummaryWriter {
+
+	private final JsonGenerator generator;
+	private final ObjectWriter objectWriter;
+
+	NdjsonOrderSummaryWriter(OutputStream outputStream, ObjectMapper objectMapper) throws IOException {
+		this.objectWriter = objectMapper.writerFor(OrderSummaryOutput.class)
+				.without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+		this.generator = objectMapper.getFactory().createGenerator(outputStream)
+				.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+				.setRootValueSeparator(null);
+	}
+
+	@Override
+	public void write(OrderSummaryOutput order) throws IOException {
+		objectWriter.writeValue(generator, order);
+		generator.writeRaw('\n');
+	}
+
+	@Override
+	public void finish() throws IOException {
+		generator.close();
+	}
+
+}
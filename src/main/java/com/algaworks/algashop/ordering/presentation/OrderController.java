@@ -0,0 +1,76 @@
+package com.algaworks.algashop.ordering.presentation;
+
+import com.algaworks.algashop.ordering.application.order.query.OrderFilter;
+import com.algaworks.algashop.ordering.application.order.query.OrderQueryService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.async.WebAsyncTask;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.Duration;
+
+@RestController
+@RequestMapping("/api/v1/orders")
+public class OrderController {
+
+	static final String APPLICATION_NDJSON_VALUE = "application/x-ndjson";
+	static final String TEXT_CSV_VALUE = "text/csv";
+
+	private final OrderQueryService orderQueryService;
+	private final ObjectMapper objectMapper;
+	private final Duration exportTimeout;
+
+	public OrderController(
+			OrderQueryService orderQueryService,
+			ObjectMapper objectMapper,
+			@Value("${algashop.query.export-timeout}") Duration exportTimeout
+	) {
+		this.orderQueryService = orderQueryService;
+		this.objectMapper = objectMapper;
+		this.exportTimeout = exportTimeout;
+	}
+
+	@GetMapping(value = "/export", produces = APPLICATION_NDJSON_VALUE)
+	public WebAsyncTask<Void> exportAsNdjson(OrderFilter orderFilter, HttpServletResponse response) {
+		return export(orderFilter, response, APPLICATION_NDJSON_VALUE, "orders.ndjson",
+				outputStream -> new NdjsonOrderSummaryWriter(outputStream, objectMapper));
+	}
+
+	@GetMapping(value = "/export", produces = TEXT_CSV_VALUE)
+	public WebAsyncTask<Void> exportAsCsv(OrderFilter orderFilter, HttpServletResponse response) {
+		return export(orderFilter, response, TEXT_CSV_VALUE, "orders.csv", CsvOrderSummaryWriter::new);
+	}
+
+	/**
+	 * Streams from its own async task so only the export gets the long timeout; every other endpoint keeps the
+	 * default async request timeout.
+	 */
+	private WebAsyncTask<Void> export(OrderFilter orderFilter, HttpServletResponse response, String contentType,
+									  String filename, WriterFactory writerFactory) {
+		response.setContentType(contentType + ";charset=UTF-8");
+		response.setHeader(HttpHeaders.CONTENT_DISPOSITION,
+				ContentDisposition.attachment().filename(filename).build().toString());
+
+		return new WebAsyncTask<>(exportTimeout.toMillis(), () -> {
+			OutputStream outputStream = response.getOutputStream();
+			OrderSummaryWriter writer = writerFactory.create(outputStream);
+			orderQueryService.export(orderFilter, writer::writeUnchecked);
+			writer.finish();
+			outputStream.flush();
+			return null;
+		});
+	}
+
+	@FunctionalInterface
+	private interface WriterFactory {
+		OrderSummaryWriter create(OutputStream outputStream) throws IOException;
+	}
+
+}
@@ -0,0 +1,25 @@
+package com.algaworks.algashop.ordering.presentation;
+
+import com.algaworks.algashop.ordering.application.order.query.OrderSummaryOutput;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+/**
+ * Writes exported orders one at a time to a buffered stream, so memory does not grow with the export size.
+ */
+interface OrderSummaryWriter {
+
+	void write(OrderSummaryOutput order) throws IOException;
+
+	void finish() throws IOException;
+
+	default void writeUnchecked(OrderSummaryOutput order) {
+		try {
+			write(order);
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+}
@@ -1,5 +1,6 @@
 package com.algaworks.algashop.ordering.presentation;
 
+import com.algaworks.algashop.ordering.application.utility.FilterPage;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -18,6 +19,14 @@ public class PageModel<T> {
 	private int size;
 	private int totalPages;
 	private long totalElements;
+	private String nextCursor;
+
+	/**
+	 * When false, the total was not counted and totalElements/totalPages are lower bounds
+	 * that include the next page only if there is one.
+	 */
+	@Builder.Default
+	private boolean totalKnown = true;
 
 	@Builder.Default
 	private List<T> content = new ArrayList<>();
@@ -29,6 +38,8 @@ public class PageModel<T> {
 				.size(page.getSize())
 				.totalPages(page.getTotalPages())
 				.totalElements(page.getTotalElements())
+				.nextCursor(page instanceof FilterPage<T> filterPage ? filterPage.getNextCursor() : null)
+				.totalKnown(!(page instanceof FilterPage<T> filterPage) || filterPage.isTotalKnown())
 				.build();
 	}
 }
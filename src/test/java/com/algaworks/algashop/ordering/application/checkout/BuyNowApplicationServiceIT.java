@@ -1,6 +1,7 @@
 package com.algaworks.algashop.ordering.application.checkout;
 
 import com.algaworks.algashop.ordering.domain.model.commons.Money;
+import com.algaworks.algashop.ordering.domain.model.customer.CustomerNotFoundException;
 import com.algaworks.algashop.ordering.domain.model.customer.CustomerTestDataBuilder;
 import com.algaworks.algashop.ordering.domain.model.customer.Customers;
 import com.algaworks.algashop.ordering.domain.model.order.OrderId;
@@ -20,6 +21,7 @@ import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
 import java.util.Optional;
+import java.util.UUID;
 
 @SpringBootTest
 @Transactional
@@ -66,4 +68,14 @@ class BuyNowApplicationServiceIT {
 		Assertions.assertThat(orders.exists(new OrderId(orderId))).isTrue();
 	}
 
+	@Test
+	void givenUnknownCustomerAndProduct_whenBuyNow_shouldReportTheCustomerFirst() {
+		BuyNowInput input = BuyNowInputTestDataBuilder.aBuyNowInput()
+				.customerId(UUID.randomUUID())
+				.build();
+
+		Assertions.assertThatThrownBy(() -> buyNowApplicationService.buyNow(input))
+				.isInstanceOf(CustomerNotFoundException.class);
+	}
+
 }
\ No newline at end of file
@@ -0,0 +1,186 @@
+package com.algaworks.algashop.ordering.application.checkout;
+
+import com.algaworks.algashop.ordering.application.utility.LookupMode;
+import com.algaworks.algashop.ordering.application.utility.LookupScopeFactory;
+import com.algaworks.algashop.ordering.domain.model.commons.Money;
+import com.algaworks.algashop.ordering.domain.model.customer.CustomerTestDataBuilder;
+import com.algaworks.algashop.ordering.domain.model.customer.Customers;
+import com.algaworks.algashop.ordering.domain.model.product.Product;
+import com.algaworks.algashop.ordering.domain.model.product.ProductCatalogService;
+import com.algaworks.algashop.ordering.domain.model.product.ProductName;
+import com.algaworks.algashop.ordering.domain.model.shoppingcart.ShoppingCart;
+import com.algaworks.algashop.ordering.domain.model.shoppingcart.ShoppingCartTestDataBuilder;
+import com.algaworks.algashop.ordering.domain.model.shoppingcart.ShoppingCarts;
+import com.algaworks.algashop.ordering.infrastructure.shipping.client.rapidex.RapiDexStubServer;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Measures buy now and checkout latency with the lookups run one after another and then side by side. Shipping
+ * quotes come from a local RapiDex stub and products from a catalog that sleeps like a remote one; both caches
+ * are switched off so every request pays for both. Run with {@code gradle benchmark}.
+ */
+@SpringBootTest(properties = {
+		"spring.jpa.show-sql=false",
+		"algashop.integrations.shipping.provider=RAPIDEX",
+		"algashop.integrations.product.catalog.provider=REMOTE_STUB",
+		"algashop.integrations.product.catalog.cache.enabled=false",
+		"algashop.integrations.rapidex.quote-cache.time-to-live=0s",
+		"algashop.integrations.rapidex.circuit-breaker.minimum-calls=1000"
+})
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class CheckoutLookupsBenchmark {
+
+	private static final int ITERATIONS = Integer.getInteger("benchmark.lookups.iterations", 200);
+	private static final int WARMUP = Integer.getInteger("benchmark.lookups.warmup", 20);
+	private static final Duration RAPIDEX_LATENCY = Duration.ofMillis(Long.getLong("benchmark.lookups.rapidex-latency-ms", 80));
+	private static final Duration CATALOG_LATENCY = Duration.ofMillis(Long.getLong("benchmark.lookups.catalog-latency-ms", 60));
+	private static final Duration JITTER = Duration.ofMillis(Long.getLong("benchmark.lookups.jitter-ms", 40));
+
+	private static final RapiDexStubServer RAPIDEX = startStub();
+
+	@Autowired
+	private BuyNowApplicationService buyNowApplicationService;
+
+	@Autowired
+	private CheckoutApplicationService checkoutApplicationService;
+
+	@Autowired
+	private ShoppingCarts shoppingCarts;
+
+	@Autowired
+	private Customers customers;
+
+	@MockitoSpyBean
+	private LookupScopeFactory lookupScopeFactory;
+
+	@DynamicPropertySource
+	static void rapiDexUrl(DynamicPropertyRegistry registry) {
+		registry.add("algashop.integrations.rapidex.url", RAPIDEX::url);
+	}
+
+	@BeforeAll
+	void seed() {
+		if (!customers.exists(CustomerTestDataBuilder.DEFAULT_CUSTOMER_ID)) {
+			customers.add(CustomerTestDataBuilder.existingCustomer().build());
+		}
+	}
+
+	@AfterAll
+	void stopStub() {
+		RAPIDEX.close();
+	}
+
+	@Test
+	void buyNow() {
+		BuyNowInput input = BuyNowInputTestDataBuilder.aBuyNowInput().build();
+
+		compare("buy now", () -> () -> buyNowApplicationService.buyNow(input));
+	}
+
+	@Test
+	void checkout() {
+		compare("checkout", () -> {
+			ShoppingCart shoppingCart = ShoppingCartTestDataBuilder.aShoppingCart().withItems(true).build();
+			shoppingCarts.add(shoppingCart);
+			CheckoutInput input = CheckoutInputTestDataBuilder.aCheckoutInput()
+					.shoppingCartId(shoppingCart.id().value())
+					.build();
+			return () -> checkoutApplicationService.checkout(input);
+		});
+	}
+
+	/**
+	 * Each request is prepared by {@code prepare} outside of the measured time and then run by the returned call.
+	 */
+	private void compare(String operation, Supplier<Runnable> prepare) {
+		long[] sequential = measure(LookupMode.SEQUENTIAL, prepare);
+		long[] concurrent = measure(LookupMode.CONCURRENT, prepare);
+
+		System.out.printf("%-9s %-10s p50 %6.1f ms  p99 %6.1f ms%n", operation, LookupMode.SEQUENTIAL,
+				percentile(sequential, 50), percentile(sequential, 99));
+		System.out.printf("%-9s %-10s p50 %6.1f ms  p99 %6.1f ms%n", operation, LookupMode.CONCURRENT,
+				percentile(concurrent, 50), percentile(concurrent, 99));
+
+		assertThat(percentile(concurrent, 50)).isLessThan(percentile(sequential, 50));
+	}
+
+	private long[] measure(LookupMode mode, Supplier<Runnable> prepare) {
+		Mockito.doAnswer(invocation -> lookupScopeFactory.open(mode)).when(lookupScopeFactory).open();
+
+		for (int i = 0; i < WARMUP; i++) {
+			prepare.get().run();
+		}
+
+		long[] latencies = new long[ITERATIONS];
+		for (int i = 0; i < ITERATIONS; i++) {
+			Runnable request = prepare.get();
+			long start = System.nanoTime();
+			request.run();
+			latencies[i] = System.nanoTime() - start;
+		}
+
+		Arrays.sort(latencies);
+		return latencies;
+	}
+
+	private static double percentile(long[] sortedNanos, int percentile) {
+		int index = (int) Math.ceil(percentile / 100.0 * sortedNanos.length) - 1;
+		return sortedNanos[Math.max(0, index)] / 1_000_000.0;
+	}
+
+	private static RapiDexStubServer startStub() {
+		try {
+			return new RapiDexStubServer(0, RAPIDEX_LATENCY, JITTER, 0);
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	@TestConfiguration
+	static class RemoteProductCatalogConfig {
+
+		@Bean
+		ProductCatalogService remoteProductCatalogService() {
+			return productId -> {
+				sleep(CATALOG_LATENCY.plusMillis(ThreadLocalRandom.current().nextLong(JITTER.toMillis() + 1)));
+				return Optional.of(Product.builder()
+						.id(productId)
+						.name(new ProductName("Notebook"))
+						.price(new Money("3000"))
+						.inStock(true)
+						.build());
+			};
+		}
+
+		private static void sleep(Duration duration) {
+			try {
+				Thread.sleep(duration);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+		}
+
+	}
+
+}
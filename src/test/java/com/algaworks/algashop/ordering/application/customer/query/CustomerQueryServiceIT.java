@@ -1,11 +1,14 @@
 package com.algaworks.algashop.ordering.application.customer.query;
 
+import com.algaworks.algashop.ordering.application.utility.CountStrategy;
+import com.algaworks.algashop.ordering.application.utility.FilterPage;
 import com.algaworks.algashop.ordering.domain.model.commons.Email;
 import com.algaworks.algashop.ordering.domain.model.commons.FullName;
 import com.algaworks.algashop.ordering.domain.model.customer.Customer;
 import com.algaworks.algashop.ordering.domain.model.customer.CustomerId;
 import com.algaworks.algashop.ordering.domain.model.customer.CustomerTestDataBuilder;
 import com.algaworks.algashop.ordering.domain.model.customer.Customers;
+import com.algaworks.algashop.ordering.infrastructure.persistence.SqlStatementCounter;
 import org.assertj.core.api.Assertions;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -44,11 +47,11 @@ class CustomerQueryServiceIT {
 
 	@Test
 	void shouldFilterByPage() {
-		customers.add(CustomerTestDataBuilder.existingCustomer().id(new CustomerId()).fullName(new FullName("Ana", "Silva")).build());
-		customers.add(CustomerTestDataBuilder.existingCustomer().id(new CustomerId()).fullName(new FullName("Bruno", "Costa")).build());
-		customers.add(CustomerTestDataBuilder.existingCustomer().id(new CustomerId()).fullName(new FullName("Carla", "Souza")).build());
-		customers.add(CustomerTestDataBuilder.existingCustomer().id(new CustomerId()).fullName(new FullName("Daniel", "Pereira")).build());
-		customers.add(CustomerTestDataBuilder.existingCustomer().id(new CustomerId()).fullName(new FullName("Eduarda", "Santos")).build());
+		customers.add(CustomerTestDataBuilder.existingCustomer().id(new CustomerId()).email(CustomerTestDataBuilder.uniqueEmail()).fullName(new FullName("Ana", "Silva")).build());
+		customers.add(CustomerTestDataBuilder.existingCustomer().id(new CustomerId()).email(CustomerTestDataBuilder.uniqueEmail()).fullName(new FullName("Bruno", "Costa")).build());
+		customers.add(CustomerTestDataBuilder.existingCustomer().id(new CustomerId()).email(CustomerTestDataBuilder.uniqueEmail()).fullName(new FullName("Carla", "Souza")).build());
+		customers.add(CustomerTestDataBuilder.existingCustomer().id(new CustomerId()).email(CustomerTestDataBuilder.uniqueEmail()).fullName(new FullName("Daniel", "Pereira")).build());
+		customers.add(CustomerTestDataBuilder.existingCustomer().id(new CustomerId()).email(CustomerTestDataBuilder.uniqueEmail()).fullName(new FullName("Eduarda", "Santos")).build());
 
 		CustomerFilter filter = new CustomerFilter(2, 0);
 		Page<CustomerSummaryOutput> page = queryService.filter(filter);
@@ -60,9 +63,9 @@ class CustomerQueryServiceIT {
 
 	@Test
 	void shouldFilterByFirstName() {
-		customers.add(CustomerTestDataBuilder.existingCustomer().id(new CustomerId()).fullName(new FullName("Alice", "Smith")).build());
-		customers.add(CustomerTestDataBuilder.existingCustomer().id(new CustomerId()).fullName(new FullName("Bob", "Johnson")).build());
-		customers.add(CustomerTestDataBuilder.existingCustomer().id(new CustomerId()).fullName(new FullName("Alice", "Williams")).build());
+		customers.add(CustomerTestDataBuilder.existingCustomer().id(new CustomerId()).email(CustomerTestDataBuilder.uniqueEmail()).fullName(new FullName("Alice", "Smith")).build());
+		customers.add(CustomerTestDataBuilder.existingCustomer().id(new CustomerId()).email(CustomerTestDataBuilder.uniqueEmail()).fullName(new FullName("Bob", "Johnson")).build());
+		customers.add(CustomerTestDataBuilder.existingCustomer().id(new CustomerId()).email(CustomerTestDataBuilder.uniqueEmail()).fullName(new FullName("Alice", "Williams")).build());
 
 		CustomerFilter filter = new CustomerFilter();
 		filter.setFirstName("alice");
@@ -112,9 +115,9 @@ class CustomerQueryServiceIT {
 
 	@Test
 	void shouldOrderByFirstNameAsc() {
-		customers.add(CustomerTestDataBuilder.existingCustomer().id(new CustomerId()).fullName(new FullName("Zoe", "Doe")).build());
-		customers.add(CustomerTestDataBuilder.existingCustomer().id(new CustomerId()).fullName(new FullName("Charlie", "Smith")).build());
-		customers.add(CustomerTestDataBuilder.existingCustomer().id(new CustomerId()).fullName(new FullName("Alice", "Williams")).build());
+		customers.add(CustomerTestDataBuilder.existingCustomer().id(new CustomerId()).email(CustomerTestDataBuilder.uniqueEmail()).fullName(new FullName("Zoe", "Doe")).build());
+		customers.add(CustomerTestDataBuilder.existingCustomer().id(new CustomerId()).email(CustomerTestDataBuilder.uniqueEmail()).fullName(new FullName("Charlie", "Smith")).build());
+		customers.add(CustomerTestDataBuilder.existingCustomer().id(new CustomerId()).email(CustomerTestDataBuilder.uniqueEmail()).fullName(new FullName("Alice", "Williams")).build());
 
 		CustomerFilter filter = new CustomerFilter();
 		filter.setSortByProperty(CustomerFilter.SortType.FIRST_NAME);
@@ -127,9 +130,9 @@ class CustomerQueryServiceIT {
 
 	@Test
 	void shouldOrderByFirstNameDesc() {
-		customers.add(CustomerTestDataBuilder.existingCustomer().id(new CustomerId()).fullName(new FullName("Zoe", "Doe")).build());
-		customers.add(CustomerTestDataBuilder.existingCustomer().id(new CustomerId()).fullName(new FullName("Charlie", "Smith")).build());
-		customers.add(CustomerTestDataBuilder.existingCustomer().id(new CustomerId()).fullName(new FullName("Alice", "Williams")).build());
+		customers.add(CustomerTestDataBuilder.existingCustomer().id(new CustomerId()).email(CustomerTestDataBuilder.uniqueEmail()).fullName(new FullName("Zoe", "Doe")).build());
+		customers.add(CustomerTestDataBuilder.existingCustomer().id(new CustomerId()).email(CustomerTestDataBuilder.uniqueEmail()).fullName(new FullName("Charlie", "Smith")).build());
+		customers.add(CustomerTestDataBuilder.existingCustomer().id(new CustomerId()).email(CustomerTestDataBuilder.uniqueEmail()).fullName(new FullName("Alice", "Williams")).build());
 
 		CustomerFilter filter = new CustomerFilter();
 		filter.setSortByProperty(CustomerFilter.SortType.FIRST_NAME);
@@ -142,7 +145,7 @@ class CustomerQueryServiceIT {
 
 	@Test
 	void givenNonMatchingFilter_shouldReturnEmptyPage() {
-		customers.add(CustomerTestDataBuilder.existingCustomer().id(new CustomerId()).fullName(new FullName("John", "Doe")).build());
+		customers.add(CustomerTestDataBuilder.existingCustomer().id(new CustomerId()).email(CustomerTestDataBuilder.uniqueEmail()).fullName(new FullName("John", "Doe")).build());
 
 		CustomerFilter filter = new CustomerFilter();
 		filter.setFirstName("NonExistent");
@@ -152,4 +155,113 @@ class CustomerQueryServiceIT {
 		Assertions.assertThat(page.isEmpty()).isTrue();
 		Assertions.assertThat(page.getTotalElements()).isZero();
 	}
-}
\ No newline at end of file
+
+	@Test
+	void givenSkippedCount_whenFilterLastPage_shouldReportNoNextPage() {
+		customers.add(CustomerTestDataBuilder.existingCustomer().id(new CustomerId()).email(CustomerTestDataBuilder.uniqueEmail()).fullName(new FullName("Skipper", "One")).build());
+		customers.add(CustomerTestDataBuilder.existingCustomer().id(new CustomerId()).email(CustomerTestDataBuilder.uniqueEmail()).fullName(new FullName("Skipper", "Two")).build());
+		customers.add(CustomerTestDataBuilder.existingCustomer().id(new CustomerId()).email(CustomerTestDataBuilder.uniqueEmail()).fullName(new FullName("Skipper", "Three")).build());
+
+		CustomerFilter filter = new CustomerFilter(2, 0);
+		filter.setFirstName("skipper");
+		filter.setCountStrategy(CountStrategy.SKIP);
+
+		FilterPage<CustomerSummaryOutput> firstPage = (FilterPage<CustomerSummaryOutput>) queryService.filter(filter);
+
+		Assertions.assertThat(firstPage.isTotalKnown()).isFalse();
+		Assertions.assertThat(firstPage.hasNext()).isTrue();
+		Assertions.assertThat(firstPage.getTotalElements()).isEqualTo(3);
+
+		filter.setPage(1);
+		FilterPage<CustomerSummaryOutput> lastPage = (FilterPage<CustomerSummaryOutput>) queryService.filter(filter);
+
+		Assertions.assertThat(lastPage.getNumberOfElements()).isEqualTo(1);
+		Assertions.assertThat(lastPage.hasNext()).isFalse();
+		Assertions.assertThat(lastPage.getTotalElements()).isEqualTo(3);
+		Assertions.assertThat(lastPage.getTotalPages()).isEqualTo(2);
+	}
+
+	@Test
+	void givenCachedCount_whenEquivalentFilter_shouldReuseCountUntilCustomerIsAdded() {
+		customers.add(CustomerTestDataBuilder.existingCustomer().id(new CustomerId()).email(CustomerTestDataBuilder.uniqueEmail()).fullName(new FullName("Cached", "One")).build());
+		customers.add(CustomerTestDataBuilder.existingCustomer().id(new CustomerId()).email(CustomerTestDataBuilder.uniqueEmail()).fullName(new FullName("Cached", "Two")).build());
+
+		CustomerFilter filter = new CustomerFilter(1, 0);
+		filter.setFirstName("cached");
+		filter.setCountStrategy(CountStrategy.CACHED);
+
+		Assertions.assertThat(queryService.filter(filter).getTotalElements()).isEqualTo(2);
+
+		CustomerFilter equivalentFilter = new CustomerFilter(1, 1);
+		equivalentFilter.setFirstName("CACHED");
+		equivalentFilter.setCountStrategy(CountStrategy.CACHED);
+
+		SqlStatementCounter.reset();
+		Page<CustomerSummaryOutput> cachedPage = queryService.filter(equivalentFilter);
+		// the trigram lookup and the page, but no count
+		Assertions.assertThat(SqlStatementCounter.counts().selects()).isEqualTo(2);
+		Assertions.assertThat(cachedPage.getTotalElements()).isEqualTo(2);
+
+		customers.add(CustomerTestDataBuilder.existingCustomer().id(new CustomerId()).email(CustomerTestDataBuilder.uniqueEmail()).fullName(new FullName("Cached", "Three")).build());
+
+		Assertions.assertThat(queryService.filter(filter).getTotalElements()).isEqualTo(3);
+	}
+
+	@Test
+	void givenRenamedCustomer_whenFilterByFirstName_shouldMatchOnlyTheNewName() {
+		Customer customer = CustomerTestDataBuilder.existingCustomer().id(new CustomerId())
+				.email(CustomerTestDataBuilder.uniqueEmail())
+				.fullName(new FullName("Gertrude", "Silva")).build();
+		customers.add(customer);
+
+		customer.changeName(new FullName("Wilhelmina", "Silva"));
+		customers.add(customer);
+
+		CustomerFilter oldName = new CustomerFilter();
+		oldName.setFirstName("gertru");
+		CustomerFilter newName = new CustomerFilter();
+		newName.setFirstName("HELMIN");
+
+		Assertions.assertThat(queryService.filter(oldName).getTotalElements()).isZero();
+		Assertions.assertThat(queryService.filter(newName).getContent())
+				.extracting(CustomerSummaryOutput::getId)
+				.containsExactly(customer.id().value());
+	}
+
+	@Test
+	void givenTermWithSameTrigramsInAnotherOrder_whenFilterByEmail_shouldNotMatch() {
+		customers.add(CustomerTestDataBuilder.existingCustomer().id(new CustomerId()).email(new Email("abcxbc@email.com")).build());
+		customers.add(CustomerTestDataBuilder.existingCustomer().id(new CustomerId()).email(new Email("xabcbc@email.com")).build());
+
+		CustomerFilter filter = new CustomerFilter();
+		filter.setEmail("abcbc");
+
+		Assertions.assertThat(queryService.filter(filter).getContent())
+				.extracting(CustomerSummaryOutput::getEmail)
+				.containsExactly("xabcbc@email.com");
+	}
+
+	@Test
+	void givenShortTerm_whenFilterByFirstName_shouldStillMatchSubstring() {
+		customers.add(CustomerTestDataBuilder.existingCustomer().id(new CustomerId()).email(CustomerTestDataBuilder.uniqueEmail()).fullName(new FullName("Quincy", "Doe")).build());
+
+		CustomerFilter filter = new CustomerFilter();
+		filter.setFirstName("qu");
+
+		Assertions.assertThat(queryService.filter(filter).getContent())
+				.extracting(CustomerSummaryOutput::getFirstName)
+				.contains("Quincy");
+	}
+
+	@Test
+	void givenTermWithLikeWildcards_whenFilterByEmail_shouldKeepWildcardMatching() {
+		customers.add(CustomerTestDataBuilder.existingCustomer().id(new CustomerId()).email(new Email("wildcard.term@email.com")).build());
+
+		CustomerFilter filter = new CustomerFilter();
+		filter.setEmail("wildcard_term%email");
+
+		Assertions.assertThat(queryService.filter(filter).getContent())
+				.extracting(CustomerSummaryOutput::getEmail)
+				.containsExactly("wildcard.term@email.com");
+	}
+}
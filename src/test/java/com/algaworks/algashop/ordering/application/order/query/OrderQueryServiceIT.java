@@ -1,14 +1,23 @@
 package com.algaworks.algashop.ordering.application.order.query;
 
+import com.algaworks.algashop.ordering.application.utility.CountStrategy;
+import com.algaworks.algashop.ordering.application.utility.FilterPage;
 import com.algaworks.algashop.ordering.domain.model.customer.Customer;
 import com.algaworks.algashop.ordering.domain.model.customer.CustomerId;
 import com.algaworks.algashop.ordering.domain.model.customer.CustomerTestDataBuilder;
 import com.algaworks.algashop.ordering.domain.model.customer.Customers;
 import com.algaworks.algashop.ordering.domain.model.order.Order;
+import com.algaworks.algashop.ordering.domain.model.order.OrderId;
+import com.algaworks.algashop.ordering.domain.model.order.OrderNotFoundException;
 import com.algaworks.algashop.ordering.domain.model.order.OrderStatus;
 import com.algaworks.algashop.ordering.domain.model.order.OrderTestDataBuilder;
 import com.algaworks.algashop.ordering.domain.model.order.Orders;
+import com.algaworks.algashop.ordering.infrastructure.persistence.SqlStatementCounter;
+import com.algaworks.algashop.ordering.infrastructure.persistence.order.OrderPersistenceEntityRepository;
+import com.algaworks.algashop.ordering.infrastructure.utility.mapper.QueryOutputMappings;
+import jakarta.persistence.EntityManager;
 import org.assertj.core.api.Assertions;
+import org.hibernate.Session;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
@@ -16,6 +25,9 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Sort;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.List;
+
 @SpringBootTest
 @Transactional
 class OrderQueryServiceIT {
@@ -29,6 +41,12 @@ class OrderQueryServiceIT {
 	@Autowired
 	private Customers customers;
 
+	@Autowired
+	private OrderPersistenceEntityRepository orderRepository;
+
+	@Autowired
+	private EntityManager entityManager;
+
 	@Test
 	void shouldFindById() {
 		Customer customer = CustomerTestDataBuilder.existingCustomer().build();
@@ -50,6 +68,63 @@ class OrderQueryServiceIT {
 				);
 	}
 
+	@Test
+	void givenPlacedOrder_whenFindById_shouldProjectWholeDetailWithOneSelectAndNoEntities() {
+		Customer customer = CustomerTestDataBuilder.existingCustomer().build();
+		customers.add(customer);
+
+		Order order = OrderTestDataBuilder.anOrder()
+				.status(OrderStatus.PLACED)
+				.customerId(customer.id())
+				.build();
+		orders.add(order);
+		entityManager.flush();
+		entityManager.clear();
+
+		SqlStatementCounter.reset();
+		OrderDetailOutput output = queryService.findById(order.id().toString());
+
+		Assertions.assertThat(SqlStatementCounter.counts().selects()).isEqualTo(1);
+		Assertions.assertThat(entityManager.unwrap(Session.class).getStatistics().getEntityCount()).isZero();
+
+		Assertions.assertThat(output.getItems()).hasSize(order.items().size());
+		Assertions.assertThat(output.getShipping().getRecipient().getFirstName())
+				.isEqualTo(order.shipping().recipient().fullName().firstName());
+		Assertions.assertThat(output.getBilling().getAddress().getZipCode())
+				.isEqualTo(order.billing().address().zipCode().value());
+		Assertions.assertThat(output)
+				.usingRecursiveComparison()
+				.ignoringCollectionOrder()
+				.isEqualTo(QueryOutputMappings.toOrderDetailOutput(
+						orderRepository.findById(order.id().value().toLong()).orElseThrow()));
+	}
+
+	@Test
+	void givenOrderWithoutItems_whenFindById_shouldReturnNoItems() {
+		Customer customer = CustomerTestDataBuilder.existingCustomer().build();
+		customers.add(customer);
+
+		Order order = OrderTestDataBuilder.anOrder()
+				.withItems(false)
+				.customerId(customer.id())
+				.build();
+		orders.add(order);
+
+		OrderDetailOutput output = queryService.findById(order.id().toString());
+
+		Assertions.assertThat(output.getId()).isEqualTo(order.id().toString());
+		Assertions.assertThat(output.getCustomer().getId()).isEqualTo(customer.id().value());
+		Assertions.assertThat(output.getItems()).isEmpty();
+	}
+
+	@Test
+	void givenUnknownId_whenFindById_shouldThrowOrderNotFound() {
+		String unknownId = new OrderId().toString();
+
+		Assertions.assertThatExceptionOfType(OrderNotFoundException.class)
+				.isThrownBy(() -> queryService.findById(unknownId));
+	}
+
 	@Test
 	void shouldFilterByPage() {
 		Customer customer = CustomerTestDataBuilder.existingCustomer().build();
@@ -118,7 +193,7 @@ class OrderQueryServiceIT {
 
 		orders.add(order2);
 
-		Customer customer2 = CustomerTestDataBuilder.existingCustomer().id(new CustomerId()).build();
+		Customer customer2 = CustomerTestDataBuilder.existingCustomer().id(new CustomerId()).email(CustomerTestDataBuilder.uniqueEmail()).build();
 		customers.add(customer2);
 		Order order3 = OrderTestDataBuilder.anOrder()
 				.status(OrderStatus.PAID)
@@ -170,7 +245,7 @@ class OrderQueryServiceIT {
 
 		orders.add(order2);
 
-		Customer customer2 = CustomerTestDataBuilder.existingCustomer().id(new CustomerId()).build();
+		Customer customer2 = CustomerTestDataBuilder.existingCustomer().id(new CustomerId()).email(CustomerTestDataBuilder.uniqueEmail()).build();
 		customers.add(customer2);
 		Order order3 = OrderTestDataBuilder.anOrder()
 				.status(OrderStatus.PAID)
@@ -225,7 +300,7 @@ class OrderQueryServiceIT {
 
 		orders.add(order2);
 
-		Customer customer2 = CustomerTestDataBuilder.existingCustomer().id(new CustomerId()).build();
+		Customer customer2 = CustomerTestDataBuilder.existingCustomer().id(new CustomerId()).email(CustomerTestDataBuilder.uniqueEmail()).build();
 		customers.add(customer2);
 		Order order3 = OrderTestDataBuilder.anOrder()
 				.status(OrderStatus.PAID)
@@ -278,7 +353,7 @@ class OrderQueryServiceIT {
 
 		orders.add(order2);
 
-		Customer customer2 = CustomerTestDataBuilder.existingCustomer().id(new CustomerId()).build();
+		Customer customer2 = CustomerTestDataBuilder.existingCustomer().id(new CustomerId()).email(CustomerTestDataBuilder.uniqueEmail()).build();
 		customers.add(customer2);
 		Order order3 = OrderTestDataBuilder.anOrder()
 				.status(OrderStatus.PAID)
@@ -310,4 +385,144 @@ class OrderQueryServiceIT {
 		Assertions.assertThat(page.getContent().getFirst().getStatus()).isEqualTo(OrderStatus.CANCELED.toString());
 	}
 
-}
\ No newline at end of file
+	@Test
+	void givenCursor_whenFilter_shouldSeekThroughAllOrdersInSortOrder() {
+		Customer customer = CustomerTestDataBuilder.existingCustomer().build();
+		customers.add(customer);
+
+		for (int i = 0; i < 7; i++) {
+			orders.add(OrderTestDataBuilder.anOrder().status(OrderStatus.PLACED).customerId(customer.id()).build());
+		}
+
+		OrderFilter offsetFilter = new OrderFilter(100, 0);
+		offsetFilter.setCustomerId(customer.id().value());
+		List<String> expectedIds = queryService.filter(offsetFilter).map(OrderSummaryOutput::getId).getContent();
+
+		Assertions.assertThat(walkWithCursor(customer, OrderFilter.SortType.PLACED_AT, Sort.Direction.ASC))
+				.containsExactlyElementsOf(expectedIds);
+	}
+
+	@Test
+	void givenNullableSortColumn_whenFilterWithCursor_shouldNotSkipOrRepeatOrders() {
+		Customer customer = CustomerTestDataBuilder.existingCustomer().build();
+		customers.add(customer);
+
+		OrderStatus[] statuses = {OrderStatus.DRAFT, OrderStatus.PAID, OrderStatus.PLACED,
+				OrderStatus.PAID, OrderStatus.DRAFT, OrderStatus.READY, OrderStatus.PLACED};
+		for (OrderStatus status : statuses) {
+			orders.add(OrderTestDataBuilder.anOrder().status(status).customerId(customer.id()).build());
+		}
+
+		OrderFilter offsetFilter = new OrderFilter(100, 0);
+		offsetFilter.setCustomerId(customer.id().value());
+		offsetFilter.setSortByProperty(OrderFilter.SortType.PAID_AT);
+		offsetFilter.setSortDirection(Sort.Direction.DESC);
+		List<String> expectedIds = queryService.filter(offsetFilter).map(OrderSummaryOutput::getId).getContent();
+
+		Assertions.assertThat(walkWithCursor(customer, OrderFilter.SortType.PAID_AT, Sort.Direction.DESC))
+				.hasSize(statuses.length)
+				.containsExactlyElementsOf(expectedIds);
+	}
+
+	@Test
+	void givenCursorFromAnotherSort_whenFilter_shouldReject() {
+		Customer customer = CustomerTestDataBuilder.existingCustomer().build();
+		customers.add(customer);
+		orders.add(OrderTestDataBuilder.anOrder().customerId(customer.id()).build());
+		orders.add(OrderTestDataBuilder.anOrder().customerId(customer.id()).build());
+
+		OrderFilter filter = new OrderFilter(1, 0);
+		filter.setCustomerId(customer.id().value());
+		String nextCursor = ((FilterPage<OrderSummaryOutput>) queryService.filter(filter)).getNextCursor();
+
+		filter.setCursor(nextCursor);
+		filter.setSortByProperty(OrderFilter.SortType.STATUS);
+
+		Assertions.assertThatIllegalArgumentException()
+				.isThrownBy(() -> queryService.filter(filter));
+	}
+
+	@Test
+	void givenSkippedCount_whenFilter_shouldReportLowerBoundWithoutCounting() {
+		Customer customer = CustomerTestDataBuilder.existingCustomer().build();
+		customers.add(customer);
+		for (int i = 0; i < 5; i++) {
+			orders.add(OrderTestDataBuilder.anOrder().customerId(customer.id()).build());
+		}
+
+		OrderFilter filter = new OrderFilter(2, 1);
+		filter.setCustomerId(customer.id().value());
+		filter.setCountStrategy(CountStrategy.SKIP);
+
+		SqlStatementCounter.reset();
+		FilterPage<OrderSummaryOutput> page = (FilterPage<OrderSummaryOutput>) queryService.filter(filter);
+
+		Assertions.assertThat(SqlStatementCounter.counts().selects()).isEqualTo(1);
+		Assertions.assertThat(page.isTotalKnown()).isFalse();
+		Assertions.assertThat(page.getNumberOfElements()).isEqualTo(2);
+		Assertions.assertThat(page.hasNext()).isTrue();
+		Assertions.assertThat(page.getTotalElements()).isEqualTo(5);
+	}
+
+	@Test
+	void givenCachedCount_whenFilterAgain_shouldReuseCountUntilOrderIsAdded() {
+		Customer customer = CustomerTestDataBuilder.existingCustomer().build();
+		customers.add(customer);
+		orders.add(OrderTestDataBuilder.anOrder().customerId(customer.id()).build());
+		orders.add(OrderTestDataBuilder.anOrder().customerId(customer.id()).build());
+
+		OrderFilter filter = new OrderFilter(1, 0);
+		filter.setCustomerId(customer.id().value());
+		filter.setCountStrategy(CountStrategy.CACHED);
+
+		Assertions.assertThat(queryService.filter(filter).getTotalElements()).isEqualTo(2);
+
+		SqlStatementCounter.reset();
+		Page<OrderSummaryOutput> cachedPage = queryService.filter(filter);
+		Assertions.assertThat(SqlStatementCounter.counts().selects()).isEqualTo(1);
+		Assertions.assertThat(cachedPage.getTotalElements()).isEqualTo(2);
+
+		orders.add(OrderTestDataBuilder.anOrder().customerId(customer.id()).build());
+
+		Assertions.assertThat(queryService.filter(filter).getTotalElements()).isEqualTo(3);
+	}
+
+	@Test
+	void shouldExportAllMatchingOrdersInFilterOrder() {
+		Customer customer = CustomerTestDataBuilder.existingCustomer().build();
+		customers.add(customer);
+		for (int i = 0; i < 7; i++) {
+			orders.add(OrderTestDataBuilder.anOrder().customerId(customer.id()).build());
+		}
+
+		OrderFilter filter = new OrderFilter(2, 0);
+		filter.setCustomerId(customer.id().value());
+		filter.setSortByProperty(OrderFilter.SortType.PLACED_AT);
+		filter.setSortDirection(Sort.Direction.ASC);
+
+		List<String> exportedIds = new ArrayList<>();
+		queryService.export(filter, order -> exportedIds.add(order.getId()));
+
+		Assertions.assertThat(exportedIds)
+				.hasSize(7)
+				.containsExactlyElementsOf(walkWithCursor(customer, OrderFilter.SortType.PLACED_AT, Sort.Direction.ASC));
+	}
+
+	private List<String> walkWithCursor(Customer customer, OrderFilter.SortType sortType, Sort.Direction direction) {
+		List<String> ids = new ArrayList<>();
+		OrderFilter filter = new OrderFilter(3, 0);
+		filter.setCustomerId(customer.id().value());
+		filter.setSortByProperty(sortType);
+		filter.setSortDirection(direction);
+
+		FilterPage<OrderSummaryOutput> page;
+		do {
+			page = (FilterPage<OrderSummaryOutput>) queryService.filter(filter);
+			page.getContent().forEach(order -> ids.add(order.getId()));
+			filter.setCursor(page.getNextCursor());
+		} while (page.hasNext());
+
+		return ids;
+	}
+
+}
@@ -0,0 +1,138 @@
+package com.algaworks.algashop.ordering.application.utility;
+
+import com.algaworks.algashop.ordering.domain.model.product.ProductNotFoundException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class LookupScopeTest {
+
+	private final LookupScopeFactory factory = new LookupScopeFactory(LookupMode.CONCURRENT, Duration.ofMillis(200));
+
+	@AfterEach
+	void tearDown() {
+		factory.destroy();
+	}
+
+	@Test
+	void givenConcurrentMode_whenJoin_shouldHaveRunLookupsSideBySide() {
+		CountDownLatch bothStarted = new CountDownLatch(2);
+
+		try (LookupScope scope = factory.open()) {
+			Supplier<String> first = scope.fork(() -> meet(bothStarted, "first"));
+			Supplier<String> second = scope.fork(() -> meet(bothStarted, "second"));
+
+			scope.join();
+
+			assertThat(first.get()).isEqualTo("first");
+			assertThat(second.get()).isEqualTo("second");
+		}
+	}
+
+	@Test
+	void givenFailedLookup_whenJoin_shouldCancelTheOthersAndRethrow() {
+		CountDownLatch interrupted = new CountDownLatch(1);
+
+		try (LookupScope scope = factory.open()) {
+			scope.fork(() -> {
+				try {
+					Thread.sleep(10_000);
+				} catch (InterruptedException e) {
+					interrupted.countDown();
+				}
+				return "slow";
+			});
+			scope.fork(() -> {
+				throw new IllegalArgumentException("not found");
+			});
+
+			assertThatThrownBy(scope::join).isInstanceOf(IllegalArgumentException.class).hasMessage("not found");
+		}
+
+		assertThat(await(interrupted)).isTrue();
+	}
+
+	@Test
+	void givenLookupFailingWhileJoinWaits_whenJoin_shouldRethrowTheDomainExceptionItself() {
+		for (int i = 0; i < 200; i++) {
+			CountDownLatch joining = new CountDownLatch(1);
+
+			try (LookupScope scope = factory.open()) {
+				scope.fork(() -> {
+					joining.await(1, TimeUnit.SECONDS);
+					throw new ProductNotFoundException();
+				});
+
+				joining.countDown();
+				assertThatThrownBy(scope::join).isExactlyInstanceOf(ProductNotFoundException.class);
+			}
+		}
+	}
+
+	@Test
+	void givenSlowLookup_whenJoin_shouldGiveUpAtTheDeadline() {
+		long start = System.nanoTime();
+
+		try (LookupScope scope = factory.open()) {
+			scope.fork(() -> {
+				Thread.sleep(10_000);
+				return "slow";
+			});
+
+			assertThatThrownBy(scope::join).isInstanceOf(LookupDeadlineExceededException.class);
+		}
+
+		assertThat(Duration.ofNanos(System.nanoTime() - start)).isLessThan(Duration.ofSeconds(2));
+	}
+
+	@Test
+	void givenSequentialMode_whenJoin_shouldRunLookupsOnTheCallingThreadInForkOrder() {
+		Thread caller = Thread.currentThread();
+		List<String> calls = new CopyOnWriteArrayList<>();
+
+		try (LookupScope scope = factory.open(LookupMode.SEQUENTIAL)) {
+			Supplier<Thread> thread = scope.fork(() -> {
+				calls.add("first");
+				return Thread.currentThread();
+			});
+			scope.fork(() -> {
+				calls.add("second");
+				throw new ProductNotFoundException();
+			});
+			scope.fork(() -> calls.add("third"));
+			assertThat(calls).isEmpty();
+
+			assertThatThrownBy(scope::join).isInstanceOf(ProductNotFoundException.class);
+			assertThat(thread.get()).isSameAs(caller);
+		}
+
+		assertThat(calls).containsExactly("first", "second");
+	}
+
+	private static String meet(CountDownLatch latch, String value) throws InterruptedException {
+		latch.countDown();
+		if (!latch.await(5, TimeUnit.SECONDS)) {
+			throw new IllegalStateException("Lookups did not run concurrently");
+		}
+		return value;
+	}
+
+	private static boolean await(CountDownLatch latch) {
+		try {
+			return latch.await(5, TimeUnit.SECONDS);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			return false;
+		}
+	}
+
+}
@@ -0,0 +1,64 @@
+package com.algaworks.algashop.ordering.domain.model;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+class TimeBasedUuidGeneratorTest {
+
+	@Test
+	void whenNext_shouldBeVersion7WithCurrentTimestamp() {
+		TimeBasedUuidGenerator generator = new TimeBasedUuidGenerator(4);
+		long before = System.currentTimeMillis();
+
+		UUID uuid = generator.next();
+
+		Assertions.assertWith(uuid,
+				u -> Assertions.assertThat(u.version()).isEqualTo(7),
+				u -> Assertions.assertThat(u.variant()).isEqualTo(2),
+				u -> Assertions.assertThat(u.getMostSignificantBits() >>> 16)
+						.isBetween(before, System.currentTimeMillis())
+		);
+	}
+
+	@Test
+	void givenFrozenClock_whenNextIds_shouldIncreaseAndCarryIntoTheNextMillisecond() {
+		TimeBasedUuidGenerator generator = new TimeBasedUuidGenerator(1, () -> 1_000_000L);
+
+		List<UUID> ids = generator.nextIds(10_000);
+
+		Assertions.assertThat(ids).isSorted().doesNotHaveDuplicates();
+		Assertions.assertThat(ids.getLast().getMostSignificantBits() >>> 16).isGreaterThan(1_000_000L);
+	}
+
+	@Test
+	void givenManyThreads_whenNext_shouldNeverRepeat() throws Exception {
+		TimeBasedUuidGenerator generator = new TimeBasedUuidGenerator(4);
+		Set<UUID> ids = ConcurrentHashMap.newKeySet();
+
+		try (ExecutorService executor = Executors.newFixedThreadPool(8)) {
+			List<Future<?>> futures = new ArrayList<>();
+			for (int t = 0; t < 8; t++) {
+				futures.add(executor.submit(() -> {
+					for (int i = 0; i < 5_000; i++) {
+						ids.add(generator.next());
+					}
+				}));
+			}
+			for (Future<?> future : futures) {
+				future.get();
+			}
+		}
+
+		Assertions.assertThat(ids).hasSize(8 * 5_000);
+	}
+
+}
@@ -0,0 +1,117 @@
+package com.algaworks.algashop.ordering.domain.model;
+
+import io.hypersistence.tsid.TSID;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+class TsidGeneratorTest {
+
+	private static final long FIXED_MILLIS = 1_000_000L;
+
+	@Test
+	void givenNode_whenNext_shouldEncodeNodeInTheHighestRandomBits() {
+		TsidGenerator generator = new TsidGenerator(37, 10, 4);
+
+		TSID tsid = generator.next();
+
+		Assertions.assertThat((tsid.toLong() & ((1L << TsidGenerator.RANDOM_BITS) - 1)) >>> (TsidGenerator.RANDOM_BITS - 10))
+				.isEqualTo(37);
+	}
+
+	@Test
+	void givenSameThread_whenNext_shouldIncrease() {
+		TsidGenerator generator = new TsidGenerator(1, 10, 4);
+
+		List<Long> ids = new ArrayList<>();
+		for (int i = 0; i < 10_000; i++) {
+			ids.add(generator.next().toLong());
+		}
+
+		Assertions.assertThat(ids).isSorted().doesNotHaveDuplicates();
+	}
+
+	@Test
+	void givenFrozenClock_whenCounterRunsOut_shouldCarryIntoTheNextMillisecond() {
+		TsidGenerator generator = new TsidGenerator(1, 10, 1, () -> FIXED_MILLIS);
+
+		List<TSID> ids = generator.nextIds(5_000);
+
+		Assertions.assertThat(ids).extracting(TSID::toLong).isSorted().doesNotHaveDuplicates();
+		Assertions.assertThat(ids.getFirst().getUnixMilliseconds() - TSID.TSID_EPOCH).isEqualTo(FIXED_MILLIS);
+		Assertions.assertThat(ids.getLast().getUnixMilliseconds() - TSID.TSID_EPOCH).isGreaterThan(FIXED_MILLIS);
+	}
+
+	@Test
+	void givenBulkReservation_whenNextAfterwards_shouldContinueAfterTheBatch() {
+		TsidGenerator generator = new TsidGenerator(1, 10, 1, () -> FIXED_MILLIS);
+
+		List<TSID> batch = generator.nextIds(100);
+		TSID next = generator.next();
+
+		Assertions.assertThat(batch).hasSize(100);
+		Assertions.assertThat(next.toLong()).isGreaterThan(batch.getLast().toLong());
+	}
+
+	@Test
+	void givenManyThreads_whenNext_shouldNeverRepeat() throws Exception {
+		TsidGenerator generator = new TsidGenerator(1, 10, 4, () -> FIXED_MILLIS);
+		Set<Long> ids = ConcurrentHashMap.newKeySet();
+
+		try (ExecutorService executor = Executors.newFixedThreadPool(8)) {
+			List<Future<?>> futures = new ArrayList<>();
+			for (int t = 0; t < 8; t++) {
+				futures.add(executor.submit(() -> {
+					for (int i = 0; i < 5_000; i++) {
+						ids.add(generator.next().toLong());
+					}
+					generator.nextIds(1_000).forEach(id -> ids.add(id.toLong()));
+				}));
+			}
+			for (Future<?> future : futures) {
+				future.get();
+			}
+		}
+
+		Assertions.assertThat(ids).hasSize(8 * 6_000);
+	}
+
+	@Test
+	void givenDifferentNodesAndStripes_whenNext_shouldNotCollide() {
+		TsidGenerator first = new TsidGenerator(1, 10, 1, () -> FIXED_MILLIS);
+		TsidGenerator second = new TsidGenerator(2, 10, 16, () -> FIXED_MILLIS);
+
+		Set<Long> ids = new HashSet<>();
+		first.nextIds(2_000).forEach(id -> ids.add(id.toLong()));
+		second.nextIds(2_000).forEach(id -> ids.add(id.toLong()));
+
+		Assertions.assertThat(ids).hasSize(4_000);
+	}
+
+	@Test
+	void givenInvalidSettings_whenCreate_shouldFail() {
+		Assertions.assertThatIllegalArgumentException().isThrownBy(() -> new TsidGenerator(1024, 10, 1));
+		Assertions.assertThatIllegalArgumentException().isThrownBy(() -> new TsidGenerator(1, 10, 3));
+		Assertions.assertThatIllegalArgumentException().isThrownBy(() -> new TsidGenerator(1, 10, 32));
+		Assertions.assertThatIllegalArgumentException().isThrownBy(() -> new TsidGenerator(1, 10, 1).nextIds(-1));
+	}
+
+	@Test
+	void givenManyNodeBits_whenDefaultStripes_shouldLeaveMinimumCounterBits() {
+		for (int nodeBits = 0; nodeBits <= 14; nodeBits++) {
+			int bits = nodeBits;
+			Assertions.assertThatNoException()
+					.isThrownBy(() -> new TsidGenerator(0, bits, IdGenerator.defaultStripes(bits)));
+		}
+		Assertions.assertThat(IdGenerator.defaultStripes(14)).isEqualTo(1);
+	}
+
+}
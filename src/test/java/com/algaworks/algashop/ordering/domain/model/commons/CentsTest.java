@@ -0,0 +1,42 @@
+package com.algaworks.algashop.ordering.domain.model.commons;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+class CentsTest {
+
+	@Test
+	void shouldConvertFromAndToMoney() {
+		Cents cents = Cents.of(new Money("1234.5"));
+
+		Assertions.assertThat(cents.value()).isEqualTo(123450L);
+		Assertions.assertThat(cents.toMoney()).isEqualTo(new Money("1234.50"));
+	}
+
+	@Test
+	void shouldAddAndMultiplyLikeMoney() {
+		Money price = new Money("19.99");
+		Money shipping = new Money("7.45");
+
+		Cents total = Cents.of(price).multiply(new Quantity(3)).add(Cents.of(shipping));
+
+		Assertions.assertThat(total.toMoney()).isEqualTo(price.multiply(new Quantity(3)).add(shipping));
+	}
+
+	@Test
+	void shouldNotMultiplyByZero() {
+		Assertions.assertThatExceptionOfType(IllegalArgumentException.class)
+				.isThrownBy(() -> new Cents(100).multiply(Quantity.ZERO));
+	}
+
+	@Test
+	void shouldFailInsteadOfOverflowing() {
+		Cents huge = new Cents(Long.MAX_VALUE / 2 + 1);
+
+		Assertions.assertThatExceptionOfType(ArithmeticException.class)
+				.isThrownBy(() -> huge.add(huge));
+		Assertions.assertThatExceptionOfType(ArithmeticException.class)
+				.isThrownBy(() -> huge.multiply(new Quantity(2)));
+	}
+
+}
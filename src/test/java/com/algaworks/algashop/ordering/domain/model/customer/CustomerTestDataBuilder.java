@@ -4,6 +4,7 @@ import com.algaworks.algashop.ordering.domain.model.commons.*;
 
 import java.time.LocalDate;
 import java.time.OffsetDateTime;
+import java.util.concurrent.atomic.AtomicLong;
 
 public class CustomerTestDataBuilder {
 
@@ -15,6 +16,7 @@ public class CustomerTestDataBuilder {
 	private static final FullName FULL_NAME = new FullName("John", "Doe");
 	private static final BirthDate BIRTH_DATE = new BirthDate(LocalDate.of(1991, 7, 5));
 	private static final Email EMAIL = new Email("john.doe@gmail.com");
+	private static final AtomicLong EMAIL_SEQUENCE = new AtomicLong();
 	private static final Phone PHONE = new Phone("478-256-2504");
 	private static final Document DOCUMENT = new Document("255-08-0578");
 
@@ -22,7 +24,7 @@ public class CustomerTestDataBuilder {
 		return Customer.brandNew()
 				.fullName(FULL_NAME)
 				.birthDate(BIRTH_DATE)
-				.email(EMAIL)
+				.email(uniqueEmail())
 				.phone(PHONE)
 				.document(DOCUMENT)
 				.promotionNotificationsAllowed(false)
@@ -61,6 +63,14 @@ public class CustomerTestDataBuilder {
 				.address(brandNewAddress().number("Anonymized").complement(null).build());
 	}
 
+	/**
+	 * Customer emails are unique, so every brand new customer, and every other customer a test persists next to
+	 * the default one, needs its own address.
+	 */
+	public static Email uniqueEmail() {
+		return new Email("john.doe" + EMAIL_SEQUENCE.incrementAndGet() + "@gmail.com");
+	}
+
 	public static Address.AddressBuilder brandNewAddress() {
 		return Address.builder()
 				.street("Bourbon Street")
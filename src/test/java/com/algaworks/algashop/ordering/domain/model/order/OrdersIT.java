@@ -4,12 +4,16 @@ import com.algaworks.algashop.ordering.domain.model.customer.Customers;
 import com.algaworks.algashop.ordering.domain.model.customer.CustomerTestDataBuilder;
 import com.algaworks.algashop.ordering.domain.model.commons.Money;
 import com.algaworks.algashop.ordering.domain.model.customer.CustomerId;
+import com.algaworks.algashop.ordering.infrastructure.persistence.PersistenceProviderTestConfig;
 import com.algaworks.algashop.ordering.infrastructure.persistence.customer.CustomerPersistenceEntityAssembler;
 import com.algaworks.algashop.ordering.infrastructure.persistence.order.OrderPersistenceEntityAssembler;
 import com.algaworks.algashop.ordering.infrastructure.persistence.customer.CustomerPersistenceEntityDisassembler;
 import com.algaworks.algashop.ordering.infrastructure.persistence.order.OrderPersistenceEntityDisassembler;
 import com.algaworks.algashop.ordering.infrastructure.persistence.customer.CustomersPersistenceProvider;
+import com.algaworks.algashop.ordering.infrastructure.persistence.order.CustomerSalesStatsProjection;
 import com.algaworks.algashop.ordering.infrastructure.persistence.order.OrdersPersistenceProvider;
+import com.algaworks.algashop.ordering.infrastructure.persistence.outbox.DomainEventSerializer;
+import com.algaworks.algashop.ordering.infrastructure.persistence.outbox.OutboxEventWriter;
 import lombok.RequiredArgsConstructor;
 import org.assertj.core.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
@@ -28,11 +32,15 @@ import static org.assertj.core.api.Assertions.assertThat;
 @DataJpaTest
 @Import({
 		OrdersPersistenceProvider.class,
+		CustomerSalesStatsProjection.class,
+		OutboxEventWriter.class,
+		DomainEventSerializer.class,
 		OrderPersistenceEntityAssembler.class,
 		OrderPersistenceEntityDisassembler.class,
 		CustomersPersistenceProvider.class,
 		CustomerPersistenceEntityAssembler.class,
-		CustomerPersistenceEntityDisassembler.class
+		CustomerPersistenceEntityDisassembler.class,
+		PersistenceProviderTestConfig.class
 })
 @RequiredArgsConstructor(onConstructor_ = @Autowired)
 class OrdersIT {
@@ -145,6 +145,26 @@ class ShoppingCartTest {
 		);
 	}
 
+	@Test
+	void givenCartWithItems_whenMutatedRepeatedly_shouldKeepTotalsMatchingItems() {
+		ShoppingCart cart = ShoppingCartTestDataBuilder.aShoppingCart().build();
+		Product product = ProductTestDataBuilder.aProduct().price(new Money("12.34")).build();
+
+		cart.addItem(product, new Quantity(3));
+		cart.addItem(product, new Quantity(2));
+		cart.changeItemQuantity(cart.findItem(product.id()).id(), new Quantity(7));
+		cart.refreshItem(ProductTestDataBuilder.aProduct().price(new Money("9.99")).build());
+		cart.removeItem(cart.items().stream().filter(i -> !i.productId().equals(product.id())).findFirst().orElseThrow().id());
+
+		Assertions.assertWith(cart,
+				c -> Assertions.assertThat(c.totalItems()).isEqualTo(
+						new Quantity(c.items().stream().mapToInt(i -> i.quantity().value()).sum())),
+				c -> Assertions.assertThat(c.totalAmount()).isEqualTo(
+						c.items().stream().map(ShoppingCartItem::totalAmount).reduce(Money.ZERO, Money::add)),
+				c -> Assertions.assertThat(c.findItem(product.id()).totalAmount()).isEqualTo(new Money("69.93"))
+		);
+	}
+
 	@Test
 	void givenCartWithItems_whenFindItemById_shouldReturnItem() {
 		ShoppingCart cart = ShoppingCartTestDataBuilder.aShoppingCart().build();
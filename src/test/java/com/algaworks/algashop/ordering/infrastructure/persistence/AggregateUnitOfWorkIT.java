@@ -0,0 +1,96 @@
+package com.algaworks.algashop.ordering.infrastructure.persistence;
+
+import com.algaworks.algashop.ordering.domain.model.customer.CustomerTestDataBuilder;
+import com.algaworks.algashop.ordering.domain.model.order.Order;
+import com.algaworks.algashop.ordering.domain.model.order.OrderStatus;
+import com.algaworks.algashop.ordering.domain.model.order.OrderTestDataBuilder;
+import com.algaworks.algashop.ordering.infrastructure.persistence.customer.CustomerPersistenceEntityAssembler;
+import com.algaworks.algashop.ordering.infrastructure.persistence.customer.CustomerPersistenceEntityDisassembler;
+import com.algaworks.algashop.ordering.infrastructure.persistence.customer.CustomersPersistenceProvider;
+import com.algaworks.algashop.ordering.infrastructure.persistence.order.OrderPersistenceEntityAssembler;
+import com.algaworks.algashop.ordering.infrastructure.persistence.order.OrderPersistenceEntityDisassembler;
+import com.algaworks.algashop.ordering.infrastructure.persistence.order.OrdersPersistenceProvider;
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@Import({
+		OrdersPersistenceProvider.class,
+		OrderPersistenceEntityAssembler.class,
+		OrderPersistenceEntityDisassembler.class,
+		CustomersPersistenceProvider.class,
+		CustomerPersistenceEntityAssembler.class,
+		CustomerPersistenceEntityDisassembler.class,
+		SpringDataAuditingConfig.class,
+		PersistenceProviderTestConfig.class
+})
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+class AggregateUnitOfWorkIT {
+
+	private final OrdersPersistenceProvider ordersPersistenceProvider;
+	private final CustomersPersistenceProvider customersPersistenceProvider;
+	private final AggregateUnitOfWork unitOfWork;
+
+	@BeforeEach
+	void setup() {
+		if (!customersPersistenceProvider.exists(CustomerTestDataBuilder.DEFAULT_CUSTOMER_ID)) {
+			customersPersistenceProvider.add(CustomerTestDataBuilder.existingCustomer().build());
+		}
+		unitOfWork.flush();
+	}
+
+	@Test
+	void givenNewOrders_whenAdd_shouldDeferAndBatchInsertsUntilFlush() {
+		Order order1 = OrderTestDataBuilder.anOrder().build();
+		Order order2 = OrderTestDataBuilder.anOrder().build();
+
+		SqlStatementCounter.reset();
+		ordersPersistenceProvider.add(order1);
+		ordersPersistenceProvider.add(order2);
+
+		assertThat(SqlStatementCounter.counts().total()).isZero();
+		assertThat(order1.version()).isZero();
+
+		unitOfWork.flush();
+
+		SqlStatementCounter.Counts counts = SqlStatementCounter.counts();
+		assertThat(counts.selects()).isZero();
+		assertThat(counts.inserts()).isEqualTo(2);
+	}
+
+	@Test
+	void givenPendingUpdate_whenFlush_shouldWriteBackNewVersion() {
+		Order order = OrderTestDataBuilder.anOrder().status(OrderStatus.PLACED).build();
+		ordersPersistenceProvider.add(order);
+		unitOfWork.flush();
+
+		order.markAsPaid();
+		ordersPersistenceProvider.add(order);
+
+		assertThat(order.version()).isZero();
+
+		unitOfWork.flush();
+
+		assertThat(order.version()).isEqualTo(1L);
+	}
+
+	@Test
+	void givenPendingUpdate_whenLoadAgain_shouldReadFlushedVersion() {
+		Order order = OrderTestDataBuilder.anOrder().status(OrderStatus.PLACED).build();
+		ordersPersistenceProvider.add(order);
+		order.markAsPaid();
+		ordersPersistenceProvider.add(order);
+
+		Order loadedOrder = ordersPersistenceProvider.ofId(order.id()).orElseThrow();
+
+		assertThat(loadedOrder.isPaid()).isTrue();
+		assertThat(loadedOrder.version()).isEqualTo(order.version());
+	}
+
+}
@@ -0,0 +1,80 @@
+package com.algaworks.algashop.ordering.infrastructure.persistence;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class FilterCountCacheTest {
+
+	private final AtomicInteger counterCalls = new AtomicInteger();
+
+	@Test
+	void givenSameCriteria_whenCountAgain_shouldNotRunCounter() {
+		FilterCountCache cache = new FilterCountCache(Duration.ofMinutes(1), 10);
+		List<Object> criteria = Arrays.asList("alice", null);
+
+		assertThat(cache.count(String.class, criteria, () -> count(5))).isEqualTo(5);
+		assertThat(cache.count(String.class, Arrays.asList("alice", null), () -> count(6))).isEqualTo(5);
+		assertThat(counterCalls).hasValue(1);
+	}
+
+	@Test
+	void givenInvalidatedEntityType_whenCount_shouldRunCounterAgain() {
+		FilterCountCache cache = new FilterCountCache(Duration.ofMinutes(1), 10);
+		List<Object> criteria = List.of("alice");
+		cache.count(String.class, criteria, () -> count(5));
+		cache.count(Integer.class, criteria, () -> count(1));
+
+		cache.invalidate(String.class);
+
+		assertThat(cache.count(String.class, criteria, () -> count(6))).isEqualTo(6);
+		assertThat(cache.count(Integer.class, criteria, () -> count(2))).isEqualTo(1);
+	}
+
+	@Test
+	void givenExpiredEntry_whenCount_shouldRunCounterAgain() throws InterruptedException {
+		FilterCountCache cache = new FilterCountCache(Duration.ofMillis(20), 10);
+		List<Object> criteria = List.of("alice");
+		cache.count(String.class, criteria, () -> count(5));
+
+		Thread.sleep(40);
+
+		assertThat(cache.count(String.class, criteria, () -> count(6))).isEqualTo(6);
+	}
+
+	@Test
+	void givenInvalidationWhileCounting_whenCount_shouldNotKeepResult() {
+		FilterCountCache cache = new FilterCountCache(Duration.ofMinutes(1), 10);
+		List<Object> criteria = List.of("alice");
+
+		cache.count(String.class, criteria, () -> {
+			cache.invalidate(String.class);
+			return count(5);
+		});
+
+		assertThat(cache.size()).isZero();
+	}
+
+	@Test
+	void givenFullCache_whenCountNewCriteria_shouldStayWithinMaximumSize() {
+		FilterCountCache cache = new FilterCountCache(Duration.ofMinutes(1), 3);
+
+		for (int i = 0; i < 10; i++) {
+			int value = i;
+			cache.count(String.class, List.of(value), () -> count(value));
+		}
+
+		assertThat(cache.size()).isLessThanOrEqualTo(3);
+	}
+
+	private long count(long value) {
+		counterCalls.incrementAndGet();
+		return value;
+	}
+
+}
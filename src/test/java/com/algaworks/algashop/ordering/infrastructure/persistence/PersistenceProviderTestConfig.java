@@ -0,0 +1,18 @@
+package com.algaworks.algashop.ordering.infrastructure.persistence;
+
+import com.algaworks.algashop.ordering.infrastructure.persistence.customer.CustomerEmailBloomFilter;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Import;
+
+/**
+ * Beans every persistence provider relies on, for {@code @DataJpaTest} slices that import providers: the unit of
+ * work that flushes their writes, the filter count cache they invalidate and the customer email filter.
+ */
+@TestConfiguration
+@Import({
+		AggregateUnitOfWork.class,
+		FilterCountCache.class,
+		CustomerEmailBloomFilter.class
+})
+public class PersistenceProviderTestConfig {
+}
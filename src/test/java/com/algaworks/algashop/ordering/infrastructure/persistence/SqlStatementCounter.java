@@ -0,0 +1,89 @@
+package com.algaworks.algashop.ordering.infrastructure.persistence;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+import java.util.Locale;
+
+/**
+ * Counts prepared statements per thread. Rows sent in the same JDBC batch share one statement.
+ */
+public class SqlStatementCounter implements StatementInspector {
+
+	private static final ThreadLocal<Counts> COUNTS = ThreadLocal.withInitial(Counts::new);
+
+	@Override
+	public String inspect(String sql) {
+		COUNTS.get().register(sql);
+		return sql;
+	}
+
+	public static void reset() {
+		COUNTS.remove();
+	}
+
+	public static Counts counts() {
+		return COUNTS.get().copy();
+	}
+
+	public static class Counts {
+
+		private long selects;
+		private long inserts;
+		private long updates;
+		private long deletes;
+		private long others;
+
+		private void register(String sql) {
+			String statement = sql.stripLeading().toLowerCase(Locale.ROOT);
+			if (statement.startsWith("select") || statement.startsWith("with")) {
+				selects++;
+			} else if (statement.startsWith("insert")) {
+				inserts++;
+			} else if (statement.startsWith("update")) {
+				updates++;
+			} else if (statement.startsWith("delete")) {
+				deletes++;
+			} else {
+				others++;
+			}
+		}
+
+		private Counts copy() {
+			Counts copy = new Counts();
+			copy.selects = selects;
+			copy.inserts = inserts;
+			copy.updates = updates;
+			copy.deletes = deletes;
+			copy.others = others;
+			return copy;
+		}
+
+		public long selects() {
+			return selects;
+		}
+
+		public long inserts() {
+			return inserts;
+		}
+
+		public long updates() {
+			return updates;
+		}
+
+		public long deletes() {
+			return deletes;
+		}
+
+		public long total() {
+			return selects + inserts + updates + deletes + others;
+		}
+
+		@Override
+		public String toString() {
+			return String.format("total=%d (select=%d, insert=%d, update=%d, delete=%d)",
+					total(), selects, inserts, updates, deletes);
+		}
+
+	}
+
+}
@@ -0,0 +1,49 @@
+package com.algaworks.algashop.ordering.infrastructure.persistence.customer;
+
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CustomerEmailBloomFilterTest {
+
+	private static final int EMAILS = 10_000;
+
+	@Test
+	void givenNotLoadedFilter_whenCheckEmail_shouldReportPossiblyPresent() {
+		CustomerEmailBloomFilter filter = new CustomerEmailBloomFilter(Mockito.mock(JdbcTemplate.class), EMAILS, 0.01, 100);
+
+		assertThat(filter.mightContain("nobody@algashop.com")).isTrue();
+	}
+
+	@Test
+	void givenPutEmails_whenCheckInAnyCase_shouldNeverReportAbsent() {
+		CustomerEmailBloomFilter filter = loadedFilter();
+		IntStream.range(0, EMAILS).forEach(i -> filter.put("Customer" + i + "@AlgaShop.com"));
+
+		assertThat(IntStream.range(0, EMAILS))
+				.allMatch(i -> filter.mightContain("customer" + i + "@algashop.com"));
+	}
+
+	@Test
+	void givenFilterAtExpectedSize_whenCheckOtherEmails_shouldKeepFalsePositivesNearTarget() {
+		CustomerEmailBloomFilter filter = loadedFilter();
+		IntStream.range(0, EMAILS).forEach(i -> filter.put("customer" + i + "@algashop.com"));
+
+		long falsePositives = IntStream.range(0, EMAILS)
+				.filter(i -> filter.mightContain("visitor" + i + "@algashop.com"))
+				.count();
+
+		assertThat(falsePositives).isLessThan(EMAILS / 50);
+	}
+
+	private CustomerEmailBloomFilter loadedFilter() {
+		CustomerEmailBloomFilter filter = new CustomerEmailBloomFilter(Mockito.mock(JdbcTemplate.class), EMAILS, 0.01, 100);
+		filter.load();
+		return filter;
+	}
+
+}
@@ -0,0 +1,179 @@
+package com.algaworks.algashop.ordering.infrastructure.persistence.customer;
+
+import com.algaworks.algashop.ordering.application.customer.query.CustomerFilter;
+import com.algaworks.algashop.ordering.infrastructure.persistence.PersistenceProviderTestConfig;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Compares the former {@code lower(column) LIKE '%term%'} scan with the trigram-narrowed search over synthetic
+ * customers. Both sides run the count and the first page, as the filter endpoint does. Trigrams are seeded in SQL
+ * with the secondary index rebuilt afterwards, because the JDBC backfill is far slower at this size. Run with {@code gradle benchmark}.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@TestPropertySource(properties = {
+		"spring.datasource.url=jdbc:h2:file:./build/benchmark/customer-search;DATABASE_TO_LOWER=TRUE;CASE_INSENSITIVE_IDENTIFIERS=TRUE;CACHE_SIZE=524288",
+		"spring.jpa.hibernate.ddl-auto=create-drop",
+		"spring.jpa.show-sql=false"
+})
+@Import({
+		CustomerQueryServiceImpl.class,
+		CustomerSearchIndexBackfill.class,
+		PersistenceProviderTestConfig.class
+})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+class CustomerSearchBenchmark {
+
+	private static final int CUSTOMERS = Integer.getInteger("benchmark.customers", 1_000_000);
+	private static final int ITERATIONS = Integer.getInteger("benchmark.iterations", 10);
+
+	private static final String[] FIRST_NAMES = {
+			"Alexander", "Beatriz", "Carlos", "Daniela", "Eduardo", "Fernanda", "Gabriel", "Helena", "Igor", "Juliana",
+			"Kevin", "Larissa", "Marcos", "Natalia", "Otavio", "Patricia", "Rafael", "Sabrina", "Thiago", "Vanessa",
+			"Wagner", "Yasmin", "Anderson", "Bruna", "Caio", "Debora", "Enzo", "Flavia", "Gustavo", "Isabela"
+	};
+
+	private static final String LEGACY_COUNT = """
+			SELECT COUNT(c) FROM CustomerPersistenceEntity c
+			WHERE LOWER(c.firstName) LIKE :firstName AND LOWER(c.email) LIKE :email
+			""";
+
+	private static final String LEGACY_PAGE = """
+			SELECT c.id FROM CustomerPersistenceEntity c
+			WHERE LOWER(c.firstName) LIKE :firstName AND LOWER(c.email) LIKE :email
+			ORDER BY c.registeredAt DESC
+			""";
+
+	private final CustomerQueryServiceImpl queryService;
+	private final EntityManager entityManager;
+	private final JdbcTemplate jdbcTemplate;
+	private final PlatformTransactionManager transactionManager;
+
+	@BeforeAll
+	void seed() {
+		long start = System.nanoTime();
+
+		jdbcTemplate.update("""
+				INSERT INTO customer (id, first_name, last_name, email, phone, document, birth_date,
+				                      promotion_notifications_allowed, archived, registered_at, loyalty_points, version)
+				SELECT RANDOM_UUID(), ARRAY_GET(%s, MOD(X, %d) + 1), 'Silva',
+				       'user' || X || '@' || ARRAY_GET(ARRAY['gmail.com', 'algashop.com', 'mail.net'], MOD(X, 3) + 1),
+				       '11999990000', '12345', DATE '1990-01-01', FALSE, FALSE,
+				       DATEADD('MINUTE', -X, CURRENT_TIMESTAMP), 0, 0
+				FROM SYSTEM_RANGE(1, ?)
+				""".formatted(sqlArray(FIRST_NAMES), FIRST_NAMES.length), CUSTOMERS);
+
+		long seeded = System.nanoTime();
+		jdbcTemplate.execute("DROP INDEX idx_customer_search_trigram");
+		for (CustomerSearchTrigram.Field field : CustomerSearchTrigram.Field.values()) {
+			String column = field == CustomerSearchTrigram.Field.FIRST_NAME ? "first_name" : "email";
+			jdbcTemplate.update("""
+					INSERT INTO customer_search_trigram (customer_id, search_field, trigram)
+					SELECT DISTINCT c.id, ?, SUBSTRING(LOWER(c.%1$s), r.X, 3)
+					FROM customer c JOIN SYSTEM_RANGE(1, 64) r ON r.X <= LENGTH(c.%1$s) - 2
+					""".formatted(column), field.name());
+		}
+		jdbcTemplate.execute("""
+				CREATE INDEX idx_customer_search_trigram ON customer_search_trigram (search_field, trigram, customer_id)
+				""");
+		jdbcTemplate.execute("ANALYZE");
+
+		System.out.printf("seeded %d customers in %d ms, indexed %d trigrams in %d ms%n", CUSTOMERS,
+				(seeded - start) / 1_000_000,
+				jdbcTemplate.queryForObject("SELECT COUNT(*) FROM customer_search_trigram", Long.class),
+				(System.nanoTime() - seeded) / 1_000_000);
+	}
+
+	@Test
+	void compareLikeScanWithTrigramSearch() {
+		List<CustomerFilter> filters = List.of(
+				filter(null, "user123456@"),
+				filter(null, "99999@"),
+				filter("ander", null),
+				filter("natalia", "algashop"),
+				filter("an", null)
+		);
+
+		for (CustomerFilter filter : filters) {
+			String scenario = "firstName=%s email=%s".formatted(filter.getFirstName(), filter.getEmail());
+
+			long legacyTotal = measure("LIKE scan,   " + scenario, filter, this::legacyFilter);
+			long indexedTotal = measure("trigram idx, " + scenario, filter,
+					f -> queryService.filter(f).getTotalElements());
+
+			assertThat(indexedTotal).isEqualTo(legacyTotal);
+		}
+	}
+
+	private long legacyFilter(CustomerFilter filter) {
+		String firstName = "%" + (filter.getFirstName() == null ? "" : filter.getFirstName()) + "%";
+		String email = "%" + (filter.getEmail() == null ? "" : filter.getEmail()) + "%";
+
+		long total = entityManager.createQuery(LEGACY_COUNT, Long.class)
+				.setParameter("firstName", firstName)
+				.setParameter("email", email)
+				.getSingleResult();
+		entityManager.createQuery(LEGACY_PAGE)
+				.setParameter("firstName", firstName)
+				.setParameter("email", email)
+				.setMaxResults(filter.getSize())
+				.getResultList();
+
+		return total;
+	}
+
+	private long measure(String scenario, CustomerFilter filter, Function<CustomerFilter, Long> search) {
+		TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+		transactionTemplate.setReadOnly(true);
+
+		return transactionTemplate.execute(status -> {
+			long total = search.apply(filter);
+			for (int i = 0; i < Math.min(5, ITERATIONS); i++) {
+				search.apply(filter);
+			}
+
+			long start = System.nanoTime();
+			for (int i = 0; i < ITERATIONS; i++) {
+				search.apply(filter);
+			}
+			long elapsed = System.nanoTime() - start;
+
+			System.out.printf("%-52s %10.1f us/filter (%d matches)%n", scenario,
+					elapsed / 1_000.0 / ITERATIONS, total);
+			return total;
+		});
+	}
+
+	private static String sqlArray(String[] values) {
+		return "ARRAY['" + String.join("', '", values) + "']";
+	}
+
+	private CustomerFilter filter(String firstName, String email) {
+		CustomerFilter filter = new CustomerFilter();
+		filter.setFirstName(firstName);
+		filter.setEmail(email);
+		return filter;
+	}
+
+}
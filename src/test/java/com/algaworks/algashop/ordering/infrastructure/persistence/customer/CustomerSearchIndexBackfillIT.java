@@ -0,0 +1,74 @@
+package com.algaworks.algashop.ordering.infrastructure.persistence.customer;
+
+import com.algaworks.algashop.ordering.domain.model.commons.Email;
+import com.algaworks.algashop.ordering.domain.model.commons.FullName;
+import com.algaworks.algashop.ordering.domain.model.customer.Customer;
+import com.algaworks.algashop.ordering.domain.model.customer.CustomerId;
+import com.algaworks.algashop.ordering.domain.model.customer.CustomerTestDataBuilder;
+import com.algaworks.algashop.ordering.infrastructure.persistence.AggregateUnitOfWork;
+import com.algaworks.algashop.ordering.infrastructure.persistence.PersistenceProviderTestConfig;
+import com.algaworks.algashop.ordering.infrastructure.persistence.SpringDataAuditingConfig;
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@Import({
+		CustomerSearchIndexBackfill.class,
+		CustomersPersistenceProvider.class,
+		CustomerPersistenceEntityAssembler.class,
+		CustomerPersistenceEntityDisassembler.class,
+		SpringDataAuditingConfig.class,
+		PersistenceProviderTestConfig.class
+})
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+class CustomerSearchIndexBackfillIT {
+
+	private final CustomerSearchIndexBackfill backfill;
+	private final CustomersPersistenceProvider persistenceProvider;
+	private final AggregateUnitOfWork unitOfWork;
+	private final JdbcTemplate jdbcTemplate;
+
+	@Test
+	void givenCustomerWithoutTrigrams_whenBackfill_shouldIndexFirstNameAndEmail() {
+		Customer customer = CustomerTestDataBuilder.brandNewCustomer()
+				.fullName(new FullName("Anna", "Doe"))
+				.email(new Email("ab.cd@x.io"))
+				.build();
+		persistenceProvider.add(customer);
+		unitOfWork.flush();
+		jdbcTemplate.update("DELETE FROM customer_search_trigram WHERE customer_id = ?", customer.id().value());
+
+		backfill.backfill();
+
+		assertThat(backfill.isComplete()).isTrue();
+		assertThat(trigramsOf(customer.id(), CustomerSearchTrigram.Field.FIRST_NAME))
+				.isEqualTo(2);
+		assertThat(trigramsOf(customer.id(), CustomerSearchTrigram.Field.EMAIL))
+				.isEqualTo(CustomerSearchTrigram.trigramsOf("ab.cd@x.io").size());
+	}
+
+	@Test
+	void givenIndexedCustomer_whenBackfill_shouldLeaveTrigramsUntouched() {
+		Customer customer = CustomerTestDataBuilder.brandNewCustomer().build();
+		persistenceProvider.add(customer);
+		unitOfWork.flush();
+		long trigrams = trigramsOf(customer.id(), CustomerSearchTrigram.Field.EMAIL);
+
+		backfill.backfill();
+
+		assertThat(trigramsOf(customer.id(), CustomerSearchTrigram.Field.EMAIL)).isEqualTo(trigrams);
+	}
+
+	private long trigramsOf(CustomerId customerId, CustomerSearchTrigram.Field field) {
+		return jdbcTemplate.queryForObject(
+				"SELECT COUNT(*) FROM customer_search_trigram WHERE customer_id = ? AND search_field = ?",
+				Long.class, customerId.value(), field.name());
+	}
+
+}
@@ -1,34 +1,45 @@
 package com.algaworks.algashop.ordering.infrastructure.persistence.customer;
 
 import com.algaworks.algashop.ordering.domain.model.customer.Customer;
+import com.algaworks.algashop.ordering.domain.model.customer.CustomerEmailIsInUseException;
 import com.algaworks.algashop.ordering.domain.model.customer.CustomerTestDataBuilder;
+import com.algaworks.algashop.ordering.domain.model.commons.Email;
 import com.algaworks.algashop.ordering.domain.model.commons.FullName;
+import com.algaworks.algashop.ordering.domain.model.customer.CustomerId;
+import com.algaworks.algashop.ordering.infrastructure.persistence.AggregateUnitOfWork;
+import com.algaworks.algashop.ordering.infrastructure.persistence.PersistenceProviderTestConfig;
 import com.algaworks.algashop.ordering.infrastructure.persistence.SpringDataAuditingConfig;
+import com.algaworks.algashop.ordering.infrastructure.persistence.SqlStatementCounter;
 import lombok.RequiredArgsConstructor;
 import org.assertj.core.api.Assertions;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.UUID;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 @DataJpaTest
 @Import({
 		CustomersPersistenceProvider.class,
 		CustomerPersistenceEntityAssembler.class,
 		CustomerPersistenceEntityDisassembler.class,
-		SpringDataAuditingConfig.class
+		SpringDataAuditingConfig.class,
+		PersistenceProviderTestConfig.class
 })
 @RequiredArgsConstructor(onConstructor_ = @Autowired)
 class CustomersPersistenceProviderIT {
 
 	private final CustomersPersistenceProvider persistenceProvider;
 	private final CustomerPersistenceEntityRepository entityRepository;
+	private final AggregateUnitOfWork unitOfWork;
+	private final JdbcTemplate jdbcTemplate;
 
 	@Test
 	void givenANewCustomer_shouldPersistEntity() {
@@ -124,4 +135,54 @@ class CustomersPersistenceProviderIT {
 		);
 	}
 
+	@Test
+	void givenUnknownEmail_whenCheckUniqueness_shouldNotQueryDatabase() {
+		SqlStatementCounter.reset();
+
+		assertThat(persistenceProvider.isEmailUnique(new Email("nobody@algashop.com"), new CustomerId())).isTrue();
+		assertThat(SqlStatementCounter.counts().selects()).isZero();
+	}
+
+	@Test
+	void givenEmailInUse_whenAddAnotherCustomerWithIt_shouldThrowEmailInUse() {
+		Customer customer = CustomerTestDataBuilder.brandNewCustomer().build();
+		persistenceProvider.add(customer);
+
+		Customer duplicate = CustomerTestDataBuilder.brandNewCustomer().email(customer.email()).build();
+
+		assertThatThrownBy(() -> persistenceProvider.add(duplicate))
+				.isInstanceOf(CustomerEmailIsInUseException.class);
+	}
+
+	@Test
+	void givenCustomerStoredBeforeLoad_whenCheckEmail_shouldReportPossiblyPresentInAnyCase() {
+		Customer customer = CustomerTestDataBuilder.brandNewCustomer().build();
+		persistenceProvider.add(customer);
+		unitOfWork.flush();
+
+		CustomerEmailBloomFilter emailFilter = new CustomerEmailBloomFilter(jdbcTemplate, 100, 0.01, 10);
+		assertThat(emailFilter.mightContain("nobody@algashop.com")).isTrue();
+
+		emailFilter.load();
+
+		assertThat(emailFilter.isLoaded()).isTrue();
+		assertThat(emailFilter.mightContain(customer.email().value().toUpperCase())).isTrue();
+		assertThat(emailFilter.mightContain("nobody@algashop.com")).isFalse();
+	}
+
+	@Test
+	void givenMissingEmailConstraint_whenLoadFilter_shouldStayUnloaded() {
+		jdbcTemplate.execute("ALTER TABLE customer DROP CONSTRAINT " + CustomerPersistenceEntity.EMAIL_UNIQUE_CONSTRAINT);
+		try {
+			CustomerEmailBloomFilter emailFilter = new CustomerEmailBloomFilter(jdbcTemplate, 100, 0.01, 10);
+			emailFilter.load();
+
+			assertThat(emailFilter.isLoaded()).isFalse();
+			assertThat(emailFilter.mightContain("nobody@algashop.com")).isTrue();
+		} finally {
+			jdbcTemplate.execute("ALTER TABLE customer ADD CONSTRAINT "
+					+ CustomerPersistenceEntity.EMAIL_UNIQUE_CONSTRAINT + " UNIQUE (email)");
+		}
+	}
+
 }
@@ -0,0 +1,243 @@
+package com.algaworks.algashop.ordering.infrastructure.persistence.order;
+
+import com.algaworks.algashop.ordering.domain.model.commons.Money;
+import com.algaworks.algashop.ordering.domain.model.customer.Customer;
+import com.algaworks.algashop.ordering.domain.model.customer.CustomerId;
+import com.algaworks.algashop.ordering.domain.model.customer.CustomerTestDataBuilder;
+import com.algaworks.algashop.ordering.domain.model.order.Order;
+import com.algaworks.algashop.ordering.domain.model.order.OrderCanceledEvent;
+import com.algaworks.algashop.ordering.domain.model.order.OrderPaidEvent;
+import com.algaworks.algashop.ordering.domain.model.order.OrderStatus;
+import com.algaworks.algashop.ordering.domain.model.order.OrderTestDataBuilder;
+import com.algaworks.algashop.ordering.infrastructure.persistence.PersistenceProviderTestConfig;
+import com.algaworks.algashop.ordering.infrastructure.persistence.SpringDataAuditingConfig;
+import com.algaworks.algashop.ordering.infrastructure.persistence.customer.CustomerPersistenceEntityAssembler;
+import com.algaworks.algashop.ordering.infrastructure.persistence.customer.CustomerPersistenceEntityDisassembler;
+import com.algaworks.algashop.ordering.infrastructure.persistence.customer.CustomersPersistenceProvider;
+import com.algaworks.algashop.ordering.infrastructure.persistence.outbox.DomainEventSerializer;
+import com.algaworks.algashop.ordering.infrastructure.persistence.outbox.EventDeliveryMode;
+import com.algaworks.algashop.ordering.infrastructure.persistence.outbox.OutboxEventWriter;
+import com.algaworks.algashop.ordering.infrastructure.persistence.outbox.PendingDomainEvent;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.OffsetDateTime;
+import java.time.Year;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@Import({
+		OrdersPersistenceProvider.class,
+		CustomerSalesStatsProjection.class,
+		OutboxEventWriter.class,
+		DomainEventSerializer.class,
+		OrderPersistenceEntityAssembler.class,
+		OrderPersistenceEntityDisassembler.class,
+		CustomersPersistenceProvider.class,
+		CustomerPersistenceEntityAssembler.class,
+		CustomerPersistenceEntityDisassembler.class,
+		SpringDataAuditingConfig.class,
+		PersistenceProviderTestConfig.class
+})
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+class CustomerSalesStatsProjectionIT {
+
+	private static final CustomerId CUSTOMER_ID = CustomerTestDataBuilder.DEFAULT_CUSTOMER_ID;
+
+	private final OrdersPersistenceProvider orders;
+	private final CustomersPersistenceProvider customers;
+	private final CustomerSalesStatsProjection projection;
+	private final CustomerSalesStatsPersistenceEntityRepository statsRepository;
+	private final OrderPersistenceEntityRepository orderRepository;
+	private final PlatformTransactionManager transactionManager;
+	private final EntityManager entityManager;
+	private final ApplicationEventPublisher eventPublisher;
+	private final DomainEventSerializer eventSerializer;
+
+	@BeforeEach
+	void setup() {
+		if (!customers.exists(CUSTOMER_ID)) {
+			customers.add(CustomerTestDataBuilder.existingCustomer().build());
+		}
+	}
+
+	@Test
+	void givenPaidOrderCanceled_shouldTakeItOutOfTheStats() {
+		Order order = OrderTestDataBuilder.anOrder().status(OrderStatus.PAID).build();
+		orders.add(order);
+
+		assertThat(orders.salesQuantityByCustomerInYear(CUSTOMER_ID, Year.now())).isEqualTo(1L);
+		assertThat(orders.totalSoldForCustomer(CUSTOMER_ID)).isEqualTo(order.totalAmount());
+
+		order = orders.ofId(order.id()).orElseThrow();
+		order.cancel();
+		orders.add(order);
+
+		assertThat(orders.salesQuantityByCustomerInYear(CUSTOMER_ID, Year.now())).isZero();
+		assertThat(orders.totalSoldForCustomer(CUSTOMER_ID)).isEqualTo(Money.ZERO);
+	}
+
+	@Test
+	void givenUnpaidOrderCanceled_shouldLeaveTheStatsAlone() {
+		Order paidOrder = OrderTestDataBuilder.anOrder().status(OrderStatus.PAID).build();
+		orders.add(paidOrder);
+
+		Order placedOrder = OrderTestDataBuilder.anOrder().status(OrderStatus.PLACED).build();
+		orders.add(placedOrder);
+		placedOrder = orders.ofId(placedOrder.id()).orElseThrow();
+		placedOrder.cancel();
+		orders.add(placedOrder);
+
+		assertThat(orders.salesQuantityByCustomerInYear(CUSTOMER_ID, Year.now())).isEqualTo(1L);
+		assertThat(orders.totalSoldForCustomer(CUSTOMER_ID)).isEqualTo(paidOrder.totalAmount());
+	}
+
+	@Test
+	@Transactional(propagation = Propagation.NOT_SUPPORTED)
+	void givenFirstTwoPaymentsOfTheYearAtOnce_shouldCountBoth() throws Exception {
+		TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+		ExecutorService executor = Executors.newFixedThreadPool(2);
+		List<CustomerId> customerIds = new ArrayList<>();
+
+		try {
+			for (int round = 0; round < 20; round++) {
+				Customer customer = CustomerTestDataBuilder.brandNewCustomer().build();
+				customerIds.add(customer.id());
+				Order first = OrderTestDataBuilder.anOrder().customerId(customer.id()).status(OrderStatus.PLACED).build();
+				Order second = OrderTestDataBuilder.anOrder().customerId(customer.id()).status(OrderStatus.PLACED).build();
+				transactionTemplate.executeWithoutResult(status -> {
+					customers.add(customer);
+					orders.add(first);
+					orders.add(second);
+				});
+
+				CyclicBarrier start = new CyclicBarrier(2);
+				List<Future<?>> payments = new ArrayList<>();
+				for (Order order : List.of(first, second)) {
+					payments.add(executor.submit(() -> {
+						start.await();
+						transactionTemplate.executeWithoutResult(status -> projection.listen(
+								new OrderPaidEvent(order.id(), customer.id(), OffsetDateTime.now())));
+						return null;
+					}));
+				}
+				for (Future<?> payment : payments) {
+					payment.get();
+				}
+
+				assertThat(orders.salesQuantityByCustomerInYear(customer.id(), Year.now())).isEqualTo(2L);
+			}
+		} finally {
+			executor.shutdownNow();
+			transactionTemplate.executeWithoutResult(status -> customerIds.forEach(customerId -> {
+				orderRepository.deleteAll(orderRepository.placedByCustomerInPeriod(customerId.value(),
+						OffsetDateTime.now().minusYears(1), OffsetDateTime.now().plusDays(1)));
+				statsRepository.deleteAll(statsRepository.findAll().stream()
+						.filter(stats -> stats.getId().getCustomerId().equals(customerId.value()))
+						.toList());
+			}));
+		}
+	}
+
+	@Test
+	void shouldRebuildTheSameStatsFromTheOrderTable() {
+		orders.add(OrderTestDataBuilder.anOrder().status(OrderStatus.PAID).build());
+		orders.add(OrderTestDataBuilder.anOrder().status(OrderStatus.READY).build());
+		orders.add(OrderTestDataBuilder.anOrder().status(OrderStatus.PLACED).build());
+		orders.add(OrderTestDataBuilder.anOrder().status(OrderStatus.CANCELED).build());
+		orderRepository.flush();
+
+		long quantity = orders.salesQuantityByCustomerInYear(CUSTOMER_ID, Year.now());
+		Money totalSold = orders.totalSoldForCustomer(CUSTOMER_ID);
+
+		statsRepository.deleteAllInBatch();
+		assertThat(orders.salesQuantityByCustomerInYear(CUSTOMER_ID, Year.now())).isZero();
+
+		projection.rebuild();
+
+		assertThat(orders.salesQuantityByCustomerInYear(CUSTOMER_ID, Year.now())).isEqualTo(quantity).isEqualTo(2L);
+		assertThat(orders.totalSoldForCustomer(CUSTOMER_ID)).isEqualTo(totalSold);
+		assertThat(quantity).isEqualTo(salesQuantityInOrderTable(Year.now()));
+	}
+
+	@Test
+	void givenPaymentStillInTheOutbox_whenRebuild_shouldCountItOnlyOnceDelivered() {
+		orders.add(OrderTestDataBuilder.anOrder().status(OrderStatus.PAID).build());
+		Order pendingPayment = OrderTestDataBuilder.anOrder().status(OrderStatus.PAID).build();
+		orders.add(pendingPayment);
+		OrderPaidEvent paidEvent = new OrderPaidEvent(pendingPayment.id(), CUSTOMER_ID, OffsetDateTime.now());
+		writeToOutbox(pendingPayment, paidEvent);
+
+		statsRepository.deleteAllInBatch();
+		projection.rebuild();
+		assertThat(orders.salesQuantityByCustomerInYear(CUSTOMER_ID, Year.now())).isEqualTo(1L);
+
+		projection.listen(paidEvent);
+		assertThat(orders.salesQuantityByCustomerInYear(CUSTOMER_ID, Year.now())).isEqualTo(2L);
+	}
+
+	@Test
+	void givenCancellationStillInTheOutbox_whenRebuild_shouldTakeItOutOnlyOnceDelivered() {
+		Order order = OrderTestDataBuilder.anOrder().status(OrderStatus.PAID).build();
+		orders.add(order);
+		order = orders.ofId(order.id()).orElseThrow();
+		order.cancel();
+		orders.add(order);
+		OrderCanceledEvent canceledEvent = new OrderCanceledEvent(order.id(), CUSTOMER_ID, OffsetDateTime.now());
+		writeToOutbox(order, canceledEvent);
+
+		statsRepository.deleteAllInBatch();
+		projection.rebuild();
+		assertThat(orders.salesQuantityByCustomerInYear(CUSTOMER_ID, Year.now())).isEqualTo(1L);
+
+		projection.listen(canceledEvent);
+		assertThat(orders.salesQuantityByCustomerInYear(CUSTOMER_ID, Year.now())).isZero();
+		assertThat(orders.totalSoldForCustomer(CUSTOMER_ID)).isEqualTo(Money.ZERO);
+	}
+
+	private void writeToOutbox(Order order, Object event) {
+		orderRepository.flush();
+		new OutboxEventWriter(eventPublisher, entityManager, eventSerializer, EventDeliveryMode.OUTBOX)
+				.listen(new PendingDomainEvent("Order", String.valueOf(order.id().value().toLong()), event));
+		entityManager.flush();
+	}
+
+	private long salesQuantityInOrderTable(Year year) {
+		return entityManager.createQuery("""
+						SELECT COUNT(o)
+						FROM OrderPersistenceEntity o
+						WHERE o.customer.id = :customerId
+						AND o.placedAt >= :from
+						AND o.placedAt < :to
+						AND o.paidAt IS NOT NULL
+						AND o.canceledAt IS NULL
+						""", Long.class)
+				.setParameter("customerId", CUSTOMER_ID.value())
+				.setParameter("from", startOf(year))
+				.setParameter("to", startOf(year.plusYears(1)))
+				.getSingleResult();
+	}
+
+	private static OffsetDateTime startOf(Year year) {
+		return year.atDay(1).atStartOfDay(ZoneId.systemDefault()).toOffsetDateTime();
+	}
+
+}
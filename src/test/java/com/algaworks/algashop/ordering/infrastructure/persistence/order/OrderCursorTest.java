@@ -0,0 +1,48 @@
+package com.algaworks.algashop.ordering.infrastructure.persistence.order;
+
+import com.algaworks.algashop.ordering.application.order.query.OrderFilter;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Sort;
+
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+class OrderCursorTest {
+
+	@Test
+	void givenDateCursor_whenEncodeAndDecode_shouldKeepPosition() {
+		OffsetDateTime placedAt = OffsetDateTime.of(2025, 3, 4, 10, 15, 30, 123456000, ZoneOffset.ofHours(-3));
+		OrderCursor cursor = new OrderCursor(OrderFilter.SortType.PLACED_AT, Sort.Direction.ASC, placedAt, 42L);
+
+		OrderCursor decoded = OrderCursor.decode(cursor.encode(), OrderFilter.SortType.PLACED_AT, Sort.Direction.ASC);
+
+		assertThat(decoded).isEqualTo(cursor);
+	}
+
+	@Test
+	void givenNullSortValue_whenEncodeAndDecode_shouldKeepNull() {
+		OrderCursor cursor = new OrderCursor(OrderFilter.SortType.PAID_AT, Sort.Direction.DESC, null, 7L);
+
+		OrderCursor decoded = OrderCursor.decode(cursor.encode(), OrderFilter.SortType.PAID_AT, Sort.Direction.DESC);
+
+		assertThat(decoded.sortValue()).isNull();
+		assertThat(decoded.id()).isEqualTo(7L);
+	}
+
+	@Test
+	void givenStatusCursor_whenEncode_shouldBeUrlSafe() {
+		OrderCursor cursor = new OrderCursor(OrderFilter.SortType.STATUS, Sort.Direction.ASC, "PAID", Long.MAX_VALUE);
+
+		assertThat(cursor.encode()).matches("[A-Za-z0-9_-]+");
+	}
+
+	@Test
+	void givenGarbage_whenDecode_shouldFail() {
+		assertThatIllegalArgumentException()
+				.isThrownBy(() -> OrderCursor.decode("not a cursor!", OrderFilter.SortType.PLACED_AT, Sort.Direction.ASC));
+	}
+
+}
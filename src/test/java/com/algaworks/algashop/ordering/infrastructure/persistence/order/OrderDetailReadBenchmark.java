@@ -0,0 +1,143 @@
+package com.algaworks.algashop.ordering.infrastructure.persistence.order;
+
+import com.algaworks.algashop.ordering.application.order.query.OrderDetailOutput;
+import com.algaworks.algashop.ordering.application.utility.Mapper;
+import com.algaworks.algashop.ordering.domain.model.commons.Money;
+import com.algaworks.algashop.ordering.domain.model.commons.Quantity;
+import com.algaworks.algashop.ordering.domain.model.customer.Customer;
+import com.algaworks.algashop.ordering.domain.model.customer.CustomerTestDataBuilder;
+import com.algaworks.algashop.ordering.domain.model.order.Order;
+import com.algaworks.algashop.ordering.domain.model.order.OrderTestDataBuilder;
+import com.algaworks.algashop.ordering.domain.model.product.ProductId;
+import com.algaworks.algashop.ordering.domain.model.product.ProductTestDataBuilder;
+import com.algaworks.algashop.ordering.infrastructure.persistence.PersistenceProviderTestConfig;
+import com.algaworks.algashop.ordering.infrastructure.persistence.SpringDataAuditingConfig;
+import com.algaworks.algashop.ordering.infrastructure.persistence.customer.CustomerPersistenceEntityAssembler;
+import com.algaworks.algashop.ordering.infrastructure.persistence.customer.CustomerPersistenceEntityDisassembler;
+import com.algaworks.algashop.ordering.infrastructure.persistence.customer.CustomersPersistenceProvider;
+import com.algaworks.algashop.ordering.infrastructure.utility.mapper.MapperConfig;
+import com.algaworks.algashop.ordering.infrastructure.utility.modelmapper.ModelMapperConfig;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.Test;
+import org.modelmapper.ModelMapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.LongFunction;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Compares the order detail read through the {@code customer}/{@code items} entity graph, mapped by ModelMapper or
+ * by the {@link Mapper} bean, with the single-query {@link OrderDetailProjection}, over synthetic placed orders of
+ * {@code benchmark.detail.items} items. The persistence context is cleared after every read, as a request would
+ * start with an empty one. Run with {@code gradle benchmark}.
+ */
+@DataJpaTest
+@TestPropertySource(properties = "spring.jpa.show-sql=false")
+@Import({
+		CustomersPersistenceProvider.class,
+		CustomerPersistenceEntityAssembler.class,
+		CustomerPersistenceEntityDisassembler.class,
+		OrderPersistenceEntityAssembler.class,
+		ModelMapperConfig.class,
+		MapperConfig.class,
+		SpringDataAuditingConfig.class,
+		PersistenceProviderTestConfig.class
+})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+class OrderDetailReadBenchmark {
+
+	private static final int ORDERS = Integer.getInteger("benchmark.detail.orders", 200);
+	private static final int ITEMS = Integer.getInteger("benchmark.detail.items", 20);
+	private static final int ITERATIONS = Integer.getInteger("benchmark.iterations", 2_000);
+
+	private final CustomersPersistenceProvider customersPersistenceProvider;
+	private final OrderPersistenceEntityAssembler assembler;
+	private final OrderPersistenceEntityRepository orderRepository;
+	private final ModelMapper modelMapper;
+	private final Mapper mapper;
+	private final EntityManager entityManager;
+	private final PlatformTransactionManager transactionManager;
+
+	@Test
+	void compareEntityGraphWithProjection() {
+		List<Long> orderIds = seed();
+
+		LongFunction<OrderDetailOutput> modelMapperRead = id ->
+				modelMapper.map(orderRepository.findById(id).orElseThrow(), OrderDetailOutput.class);
+		LongFunction<OrderDetailOutput> mapperRead = id ->
+				mapper.convert(orderRepository.findById(id).orElseThrow(), OrderDetailOutput.class);
+		LongFunction<OrderDetailOutput> projectionRead = id ->
+				OrderDetailProjection.findById(entityManager, id).orElseThrow();
+
+		report("entity graph + ModelMapper", orderIds, modelMapperRead);
+		report("entity graph + Mapper bean", orderIds, mapperRead);
+		report("tuple projection", orderIds, projectionRead);
+	}
+
+	private List<Long> seed() {
+		TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+		List<Long> orderIds = new ArrayList<>();
+
+		transactionTemplate.executeWithoutResult(status -> {
+			Customer customer = CustomerTestDataBuilder.brandNewCustomer().build();
+			customersPersistenceProvider.add(customer);
+
+			for (int i = 0; i < ORDERS; i++) {
+				Order order = OrderTestDataBuilder.anOrder()
+						.customerId(customer.id())
+						.withItems(false)
+						.build();
+				for (int item = 0; item < ITEMS; item++) {
+					order.addItem(ProductTestDataBuilder.aProduct()
+							.id(new ProductId())
+							.price(new Money(BigDecimal.valueOf(100 + item)))
+							.build(), new Quantity(1 + item % 3));
+				}
+				order.place();
+				entityManager.persist(assembler.fromDomain(order));
+				orderIds.add(order.id().value().toLong());
+			}
+		});
+
+		System.out.printf("seeded %d orders of %d items%n", orderIds.size(), ITEMS);
+		return orderIds;
+	}
+
+	private void report(String scenario, List<Long> orderIds, LongFunction<OrderDetailOutput> read) {
+		TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+		transactionTemplate.setReadOnly(true);
+
+		transactionTemplate.executeWithoutResult(status -> {
+			for (int i = 0; i < Math.min(200, ITERATIONS); i++) {
+				read.apply(orderIds.get(i % orderIds.size()));
+				entityManager.clear();
+			}
+
+			long items = 0;
+			long start = System.nanoTime();
+			for (int i = 0; i < ITERATIONS; i++) {
+				items += read.apply(orderIds.get(i % orderIds.size())).getItems().size();
+				entityManager.clear();
+			}
+			long elapsed = System.nanoTime() - start;
+
+			assertThat(items).isEqualTo((long) ITERATIONS * ITEMS);
+			System.out.printf("%-28s %8.1f us/read (%d reads of %d items)%n", scenario,
+					elapsed / 1_000.0 / ITERATIONS, ITERATIONS, ITEMS);
+		});
+	}
+
+}
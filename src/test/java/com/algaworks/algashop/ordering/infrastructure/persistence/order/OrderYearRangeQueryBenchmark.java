@@ -0,0 +1,224 @@
+package com.algaworks.algashop.ordering.infrastructure.persistence.order;
+
+import com.algaworks.algashop.ordering.domain.model.customer.Customer;
+import com.algaworks.algashop.ordering.domain.model.customer.CustomerTestDataBuilder;
+import com.algaworks.algashop.ordering.infrastructure.persistence.PersistenceProviderTestConfig;
+import com.algaworks.algashop.ordering.infrastructure.persistence.SpringDataAuditingConfig;
+import com.algaworks.algashop.ordering.infrastructure.persistence.customer.CustomerPersistenceEntityAssembler;
+import com.algaworks.algashop.ordering.infrastructure.persistence.customer.CustomerPersistenceEntityDisassembler;
+import com.algaworks.algashop.ordering.infrastructure.persistence.customer.CustomersPersistenceProvider;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.OffsetDateTime;
+import java.time.Year;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Compares the former {@code YEAR(placedAt) = :year} filters with the half-open {@code placedAt} ranges
+ * over synthetic orders spread across five years. Run with {@code gradle benchmark}.
+ */
+@DataJpaTest
+@Import({
+		CustomersPersistenceProvider.class,
+		CustomerPersistenceEntityAssembler.class,
+		CustomerPersistenceEntityDisassembler.class,
+		SpringDataAuditingConfig.class,
+		PersistenceProviderTestConfig.class
+})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+class OrderYearRangeQueryBenchmark {
+
+	private static final int ORDERS = Integer.getInteger("benchmark.orders", 2_000_000);
+	private static final int CUSTOMERS = Integer.getInteger("benchmark.customers", 200);
+	private static final int ITERATIONS = Integer.getInteger("benchmark.iterations", 500);
+	private static final int MINUTES_IN_FIVE_YEARS = 5 * 365 * 24 * 60;
+
+	private static final String YEAR_FUNCTION_SALES_QUANTITY = """
+			SELECT COUNT(o)
+			FROM OrderPersistenceEntity o
+			WHERE o.customer.id = :customerId
+			AND YEAR(o.placedAt) = :year
+			AND o.paidAt IS NOT NULL
+			AND o.canceledAt IS NULL
+			""";
+
+	private static final String RANGE_SALES_QUANTITY = """
+			SELECT COUNT(o)
+			FROM OrderPersistenceEntity o
+			WHERE o.customer.id = :customerId
+			AND o.placedAt >= :from
+			AND o.placedAt < :to
+			AND o.paidAt IS NOT NULL
+			AND o.canceledAt IS NULL
+			""";
+
+	private static final String YEAR_FUNCTION_PLACED_IDS = """
+			SELECT o.id
+			FROM OrderPersistenceEntity o
+			WHERE o.customer.id = :customerId
+			AND YEAR(o.placedAt) = :year
+			""";
+
+	private static final String RANGE_PLACED_IDS = """
+			SELECT o.id
+			FROM OrderPersistenceEntity o
+			WHERE o.customer.id = :customerId
+			AND o.placedAt >= :from
+			AND o.placedAt < :to
+			""";
+
+	private final CustomersPersistenceProvider customersPersistenceProvider;
+	private final EntityManager entityManager;
+	private final JdbcTemplate jdbcTemplate;
+	private final PlatformTransactionManager transactionManager;
+
+	@Test
+	void compareYearFunctionWithPlacedAtRange() {
+		List<UUID> customerIds = seed();
+		Year year = Year.now().minusYears(2);
+		OffsetDateTime from = year.atDay(1).atStartOfDay(ZoneId.systemDefault()).toOffsetDateTime();
+		OffsetDateTime to = year.plusYears(1).atDay(1).atStartOfDay(ZoneId.systemDefault()).toOffsetDateTime();
+
+		for (UUID customerId : customerIds.subList(0, Math.min(5, customerIds.size()))) {
+			assertThat(salesQuantityWithYearFunction(customerId, year))
+					.isEqualTo(salesQuantityWithRange(customerId, from, to));
+		}
+
+		report("sales quantity, YEAR(placedAt)", customerIds,
+				customerId -> (int) salesQuantityWithYearFunction(customerId, year));
+		report("sales quantity, placedAt range", customerIds,
+				customerId -> (int) salesQuantityWithRange(customerId, from, to));
+		report("placed order ids, YEAR(placedAt)", customerIds,
+				customerId -> placedIdsWithYearFunction(customerId, year).size());
+		report("placed order ids, placedAt range", customerIds,
+				customerId -> placedIdsWithRange(customerId, from, to).size());
+
+		String rangePlan = plan("""
+				SELECT COUNT(*) FROM "order" o
+				WHERE o.customer_id = ? AND o.placed_at >= ? AND o.placed_at < ?
+				AND o.paid_at IS NOT NULL AND o.canceled_at IS NULL
+				""", customerIds.getFirst(), from, to);
+		String yearFunctionPlan = plan("""
+				SELECT COUNT(*) FROM "order" o
+				WHERE o.customer_id = ? AND YEAR(o.placed_at) = ?
+				AND o.paid_at IS NOT NULL AND o.canceled_at IS NULL
+				""", customerIds.getFirst(), year.getValue());
+
+		System.out.printf("plan, YEAR(placedAt):%n%s%nplan, placedAt range:%n%s%n", yearFunctionPlan, rangePlan);
+
+		assertThat(rangePlan).containsIgnoringCase("idx_order_customer_id_sales");
+	}
+
+	private List<UUID> seed() {
+		TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+		List<UUID> customerIds = new ArrayList<>();
+
+		transactionTemplate.executeWithoutResult(status -> {
+			for (int i = 0; i < CUSTOMERS; i++) {
+				Customer customer = CustomerTestDataBuilder.brandNewCustomer().build();
+				customersPersistenceProvider.add(customer);
+				customerIds.add(customer.id().value());
+			}
+		});
+
+		int ordersPerCustomer = Math.max(1, ORDERS / CUSTOMERS);
+		long start = System.nanoTime();
+
+		for (int i = 0; i < customerIds.size(); i++) {
+			jdbcTemplate.update("""
+					INSERT INTO "order" (id, customer_id, total_amount, total_items, status, placed_at, paid_at, canceled_at, version)
+					SELECT ? + r.x, ?, 100, 1, 'PAID', r.placed_at,
+					       CASE WHEN MOD(r.x, 4) <> 0 THEN r.placed_at END,
+					       CASE WHEN MOD(r.x, 10) = 0 THEN r.placed_at END,
+					       0
+					FROM (SELECT X AS x, DATEADD('MINUTE', -MOD(X * 7919, ?), CURRENT_TIMESTAMP) AS placed_at
+					      FROM SYSTEM_RANGE(1, ?)) r
+					""", (long) i * ordersPerCustomer, customerIds.get(i), MINUTES_IN_FIVE_YEARS, ordersPerCustomer);
+		}
+
+		jdbcTemplate.execute("ANALYZE");
+
+		System.out.printf("seeded %d orders for %d customers in %d ms%n", (long) ordersPerCustomer * customerIds.size(),
+				customerIds.size(), (System.nanoTime() - start) / 1_000_000);
+
+		return customerIds;
+	}
+
+	private long salesQuantityWithYearFunction(UUID customerId, Year year) {
+		return entityManager.createQuery(YEAR_FUNCTION_SALES_QUANTITY, Long.class)
+				.setParameter("customerId", customerId)
+				.setParameter("year", year.getValue())
+				.getSingleResult();
+	}
+
+	private long salesQuantityWithRange(UUID customerId, OffsetDateTime from, OffsetDateTime to) {
+		return entityManager.createQuery(RANGE_SALES_QUANTITY, Long.class)
+				.setParameter("customerId", customerId)
+				.setParameter("from", from)
+				.setParameter("to", to)
+				.getSingleResult();
+	}
+
+	private List<Long> placedIdsWithYearFunction(UUID customerId, Year year) {
+		return entityManager.createQuery(YEAR_FUNCTION_PLACED_IDS, Long.class)
+				.setParameter("customerId", customerId)
+				.setParameter("year", year.getValue())
+				.getResultList();
+	}
+
+	private List<Long> placedIdsWithRange(UUID customerId, OffsetDateTime from, OffsetDateTime to) {
+		return entityManager.createQuery(RANGE_PLACED_IDS, Long.class)
+				.setParameter("customerId", customerId)
+				.setParameter("from", from)
+				.setParameter("to", to)
+				.getResultList();
+	}
+
+	private void report(String scenario, List<UUID> customerIds, CustomerQuery query) {
+		TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+		transactionTemplate.setReadOnly(true);
+
+		transactionTemplate.executeWithoutResult(status -> {
+			for (int i = 0; i < Math.min(50, ITERATIONS); i++) {
+				query.run(customerIds.get(i % customerIds.size()));
+			}
+
+			long rows = 0;
+			long start = System.nanoTime();
+			for (int i = 0; i < ITERATIONS; i++) {
+				rows += query.run(customerIds.get(i % customerIds.size()));
+			}
+			long elapsed = System.nanoTime() - start;
+
+			System.out.printf("%-36s %8.1f us/query (%d queries, %.0f rows/query)%n", scenario,
+					elapsed / 1_000.0 / ITERATIONS, ITERATIONS, (double) rows / ITERATIONS);
+		});
+	}
+
+	private String plan(String sql, Object... params) {
+		return String.join(System.lineSeparator(),
+				jdbcTemplate.queryForList("EXPLAIN " + sql, String.class, params));
+	}
+
+	@FunctionalInterface
+	private interface CustomerQuery {
+		int run(UUID customerId);
+	}
+
+}
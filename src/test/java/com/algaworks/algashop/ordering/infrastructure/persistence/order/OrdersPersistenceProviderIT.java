@@ -4,6 +4,7 @@ import com.algaworks.algashop.ordering.domain.model.customer.CustomerTestDataBui
 import com.algaworks.algashop.ordering.domain.model.order.Order;
 import com.algaworks.algashop.ordering.domain.model.order.OrderStatus;
 import com.algaworks.algashop.ordering.domain.model.order.OrderTestDataBuilder;
+import com.algaworks.algashop.ordering.infrastructure.persistence.PersistenceProviderTestConfig;
 import com.algaworks.algashop.ordering.infrastructure.persistence.customer.CustomerPersistenceEntityAssembler;
 import com.algaworks.algashop.ordering.infrastructure.persistence.customer.CustomersPersistenceProvider;
 import com.algaworks.algashop.ordering.infrastructure.persistence.SpringDataAuditingConfig;
@@ -26,7 +27,8 @@ import org.springframework.transaction.annotation.Transactional;
 		CustomersPersistenceProvider.class,
 		CustomerPersistenceEntityAssembler.class,
 		CustomerPersistenceEntityDisassembler.class,
-		SpringDataAuditingConfig.class
+		SpringDataAuditingConfig.class,
+		PersistenceProviderTestConfig.class
 })
 @RequiredArgsConstructor(onConstructor_ = @Autowired)
 class OrdersPersistenceProviderIT {
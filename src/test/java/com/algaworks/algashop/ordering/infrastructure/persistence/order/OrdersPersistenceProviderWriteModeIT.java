@@ -0,0 +1,210 @@
+package com.algaworks.algashop.ordering.infrastructure.persistence.order;
+
+import com.algaworks.algashop.ordering.domain.model.commons.Quantity;
+import com.algaworks.algashop.ordering.domain.model.customer.CustomerTestDataBuilder;
+import com.algaworks.algashop.ordering.domain.model.order.Order;
+import com.algaworks.algashop.ordering.domain.model.order.OrderItem;
+import com.algaworks.algashop.ordering.domain.model.order.OrderStatus;
+import com.algaworks.algashop.ordering.domain.model.order.OrderTestDataBuilder;
+import com.algaworks.algashop.ordering.infrastructure.persistence.AggregateUnitOfWork;
+import com.algaworks.algashop.ordering.infrastructure.persistence.AggregateWriteMode;
+import com.algaworks.algashop.ordering.infrastructure.persistence.PersistenceProviderTestConfig;
+import com.algaworks.algashop.ordering.infrastructure.persistence.SpringDataAuditingConfig;
+import com.algaworks.algashop.ordering.infrastructure.persistence.SqlStatementCounter;
+import com.algaworks.algashop.ordering.infrastructure.persistence.customer.CustomerPersistenceEntityAssembler;
+import com.algaworks.algashop.ordering.infrastructure.persistence.customer.CustomerPersistenceEntityDisassembler;
+import com.algaworks.algashop.ordering.infrastructure.persistence.customer.CustomersPersistenceProvider;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.test.context.TestPropertySource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+/**
+ * Measures the SQL statements issued by a single {@link OrdersPersistenceProvider#add(Order)}
+ * for each {@link AggregateWriteMode}.
+ */
+@DataJpaTest
+@Import({
+		OrdersPersistenceProvider.class,
+		OrderPersistenceEntityAssembler.class,
+		OrderPersistenceEntityDisassembler.class,
+		CustomersPersistenceProvider.class,
+		CustomerPersistenceEntityAssembler.class,
+		CustomerPersistenceEntityDisassembler.class,
+		SpringDataAuditingConfig.class,
+		PersistenceProviderTestConfig.class
+})
+class OrdersPersistenceProviderWriteModeIT {
+
+	@Autowired
+	private OrdersPersistenceProvider persistenceProvider;
+
+	@Autowired
+	private CustomersPersistenceProvider customersPersistenceProvider;
+
+	@Autowired
+	private AggregateUnitOfWork unitOfWork;
+
+	@Autowired
+	private EntityManager entityManager;
+
+	@BeforeEach
+	void setup() {
+		if (!customersPersistenceProvider.exists(CustomerTestDataBuilder.DEFAULT_CUSTOMER_ID)) {
+			customersPersistenceProvider.add(CustomerTestDataBuilder.existingCustomer().build());
+			unitOfWork.flush();
+		}
+	}
+
+	@Test
+	void givenNewOrder_whenAdd_shouldInsertWithoutSelect() {
+		SqlStatementCounter.Counts counts = scenarios().insert();
+
+		assertThat(counts.selects()).isZero();
+		assertThat(counts.inserts()).isEqualTo(2);
+		assertThat(counts.total()).isEqualTo(2);
+	}
+
+	@Test
+	void givenLoadedOrder_whenChangeStatus_shouldUpdateOnlyOrderRow() {
+		SqlStatementCounter.Counts counts = scenarios().statusChange();
+
+		assertThat(counts.selects()).isZero();
+		assertThat(counts.updates()).isEqualTo(1);
+		assertThat(counts.total()).isEqualTo(1);
+	}
+
+	@Test
+	void givenLoadedOrder_whenChangeItemQuantity_shouldUpdateOnlyChangedItemRow() {
+		SqlStatementCounter.Counts counts = scenarios().itemQuantityChange();
+
+		assertThat(counts.selects()).isZero();
+		assertThat(counts.updates()).isEqualTo(2);
+		assertThat(counts.total()).isEqualTo(2);
+	}
+
+	@Test
+	void givenStaleOrder_whenAdd_shouldFailWithOptimisticLocking() {
+		Order order = OrderTestDataBuilder.anOrder().status(OrderStatus.PLACED).build();
+		persistenceProvider.add(order);
+		scenarios().detachAll();
+
+		Order stale = persistenceProvider.ofId(order.id()).orElseThrow();
+		Order current = persistenceProvider.ofId(order.id()).orElseThrow();
+		current.markAsPaid();
+		persistenceProvider.add(current);
+		scenarios().detachAll();
+
+		stale.cancel();
+
+		assertThatExceptionOfType(ObjectOptimisticLockingFailureException.class)
+				.isThrownBy(() -> persistenceProvider.add(stale));
+	}
+
+	private WriteModeScenarios scenarios() {
+		return new WriteModeScenarios(persistenceProvider, unitOfWork, entityManager);
+	}
+
+	@Nested
+	@TestPropertySource(properties = "algashop.persistence.write-mode=LOAD_AND_MERGE")
+	class LoadAndMergeMode {
+
+		@Autowired
+		private OrdersPersistenceProvider persistenceProvider;
+
+		@Autowired
+		private CustomersPersistenceProvider customersPersistenceProvider;
+
+		@Autowired
+		private AggregateUnitOfWork unitOfWork;
+
+		@Autowired
+		private EntityManager entityManager;
+
+		@BeforeEach
+		void setup() {
+			if (!customersPersistenceProvider.exists(CustomerTestDataBuilder.DEFAULT_CUSTOMER_ID)) {
+				customersPersistenceProvider.add(CustomerTestDataBuilder.existingCustomer().build());
+				unitOfWork.flush();
+			}
+		}
+
+		@Test
+		void givenNewOrder_whenAdd_shouldSelectBeforeInsert() {
+			SqlStatementCounter.Counts counts = scenarios().insert();
+
+			assertThat(counts.selects()).isPositive();
+			assertThat(counts.inserts()).isEqualTo(2);
+		}
+
+		@Test
+		void givenLoadedOrder_whenChangeStatus_shouldSelectBeforeUpdate() {
+			SqlStatementCounter.Counts counts = scenarios().statusChange();
+
+			assertThat(counts.selects()).isPositive();
+			assertThat(counts.updates()).isEqualTo(1);
+		}
+
+		private WriteModeScenarios scenarios() {
+			return new WriteModeScenarios(persistenceProvider, unitOfWork, entityManager);
+		}
+
+	}
+
+	private record WriteModeScenarios(OrdersPersistenceProvider persistenceProvider,
+									  AggregateUnitOfWork unitOfWork,
+									  EntityManager entityManager) {
+
+		SqlStatementCounter.Counts insert() {
+			Order order = OrderTestDataBuilder.anOrder().build();
+
+			SqlStatementCounter.reset();
+			persistenceProvider.add(order);
+			unitOfWork.flush();
+			return SqlStatementCounter.counts();
+		}
+
+		SqlStatementCounter.Counts statusChange() {
+			Order order = loadPersistedOrder(OrderTestDataBuilder.anOrder().status(OrderStatus.PLACED));
+			order.markAsPaid();
+
+			SqlStatementCounter.reset();
+			persistenceProvider.add(order);
+			unitOfWork.flush();
+			return SqlStatementCounter.counts();
+		}
+
+		SqlStatementCounter.Counts itemQuantityChange() {
+			Order order = loadPersistedOrder(OrderTestDataBuilder.anOrder());
+			OrderItem orderItem = order.items().iterator().next();
+			order.changeItemQuantity(orderItem.id(), new Quantity(orderItem.quantity().value() + 1));
+
+			SqlStatementCounter.reset();
+			persistenceProvider.add(order);
+			unitOfWork.flush();
+			return SqlStatementCounter.counts();
+		}
+
+		void detachAll() {
+			entityManager.flush();
+			entityManager.clear();
+		}
+
+		private Order loadPersistedOrder(OrderTestDataBuilder builder) {
+			Order order = builder.build();
+			persistenceProvider.add(order);
+			detachAll();
+			return persistenceProvider.ofId(order.id()).orElseThrow();
+		}
+
+	}
+
+}
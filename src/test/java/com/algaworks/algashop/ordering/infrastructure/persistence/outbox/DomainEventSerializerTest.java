@@ -0,0 +1,81 @@
+package com.algaworks.algashop.ordering.infrastructure.persistence.outbox;
+
+import com.algaworks.algashop.ordering.domain.model.commons.Email;
+import com.algaworks.algashop.ordering.domain.model.commons.FullName;
+import com.algaworks.algashop.ordering.domain.model.customer.CustomerId;
+import com.algaworks.algashop.ordering.domain.model.customer.CustomerRegisteredEvent;
+import com.algaworks.algashop.ordering.domain.model.order.OrderId;
+import com.algaworks.algashop.ordering.domain.model.order.OrderPaidEvent;
+import com.algaworks.algashop.ordering.domain.model.product.ProductId;
+import com.algaworks.algashop.ordering.domain.model.shoppingcart.ShoppingCartId;
+import com.algaworks.algashop.ordering.domain.model.shoppingcart.ShoppingCartItemAddedEvent;
+import org.junit.jupiter.api.Test;
+
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+class DomainEventSerializerTest {
+
+	private static final OffsetDateTime NOW = OffsetDateTime.of(2025, 3, 14, 9, 26, 53, 0, ZoneOffset.ofHours(-3));
+
+	private final DomainEventSerializer serializer = new DomainEventSerializer();
+
+	@Test
+	void shouldNameEventsRelativeToTheDomainModel() {
+		OrderPaidEvent event = new OrderPaidEvent(new OrderId(), new CustomerId(), NOW);
+
+		assertThat(serializer.typeOf(event)).isEqualTo("order.OrderPaidEvent");
+	}
+
+	@Test
+	void shouldWriteValueObjectsAsBareValues() {
+		OrderId orderId = new OrderId();
+		CustomerId customerId = new CustomerId();
+		OrderPaidEvent event = new OrderPaidEvent(orderId, customerId, NOW);
+
+		String payload = serializer.serialize(event);
+
+		assertThat(payload).isEqualTo("{\"orderId\":%d,\"customerId\":\"%s\",\"paidAt\":\"2025-03-14T09:26:53-03:00\"}"
+				.formatted(orderId.value().toLong(), customerId.value()));
+		assertThat(payload.length()).isLessThan(120);
+	}
+
+	@Test
+	void shouldRoundTripOrderEvents() {
+		OrderPaidEvent event = new OrderPaidEvent(new OrderId(), new CustomerId(), NOW);
+
+		Object read = serializer.deserialize(serializer.typeOf(event), serializer.serialize(event));
+
+		assertThat(read).isEqualTo(event);
+	}
+
+	@Test
+	void shouldRoundTripCustomerEvents() {
+		CustomerRegisteredEvent event = new CustomerRegisteredEvent(new CustomerId(), NOW,
+				new FullName("John", "Doe"), new Email("john.doe@email.com"));
+
+		Object read = serializer.deserialize(serializer.typeOf(event), serializer.serialize(event));
+
+		assertThat(read).isEqualTo(event);
+	}
+
+	@Test
+	void shouldRoundTripShoppingCartEvents() {
+		ShoppingCartItemAddedEvent event = new ShoppingCartItemAddedEvent(new ShoppingCartId(), new CustomerId(),
+				new ProductId(), NOW);
+
+		Object read = serializer.deserialize(serializer.typeOf(event), serializer.serialize(event));
+
+		assertThat(read).isEqualTo(event);
+	}
+
+	@Test
+	void givenUnknownType_whenDeserialize_shouldFail() {
+		assertThatExceptionOfType(IllegalStateException.class)
+				.isThrownBy(() -> serializer.deserialize("order.OrderLostEvent", "{}"));
+	}
+
+}
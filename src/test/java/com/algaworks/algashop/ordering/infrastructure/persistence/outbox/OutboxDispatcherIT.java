@@ -0,0 +1,191 @@
+package com.algaworks.algashop.ordering.infrastructure.persistence.outbox;
+
+import com.algaworks.algashop.ordering.application.customer.loyaltypoints.CustomerLoyaltyPointsApplicationService;
+import com.algaworks.algashop.ordering.domain.model.customer.CustomerId;
+import com.algaworks.algashop.ordering.domain.model.order.OrderId;
+import com.algaworks.algashop.ordering.domain.model.order.OrderPlacedEvent;
+import com.algaworks.algashop.ordering.domain.model.order.OrderReadyEvent;
+import com.algaworks.algashop.ordering.infrastructure.listener.order.OrderEventListener;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = {
+		"algashop.events.delivery=OUTBOX",
+		"algashop.events.outbox.poll-interval=20ms",
+		"algashop.events.outbox.retry-backoff=50ms"
+})
+class OutboxDispatcherIT {
+
+	private static final long TIMEOUT = 5000;
+
+	@Autowired
+	private OutboxEventWriter writer;
+
+	@Autowired
+	private OutboxEventPersistenceEntityRepository repository;
+
+	@Autowired
+	private MeterRegistry meterRegistry;
+
+	@Autowired
+	private PlatformTransactionManager transactionManager;
+
+	@Autowired
+	private DomainEventSerializer serializer;
+
+	@Autowired
+	private ApplicationEventPublisher eventPublisher;
+
+	@MockitoSpyBean
+	private OrderEventListener orderEventListener;
+
+	@MockitoBean
+	private CustomerLoyaltyPointsApplicationService loyaltyPointsApplicationService;
+
+	@AfterEach
+	void awaitDrained() throws InterruptedException {
+		long deadline = System.currentTimeMillis() + TIMEOUT;
+		while (repository.count() > 0 && System.currentTimeMillis() < deadline) {
+			Thread.sleep(20);
+		}
+	}
+
+	@Test
+	void shouldDeliverOnlyAfterCommitAndOffTheCallerThread() {
+		AtomicReference<Thread> listenerThread = new AtomicReference<>();
+		Mockito.doAnswer(invocation -> {
+			listenerThread.set(Thread.currentThread());
+			return null;
+		}).when(orderEventListener).listen(Mockito.any(OrderPlacedEvent.class));
+
+		OrderPlacedEvent event = new OrderPlacedEvent(new OrderId(), new CustomerId(), OffsetDateTime.now());
+
+		inTransaction(() -> {
+			write(event.orderId(), event);
+			sleep(200);
+			Mockito.verify(orderEventListener, Mockito.never()).listen(Mockito.any(OrderPlacedEvent.class));
+		});
+
+		Mockito.verify(orderEventListener, Mockito.timeout(TIMEOUT)).listen(event);
+		assertThat(listenerThread.get()).isNotNull().isNotSameAs(Thread.currentThread());
+	}
+
+	@Test
+	void shouldDeliverEachAggregatesEventsInOrder() {
+		OrderId orderId = new OrderId();
+		CustomerId customerId = new CustomerId();
+		OrderPlacedEvent placed = new OrderPlacedEvent(orderId, customerId, OffsetDateTime.now());
+		OrderReadyEvent ready = new OrderReadyEvent(orderId, customerId, OffsetDateTime.now());
+
+		inTransaction(() -> {
+			write(orderId, placed);
+			write(orderId, ready);
+		});
+
+		InOrder inOrder = Mockito.inOrder(orderEventListener);
+		inOrder.verify(orderEventListener, Mockito.timeout(TIMEOUT)).listen(placed);
+		inOrder.verify(orderEventListener, Mockito.timeout(TIMEOUT)).listen(ready);
+	}
+
+	@Test
+	void givenListenerFailure_shouldRetryAndHoldBackTheAggregatesLaterEvents() {
+		double failedBefore = meterRegistry.get("outbox.events.failed").functionCounter().count();
+		Mockito.doThrow(new IllegalStateException("listener down"))
+				.doCallRealMethod()
+				.when(orderEventListener).listen(Mockito.any(OrderPlacedEvent.class));
+
+		OrderId orderId = new OrderId();
+		CustomerId customerId = new CustomerId();
+		OrderPlacedEvent placed = new OrderPlacedEvent(orderId, customerId, OffsetDateTime.now());
+		OrderReadyEvent ready = new OrderReadyEvent(orderId, customerId, OffsetDateTime.now());
+
+		inTransaction(() -> {
+			write(orderId, placed);
+			write(orderId, ready);
+		});
+
+		InOrder inOrder = Mockito.inOrder(orderEventListener);
+		inOrder.verify(orderEventListener, Mockito.timeout(TIMEOUT).times(2)).listen(placed);
+		inOrder.verify(orderEventListener, Mockito.timeout(TIMEOUT)).listen(ready);
+
+		assertThat(meterRegistry.get("outbox.events.failed").functionCounter().count()).isEqualTo(failedBefore + 1);
+	}
+
+	@Test
+	void givenTwoDispatchers_shouldDeliverEachEventOnceAndEachAggregatesEventsInOrder() throws InterruptedException {
+		Map<OrderId, List<OrderPlacedEvent>> delivered = new ConcurrentHashMap<>();
+		Mockito.doAnswer(invocation -> {
+			OrderPlacedEvent event = invocation.getArgument(0);
+			delivered.computeIfAbsent(event.orderId(), key -> Collections.synchronizedList(new ArrayList<>())).add(event);
+			sleep(2);
+			return null;
+		}).when(orderEventListener).listen(Mockito.any(OrderPlacedEvent.class));
+
+		OutboxDispatcher otherInstance = new OutboxDispatcher(repository, serializer, eventPublisher,
+				transactionManager, 5, Duration.ofMillis(5), 10, Duration.ofMillis(50), Duration.ofMinutes(1));
+		otherInstance.start();
+
+		try {
+			Map<OrderId, List<OrderPlacedEvent>> written = new LinkedHashMap<>();
+			for (int round = 0; round < 5; round++) {
+				inTransaction(() -> {
+					for (int aggregate = 0; aggregate < 20; aggregate++) {
+						OrderId orderId = new OrderId();
+						for (int i = 0; i < 5; i++) {
+							OrderPlacedEvent event = new OrderPlacedEvent(orderId, new CustomerId(), OffsetDateTime.now());
+							write(orderId, event);
+							written.computeIfAbsent(orderId, key -> new ArrayList<>()).add(event);
+						}
+					}
+				});
+			}
+
+			awaitDrained();
+
+			assertThat(repository.count()).isZero();
+			assertThat(delivered).containsExactlyInAnyOrderEntriesOf(written);
+		} finally {
+			otherInstance.stop();
+			otherInstance.destroy();
+		}
+	}
+
+	private void write(OrderId orderId, Object event) {
+		writer.listen(new PendingDomainEvent("Order", orderId.toString(), event));
+	}
+
+	private void inTransaction(Runnable action) {
+		new TransactionTemplate(transactionManager).executeWithoutResult(status -> action.run());
+	}
+
+	private static void sleep(long millis) {
+		try {
+			Thread.sleep(millis);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+}
@@ -0,0 +1,97 @@
+package com.algaworks.algashop.ordering.infrastructure.persistence.shoppingcart;
+
+import com.algaworks.algashop.ordering.application.shoppingcart.query.ShoppingCartOutput;
+import com.algaworks.algashop.ordering.domain.model.customer.CustomerTestDataBuilder;
+import com.algaworks.algashop.ordering.domain.model.shoppingcart.ShoppingCart;
+import com.algaworks.algashop.ordering.domain.model.shoppingcart.ShoppingCartTestDataBuilder;
+import com.algaworks.algashop.ordering.infrastructure.persistence.AggregateUnitOfWork;
+import com.algaworks.algashop.ordering.infrastructure.persistence.PersistenceProviderTestConfig;
+import com.algaworks.algashop.ordering.infrastructure.persistence.SpringDataAuditingConfig;
+import com.algaworks.algashop.ordering.infrastructure.persistence.SqlStatementCounter;
+import com.algaworks.algashop.ordering.infrastructure.persistence.customer.CustomerPersistenceEntityAssembler;
+import com.algaworks.algashop.ordering.infrastructure.persistence.customer.CustomerPersistenceEntityDisassembler;
+import com.algaworks.algashop.ordering.infrastructure.persistence.customer.CustomersPersistenceProvider;
+import com.algaworks.algashop.ordering.infrastructure.utility.mapper.MapperConfig;
+import com.algaworks.algashop.ordering.infrastructure.utility.modelmapper.ModelMapperConfig;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@Import({
+		ShoppingCartsPersistenceProvider.class,
+		ShoppingCartQueryServiceImpl.class,
+		ShoppingCartPersistenceEntityAssembler.class,
+		ShoppingCartPersistenceEntityDisassembler.class,
+		CustomersPersistenceProvider.class,
+		CustomerPersistenceEntityAssembler.class,
+		CustomerPersistenceEntityDisassembler.class,
+		ModelMapperConfig.class,
+		MapperConfig.class,
+		SpringDataAuditingConfig.class,
+		PersistenceProviderTestConfig.class
+})
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+class ShoppingCartAggregateLoadingIT {
+
+	private final ShoppingCartsPersistenceProvider persistenceProvider;
+	private final ShoppingCartQueryServiceImpl queryService;
+	private final CustomersPersistenceProvider customersPersistenceProvider;
+	private final AggregateUnitOfWork unitOfWork;
+	private final EntityManager entityManager;
+
+	private ShoppingCart shoppingCart;
+
+	@BeforeEach
+	void setup() {
+		if (!customersPersistenceProvider.exists(CustomerTestDataBuilder.DEFAULT_CUSTOMER_ID)) {
+			customersPersistenceProvider.add(CustomerTestDataBuilder.existingCustomer().build());
+		}
+
+		shoppingCart = ShoppingCartTestDataBuilder.aShoppingCart().build();
+		persistenceProvider.add(shoppingCart);
+		unitOfWork.flush();
+		entityManager.clear();
+		SqlStatementCounter.reset();
+	}
+
+	@Test
+	void givenPersistedCart_whenLoadAggregateById_shouldUseSingleSelect() {
+		ShoppingCart loaded = persistenceProvider.ofId(shoppingCart.id()).orElseThrow();
+
+		assertThat(loaded.items()).hasSize(2);
+		assertThat(SqlStatementCounter.counts().selects()).isEqualTo(1);
+	}
+
+	@Test
+	void givenPersistedCart_whenLoadAggregateByCustomer_shouldUseSingleSelect() {
+		ShoppingCart loaded = persistenceProvider.ofCustomer(shoppingCart.customerId()).orElseThrow();
+
+		assertThat(loaded.items()).hasSize(2);
+		assertThat(SqlStatementCounter.counts().selects()).isEqualTo(1);
+	}
+
+	@Test
+	void givenPersistedCart_whenQueryById_shouldUseSingleSelect() {
+		ShoppingCartOutput output = queryService.findById(shoppingCart.id().value());
+
+		assertThat(output.getItems()).hasSize(2);
+		assertThat(output.getCustomerId()).isEqualTo(shoppingCart.customerId().value());
+		assertThat(SqlStatementCounter.counts().selects()).isEqualTo(1);
+	}
+
+	@Test
+	void givenPersistedCart_whenQueryByCustomer_shouldUseSingleSelect() {
+		ShoppingCartOutput output = queryService.findByCustomerId(shoppingCart.customerId().value());
+
+		assertThat(output.getItems()).hasSize(2);
+		assertThat(SqlStatementCounter.counts().selects()).isEqualTo(1);
+	}
+
+}
@@ -0,0 +1,175 @@
+package com.algaworks.algashop.ordering.infrastructure.persistence.shoppingcart;
+
+import com.algaworks.algashop.ordering.domain.model.commons.Money;
+import com.algaworks.algashop.ordering.domain.model.customer.Customer;
+import com.algaworks.algashop.ordering.domain.model.customer.CustomerTestDataBuilder;
+import com.algaworks.algashop.ordering.domain.model.product.ProductId;
+import com.algaworks.algashop.ordering.domain.model.shoppingcart.ShoppingCartProductAdjustmentService.ProductAdjustment;
+import com.algaworks.algashop.ordering.infrastructure.persistence.PersistenceProviderTestConfig;
+import com.algaworks.algashop.ordering.infrastructure.persistence.SpringDataAuditingConfig;
+import com.algaworks.algashop.ordering.infrastructure.persistence.customer.CustomerPersistenceEntityAssembler;
+import com.algaworks.algashop.ordering.infrastructure.persistence.customer.CustomerPersistenceEntityDisassembler;
+import com.algaworks.algashop.ordering.infrastructure.persistence.customer.CustomersPersistenceProvider;
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Applies the same catalog feed to synthetic carts one product at a time, as a caller of {@code adjustPrice} and
+ * {@code changeAvailability} would, and then through {@code adjustProducts}, and checks both leave the carts with
+ * the same totals. Run with {@code gradle benchmark}.
+ */
+@DataJpaTest
+@Import({
+		ShoppingCartUpdateProvider.class,
+		CustomersPersistenceProvider.class,
+		CustomerPersistenceEntityAssembler.class,
+		CustomerPersistenceEntityDisassembler.class,
+		SpringDataAuditingConfig.class,
+		PersistenceProviderTestConfig.class
+})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+class ShoppingCartProductFeedBenchmark {
+
+	private static final int CARTS = Integer.getInteger("benchmark.carts", 10_000);
+	private static final int ITEMS_PER_CART = Integer.getInteger("benchmark.itemsPerCart", 5);
+	private static final int PRODUCTS = Integer.getInteger("benchmark.products", 20_000);
+	private static final int CHANGES = Integer.getInteger("benchmark.changes", 5_000);
+	private static final BigDecimal SEED_PRICE = new BigDecimal("100.00");
+
+	private final ShoppingCartUpdateProvider shoppingCartUpdateProvider;
+	private final CustomersPersistenceProvider customersPersistenceProvider;
+	private final JdbcTemplate jdbcTemplate;
+	private final PlatformTransactionManager transactionManager;
+
+	@Test
+	void compareProductAtATimeWithBatchedFeed() {
+		List<UUID> productIds = seed();
+		List<ProductAdjustment> feed = feed(productIds);
+
+		long start = System.nanoTime();
+		new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+			for (ProductAdjustment adjustment : feed) {
+				shoppingCartUpdateProvider.adjustPrice(adjustment.productId(), adjustment.price());
+				shoppingCartUpdateProvider.changeAvailability(adjustment.productId(), adjustment.available());
+			}
+		});
+		report("product at a time", System.nanoTime() - start, feed.size());
+		Map<UUID, BigDecimal> productAtATimeTotals = cartTotals();
+
+		resetPrices();
+
+		start = System.nanoTime();
+		shoppingCartUpdateProvider.adjustProducts(feed);
+		report("batched feed", System.nanoTime() - start, feed.size());
+
+		assertThat(cartTotals()).isEqualTo(productAtATimeTotals);
+	}
+
+	private List<UUID> seed() {
+		Customer customer = CustomerTestDataBuilder.brandNewCustomer().build();
+		new TransactionTemplate(transactionManager).executeWithoutResult(status -> customersPersistenceProvider.add(customer));
+
+		List<UUID> productIds = new ArrayList<>(PRODUCTS);
+		for (int i = 0; i < PRODUCTS; i++) {
+			productIds.add(UUID.randomUUID());
+		}
+
+		Random random = new Random(42);
+		List<Object[]> carts = new ArrayList<>(CARTS);
+		List<Object[]> items = new ArrayList<>(CARTS * ITEMS_PER_CART);
+		OffsetDateTime now = OffsetDateTime.now();
+
+		for (int i = 0; i < CARTS; i++) {
+			UUID cartId = UUID.randomUUID();
+			BigDecimal total = BigDecimal.ZERO;
+			int totalItems = 0;
+			for (int j = 0; j < ITEMS_PER_CART; j++) {
+				int quantity = 1 + random.nextInt(3);
+				BigDecimal itemTotal = SEED_PRICE.multiply(BigDecimal.valueOf(quantity));
+				items.add(new Object[]{UUID.randomUUID(), cartId, productIds.get(random.nextInt(PRODUCTS)), "Product",
+						SEED_PRICE, quantity, itemTotal, true});
+				total = total.add(itemTotal);
+				totalItems += quantity;
+			}
+			carts.add(new Object[]{cartId, customer.id().value(), total, totalItems, now, 0L});
+		}
+
+		long start = System.nanoTime();
+		jdbcTemplate.batchUpdate("""
+				INSERT INTO shopping_cart (id, customer_id, total_amount, total_items, created_at, version)
+				VALUES (?, ?, ?, ?, ?, ?)
+				""", carts);
+		jdbcTemplate.batchUpdate("""
+				INSERT INTO shopping_cart_item (id, shopping_cart_id, product_id, name, price, quantity, total_amount, available)
+				VALUES (?, ?, ?, ?, ?, ?, ?, ?)
+				""", items);
+		jdbcTemplate.execute("ANALYZE");
+
+		System.out.printf("seeded %d carts with %d items over %d products in %d ms%n", CARTS, items.size(), PRODUCTS,
+				(System.nanoTime() - start) / 1_000_000);
+
+		return productIds;
+	}
+
+	/**
+	 * A feed touching {@code CHANGES} products, with one change in ten repeated later with another price.
+	 */
+	private static List<ProductAdjustment> feed(List<UUID> productIds) {
+		Random random = new Random(7);
+		List<ProductAdjustment> feed = new ArrayList<>(CHANGES + CHANGES / 10);
+		for (int i = 0; i < CHANGES; i++) {
+			feed.add(adjustment(productIds.get(random.nextInt(productIds.size())), random));
+		}
+		for (int i = 0; i < CHANGES / 10; i++) {
+			feed.add(adjustment(feed.get(random.nextInt(CHANGES)).productId().value(), random));
+		}
+		return feed;
+	}
+
+	private static ProductAdjustment adjustment(UUID productId, Random random) {
+		return new ProductAdjustment(new ProductId(productId),
+				new Money(BigDecimal.valueOf(50 + random.nextInt(100))), random.nextInt(10) != 0);
+	}
+
+	private void resetPrices() {
+		jdbcTemplate.update("UPDATE shopping_cart_item SET price = ?, total_amount = ? * quantity, available = TRUE",
+				SEED_PRICE, SEED_PRICE);
+		jdbcTemplate.update("""
+				UPDATE shopping_cart sc
+				SET total_amount = (SELECT SUM(i.total_amount) FROM shopping_cart_item i WHERE i.shopping_cart_id = sc.id)
+				""");
+	}
+
+	private Map<UUID, BigDecimal> cartTotals() {
+		return jdbcTemplate.query("SELECT id, total_amount FROM shopping_cart", (rs, row) ->
+						Map.entry(rs.getObject(1, UUID.class), rs.getBigDecimal(2)))
+				.stream()
+				.collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue));
+	}
+
+	private static void report(String scenario, long elapsedNanos, int adjustments) {
+		System.out.printf("%-20s %8d ms %10.0f adjustments/s (%d adjustments)%n", scenario, elapsedNanos / 1_000_000,
+				adjustments / (elapsedNanos / 1_000_000_000.0), adjustments);
+	}
+
+}
@@ -0,0 +1,144 @@
+package com.algaworks.algashop.ordering.infrastructure.persistence.shoppingcart;
+
+import com.algaworks.algashop.ordering.domain.model.customer.Customer;
+import com.algaworks.algashop.ordering.domain.model.customer.CustomerTestDataBuilder;
+import com.algaworks.algashop.ordering.infrastructure.persistence.PersistenceProviderTestConfig;
+import com.algaworks.algashop.ordering.infrastructure.persistence.SpringDataAuditingConfig;
+import com.algaworks.algashop.ordering.infrastructure.persistence.customer.CustomerPersistenceEntityAssembler;
+import com.algaworks.algashop.ordering.infrastructure.persistence.customer.CustomerPersistenceEntityDisassembler;
+import com.algaworks.algashop.ordering.infrastructure.persistence.customer.CustomersPersistenceProvider;
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Reprices products over synthetic carts holding a million items, once with a correlated {@code SUM} recalculation
+ * of every cart holding the product and once with the price delta join-update, and checks every cart total still
+ * matches its items afterwards. Run with {@code gradle benchmark}.
+ */
+@DataJpaTest
+@Import({
+		CustomersPersistenceProvider.class,
+		CustomerPersistenceEntityAssembler.class,
+		CustomerPersistenceEntityDisassembler.class,
+		SpringDataAuditingConfig.class,
+		PersistenceProviderTestConfig.class
+})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+class ShoppingCartTotalsRecalculationBenchmark {
+
+	private static final int ITEMS = Integer.getInteger("benchmark.items", 1_000_000);
+	private static final int ITEMS_PER_CART = Integer.getInteger("benchmark.itemsPerCart", 5);
+	private static final int PRODUCTS = Integer.getInteger("benchmark.products", 20_000);
+	private static final int ITERATIONS = Integer.getInteger("benchmark.iterations", 100);
+
+	private static final String MISMATCHED_CARTS_SQL = """
+			SELECT COUNT(*)
+			FROM shopping_cart sc
+			WHERE sc.total_amount <> (SELECT SUM(i.total_amount) FROM shopping_cart_item i WHERE i.shopping_cart_id = sc.id)
+			""";
+
+	private static final String CORRELATED_SUM_SQL = """
+			UPDATE shopping_cart sc
+			SET total_amount = (SELECT SUM(i.total_amount) FROM shopping_cart_item i WHERE i.shopping_cart_id = sc.id)
+			WHERE EXISTS (SELECT 1 FROM shopping_cart_item i2 WHERE i2.shopping_cart_id = sc.id AND i2.product_id = ?)
+			""";
+
+	private final ShoppingCartPersistenceEntityRepository shoppingCartRepository;
+	private final CustomersPersistenceProvider customersPersistenceProvider;
+	private final JdbcTemplate jdbcTemplate;
+	private final PlatformTransactionManager transactionManager;
+
+	@Test
+	void compareCorrelatedSumWithPriceDelta() {
+		List<UUID> productIds = seed();
+		Random random = new Random(42);
+
+		report("correlated SUM", () -> {
+			UUID productId = productIds.get(random.nextInt(productIds.size()));
+			BigDecimal price = BigDecimal.valueOf(50 + random.nextInt(100));
+			shoppingCartRepository.updateItemPrice(productId, price);
+			jdbcTemplate.update(CORRELATED_SUM_SQL, productId);
+		});
+		assertThat(jdbcTemplate.queryForObject(MISMATCHED_CARTS_SQL, Long.class)).isZero();
+
+		report("price delta", () -> {
+			UUID productId = productIds.get(random.nextInt(productIds.size()));
+			BigDecimal price = BigDecimal.valueOf(50 + random.nextInt(100));
+			shoppingCartRepository.applyPriceDeltaToCartsWithProduct(productId, price);
+			shoppingCartRepository.updateItemPrice(productId, price);
+		});
+		assertThat(jdbcTemplate.queryForObject(MISMATCHED_CARTS_SQL, Long.class)).isZero();
+	}
+
+	private List<UUID> seed() {
+		Customer customer = CustomerTestDataBuilder.brandNewCustomer().build();
+		new TransactionTemplate(transactionManager).executeWithoutResult(status -> customersPersistenceProvider.add(customer));
+
+		int carts = ITEMS / ITEMS_PER_CART;
+		long start = System.nanoTime();
+
+		jdbcTemplate.execute("CREATE TABLE benchmark_product (n BIGINT PRIMARY KEY, id UUID) "
+				+ "AS SELECT X, RANDOM_UUID() FROM SYSTEM_RANGE(0, " + (PRODUCTS - 1) + ")");
+		jdbcTemplate.execute("CREATE TABLE benchmark_cart (n BIGINT PRIMARY KEY, id UUID) "
+				+ "AS SELECT X, RANDOM_UUID() FROM SYSTEM_RANGE(0, " + (carts - 1) + ")");
+
+		jdbcTemplate.update("""
+				INSERT INTO shopping_cart (id, customer_id, total_amount, total_items, created_at, version)
+				SELECT c.id, ?, 0, 0, CURRENT_TIMESTAMP, 0 FROM benchmark_cart c
+				""", customer.id().value());
+		jdbcTemplate.update("""
+				INSERT INTO shopping_cart_item (id, shopping_cart_id, product_id, name, price, quantity, total_amount, available)
+				SELECT RANDOM_UUID(), c.id, p.id, 'Product', 100, 1 + MOD(r.X, 3), 100 * (1 + MOD(r.X, 3)), TRUE
+				FROM SYSTEM_RANGE(0, ?) r
+				JOIN benchmark_cart c ON c.n = r.X / ?
+				JOIN benchmark_product p ON p.n = MOD(r.X * 7919, ?)
+				""", carts * ITEMS_PER_CART - 1, ITEMS_PER_CART, PRODUCTS);
+		jdbcTemplate.update("""
+				UPDATE shopping_cart sc SET
+				  total_amount = (SELECT SUM(i.total_amount) FROM shopping_cart_item i WHERE i.shopping_cart_id = sc.id),
+				  total_items = (SELECT SUM(i.quantity) FROM shopping_cart_item i WHERE i.shopping_cart_id = sc.id)
+				""");
+		jdbcTemplate.execute("ANALYZE");
+
+		List<UUID> productIds = jdbcTemplate.queryForList("SELECT id FROM benchmark_product", UUID.class);
+		jdbcTemplate.execute("DROP TABLE benchmark_product, benchmark_cart");
+
+		System.out.printf("seeded %d carts with %d items over %d products in %d ms%n", carts, carts * ITEMS_PER_CART,
+				PRODUCTS, (System.nanoTime() - start) / 1_000_000);
+
+		return productIds;
+	}
+
+	private void report(String scenario, Runnable reprice) {
+		TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+
+		for (int i = 0; i < Math.min(10, ITERATIONS); i++) {
+			transactionTemplate.executeWithoutResult(status -> reprice.run());
+		}
+
+		long start = System.nanoTime();
+		for (int i = 0; i < ITERATIONS; i++) {
+			transactionTemplate.executeWithoutResult(status -> reprice.run());
+		}
+		long elapsed = System.nanoTime() - start;
+
+		System.out.printf("%-16s %10.1f us/reprice (%d reprices)%n", scenario, elapsed / 1_000.0 / ITERATIONS, ITERATIONS);
+	}
+
+}
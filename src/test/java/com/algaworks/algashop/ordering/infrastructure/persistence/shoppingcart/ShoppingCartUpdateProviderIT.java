@@ -8,11 +8,17 @@ import com.algaworks.algashop.ordering.domain.model.product.ProductId;
 import com.algaworks.algashop.ordering.domain.model.product.ProductTestDataBuilder;
 import com.algaworks.algashop.ordering.domain.model.shoppingcart.ShoppingCart;
 import com.algaworks.algashop.ordering.domain.model.shoppingcart.ShoppingCartItem;
+import com.algaworks.algashop.ordering.domain.model.shoppingcart.ShoppingCartProductAdjustedEvent;
+import com.algaworks.algashop.ordering.domain.model.shoppingcart.ShoppingCartProductAdjustmentService.ProductAdjustment;
 import com.algaworks.algashop.ordering.domain.model.shoppingcart.ShoppingCartTestDataBuilder;
+import com.algaworks.algashop.ordering.domain.model.shoppingcart.ShoppingCartTotalsChangedEvent;
+import com.algaworks.algashop.ordering.infrastructure.persistence.PersistenceProviderTestConfig;
 import com.algaworks.algashop.ordering.infrastructure.persistence.customer.CustomerPersistenceEntityAssembler;
 import com.algaworks.algashop.ordering.infrastructure.persistence.customer.CustomersPersistenceProvider;
 import com.algaworks.algashop.ordering.infrastructure.persistence.SpringDataAuditingConfig;
 import com.algaworks.algashop.ordering.infrastructure.persistence.customer.CustomerPersistenceEntityDisassembler;
+import com.algaworks.algashop.ordering.infrastructure.persistence.outbox.DomainEventSerializer;
+import com.algaworks.algashop.ordering.infrastructure.persistence.outbox.OutboxEventWriter;
 import lombok.RequiredArgsConstructor;
 import org.assertj.core.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
@@ -21,9 +27,13 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.context.annotation.Import;
 import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.event.ApplicationEvents;
+import org.springframework.test.context.event.RecordApplicationEvents;
 import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.List;
+
 @DataJpaTest
 @Import({
 		ShoppingCartUpdateProvider.class,
@@ -33,9 +43,13 @@ import org.springframework.transaction.annotation.Transactional;
 		CustomersPersistenceProvider.class,
 		CustomerPersistenceEntityAssembler.class,
 		CustomerPersistenceEntityDisassembler.class,
-		SpringDataAuditingConfig.class
+		OutboxEventWriter.class,
+		DomainEventSerializer.class,
+		SpringDataAuditingConfig.class,
+		PersistenceProviderTestConfig.class
 })
 @DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+@RecordApplicationEvents
 @RequiredArgsConstructor(onConstructor_ = @Autowired)
 class ShoppingCartUpdateProviderIT {
 
@@ -130,4 +144,142 @@ class ShoppingCartUpdateProviderIT {
 
 	}
 
+	@Test
+	void shouldPublishAdjustedProductForEachAdjustment(ApplicationEvents applicationEvents) {
+		ProductId productId = new ProductId();
+
+		shoppingCartUpdateProvider.adjustPrice(productId, new Money("1500"));
+		shoppingCartUpdateProvider.changeAvailability(productId, false);
+
+		Assertions.assertThat(applicationEvents.stream(ShoppingCartProductAdjustedEvent.class))
+				.extracting(ShoppingCartProductAdjustedEvent::productId)
+				.containsExactly(productId, productId);
+	}
+
+	@Test
+	@Transactional(propagation = Propagation.NEVER)
+	void shouldApplyLatestAdjustmentOfEachProductAndRecalculateCarts() {
+		Product notebook = ProductTestDataBuilder.aProduct()
+				.price(new Money("2000"))
+				.inStock(true)
+				.build();
+
+		Product ramMemory = ProductTestDataBuilder.aProductAltRamMemory()
+				.price(new Money("200"))
+				.inStock(true)
+				.build();
+
+		ShoppingCart shoppingCart = ShoppingCartTestDataBuilder.aShoppingCart()
+				.withItems(false)
+				.build();
+		shoppingCart.addItem(notebook, new Quantity(2));
+		shoppingCart.addItem(ramMemory, new Quantity(1));
+		persistenceProvider.add(shoppingCart);
+
+		shoppingCartUpdateProvider.adjustProducts(List.of(
+				new ProductAdjustment(notebook.id(), new Money("1800"), true),
+				new ProductAdjustment(ramMemory.id(), new Money("250"), false),
+				new ProductAdjustment(notebook.id(), new Money("1500"), true),
+				new ProductAdjustment(new ProductId(), new Money("10"), true)
+		));
+
+		ShoppingCart updatedShoppingCart = persistenceProvider.ofId(shoppingCart.id()).orElseThrow();
+
+		ShoppingCartItem notebookItem = updatedShoppingCart.findItem(notebook.id());
+		Assertions.assertThat(notebookItem.price()).isEqualTo(new Money("1500"));
+		Assertions.assertThat(notebookItem.totalAmount()).isEqualTo(new Money("3000"));
+		Assertions.assertThat(notebookItem.isAvailable()).isTrue();
+
+		ShoppingCartItem ramMemoryItem = updatedShoppingCart.findItem(ramMemory.id());
+		Assertions.assertThat(ramMemoryItem.price()).isEqualTo(new Money("250"));
+		Assertions.assertThat(ramMemoryItem.isAvailable()).isFalse();
+
+		Assertions.assertThat(updatedShoppingCart.totalAmount()).isEqualTo(new Money("3250"));
+	}
+
+	@Test
+	void shouldPublishAdjustedProductOncePerProductInFeed(ApplicationEvents applicationEvents) {
+		ProductId productId = new ProductId();
+		ProductId otherProductId = new ProductId();
+
+		shoppingCartUpdateProvider.adjustProducts(List.of(
+				new ProductAdjustment(productId, new Money("1500"), true),
+				new ProductAdjustment(otherProductId, new Money("20"), true),
+				new ProductAdjustment(productId, new Money("1400"), false)
+		));
+
+		Assertions.assertThat(applicationEvents.stream(ShoppingCartProductAdjustedEvent.class))
+				.extracting(ShoppingCartProductAdjustedEvent::productId)
+				.containsExactly(productId, otherProductId);
+	}
+
+	@Test
+	@Transactional(propagation = Propagation.NEVER)
+	void givenPriceChange_shouldBumpCartVersionAndPublishNewTotals(ApplicationEvents applicationEvents) {
+		Product product = ProductTestDataBuilder.aProduct()
+				.price(new Money("2000"))
+				.build();
+
+		ShoppingCart shoppingCart = ShoppingCartTestDataBuilder.aShoppingCart()
+				.withItems(false)
+				.build();
+		shoppingCart.addItem(product, new Quantity(2));
+		persistenceProvider.add(shoppingCart);
+		Long versionBefore = entityRepository.findById(shoppingCart.id().value()).orElseThrow().getVersion();
+
+		shoppingCartUpdateProvider.adjustPrice(product.id(), new Money("1500"));
+
+		Assertions.assertThat(entityRepository.findById(shoppingCart.id().value()).orElseThrow().getVersion())
+				.isEqualTo(versionBefore + 1);
+		Assertions.assertThat(applicationEvents.stream(ShoppingCartTotalsChangedEvent.class))
+				.singleElement()
+				.satisfies(event -> {
+					Assertions.assertThat(event.shoppingCartId()).isEqualTo(shoppingCart.id());
+					Assertions.assertThat(event.customerId()).isEqualTo(shoppingCart.customerId());
+					Assertions.assertThat(event.totalAmount()).isEqualTo(new Money("3000"));
+					Assertions.assertThat(event.totalItems()).isEqualTo(new Quantity(2));
+				});
+	}
+
+	@Test
+	@Transactional(propagation = Propagation.NEVER)
+	void givenUnchangedPrice_shouldLeaveCartAlone(ApplicationEvents applicationEvents) {
+		Product product = ProductTestDataBuilder.aProduct()
+				.price(new Money("2000"))
+				.build();
+
+		ShoppingCart shoppingCart = ShoppingCartTestDataBuilder.aShoppingCart()
+				.withItems(false)
+				.build();
+		shoppingCart.addItem(product, new Quantity(2));
+		persistenceProvider.add(shoppingCart);
+		Long versionBefore = entityRepository.findById(shoppingCart.id().value()).orElseThrow().getVersion();
+
+		shoppingCartUpdateProvider.adjustPrice(product.id(), new Money("2000"));
+
+		Assertions.assertThat(entityRepository.findById(shoppingCart.id().value()).orElseThrow().getVersion())
+				.isEqualTo(versionBefore);
+		Assertions.assertThat(applicationEvents.stream(ShoppingCartTotalsChangedEvent.class)).isEmpty();
+	}
+
+	@Test
+	@Transactional(propagation = Propagation.NEVER)
+	void givenAvailabilityChange_shouldBumpCartVersion() {
+		Product product = ProductTestDataBuilder.aProduct()
+				.inStock(true)
+				.build();
+
+		ShoppingCart shoppingCart = ShoppingCartTestDataBuilder.aShoppingCart()
+				.withItems(false)
+				.build();
+		shoppingCart.addItem(product, new Quantity(1));
+		persistenceProvider.add(shoppingCart);
+		Long versionBefore = entityRepository.findById(shoppingCart.id().value()).orElseThrow().getVersion();
+
+		shoppingCartUpdateProvider.changeAvailability(product.id(), false);
+
+		Assertions.assertThat(entityRepository.findById(shoppingCart.id().value()).orElseThrow().getVersion())
+				.isEqualTo(versionBefore + 1);
+	}
+
 }
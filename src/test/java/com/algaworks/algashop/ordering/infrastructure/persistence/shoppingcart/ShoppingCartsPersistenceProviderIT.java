@@ -5,6 +5,7 @@ import com.algaworks.algashop.ordering.domain.model.customer.CustomerTestDataBui
 import com.algaworks.algashop.ordering.domain.model.shoppingcart.ShoppingCart;
 import com.algaworks.algashop.ordering.domain.model.shoppingcart.ShoppingCartTestDataBuilder;
 import com.algaworks.algashop.ordering.domain.model.customer.CustomerId;
+import com.algaworks.algashop.ordering.infrastructure.persistence.PersistenceProviderTestConfig;
 import com.algaworks.algashop.ordering.infrastructure.persistence.customer.CustomerPersistenceEntityAssembler;
 import com.algaworks.algashop.ordering.infrastructure.persistence.customer.CustomersPersistenceProvider;
 import com.algaworks.algashop.ordering.infrastructure.persistence.SpringDataAuditingConfig;
@@ -29,7 +30,8 @@ import static org.assertj.core.api.Assertions.assertThatNoException;
 		CustomersPersistenceProvider.class,
 		CustomerPersistenceEntityAssembler.class,
 		CustomerPersistenceEntityDisassembler.class,
-		SpringDataAuditingConfig.class
+		SpringDataAuditingConfig.class,
+		PersistenceProviderTestConfig.class
 })
 @RequiredArgsConstructor(onConstructor_ = @Autowired)
 class ShoppingCartsPersistenceProviderIT {
@@ -106,7 +108,7 @@ class ShoppingCartsPersistenceProviderIT {
 		ShoppingCart cart1 = ShoppingCartTestDataBuilder.aShoppingCart().build();
 		persistenceProvider.add(cart1);
 
-		Customer otherCustomer = CustomerTestDataBuilder.existingCustomer().id(new CustomerId()).build();
+		Customer otherCustomer = CustomerTestDataBuilder.existingCustomer().id(new CustomerId()).email(CustomerTestDataBuilder.uniqueEmail()).build();
 		customersPersistenceProvider.add(otherCustomer);
 
 		ShoppingCart cart2 = ShoppingCartTestDataBuilder.aShoppingCart().customerId(otherCustomer.id()).build();
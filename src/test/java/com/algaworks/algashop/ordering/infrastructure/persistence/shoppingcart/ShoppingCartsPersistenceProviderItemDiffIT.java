@@ -0,0 +1,128 @@
+package com.algaworks.algashop.ordering.infrastructure.persistence.shoppingcart;
+
+import com.algaworks.algashop.ordering.domain.model.commons.Quantity;
+import com.algaworks.algashop.ordering.domain.model.customer.CustomerTestDataBuilder;
+import com.algaworks.algashop.ordering.domain.model.product.ProductTestDataBuilder;
+import com.algaworks.algashop.ordering.domain.model.shoppingcart.ShoppingCart;
+import com.algaworks.algashop.ordering.domain.model.shoppingcart.ShoppingCartItem;
+import com.algaworks.algashop.ordering.domain.model.shoppingcart.ShoppingCartTestDataBuilder;
+import com.algaworks.algashop.ordering.infrastructure.persistence.AggregateUnitOfWork;
+import com.algaworks.algashop.ordering.infrastructure.persistence.PersistenceProviderTestConfig;
+import com.algaworks.algashop.ordering.infrastructure.persistence.SpringDataAuditingConfig;
+import com.algaworks.algashop.ordering.infrastructure.persistence.SqlStatementCounter;
+import com.algaworks.algashop.ordering.infrastructure.persistence.customer.CustomerPersistenceEntityAssembler;
+import com.algaworks.algashop.ordering.infrastructure.persistence.customer.CustomerPersistenceEntityDisassembler;
+import com.algaworks.algashop.ordering.infrastructure.persistence.customer.CustomersPersistenceProvider;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Counts the SQL issued when a 50-item cart changes. Rows are counted through Hibernate statistics
+ * because JDBC batching folds rows of the same table into one statement.
+ */
+@DataJpaTest
+@Import({
+		ShoppingCartsPersistenceProvider.class,
+		ShoppingCartPersistenceEntityAssembler.class,
+		ShoppingCartPersistenceEntityDisassembler.class,
+		CustomersPersistenceProvider.class,
+		CustomerPersistenceEntityAssembler.class,
+		CustomerPersistenceEntityDisassembler.class,
+		SpringDataAuditingConfig.class,
+		PersistenceProviderTestConfig.class
+})
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+class ShoppingCartsPersistenceProviderItemDiffIT {
+
+	private static final int CART_ITEMS = 50;
+
+	private final ShoppingCartsPersistenceProvider persistenceProvider;
+	private final CustomersPersistenceProvider customersPersistenceProvider;
+	private final AggregateUnitOfWork unitOfWork;
+	private final EntityManager entityManager;
+
+	private Statistics statistics;
+
+	@BeforeEach
+	void setup() {
+		if (!customersPersistenceProvider.exists(CustomerTestDataBuilder.DEFAULT_CUSTOMER_ID)) {
+			customersPersistenceProvider.add(CustomerTestDataBuilder.existingCustomer().build());
+		}
+
+		statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+		statistics.setStatisticsEnabled(true);
+	}
+
+	@Test
+	void givenFiftyItemCart_whenChangeOneQuantity_shouldUpdateOnlyCartAndChangedItem() {
+		ShoppingCart shoppingCart = loadPersistedCart();
+		ShoppingCartItem item = shoppingCart.items().iterator().next();
+		shoppingCart.changeItemQuantity(item.id(), new Quantity(item.quantity().value() + 1));
+
+		SqlStatementCounter.Counts counts = addAndCount(shoppingCart);
+
+		assertThat(counts.selects()).isZero();
+		assertThat(counts.updates()).isEqualTo(2);
+		assertThat(counts.total()).isEqualTo(2);
+		assertThat(statistics.getEntityUpdateCount()).isEqualTo(2);
+		assertThat(statistics.getEntityInsertCount()).isZero();
+		assertThat(statistics.getEntityDeleteCount()).isZero();
+	}
+
+	@Test
+	void givenFiftyItemCart_whenAddItem_shouldInsertOnlyNewItem() {
+		ShoppingCart shoppingCart = loadPersistedCart();
+		shoppingCart.addItem(ProductTestDataBuilder.aProductAltMousePad().build(), new Quantity(1));
+
+		addAndCount(shoppingCart);
+
+		assertThat(statistics.getEntityInsertCount()).isEqualTo(1);
+		assertThat(statistics.getEntityDeleteCount()).isZero();
+		assertThat(statistics.getEntityUpdateCount()).isEqualTo(1);
+	}
+
+	@Test
+	void givenFiftyItemCart_whenRemoveItem_shouldDeleteOnlyRemovedItem() {
+		ShoppingCart shoppingCart = loadPersistedCart();
+		shoppingCart.removeItem(shoppingCart.items().iterator().next().id());
+
+		addAndCount(shoppingCart);
+
+		assertThat(statistics.getEntityDeleteCount()).isEqualTo(1);
+		assertThat(statistics.getEntityInsertCount()).isZero();
+		assertThat(statistics.getEntityUpdateCount()).isEqualTo(1);
+	}
+
+	private ShoppingCart loadPersistedCart() {
+		ShoppingCart shoppingCart = ShoppingCartTestDataBuilder.aShoppingCart().withItems(false).build();
+		for (int i = 0; i < CART_ITEMS; i++) {
+			shoppingCart.addItem(ProductTestDataBuilder.aProductAltMousePad().build(), new Quantity(1));
+		}
+
+		persistenceProvider.add(shoppingCart);
+		unitOfWork.flush();
+		entityManager.clear();
+
+		return persistenceProvider.ofId(shoppingCart.id()).orElseThrow();
+	}
+
+	private SqlStatementCounter.Counts addAndCount(ShoppingCart shoppingCart) {
+		SqlStatementCounter.reset();
+		statistics.clear();
+
+		persistenceProvider.add(shoppingCart);
+		unitOfWork.flush();
+
+		return SqlStatementCounter.counts();
+	}
+
+}
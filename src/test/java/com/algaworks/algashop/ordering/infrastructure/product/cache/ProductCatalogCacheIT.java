@@ -0,0 +1,41 @@
+package com.algaworks.algashop.ordering.infrastructure.product.cache;
+
+import com.algaworks.algashop.ordering.domain.model.product.ProductCatalogService;
+import com.algaworks.algashop.ordering.domain.model.product.ProductId;
+import com.algaworks.algashop.ordering.domain.model.shoppingcart.ShoppingCartProductAdjustedEvent;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.time.OffsetDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = "algashop.integrations.product.catalog.cache.enabled=true")
+class ProductCatalogCacheIT {
+
+	@Autowired
+	private ProductCatalogService productCatalogService;
+
+	@Autowired
+	private ProductCatalogCache productCatalogCache;
+
+	@Autowired
+	private ApplicationEventPublisher applicationEventPublisher;
+
+	@Test
+	void givenAdjustedProduct_whenGetAgain_shouldLoadFromCatalog() {
+		ProductId productId = new ProductId();
+		int sizeBefore = productCatalogCache.size();
+
+		assertThat(productCatalogService).isInstanceOf(CachingProductCatalogService.class);
+		productCatalogService.ofId(productId);
+		assertThat(productCatalogCache.size()).isEqualTo(sizeBefore + 1);
+
+		applicationEventPublisher.publishEvent(new ShoppingCartProductAdjustedEvent(productId, OffsetDateTime.now()));
+
+		assertThat(productCatalogCache.size()).isEqualTo(sizeBefore);
+	}
+
+}
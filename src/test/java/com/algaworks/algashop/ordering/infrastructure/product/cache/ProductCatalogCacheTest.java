@@ -0,0 +1,116 @@
+package com.algaworks.algashop.ordering.infrastructure.product.cache;
+
+import com.algaworks.algashop.ordering.domain.model.product.Product;
+import com.algaworks.algashop.ordering.domain.model.product.ProductId;
+import com.algaworks.algashop.ordering.domain.model.product.ProductTestDataBuilder;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ProductCatalogCacheTest {
+
+	private final AtomicInteger loads = new AtomicInteger();
+	private final Product product = ProductTestDataBuilder.aProduct().build();
+
+	@Test
+	void givenCachedProduct_whenGetAgain_shouldNotLoad() {
+		ProductCatalogCache cache = new ProductCatalogCache(Duration.ofMinutes(1), 10);
+
+		assertThat(cache.get(product.id(), this::load)).contains(product);
+		assertThat(cache.get(product.id(), this::load)).contains(product);
+		assertThat(loads).hasValue(1);
+	}
+
+	@Test
+	void givenInvalidatedOrExpiredProduct_whenGet_shouldLoadAgain() throws InterruptedException {
+		ProductCatalogCache cache = new ProductCatalogCache(Duration.ofMillis(20), 10);
+		cache.get(product.id(), this::load);
+
+		cache.invalidate(product.id());
+		cache.get(product.id(), this::load);
+		Thread.sleep(40);
+		cache.get(product.id(), this::load);
+
+		assertThat(loads).hasValue(3);
+	}
+
+	@Test
+	void givenUnknownProduct_whenGet_shouldNotKeepIt() {
+		ProductCatalogCache cache = new ProductCatalogCache(Duration.ofMinutes(1), 10);
+
+		assertThat(cache.get(new ProductId(), id -> Optional.empty())).isEmpty();
+		assertThat(cache.size()).isZero();
+	}
+
+	@Test
+	void givenConcurrentMisses_whenGet_shouldLoadOnce() throws Exception {
+		ProductCatalogCache cache = new ProductCatalogCache(Duration.ofMinutes(1), 10);
+		CountDownLatch loaderStarted = new CountDownLatch(1);
+		CountDownLatch releaseLoader = new CountDownLatch(1);
+
+		try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+			List<Future<Optional<Product>>> results = new ArrayList<>();
+			results.add(executor.submit(() -> cache.get(product.id(), id -> {
+				loaderStarted.countDown();
+				await(releaseLoader);
+				return load(id);
+			})));
+			assertThat(loaderStarted.await(5, TimeUnit.SECONDS)).isTrue();
+
+			for (int i = 0; i < 10; i++) {
+				results.add(executor.submit(() -> cache.get(product.id(), this::load)));
+			}
+			releaseLoader.countDown();
+
+			for (Future<Optional<Product>> result : results) {
+				assertThat(result.get(5, TimeUnit.SECONDS)).contains(product);
+			}
+		}
+
+		assertThat(loads).hasValue(1);
+	}
+
+	@Test
+	void givenFullCache_whenLoadNewProducts_shouldStayWithinMaximumSizeAndReportMetrics() {
+		ProductCatalogCache cache = new ProductCatalogCache(Duration.ofMinutes(1), 3);
+		SimpleMeterRegistry registry = new SimpleMeterRegistry();
+		cache.bindTo(registry);
+
+		for (int i = 0; i < 10; i++) {
+			cache.get(new ProductId(), id -> Optional.of(ProductTestDataBuilder.aProduct().id(id).build()));
+		}
+		cache.get(product.id(), this::load);
+		cache.get(product.id(), this::load);
+
+		assertThat(cache.size()).isLessThanOrEqualTo(3);
+		assertThat(registry.get("cache.gets").tag("result", "miss").functionCounter().count()).isEqualTo(11);
+		assertThat(registry.get("cache.gets").tag("result", "hit").functionCounter().count()).isEqualTo(1);
+		assertThat(registry.get("cache.evictions").functionCounter().count()).isEqualTo(8);
+	}
+
+	private Optional<Product> load(ProductId productId) {
+		loads.incrementAndGet();
+		return Optional.of(product);
+	}
+
+	private static void await(CountDownLatch latch) {
+		try {
+			latch.await(5, TimeUnit.SECONDS);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+}
@@ -0,0 +1,115 @@
+package com.algaworks.algashop.ordering.infrastructure.shipping.client.rapidex;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Local stand-in for RapiDex's delivery cost endpoint. Every quote waits {@code latency} plus up to
+ * {@code latencyJitter}, and fails with a 503 with probability {@code errorRate}. Embed it in tests, or run it
+ * for load tests with {@code gradle rapiDexStub -Drapidex.stub.port=8780 -Drapidex.stub.latency=PT0.2S
+ * -Drapidex.stub.latency-jitter=PT0.1S -Drapidex.stub.error-rate=0.05}.
+ */
+public class RapiDexStubServer implements AutoCloseable {
+
+	private static final String QUOTE = "{\"deliveryCost\":\"15.00\",\"estimatedDaysToDeliver\":4}";
+
+	static {
+		// Headers and body go out as separate writes; with Nagle on, each quote would stall on a delayed ACK.
+		System.setProperty("sun.net.httpserver.nodelay", "true");
+	}
+
+	private final HttpServer server;
+	private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+	private final AtomicLong requests = new AtomicLong();
+
+	private volatile Duration latency;
+	private volatile Duration latencyJitter;
+	private volatile double errorRate;
+
+	public RapiDexStubServer(int port, Duration latency, Duration latencyJitter, double errorRate) throws IOException {
+		this.latency = latency;
+		this.latencyJitter = latencyJitter;
+		this.errorRate = errorRate;
+
+		server = HttpServer.create(new InetSocketAddress("localhost", port), 0);
+		server.createContext("/api/delivery-cost", this::quote);
+		server.setExecutor(executor);
+		server.start();
+	}
+
+	public static void main(String[] args) throws IOException {
+		RapiDexStubServer server = new RapiDexStubServer(
+				Integer.getInteger("rapidex.stub.port", 8780),
+				Duration.parse(System.getProperty("rapidex.stub.latency", "PT0.2S")),
+				Duration.parse(System.getProperty("rapidex.stub.latency-jitter", "PT0S")),
+				Double.parseDouble(System.getProperty("rapidex.stub.error-rate", "0")));
+
+		System.out.printf("RapiDex stub listening on %s%n", server.url());
+	}
+
+	public String url() {
+		return "http://localhost:" + server.getAddress().getPort();
+	}
+
+	public long requests() {
+		return requests.get();
+	}
+
+	public void latency(Duration latency) {
+		this.latency = latency;
+	}
+
+	public void errorRate(double errorRate) {
+		this.errorRate = errorRate;
+	}
+
+	@Override
+	public void close() {
+		server.stop(0);
+		executor.close();
+	}
+
+	private void quote(HttpExchange exchange) throws IOException {
+		requests.incrementAndGet();
+		try (exchange) {
+			exchange.getRequestBody().readAllBytes();
+			pause();
+
+			if (ThreadLocalRandom.current().nextDouble() < errorRate) {
+				exchange.sendResponseHeaders(503, -1);
+				return;
+			}
+
+			byte[] body = QUOTE.getBytes(StandardCharsets.UTF_8);
+			exchange.getResponseHeaders().add("Content-Type", "application/json");
+			exchange.sendResponseHeaders(200, body.length);
+			try (OutputStream outputStream = exchange.getResponseBody()) {
+				outputStream.write(body);
+			}
+		}
+	}
+
+	private void pause() {
+		long jitterNanos = latencyJitter.toNanos();
+		long pauseNanos = latency.toNanos() + (jitterNanos > 0 ? ThreadLocalRandom.current().nextLong(jitterNanos) : 0);
+		if (pauseNanos <= 0) {
+			return;
+		}
+		try {
+			Thread.sleep(Duration.ofNanos(pauseNanos));
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+}
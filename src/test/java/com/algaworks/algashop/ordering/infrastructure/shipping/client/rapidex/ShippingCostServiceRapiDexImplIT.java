@@ -0,0 +1,114 @@
+package com.algaworks.algashop.ordering.infrastructure.shipping.client.rapidex;
+
+import com.algaworks.algashop.ordering.domain.model.commons.Money;
+import com.algaworks.algashop.ordering.domain.model.commons.ZipCode;
+import com.algaworks.algashop.ordering.domain.model.order.shipping.ShippingCostService;
+import com.algaworks.algashop.ordering.domain.model.order.shipping.ShippingCostService.CalculationRequest;
+import com.algaworks.algashop.ordering.domain.model.order.shipping.ShippingCostService.CalculationResult;
+import com.algaworks.algashop.ordering.infrastructure.utility.resilience.CircuitBreaker;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = {
+		"algashop.integrations.shipping.provider=RAPIDEX",
+		"algashop.integrations.rapidex.read-timeout=300ms",
+		"algashop.integrations.rapidex.circuit-breaker.sliding-window-size=4",
+		"algashop.integrations.rapidex.circuit-breaker.minimum-calls=4",
+		"algashop.integrations.rapidex.circuit-breaker.open-duration=1m",
+		"algashop.integrations.rapidex.fallback.cost=25.00",
+		"algashop.integrations.rapidex.fallback.days-to-deliver=9"
+})
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+class ShippingCostServiceRapiDexImplIT {
+
+	private static final ZipCode ORIGIN = new ZipCode("12345");
+	private static final AtomicInteger DESTINATIONS = new AtomicInteger(10000);
+	private static final RapiDexStubServer RAPIDEX = startStub();
+
+	@Autowired
+	private ShippingCostService shippingCostService;
+
+	@Autowired
+	private CircuitBreaker rapiDexCircuitBreaker;
+
+	@DynamicPropertySource
+	static void rapiDexUrl(DynamicPropertyRegistry registry) {
+		registry.add("algashop.integrations.rapidex.url", RAPIDEX::url);
+	}
+
+	@BeforeEach
+	void resetStub() {
+		RAPIDEX.latency(Duration.ZERO);
+		RAPIDEX.errorRate(0);
+	}
+
+	@AfterAll
+	static void stopStub() {
+		RAPIDEX.close();
+	}
+
+	@Test
+	void shouldQuoteFromRapiDex() {
+		CalculationResult result = calculate();
+
+		assertThat(result.cost()).isEqualTo(new Money("15.00"));
+		assertThat(result.expectedDate()).isEqualTo(LocalDate.now().plusDays(4));
+	}
+
+	@Test
+	void givenSlowRapiDex_whenCalculate_shouldFallBackToFlatRateAfterReadTimeout() {
+		RAPIDEX.latency(Duration.ofSeconds(2));
+
+		long start = System.nanoTime();
+		CalculationResult result = calculate();
+
+		assertThat(Duration.ofNanos(System.nanoTime() - start)).isLessThan(Duration.ofSeconds(1));
+		assertThat(result.cost()).isEqualTo(new Money("25.00"));
+		assertThat(result.expectedDate()).isEqualTo(LocalDate.now().plusDays(9));
+	}
+
+	@Test
+	void givenFailingRapiDex_whenCalculateRepeatedly_shouldOpenCircuitAndStopCalling() {
+		RAPIDEX.errorRate(1);
+
+		for (int i = 0; i < 4; i++) {
+			assertThat(calculate().cost()).isEqualTo(new Money("25.00"));
+		}
+		long requestsWhenOpened = RAPIDEX.requests();
+
+		for (int i = 0; i < 10; i++) {
+			assertThat(calculate().cost()).isEqualTo(new Money("25.00"));
+		}
+
+		assertThat(rapiDexCircuitBreaker.state()).isEqualTo(CircuitBreaker.State.OPEN);
+		assertThat(RAPIDEX.requests()).isEqualTo(requestsWhenOpened);
+	}
+
+	private CalculationResult calculate() {
+		ZipCode destination = new ZipCode(String.valueOf(DESTINATIONS.incrementAndGet()));
+		return shippingCostService.calculate(new CalculationRequest(ORIGIN, destination));
+	}
+
+	private static RapiDexStubServer startStub() {
+		try {
+			return new RapiDexStubServer(0, Duration.ZERO, Duration.ZERO, 0);
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+}
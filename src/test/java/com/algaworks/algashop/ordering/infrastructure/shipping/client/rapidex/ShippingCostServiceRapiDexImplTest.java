@@ -0,0 +1,118 @@
+package com.algaworks.algashop.ordering.infrastructure.shipping.client.rapidex;
+
+import com.algaworks.algashop.ordering.domain.model.commons.Money;
+import com.algaworks.algashop.ordering.domain.model.commons.ZipCode;
+import com.algaworks.algashop.ordering.domain.model.order.shipping.ShippingCostService.CalculationRequest;
+import com.algaworks.algashop.ordering.domain.model.order.shipping.ShippingCostService.CalculationResult;
+import com.algaworks.algashop.ordering.infrastructure.utility.cache.SingleFlightCache;
+import com.algaworks.algashop.ordering.infrastructure.utility.resilience.Bulkhead;
+import com.algaworks.algashop.ordering.infrastructure.utility.resilience.CircuitBreaker;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.ResourceAccessException;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+
+class ShippingCostServiceRapiDexImplTest {
+
+	private static final ZipCode ORIGIN = new ZipCode("12345");
+
+	private final RapiDexApiClient rapiDexApiClient = Mockito.mock(RapiDexApiClient.class);
+	private final CircuitBreaker circuitBreaker = new RapiDexApiClientConfig()
+			.rapiDexCircuitBreaker(50, 2, 2, Duration.ofSeconds(30), 3);
+	private final ShippingCostServiceRapiDexImpl shippingCostService = new ShippingCostServiceRapiDexImpl(
+			rapiDexApiClient,
+			new SingleFlightCache<>("rapiDexQuote", Duration.ofMinutes(10), 100),
+			new Bulkhead("rapiDex", 20, Duration.ofMillis(100)),
+			circuitBreaker,
+			"20.00",
+			7);
+
+	@Test
+	void givenSameRoute_whenCalculateAgain_shouldReuseQuote() {
+		Mockito.when(rapiDexApiClient.calculate(any())).thenReturn(new DeliveryCostResponse("20.50", 3L));
+
+		CalculationResult first = shippingCostService.calculate(new CalculationRequest(ORIGIN, new ZipCode("70283")));
+		CalculationResult second = shippingCostService.calculate(new CalculationRequest(ORIGIN, new ZipCode("70283")));
+		shippingCostService.calculate(new CalculationRequest(ORIGIN, new ZipCode("70284")));
+
+		assertThat(second).isEqualTo(first);
+		assertThat(first.cost()).isEqualTo(new Money("20.50"));
+		assertThat(first.expectedDate()).isEqualTo(LocalDate.now().plusDays(3));
+		Mockito.verify(rapiDexApiClient, Mockito.times(2)).calculate(any());
+	}
+
+	@Test
+	void givenConcurrentQuotesForSameRoute_whenCalculate_shouldCallRapiDexOnce() throws Exception {
+		CountDownLatch callStarted = new CountDownLatch(1);
+		CountDownLatch releaseCall = new CountDownLatch(1);
+		Mockito.when(rapiDexApiClient.calculate(any())).thenAnswer(invocation -> {
+			callStarted.countDown();
+			releaseCall.await(5, TimeUnit.SECONDS);
+			return new DeliveryCostResponse("20.50", 3L);
+		});
+
+		try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+			List<Future<CalculationResult>> results = new ArrayList<>();
+			results.add(executor.submit(() -> shippingCostService.calculate(
+					new CalculationRequest(ORIGIN, new ZipCode("70283")))));
+			assertThat(callStarted.await(5, TimeUnit.SECONDS)).isTrue();
+
+			for (int i = 0; i < 10; i++) {
+				results.add(executor.submit(() -> shippingCostService.calculate(
+						new CalculationRequest(ORIGIN, new ZipCode("70283")))));
+			}
+			releaseCall.countDown();
+
+			for (Future<CalculationResult> result : results) {
+				assertThat(result.get(5, TimeUnit.SECONDS).cost()).isEqualTo(new Money("20.50"));
+			}
+		}
+
+		Mockito.verify(rapiDexApiClient, Mockito.times(1)).calculate(any());
+	}
+
+	@Test
+	void givenRapiDexUnavailable_whenCalculate_shouldUseTheFlatRate() {
+		Mockito.when(rapiDexApiClient.calculate(any()))
+				.thenThrow(new HttpServerErrorException(HttpStatus.SERVICE_UNAVAILABLE))
+				.thenThrow(new ResourceAccessException("Read timed out"));
+
+		CalculationResult serverError = shippingCostService.calculate(new CalculationRequest(ORIGIN, new ZipCode("70283")));
+		CalculationResult timeout = shippingCostService.calculate(new CalculationRequest(ORIGIN, new ZipCode("70284")));
+
+		assertThat(serverError.cost()).isEqualTo(new Money("20.00"));
+		assertThat(timeout.cost()).isEqualTo(new Money("20.00"));
+		assertThat(circuitBreaker.state()).isEqualTo(CircuitBreaker.State.OPEN);
+	}
+
+	@Test
+	void givenRequestRejectedByRapiDex_whenCalculate_shouldPropagateAndKeepTheBreakerClosed() {
+		Mockito.when(rapiDexApiClient.calculate(any()))
+				.thenThrow(new HttpClientErrorException(HttpStatus.BAD_REQUEST));
+
+		for (String destination : List.of("70283", "70284", "70285")) {
+			assertThatThrownBy(() -> shippingCostService.calculate(
+					new CalculationRequest(ORIGIN, new ZipCode(destination))))
+					.isInstanceOf(HttpClientErrorException.class);
+		}
+
+		assertThat(circuitBreaker.state()).isEqualTo(CircuitBreaker.State.CLOSED);
+	}
+
+}
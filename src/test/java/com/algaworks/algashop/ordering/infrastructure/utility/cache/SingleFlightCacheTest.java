@@ -0,0 +1,183 @@
+package com.algaworks.algashop.ordering.infrastructure.utility.cache;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SingleFlightCacheTest {
+
+	private final AtomicInteger loads = new AtomicInteger();
+
+	@Test
+	void givenConcurrentMisses_whenGet_shouldLoadOnce() throws Exception {
+		SingleFlightCache<String, String> cache = new SingleFlightCache<>("test", Duration.ofMinutes(1), 10);
+		CountDownLatch loaderStarted = new CountDownLatch(1);
+		CountDownLatch releaseLoader = new CountDownLatch(1);
+
+		try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+			List<Future<String>> results = new ArrayList<>();
+			results.add(executor.submit(() -> cache.get("a", key -> {
+				loaderStarted.countDown();
+				await(releaseLoader);
+				return load(key);
+			})));
+			assertThat(loaderStarted.await(5, TimeUnit.SECONDS)).isTrue();
+
+			for (int i = 0; i < 10; i++) {
+				results.add(executor.submit(() -> cache.get("a", this::load)));
+			}
+			releaseLoader.countDown();
+
+			for (Future<String> result : results) {
+				assertThat(result.get(5, TimeUnit.SECONDS)).isEqualTo("value-a");
+			}
+		}
+
+		assertThat(loads).hasValue(1);
+	}
+
+	@Test
+	void givenFailingLoad_whenGet_shouldFailWaitingCallersAndLoadAgainLater() throws Exception {
+		SingleFlightCache<String, String> cache = new SingleFlightCache<>("test", Duration.ofMinutes(1), 10);
+		SimpleMeterRegistry registry = new SimpleMeterRegistry();
+		cache.bindTo(registry);
+		CountDownLatch loaderStarted = new CountDownLatch(1);
+		CountDownLatch releaseLoader = new CountDownLatch(1);
+
+		try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+			Future<String> loader = executor.submit(() -> cache.get("a", key -> {
+				loaderStarted.countDown();
+				await(releaseLoader);
+				throw new IllegalStateException("catalog down");
+			}));
+			assertThat(loaderStarted.await(5, TimeUnit.SECONDS)).isTrue();
+			Future<String> waiter = executor.submit(() -> cache.get("a", this::load));
+			while (registry.get("cache.gets").tag("result", "hit").functionCounter().count() < 1) {
+				Thread.onSpinWait();
+			}
+			releaseLoader.countDown();
+
+			assertThatThrownBy(() -> loader.get(5, TimeUnit.SECONDS))
+					.isInstanceOf(ExecutionException.class)
+					.hasCauseInstanceOf(IllegalStateException.class);
+			assertThatThrownBy(() -> waiter.get(5, TimeUnit.SECONDS))
+					.isInstanceOf(ExecutionException.class)
+					.hasCauseInstanceOf(IllegalStateException.class);
+		}
+
+		assertThat(cache.size()).isZero();
+		assertThat(cache.get("a", this::load)).isEqualTo("value-a");
+		assertThat(loads).hasValue(1);
+	}
+
+	@Test
+	void givenLoaderThrowingError_whenGetAgain_shouldNotBlock() throws Exception {
+		SingleFlightCache<String, String> cache = new SingleFlightCache<>("test", Duration.ofMinutes(1), 10);
+
+		assertThatThrownBy(() -> cache.get("a", key -> {
+			throw new AssertionError("boom");
+		})).isInstanceOf(AssertionError.class);
+
+		try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+			Future<String> next = executor.submit(() -> cache.get("a", this::load));
+			assertThat(next.get(5, TimeUnit.SECONDS)).isEqualTo("value-a");
+		}
+	}
+
+	@Test
+	void givenInvalidationDuringLoad_whenLoadCompletes_shouldHandOutValueButNotKeepIt() {
+		SingleFlightCache<String, String> cache = new SingleFlightCache<>("test", Duration.ofMinutes(1), 10);
+
+		String value = cache.get("a", key -> {
+			cache.invalidate(key);
+			return load(key);
+		});
+
+		assertThat(value).isEqualTo("value-a");
+		assertThat(cache.size()).isZero();
+		cache.get("a", this::load);
+		assertThat(loads).hasValue(2);
+	}
+
+	@Test
+	void givenNullValue_whenGet_shouldNotKeepIt() {
+		SingleFlightCache<String, String> cache = new SingleFlightCache<>("test", Duration.ofMinutes(1), 10);
+
+		assertThat(cache.get("a", key -> null)).isNull();
+		assertThat(cache.size()).isZero();
+	}
+
+	@Test
+	void givenExpiredEntry_whenGet_shouldLoadAgain() throws InterruptedException {
+		SingleFlightCache<String, String> cache = new SingleFlightCache<>("test", Duration.ofMillis(20), 10);
+		cache.get("a", this::load);
+
+		Thread.sleep(40);
+		cache.get("a", this::load);
+
+		assertThat(loads).hasValue(2);
+	}
+
+	@Test
+	void givenFullCache_whenLoadNewKeys_shouldEvictOldestLoadsAndReportMetrics() {
+		SingleFlightCache<String, String> cache = new SingleFlightCache<>("test", Duration.ofMinutes(1), 3);
+		SimpleMeterRegistry registry = new SimpleMeterRegistry();
+		cache.bindTo(registry);
+
+		for (String key : List.of("a", "b", "c", "d", "e")) {
+			cache.get(key, this::load);
+		}
+		cache.get("e", this::load);
+		cache.get("c", this::load);
+		cache.get("a", this::load);
+
+		assertThat(cache.size()).isEqualTo(3);
+		assertThat(loads).hasValue(6);
+		assertThat(registry.get("cache.gets").tag("result", "miss").functionCounter().count()).isEqualTo(6);
+		assertThat(registry.get("cache.gets").tag("result", "hit").functionCounter().count()).isEqualTo(2);
+		assertThat(registry.get("cache.evictions").functionCounter().count()).isEqualTo(3);
+		assertThat(registry.get("cache.size").gauge().value()).isEqualTo(3);
+	}
+
+	@Test
+	void givenInvalidatedKey_whenCacheFillsUp_shouldNotEvictLiveEntriesForIt() {
+		SingleFlightCache<String, String> cache = new SingleFlightCache<>("test", Duration.ofMinutes(1), 2);
+		cache.get("a", this::load);
+		cache.invalidate("a");
+
+		cache.get("b", this::load);
+		cache.get("c", this::load);
+		cache.get("b", this::load);
+		cache.get("c", this::load);
+
+		assertThat(cache.size()).isEqualTo(2);
+		assertThat(loads).hasValue(3);
+	}
+
+	private String load(String key) {
+		loads.incrementAndGet();
+		return "value-" + key;
+	}
+
+	private static void await(CountDownLatch latch) {
+		try {
+			latch.await(5, TimeUnit.SECONDS);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+}
@@ -0,0 +1,135 @@
+package com.algaworks.algashop.ordering.infrastructure.utility.mapper;
+
+import com.algaworks.algashop.ordering.application.customer.query.CustomerOutput;
+import com.algaworks.algashop.ordering.application.order.query.OrderDetailOutput;
+import com.algaworks.algashop.ordering.application.order.query.OrderItemDetailOutput;
+import com.algaworks.algashop.ordering.application.shoppingcart.query.ShoppingCartOutput;
+import com.algaworks.algashop.ordering.application.utility.Mapper;
+import com.algaworks.algashop.ordering.domain.model.customer.Customer;
+import com.algaworks.algashop.ordering.domain.model.customer.CustomerTestDataBuilder;
+import com.algaworks.algashop.ordering.domain.model.order.OrderTestDataBuilder;
+import com.algaworks.algashop.ordering.domain.model.shoppingcart.ShoppingCartTestDataBuilder;
+import com.algaworks.algashop.ordering.infrastructure.persistence.customer.CustomerPersistenceEntity;
+import com.algaworks.algashop.ordering.infrastructure.persistence.customer.CustomerPersistenceEntityRepository;
+import com.algaworks.algashop.ordering.infrastructure.persistence.customer.CustomerPersistenceEntityTestDataBuilder;
+import com.algaworks.algashop.ordering.infrastructure.persistence.order.OrderPersistenceEntity;
+import com.algaworks.algashop.ordering.infrastructure.persistence.order.OrderPersistenceEntityAssembler;
+import com.algaworks.algashop.ordering.infrastructure.persistence.order.OrderPersistenceEntityTestDataBuilder;
+import com.algaworks.algashop.ordering.infrastructure.persistence.shoppingcart.ShoppingCartPersistenceEntity;
+import com.algaworks.algashop.ordering.infrastructure.persistence.shoppingcart.ShoppingCartPersistenceEntityAssembler;
+import com.algaworks.algashop.ordering.infrastructure.utility.modelmapper.ModelMapperConfig;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.modelmapper.ModelMapper;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalStateException;
+
+class SpecializedMapperTest {
+
+	private final ModelMapper modelMapper = new ModelMapperConfig().modelMapper();
+	private final SpecializedMapper specializedMapper = MapperConfig.specializedMapper(modelMapper);
+
+	private CustomerPersistenceEntityRepository customerRepository;
+
+	@BeforeEach
+	void setup() {
+		CustomerPersistenceEntity customer = CustomerPersistenceEntityTestDataBuilder.aCustomer().build();
+		customerRepository = Mockito.mock(CustomerPersistenceEntityRepository.class);
+		Mockito.when(customerRepository.getReferenceById(Mockito.any(UUID.class))).thenReturn(customer);
+	}
+
+	@Test
+	void shouldCoverEveryModelMapperTypeMap() {
+		MapperConfig.verifyCoverage(specializedMapper, modelMapper);
+	}
+
+	@Test
+	void givenUncoveredTypeMap_whenVerifyingCoverage_shouldFail() {
+		SpecializedMapper emptyMapper = new SpecializedMapper(modelMapper::map);
+
+		assertThatIllegalStateException()
+				.isThrownBy(() -> MapperConfig.verifyCoverage(emptyMapper, modelMapper))
+				.withMessageContaining("OrderPersistenceEntity -> OrderDetailOutput");
+	}
+
+	@Test
+	void givenPlacedOrderEntity_whenConverting_shouldMatchModelMapper() {
+		OrderPersistenceEntity entity = new OrderPersistenceEntityAssembler(customerRepository)
+				.fromDomain(OrderTestDataBuilder.anOrder().build());
+
+		OrderDetailOutput specialized = specializedMapper.convert(entity, OrderDetailOutput.class);
+
+		assertThat(specialized.getShipping()).isNotNull();
+		assertThat(specialized.getBilling().getAddress()).isNotNull();
+		assertThat(specialized.getItems()).hasSize(entity.getItems().size());
+		assertThat(specialized).usingRecursiveComparison().isEqualTo(modelMapper.map(entity, OrderDetailOutput.class));
+	}
+
+	@Test
+	void givenOrderEntityWithoutShippingAndBilling_whenConverting_shouldMatchModelMapper() {
+		OrderPersistenceEntity entity = OrderPersistenceEntityTestDataBuilder.existingOrder().build();
+
+		OrderDetailOutput specialized = specializedMapper.convert(entity, OrderDetailOutput.class);
+
+		assertThat(specialized.getShipping()).isNull();
+		assertThat(specialized).usingRecursiveComparison().isEqualTo(modelMapper.map(entity, OrderDetailOutput.class));
+	}
+
+	@Test
+	void givenOrderItemEntity_whenConverting_shouldMatchModelMapper() {
+		var item = OrderPersistenceEntityTestDataBuilder.existingItem().build();
+
+		assertThat(specializedMapper.convert(item, OrderItemDetailOutput.class))
+				.usingRecursiveComparison()
+				.isEqualTo(modelMapper.map(item, OrderItemDetailOutput.class));
+	}
+
+	@Test
+	void givenShoppingCartEntity_whenConverting_shouldMatchModelMapper() {
+		ShoppingCartPersistenceEntity entity = new ShoppingCartPersistenceEntityAssembler(customerRepository)
+				.fromDomain(ShoppingCartTestDataBuilder.aShoppingCart().build());
+
+		ShoppingCartOutput specialized = specializedMapper.convert(entity, ShoppingCartOutput.class);
+
+		assertThat(specialized.getItems()).isNotEmpty();
+		assertThat(specialized).usingRecursiveComparison().isEqualTo(modelMapper.map(entity, ShoppingCartOutput.class));
+	}
+
+	@Test
+	void givenCustomer_whenConverting_shouldMatchModelMapper() {
+		Customer customer = CustomerTestDataBuilder.existingCustomer().build();
+
+		assertThat(specializedMapper.convert(customer, CustomerOutput.class))
+				.usingRecursiveComparison()
+				.isEqualTo(modelMapper.map(customer, CustomerOutput.class));
+	}
+
+	@Test
+	void givenSubclassOfRegisteredSource_whenConverting_shouldUseSpecializedMapping() {
+		Mapper fallback = Mockito.mock(Mapper.class);
+		SpecializedMapper mapper = new SpecializedMapper(fallback)
+				.register(OrderPersistenceEntity.class, OrderDetailOutput.class,
+						QueryOutputMappings::toOrderDetailOutput);
+
+		OrderPersistenceEntity proxyLike = new OrderPersistenceEntity() {
+		};
+		proxyLike.setId(1L);
+
+		assertThat(mapper.convert(proxyLike, OrderDetailOutput.class).getId()).isNotBlank();
+		Mockito.verifyNoInteractions(fallback);
+	}
+
+	@Test
+	void givenUnregisteredPair_whenConverting_shouldFallBack() {
+		SpecializedMapper mapper = new SpecializedMapper(modelMapper::map);
+		Customer customer = CustomerTestDataBuilder.existingCustomer().build();
+
+		assertThat(mapper.covers(Customer.class, CustomerOutput.class)).isFalse();
+		assertThat(mapper.convert(customer, CustomerOutput.class).getEmail()).isEqualTo(customer.email().value());
+	}
+
+}
@@ -0,0 +1,48 @@
+package com.algaworks.algashop.ordering.infrastructure.utility.resilience;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class BulkheadTest {
+
+	@Test
+	void givenAllSlotsTaken_whenCall_shouldRejectAfterMaximumWait() throws Exception {
+		Bulkhead bulkhead = new Bulkhead("test", 1, Duration.ofMillis(20));
+		CountDownLatch slotTaken = new CountDownLatch(1);
+		CountDownLatch releaseSlot = new CountDownLatch(1);
+
+		try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+			Future<String> holder = executor.submit(() -> bulkhead.call(() -> {
+				slotTaken.countDown();
+				await(releaseSlot);
+				return "held";
+			}));
+			assertThat(slotTaken.await(5, TimeUnit.SECONDS)).isTrue();
+
+			assertThatThrownBy(() -> bulkhead.call(() -> "rejected")).isInstanceOf(CallNotPermittedException.class);
+
+			releaseSlot.countDown();
+			assertThat(holder.get(5, TimeUnit.SECONDS)).isEqualTo("held");
+		}
+
+		assertThat(bulkhead.call(() -> "free again")).isEqualTo("free again");
+	}
+
+	private static void await(CountDownLatch latch) {
+		try {
+			latch.await(5, TimeUnit.SECONDS);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+}
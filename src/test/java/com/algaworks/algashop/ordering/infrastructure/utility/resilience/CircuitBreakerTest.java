@@ -0,0 +1,101 @@
+package com.algaworks.algashop.ordering.infrastructure.utility.resilience;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CircuitBreakerTest {
+
+	@Test
+	void givenFailureRateBelowThreshold_whenCall_shouldStayClosed() {
+		CircuitBreaker circuitBreaker = new CircuitBreaker("test", 50, 4, 4, Duration.ofMinutes(1), 1);
+
+		succeed(circuitBreaker);
+		succeed(circuitBreaker);
+		succeed(circuitBreaker);
+		fail(circuitBreaker);
+
+		assertThat(circuitBreaker.state()).isEqualTo(CircuitBreaker.State.CLOSED);
+	}
+
+	@Test
+	void givenFailureRateAtThreshold_whenCall_shouldOpenAndRejectCalls() {
+		CircuitBreaker circuitBreaker = new CircuitBreaker("test", 50, 4, 4, Duration.ofMinutes(1), 1);
+
+		succeed(circuitBreaker);
+		fail(circuitBreaker);
+		succeed(circuitBreaker);
+		fail(circuitBreaker);
+
+		assertThat(circuitBreaker.state()).isEqualTo(CircuitBreaker.State.OPEN);
+		assertThatThrownBy(() -> succeed(circuitBreaker)).isInstanceOf(CallNotPermittedException.class);
+	}
+
+	@Test
+	void givenExceptionsNotRecordedAsFailures_whenCall_shouldRethrowAndStayClosed() {
+		CircuitBreaker circuitBreaker = new CircuitBreaker("test", 50, 4, 4, Duration.ofMinutes(1), 1,
+				e -> !(e instanceof IllegalArgumentException));
+
+		for (int i = 0; i < 4; i++) {
+			assertThatThrownBy(() -> circuitBreaker.call(() -> {
+				throw new IllegalArgumentException("bad request");
+			})).isInstanceOf(IllegalArgumentException.class);
+		}
+
+		assertThat(circuitBreaker.state()).isEqualTo(CircuitBreaker.State.CLOSED);
+	}
+
+	@Test
+	void givenOldFailuresOutsideWindow_whenCall_shouldNotCountThem() {
+		CircuitBreaker circuitBreaker = new CircuitBreaker("test", 50, 4, 4, Duration.ofMinutes(1), 1);
+
+		fail(circuitBreaker);
+		for (int i = 0; i < 4; i++) {
+			succeed(circuitBreaker);
+		}
+		fail(circuitBreaker);
+
+		assertThat(circuitBreaker.state()).isEqualTo(CircuitBreaker.State.CLOSED);
+	}
+
+	@Test
+	void givenOpenDurationElapsed_whenTrialCallsSucceed_shouldClose() throws InterruptedException {
+		CircuitBreaker circuitBreaker = new CircuitBreaker("test", 50, 2, 2, Duration.ofMillis(20), 2);
+		fail(circuitBreaker);
+		fail(circuitBreaker);
+
+		Thread.sleep(40);
+		succeed(circuitBreaker);
+
+		assertThat(circuitBreaker.state()).isEqualTo(CircuitBreaker.State.HALF_OPEN);
+		succeed(circuitBreaker);
+		assertThat(circuitBreaker.state()).isEqualTo(CircuitBreaker.State.CLOSED);
+	}
+
+	@Test
+	void givenOpenDurationElapsed_whenTrialCallFails_shouldOpenAgain() throws InterruptedException {
+		CircuitBreaker circuitBreaker = new CircuitBreaker("test", 50, 2, 2, Duration.ofMillis(20), 2);
+		fail(circuitBreaker);
+		fail(circuitBreaker);
+
+		Thread.sleep(40);
+		fail(circuitBreaker);
+
+		assertThat(circuitBreaker.state()).isEqualTo(CircuitBreaker.State.OPEN);
+		assertThatThrownBy(() -> succeed(circuitBreaker)).isInstanceOf(CallNotPermittedException.class);
+	}
+
+	private static void succeed(CircuitBreaker circuitBreaker) {
+		circuitBreaker.call(() -> "ok");
+	}
+
+	private static void fail(CircuitBreaker circuitBreaker) {
+		assertThatThrownBy(() -> circuitBreaker.call(() -> {
+			throw new IllegalStateException("down");
+		})).isInstanceOf(IllegalStateException.class);
+	}
+
+}
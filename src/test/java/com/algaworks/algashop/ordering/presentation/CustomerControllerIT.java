@@ -0,0 +1,107 @@
+package com.algaworks.algashop.ordering.presentation;
+
+import com.algaworks.algashop.ordering.infrastructure.persistence.customer.CustomerPersistenceEntityRepository;
+import io.restassured.module.mockmvc.RestAssuredMockMvc;
+import io.restassured.module.mockmvc.response.ValidatableMockMvcResponse;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+
+import static com.algaworks.algashop.ordering.infrastructure.persistence.customer.CustomerPersistenceEntityTestDataBuilder.aCustomer;
+
+@SpringBootTest
+class CustomerControllerIT {
+
+	@Autowired
+	private WebApplicationContext context;
+
+	@Autowired
+	private CustomerPersistenceEntityRepository customerPersistenceEntityRepository;
+
+	@BeforeEach
+	void setUp() {
+		RestAssuredMockMvc.mockMvc(MockMvcBuilders.webAppContextSetup(context)
+				.defaultResponseCharacterEncoding(StandardCharsets.UTF_8)
+				.build()
+		);
+		RestAssuredMockMvc.enableLoggingOfRequestAndResponseIfValidationFails();
+	}
+
+	@Test
+	void givenEmailRegisteredThroughTheApi_whenRegisterItAgain_shouldAnswerEmailInUse() {
+		String email = uniqueEmail();
+		register(email).statusCode(HttpStatus.CREATED.value());
+
+		assertEmailInUse(register(email));
+	}
+
+	@Test
+	void givenEmailUnknownToTheEmailFilter_whenRegisterItAgain_shouldAnswerEmailInUse() {
+		String email = uniqueEmail();
+		customerPersistenceEntityRepository.saveAndFlush(aCustomer()
+				.id(UUID.randomUUID())
+				.email(email)
+				.build());
+
+		assertEmailInUse(register(email));
+	}
+
+	private static void assertEmailInUse(ValidatableMockMvcResponse response) {
+		response
+				.contentType(MediaType.APPLICATION_PROBLEM_JSON_VALUE)
+				.statusCode(HttpStatus.CONFLICT.value())
+				.body(
+						"status", Matchers.is(HttpStatus.CONFLICT.value()),
+						"type", Matchers.is("/errors/email-in-use"),
+						"title", Matchers.notNullValue(),
+						"detail", Matchers.notNullValue()
+				);
+	}
+
+	private static ValidatableMockMvcResponse register(String email) {
+		String jsonInput = """
+				{
+					"firstName": "John",
+					"lastName": "Doe",
+					"email": "%s",
+					"document": "12345",
+					"phone": "1191234564",
+					"birthDate": "1991-07-15",
+					"promotionNotificationsAllowed": false,
+					"address": {
+					"street": "Bourbon Street",
+					"number": "2000",
+					"complement": "apt 122",
+					"neighborhood": "North Ville",
+					"city": "Columbia",
+					"state": "South Carolina",
+					"zipCode": "12321"
+					}
+				}
+				""".formatted(email);
+
+		return RestAssuredMockMvc
+			.given()
+				.accept(MediaType.APPLICATION_JSON_VALUE)
+				.contentType(MediaType.APPLICATION_JSON_VALUE)
+				.body(jsonInput)
+			.when()
+				.post("/api/v1/customers")
+			.then()
+				.assertThat();
+	}
+
+	private static String uniqueEmail() {
+		return UUID.randomUUID() + "@email.com";
+	}
+
+}
@@ -0,0 +1,148 @@
+package com.algaworks.algashop.ordering.presentation;
+
+import com.algaworks.algashop.ordering.application.order.query.CustomerMinimalOutput;
+import com.algaworks.algashop.ordering.application.order.query.OrderFilter;
+import com.algaworks.algashop.ordering.application.order.query.OrderQueryService;
+import com.algaworks.algashop.ordering.application.order.query.OrderSummaryOutput;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.restassured.module.mockmvc.RestAssuredMockMvc;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+
+@WebMvcTest(controllers = OrderController.class)
+class OrderControllerContractTest {
+
+	@Autowired
+	private WebApplicationContext context;
+
+	@Autowired
+	private ObjectMapper objectMapper;
+
+	@MockitoBean
+	private OrderQueryService orderQueryService;
+
+	private final OrderSummaryOutput order1 = OrderSummaryOutput.builder()
+			.id("01226N0640J7Q")
+			.status("PAID")
+			.totalItems(2)
+			.totalAmount(new BigDecimal("120.50"))
+			.placedAt(OffsetDateTime.of(2025, 1, 10, 8, 30, 0, 0, ZoneOffset.UTC))
+			.paidAt(OffsetDateTime.of(2025, 1, 10, 9, 0, 0, 0, ZoneOffset.UTC))
+			.paymentMethod("CREDIT_CARD")
+			.customer(CustomerMinimalOutput.builder()
+					.id(UUID.fromString("6e148bd5-47f6-4022-b9da-07cfaa294f7a"))
+					.firstName("John")
+					.lastName("Doe, Jr.")
+					.email("johndoe@email.com")
+					.build())
+			.build();
+
+	private final OrderSummaryOutput order2 = OrderSummaryOutput.builder()
+			.id("01226N0693HDH")
+			.status("DRAFT")
+			.totalItems(0)
+			.totalAmount(BigDecimal.ZERO)
+			.customer(CustomerMinimalOutput.builder()
+					.id(UUID.fromString("6e148bd5-47f6-4022-b9da-07cfaa294f7a"))
+					.firstName("John")
+					.lastName("Doe, Jr.")
+					.email("johndoe@email.com")
+					.build())
+			.build();
+
+	@BeforeEach
+	void setUp() {
+		RestAssuredMockMvc.mockMvc(MockMvcBuilders.webAppContextSetup(context)
+				.defaultResponseCharacterEncoding(StandardCharsets.UTF_8)
+				.build()
+		);
+		RestAssuredMockMvc.enableLoggingOfRequestAndResponseIfValidationFails();
+
+		doAnswer(invocation -> {
+			Consumer<OrderSummaryOutput> consumer = invocation.getArgument(1);
+			List.of(order1, order2).forEach(consumer);
+			return null;
+		}).when(orderQueryService).export(any(OrderFilter.class), any());
+	}
+
+	@Test
+	void exportOrdersAsNdjsonContract() {
+		String body = RestAssuredMockMvc
+			.given()
+				.accept(OrderController.APPLICATION_NDJSON_VALUE)
+				.queryParam("status", "PAID")
+			.when()
+				.async()
+				.get("/api/v1/orders/export")
+			.then()
+				.assertThat()
+				.statusCode(HttpStatus.OK.value())
+				.contentType(Matchers.startsWith(OrderController.APPLICATION_NDJSON_VALUE))
+				.header("Content-Disposition", Matchers.containsString("orders.ndjson"))
+				.extract().asString();
+
+		List<String> lines = body.lines().toList();
+
+		assertThat(body).endsWith("\n");
+		assertThat(lines).hasSize(2);
+		assertThat(lines).allSatisfy(line -> {
+			assertThat(line).startsWith("{");
+			assertThat(objectMapper.readTree(line).isObject()).isTrue();
+		});
+		assertThat(lines.get(0))
+				.startsWith("{\"id\":\"01226N0640J7Q\"")
+				.contains("\"placedAt\":\"2025-01-10T08:30:00Z\"")
+				.contains("\"firstName\":\"John\"");
+		assertThat(lines.get(1)).contains("\"paidAt\":null");
+
+		ArgumentCaptor<OrderFilter> filter = ArgumentCaptor.forClass(OrderFilter.class);
+		Mockito.verify(orderQueryService).export(filter.capture(), any());
+		assertThat(filter.getValue().getStatus()).isEqualTo("PAID");
+	}
+
+	@Test
+	void exportOrdersAsCsvContract() {
+		String body = RestAssuredMockMvc
+			.given()
+				.accept(OrderController.TEXT_CSV_VALUE)
+			.when()
+				.async()
+				.get("/api/v1/orders/export")
+			.then()
+				.assertThat()
+				.statusCode(HttpStatus.OK.value())
+				.contentType(Matchers.startsWith(OrderController.TEXT_CSV_VALUE))
+				.header("Content-Disposition", Matchers.containsString("orders.csv"))
+				.extract().asString();
+
+		assertThat(body).isEqualTo(
+				"id,status,placedAt,paidAt,canceledAt,readyAt,totalItems,totalAmount,paymentMethod,"
+						+ "customerId,customerFirstName,customerLastName,customerEmail\r\n"
+						+ "01226N0640J7Q,PAID,2025-01-10T08:30:00Z,2025-01-10T09:00:00Z,,,2,120.50,CREDIT_CARD,"
+						+ "6e148bd5-47f6-4022-b9da-07cfaa294f7a,John,\"Doe, Jr.\",johndoe@email.com\r\n"
+						+ "01226N0693HDH,DRAFT,,,,,0,0,,"
+						+ "6e148bd5-47f6-4022-b9da-07cfaa294f7a,John,\"Doe, Jr.\",johndoe@email.com\r\n");
+	}
+
+}
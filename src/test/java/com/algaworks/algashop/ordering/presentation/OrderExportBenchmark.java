@@ -0,0 +1,202 @@
+package com.algaworks.algashop.ordering.presentation;
+
+import com.algaworks.algashop.ordering.application.order.query.OrderFilter;
+import com.algaworks.algashop.ordering.domain.model.customer.Customer;
+import com.algaworks.algashop.ordering.domain.model.customer.CustomerTestDataBuilder;
+import com.algaworks.algashop.ordering.infrastructure.persistence.PersistenceProviderTestConfig;
+import com.algaworks.algashop.ordering.infrastructure.persistence.SpringDataAuditingConfig;
+import com.algaworks.algashop.ordering.infrastructure.persistence.customer.CustomerPersistenceEntityAssembler;
+import com.algaworks.algashop.ordering.infrastructure.persistence.customer.CustomerPersistenceEntityDisassembler;
+import com.algaworks.algashop.ordering.infrastructure.persistence.customer.CustomersPersistenceProvider;
+import com.algaworks.algashop.ordering.infrastructure.persistence.order.OrderQueryServiceImpl;
+import com.algaworks.algashop.ordering.infrastructure.utility.mapper.MapperConfig;
+import com.algaworks.algashop.ordering.infrastructure.utility.modelmapper.ModelMapperConfig;
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Exports synthetic orders through the streaming writers into a discarding stream, sampling the heap
+ * after a GC every {@code benchmark.export.sample-every} rows. The database is file based so that
+ * its pages and sort buffers stay off the measured heap. Run with {@code gradle benchmark}.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@TestPropertySource(properties = {
+		"spring.datasource.url=jdbc:h2:file:./build/benchmark/order-export;DATABASE_TO_LOWER=TRUE;CASE_INSENSITIVE_IDENTIFIERS=TRUE",
+		"spring.jpa.hibernate.ddl-auto=create-drop",
+		"spring.jpa.show-sql=false"
+})
+@Import({
+		OrderQueryServiceImpl.class,
+		CustomersPersistenceProvider.class,
+		CustomerPersistenceEntityAssembler.class,
+		CustomerPersistenceEntityDisassembler.class,
+		ModelMapperConfig.class,
+		MapperConfig.class,
+		SpringDataAuditingConfig.class,
+		PersistenceProviderTestConfig.class
+})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+class OrderExportBenchmark {
+
+	private static final int ORDERS = Integer.getInteger("benchmark.export.orders", 1_000_000);
+	private static final int CUSTOMERS = Integer.getInteger("benchmark.export.customers", 100);
+	private static final int SAMPLE_EVERY = Integer.getInteger("benchmark.export.sample-every", 100_000);
+	private static final long MAX_HEAP_GROWTH_BYTES = Long.getLong("benchmark.export.max-heap-growth-mb", 64L) * 1024 * 1024;
+
+	private final OrderQueryServiceImpl queryService;
+	private final CustomersPersistenceProvider customersPersistenceProvider;
+	private final JdbcTemplate jdbcTemplate;
+	private final PlatformTransactionManager transactionManager;
+
+	private long seededOrders;
+
+	@BeforeAll
+	void seed() {
+		TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+		List<UUID> customerIds = new ArrayList<>();
+
+		transactionTemplate.executeWithoutResult(status -> {
+			for (int i = 0; i < CUSTOMERS; i++) {
+				Customer customer = CustomerTestDataBuilder.brandNewCustomer().build();
+				customersPersistenceProvider.add(customer);
+				customerIds.add(customer.id().value());
+			}
+		});
+
+		int ordersPerCustomer = Math.max(1, ORDERS / CUSTOMERS);
+		long start = System.nanoTime();
+
+		for (int i = 0; i < customerIds.size(); i++) {
+			jdbcTemplate.update("""
+					INSERT INTO "order" (id, customer_id, total_amount, total_items, status, payment_method, placed_at, paid_at, version)
+					SELECT ? + r.x, ?, 100 + MOD(r.x, 50), 1 + MOD(r.x, 5), 'PAID', 'CREDIT_CARD', r.placed_at,
+					       CASE WHEN MOD(r.x, 4) <> 0 THEN r.placed_at END, 0
+					FROM (SELECT X AS x, DATEADD('MINUTE', -MOD(X * 7919, 2628000), CURRENT_TIMESTAMP) AS placed_at
+					      FROM SYSTEM_RANGE(1, ?)) r
+					""", (long) i * ordersPerCustomer, customerIds.get(i), ordersPerCustomer);
+		}
+
+		seededOrders = (long) ordersPerCustomer * customerIds.size();
+		System.out.printf("seeded %d orders for %d customers in %d ms%n", seededOrders, customerIds.size(),
+				(System.nanoTime() - start) / 1_000_000);
+	}
+
+	@Test
+	void exportAsNdjsonInBoundedHeap() throws IOException {
+		CountingOutputStream outputStream = new CountingOutputStream();
+		OrderSummaryWriter writer = new NdjsonOrderSummaryWriter(outputStream,
+				Jackson2ObjectMapperBuilder.json().build());
+
+		HeapSampler heapSampler = export("NDJSON", writer, outputStream);
+
+		assertThat(heapSampler.rows()).isEqualTo(seededOrders);
+		assertThat(heapSampler.maxGrowth()).isLessThan(MAX_HEAP_GROWTH_BYTES);
+	}
+
+	@Test
+	void exportAsCsvInBoundedHeap() throws IOException {
+		CountingOutputStream outputStream = new CountingOutputStream();
+		OrderSummaryWriter writer = new CsvOrderSummaryWriter(outputStream);
+
+		HeapSampler heapSampler = export("CSV", writer, outputStream);
+
+		assertThat(heapSampler.rows()).isEqualTo(seededOrders);
+		assertThat(heapSampler.maxGrowth()).isLessThan(MAX_HEAP_GROWTH_BYTES);
+	}
+
+	private HeapSampler export(String format, OrderSummaryWriter writer,
+							   CountingOutputStream outputStream) throws IOException {
+		HeapSampler heapSampler = new HeapSampler();
+		long start = System.nanoTime();
+
+		queryService.export(new OrderFilter(), order -> {
+			writer.writeUnchecked(order);
+			heapSampler.rowWritten();
+		});
+		writer.finish();
+
+		long elapsedMillis = Math.max(1, (System.nanoTime() - start) / 1_000_000);
+		System.out.printf("%-6s exported %d rows, %d MB in %d ms (%d rows/s), max heap growth %.1f MB%n",
+				format, heapSampler.rows(), outputStream.count() / (1024 * 1024), elapsedMillis,
+				heapSampler.rows() * 1000 / elapsedMillis, heapSampler.maxGrowth() / (1024.0 * 1024.0));
+
+		return heapSampler;
+	}
+
+	private static class HeapSampler {
+
+		private final MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+		private final long baseline = usedAfterGc();
+
+		private long rows;
+		private long maxGrowth;
+
+		void rowWritten() {
+			rows++;
+			if (rows % SAMPLE_EVERY == 0) {
+				maxGrowth = Math.max(maxGrowth, usedAfterGc() - baseline);
+			}
+		}
+
+		long rows() {
+			return rows;
+		}
+
+		long maxGrowth() {
+			return maxGrowth;
+		}
+
+		private long usedAfterGc() {
+			System.gc();
+			return memory.getHeapMemoryUsage().getUsed();
+		}
+
+	}
+
+	private static class CountingOutputStream extends OutputStream {
+
+		private long count;
+
+		@Override
+		public void write(int b) {
+			count++;
+		}
+
+		@Override
+		public void write(byte[] b, int off, int len) {
+			count += len;
+		}
+
+		long count() {
+			return count;
+		}
+
+	}
+
+}